@@ -0,0 +1,51 @@
+package com.openvault.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openvault.entity.Account;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m" })
+@State(Scope.Thread)
+public class AccountBalanceBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("42.50");
+
+    private Account account;
+
+    // Solde remis à zéro à chaque itération : la taille du BigDecimal reste stable
+    @Setup(Level.Iteration)
+    public void setUp() {
+        account = new Account();
+        account.setBalance(new BigDecimal("1000000.00"));
+    }
+
+    @Benchmark
+    public BigDecimal credit() {
+        account.credit(AMOUNT);
+        return account.getBalance();
+    }
+
+    @Benchmark
+    public BigDecimal creditThenDebit() {
+        account.credit(AMOUNT);
+        account.debit(AMOUNT);
+        return account.getBalance();
+    }
+}
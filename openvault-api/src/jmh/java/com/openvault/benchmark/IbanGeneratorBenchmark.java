@@ -0,0 +1,44 @@
+package com.openvault.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openvault.util.IbanGenerator;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m" })
+@State(Scope.Benchmark)
+public class IbanGeneratorBenchmark {
+
+    private static final String VALID_IBAN = "FR76 3000 6000 0112 3456 7890 189";
+
+    private IbanGenerator ibanGenerator;
+
+    @Setup
+    public void setUp() {
+        ibanGenerator = new IbanGenerator();
+    }
+
+    @Benchmark
+    public String generateIban() {
+        return ibanGenerator.generateIban();
+    }
+
+    @Benchmark
+    public boolean isValidIban() {
+        return ibanGenerator.isValidIban(VALID_IBAN);
+    }
+}
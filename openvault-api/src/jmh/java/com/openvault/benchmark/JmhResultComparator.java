@@ -0,0 +1,64 @@
+package com.openvault.benchmark;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Compare deux fichiers de résultats JMH (format JSON) benchmark par benchmark.
+ *
+ * mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.openvault.benchmark.JmhResultComparator
+ *     -Dexec.args="benchmarks/1.1.0.json target/jmh-results.json"
+ */
+public class JmhResultComparator {
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage : JmhResultComparator <référence.json> <candidat.json>");
+            System.exit(2);
+        }
+        JsonMapper mapper = JsonMapper.builder().build();
+        Map<String, JsonNode> baseline = index(mapper.readTree(Path.of(args[0]).toFile()));
+        Map<String, JsonNode> candidate = index(mapper.readTree(Path.of(args[1]).toFile()));
+
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Référence", "Candidat", "Écart");
+        candidate.forEach((key, result) -> {
+            JsonNode metric = result.get("primaryMetric");
+            String unit = metric.get("scoreUnit").asString();
+            double score = metric.get("score").asDouble();
+            JsonNode before = baseline.get(key);
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", key, "-", score, "nouveau", unit);
+                return;
+            }
+            double previous = before.get("primaryMetric").get("score").asDouble();
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%n",
+                    key, previous, score, (score - previous) * 100 / previous, unit);
+        });
+        baseline.keySet().stream()
+                .filter(key -> !candidate.containsKey(key))
+                .forEach(key -> System.out.printf("%-70s %14s%n", key, "supprimé"));
+    }
+
+    /**
+     * Clé : nom du benchmark et valeurs des @Param
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asString()
+                    .replace("com.openvault.benchmark.", ""));
+            JsonNode params = result.get("params");
+            if (params != null) {
+                params.properties().forEach(param -> key.append(' ').append(param.getKey())
+                        .append('=').append(param.getValue().asString()));
+            }
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,121 @@
+package com.openvault.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.openvault.binary.ProtoWriter;
+import com.openvault.binary.TransactionProtoCodec;
+import com.openvault.dto.TransactionDTO;
+import com.openvault.entity.Account;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.util.EntityMapper;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Chemin de GET /transactions/account/{id} hors base : mapping entité → DTO
+ * puis sérialisation de la page par Jackson, comme le fait Spring MVC.
+ * encodeProtobuf mesure en regard le chemin de l'API binaire (/binary/...).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m" })
+@State(Scope.Benchmark)
+public class TransactionMappingBenchmark {
+
+    @Param({ "20", "100" })
+    public int pageSize;
+
+    private EntityMapper entityMapper;
+    private JsonMapper jsonMapper;
+    private List<Transaction> transactions;
+    private Page<TransactionDTO> page;
+    private final ProtoWriter protoWriter = new ProtoWriter();
+    private final ByteArrayOutputStream protoOutput = new ByteArrayOutputStream();
+
+    @Setup
+    public void setUp() {
+        entityMapper = new EntityMapper();
+        jsonMapper = JsonMapper.builder().findAndAddModules().build();
+
+        Account from = account(1L, "FR76 1111 1111 1111 1111 1111 111");
+        Account to = account(2L, "FR76 2222 2222 2222 2222 2222 222");
+        LocalDateTime timestamp = LocalDateTime.of(2025, 1, 15, 10, 30);
+        transactions = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i + 1);
+            transaction.setFromAccount(from);
+            transaction.setToAccount(to);
+            transaction.setAmount(new BigDecimal("125.40").add(BigDecimal.valueOf(i)));
+            transaction.setType(TransactionType.TRANSFER);
+            transaction.setDescription("Virement loyer " + i);
+            transaction.setTimestamp(timestamp.plusMinutes(i));
+            transaction.setStatus(TransactionStatus.COMPLETED);
+            transaction.setReference("TXN-1736937000000-" + i);
+            transactions.add(transaction);
+        }
+        page = toPage();
+    }
+
+    @Benchmark
+    public Page<TransactionDTO> mapPage() {
+        return toPage();
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() {
+        return jsonMapper.writeValueAsBytes(toPage());
+    }
+
+    @Benchmark
+    public int encodeProtobuf() throws IOException {
+        protoOutput.reset();
+        for (Transaction transaction : transactions) {
+            TransactionProtoCodec.encode(protoWriter.reset(), transaction);
+            protoWriter.writeDelimitedTo(protoOutput);
+        }
+        return protoOutput.size();
+    }
+
+    private Page<TransactionDTO> toPage() {
+        return new PageImpl<>(transactions, PageRequest.of(0, pageSize), 1_000)
+                .map(entityMapper::toTransactionDTO);
+    }
+
+    private static Account account(Long id, String iban) {
+        Account account = new Account();
+        account.setId(id);
+        account.setIban(iban);
+        return account;
+    }
+}
@@ -0,0 +1,59 @@
+package com.openvault.archive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.openvault.entity.Account;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Ligne de transaction archivée : les IBAN sont figés au moment de l'archivage
+ * pour que la lecture ne dépende plus de la table accounts.
+ */
+@Value
+@AllArgsConstructor
+public class ArchivedTransaction {
+    Long id;
+    LocalDateTime timestamp;
+    Long fromAccountId;
+    String fromIban;
+    Long toAccountId;
+    String toIban;
+    BigDecimal amount;
+    TransactionType type;
+    TransactionStatus status;
+    String description;
+    String reference;
+
+    /**
+     * Reconstruit une transaction détachée, directement utilisable par l'EntityMapper
+     */
+    public Transaction toTransaction() {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setTimestamp(timestamp);
+        transaction.setFromAccount(accountStub(fromAccountId, fromIban));
+        transaction.setToAccount(accountStub(toAccountId, toIban));
+        transaction.setAmount(amount);
+        transaction.setType(type);
+        transaction.setStatus(status);
+        transaction.setDescription(description);
+        transaction.setReference(reference);
+        return transaction;
+    }
+
+    private static Account accountStub(Long accountId, String iban) {
+        if (accountId == null) {
+            return null;
+        }
+        Account account = new Account();
+        account.setId(accountId);
+        account.setIban(iban);
+        return account;
+    }
+}
@@ -0,0 +1,11 @@
+package com.openvault.archive;
+
+/**
+ * Reçoit une ligne archivée lors d'un parcours sans décodage des colonnes texte.
+ * Les comptes absents valent 0, le montant est à l'échelle de la colonne amount (4).
+ */
+@FunctionalInterface
+public interface PostingVisitor {
+
+    void visit(long fromAccountId, long toAccountId, long unscaledAmount);
+}
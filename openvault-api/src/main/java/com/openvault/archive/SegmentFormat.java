@@ -0,0 +1,58 @@
+package com.openvault.archive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Format binaire (big-endian) d'un segment d'archive mensuel :
+ *
+ * <pre>
+ * [en-tête]   magic:int version:int rowCount:int blockCount:int
+ * [blocs]     blocs de BLOCK_ROWS lignes, compressés (Deflate), colonne par colonne :
+ *             id[] ts[] from[] to[] amount[] type[] status[] fromIban[] toIban[] description[] reference[]
+ * [méta]      noms des TransactionType puis des TransactionStatus (les ordinaux y font référence)
+ * [blocs dir] offset:long compressed:int uncompressed:int rows:int minTs:long maxTs:long
+ * [index]     accountCount:int puis (accountId:long postingsOffset:int postingsCount:int) trié par compte,
+ *             suivi des numéros de blocs (int) contenant chaque compte
+ * [pied]      metaOffset:long blockDirOffset:long indexOffset:long magic:int
+ * </pre>
+ */
+final class SegmentFormat {
+
+    static final int MAGIC = 0x4F565458; // "OVTX"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int FOOTER_BYTES = 28;
+    static final int BLOCK_DIR_ENTRY_BYTES = 36;
+    static final int INDEX_ENTRY_BYTES = 16;
+    static final int BLOCK_ROWS = 4096;
+    // Un segment est lu via un seul MappedByteBuffer, indexé par int
+    static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    static final int AMOUNT_SCALE = 4; // même échelle que la colonne amount
+    static final long NO_ACCOUNT = 0L;
+
+    private SegmentFormat() {
+    }
+
+    static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000,
+                ZoneOffset.UTC
+        );
+    }
+
+    static long toUnscaled(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromUnscaled(long unscaled) {
+        return BigDecimal.valueOf(unscaled, AMOUNT_SCALE);
+    }
+}
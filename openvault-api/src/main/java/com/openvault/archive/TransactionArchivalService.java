@@ -0,0 +1,125 @@
+package com.openvault.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.entity.ArchivedMonth;
+import com.openvault.repository.ArchivedMonthRepository;
+import com.openvault.repository.TransactionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Déplace chaque nuit les mois sortis de la fenêtre chaude de la table transactions
+ * vers des segments d'archive.
+ *
+ * Un mois est traité dans une seule transaction : réservation du mois (ligne
+ * archived_months), lecture en flux, écriture et fsync du segment, vérification du nombre
+ * de lignes, puis suppression. Si la suppression échoue, les lignes restent en base (les
+ * lectures dédoublonnent par id) et le segment sera réécrit au passage suivant.
+ *
+ * Le job peut tourner sur toutes les instances : la réservation ne laisse qu'une instance
+ * écrire le segment d'un mois. Le répertoire d'archive doit en revanche être partagé par
+ * toutes les instances (volume réseau) : les lignes supprimées de la base pour toutes ne
+ * se relisent plus que dans les segments.
+ */
+@Component
+@ConditionalOnProperty(prefix = "openvault.archive", name = "enabled", havingValue = "true")
+@Slf4j
+public class TransactionArchivalService {
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedMonthRepository archivedMonthRepository;
+    private final TransactionArchive archive;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionArchivalService(
+            TransactionRepository transactionRepository,
+            ArchivedMonthRepository archivedMonthRepository,
+            TransactionArchive archive,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.archivedMonthRepository = archivedMonthRepository;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Archive tous les mois antérieurs à la fenêtre chaude ayant encore des lignes en base
+     */
+    @Scheduled(cron = "${openvault.archive.cron:0 30 3 * * *}")
+    public void archiveColdMonths() {
+        YearMonth firstHot = archive.getFirstHotMonth();
+        YearMonth month = transactionRepository.findOldestTimestamp()
+                .map(YearMonth::from)
+                .orElse(firstHot);
+
+        for (; month.isBefore(firstHot); month = month.plusMonths(1)) {
+            int archived = archiveMonth(month);
+            if (archived > 0) {
+                log.info("{} transaction(s) de {} archivée(s) dans {}", archived, month, archive.segmentPath(month));
+            }
+        }
+    }
+
+    int archiveMonth(YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        Integer archived;
+        try {
+            archived = transactionTemplate.execute(status -> archiveMonth(month, start, end));
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            log.info("Mois {} archivé par une autre instance", month);
+            return 0;
+        }
+        return archived != null ? archived : 0;
+    }
+
+    private int archiveMonth(YearMonth month, LocalDateTime start, LocalDateTime end) {
+        long expected = transactionRepository.countByTimestampGreaterThanEqualAndTimestampLessThan(start, end);
+        if (expected == 0) {
+            return 0;
+        }
+        if (archivedMonthRepository.existsByMonthStart(month.atDay(1))) {
+            // Lignes datées d'un mois déjà archivé : réécrire le segment perdrait les autres
+            log.warn("{} transaction(s) de {} ajoutée(s) après son archivage, laissée(s) en base", expected, month);
+            return 0;
+        }
+        // Réservation du mois : une autre instance attend ici, puis échoue sur la clé
+        ArchivedMonth archivedMonth = archivedMonthRepository.saveAndFlush(new ArchivedMonth(month.atDay(1)));
+
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(archive.segmentPath(month));
+             Stream<ArchivedTransaction> rows = transactionRepository.streamForArchive(start, end)) {
+            Iterator<ArchivedTransaction> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.append(iterator.next());
+            }
+            if (writer.getRowCount() != expected) {
+                throw new IllegalStateException("Archivage de " + month + " incomplet : "
+                        + writer.getRowCount() + " ligne(s) lue(s) sur " + expected);
+            }
+            writer.finish();
+            archive.register(month);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du segment " + month + " impossible", e);
+        }
+
+        int deleted = transactionRepository.deleteByTimestampRange(start, end);
+        archivedMonth.setRowCount(deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,174 @@
+package com.openvault.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Archive froide des transactions : un segment immuable par mois, au-delà de la fenêtre chaude.
+ *
+ * Les segments présents dans le répertoire sont ouverts au démarrage ; le job d'archivage
+ * enregistre ensuite chaque nouveau segment via {@link #register(YearMonth)}. Le répertoire
+ * est partagé entre instances : les segments écrits par une autre instance sont ouverts
+ * par {@link #refresh()}, périodiquement et avant chaque rapprochement, jamais sur le
+ * chemin d'une lecture. Jusqu'au rafraîchissement suivant (refresh-interval), une lecture
+ * par période de cette instance peut manquer un mois qu'une autre instance vient
+ * d'archiver ; les mois archivés sont antérieurs à la fenêtre chaude.
+ */
+@Component
+@Slf4j
+public class TransactionArchive {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("^transactions-(\\d{4})-(\\d{2})\\.ovseg$");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final Path directory;
+    private final int hotMonths;
+    private final Map<YearMonth, TransactionSegment> segments = new ConcurrentHashMap<>();
+
+    public TransactionArchive(
+            @Value("${openvault.archive.directory:./data/archive}") String directory,
+            @Value("${openvault.archive.hot-months:18}") int hotMonths
+    ) {
+        this.directory = Paths.get(directory);
+        this.hotMonths = hotMonths;
+        loadSegments();
+    }
+
+    /**
+     * Début de la fenêtre chaude : tout ce qui précède peut se trouver dans l'archive
+     */
+    public LocalDateTime getHotWindowStart() {
+        return getFirstHotMonth().atDay(1).atStartOfDay();
+    }
+
+    public YearMonth getFirstHotMonth() {
+        return YearMonth.now().minusMonths(hotMonths);
+    }
+
+    public Path segmentPath(YearMonth month) {
+        return directory.resolve("transactions-" + month.format(SUFFIX) + ".ovseg");
+    }
+
+    /**
+     * (Ré)ouvre le segment d'un mois après son écriture
+     */
+    public void register(YearMonth month) throws IOException {
+        segments.put(month, TransactionSegment.open(segmentPath(month)));
+    }
+
+    public boolean isArchived(YearMonth month) {
+        return segments.containsKey(month);
+    }
+
+    /**
+     * Transactions archivées d'un compte sur une période, triées par horodatage
+     */
+    public List<ArchivedTransaction> findByAccountIdAndDateRange(Long accountId, LocalDateTime start, LocalDateTime end) {
+        List<ArchivedTransaction> result = new ArrayList<>();
+        forEachByAccountIdAndDateRange(accountId, start, end, result::add);
+        return result;
+    }
+
+    /**
+     * Parcourt en flux les transactions archivées d'un compte sur une période, mois par
+     * mois ; renvoie les mois lus, dont les lignes encore en base sont des doublons
+     */
+    public Set<YearMonth> forEachByAccountIdAndDateRange(Long accountId, LocalDateTime start, LocalDateTime end,
+                                                         Consumer<ArchivedTransaction> action) {
+        if (!start.isBefore(getHotWindowStart())) {
+            return Set.of();
+        }
+
+        long fromMicros = SegmentFormat.toMicros(start);
+        long toMicros = SegmentFormat.toMicros(end);
+        YearMonth first = YearMonth.from(start);
+        YearMonth last = YearMonth.from(end);
+        Set<YearMonth> months = new TreeSet<>();
+        segments.entrySet().stream()
+                .filter(entry -> !entry.getKey().isBefore(first) && !entry.getKey().isAfter(last))
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    entry.getValue().forEachByAccount(accountId, fromMicros, toMicros, action);
+                    months.add(entry.getKey());
+                });
+        return months;
+    }
+
+    /**
+     * Fin du dernier mois archivé : les lignes antérieures sont lues dans l'archive, pas en base
+     */
+    public Optional<LocalDateTime> getArchivedUntil() {
+        return segments.keySet().stream()
+                .max(YearMonth::compareTo)
+                .map(month -> month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    /**
+     * Lignes COMPLETED de tous les segments touchant une plage de comptes, voir
+     * {@link TransactionSegment#scanCompleted}
+     */
+    public long scanCompleted(long minAccountId, long maxAccountId, PostingVisitor visitor) {
+        long visited = 0;
+        for (TransactionSegment segment : segments.values()) {
+            visited += segment.scanCompleted(minAccountId, maxAccountId, visitor);
+        }
+        return visited;
+    }
+
+    /**
+     * Ouvre les segments apparus dans le répertoire depuis le dernier chargement. Un segment
+     * n'y apparaît que complet (renommage atomique), avant la suppression de ses lignes
+     * en base : une lecture de la base suivie de refresh() ne perd aucune ligne.
+     */
+    @Scheduled(fixedDelayString = "${openvault.archive.refresh-interval:1m}")
+    public synchronized void refresh() {
+        loadSegments();
+    }
+
+    private void loadSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        int loaded = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "transactions-*.ovseg")) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                    if (!segments.containsKey(month)) {
+                        segments.put(month, TransactionSegment.open(file));
+                        loaded++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de charger l'archive " + directory, e);
+        }
+        if (loaded > 0) {
+            log.info("{} segment(s) d'archive chargé(s) depuis {}", loaded, directory);
+        }
+    }
+}
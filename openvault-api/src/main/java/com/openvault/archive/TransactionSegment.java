@@ -0,0 +1,313 @@
+package com.openvault.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+
+/**
+ * Segment d'archive ouvert en lecture via un mapping mémoire (aucune copie tant
+ * qu'un bloc n'est pas décompressé). Thread-safe : seules des lectures absolues
+ * ou des vues indépendantes du buffer sont utilisées.
+ */
+public class TransactionSegment {
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final int blockCount;
+    private final long blockDirOffset;
+    private final long indexOffset;
+    private final int accountCount;
+    private final TransactionType[] types;
+    private final TransactionStatus[] statuses;
+
+    private TransactionSegment(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < SegmentFormat.HEADER_BYTES + SegmentFormat.FOOTER_BYTES
+                || buffer.getInt(0) != SegmentFormat.MAGIC
+                || buffer.getInt(buffer.capacity() - 4) != SegmentFormat.MAGIC) {
+            throw new IOException("Segment d'archive invalide : " + path);
+        }
+        if (buffer.getInt(4) != SegmentFormat.VERSION) {
+            throw new IOException("Version de segment non supportée : " + path);
+        }
+        this.rowCount = buffer.getInt(8);
+        this.blockCount = buffer.getInt(12);
+
+        int footer = buffer.capacity() - SegmentFormat.FOOTER_BYTES;
+        long metaOffset = buffer.getLong(footer);
+        this.blockDirOffset = buffer.getLong(footer + 8);
+        this.indexOffset = buffer.getLong(footer + 16);
+        this.accountCount = buffer.getInt((int) indexOffset);
+
+        ByteBuffer meta = buffer.slice((int) metaOffset, (int) (blockDirOffset - metaOffset));
+        this.types = new TransactionType[meta.get()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = TransactionType.valueOf(readUtf(meta));
+        }
+        this.statuses = new TransactionStatus[meta.get()];
+        for (int i = 0; i < statuses.length; i++) {
+            statuses[i] = TransactionStatus.valueOf(readUtf(meta));
+        }
+    }
+
+    public static TransactionSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > SegmentFormat.MAX_SEGMENT_BYTES) {
+                throw new IOException("Segment d'archive trop volumineux pour être mappé : " + path);
+            }
+            // Le mapping reste valide après la fermeture du canal
+            return new TransactionSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Transactions d'un compte (émises ou reçues) dont l'horodatage est dans [fromMicros, toMicros]
+     */
+    public List<ArchivedTransaction> findByAccount(long accountId, long fromMicros, long toMicros) {
+        List<ArchivedTransaction> result = new ArrayList<>();
+        forEachByAccount(accountId, fromMicros, toMicros, result::add);
+        return result;
+    }
+
+    /**
+     * Comme {@link #findByAccount}, bloc par bloc et dans l'ordre du segment, sans liste
+     */
+    public void forEachByAccount(long accountId, long fromMicros, long toMicros, Consumer<ArchivedTransaction> action) {
+        for (int block : blocksOf(accountId)) {
+            int entry = (int) blockDirOffset + block * SegmentFormat.BLOCK_DIR_ENTRY_BYTES;
+            long minTs = buffer.getLong(entry + 20);
+            long maxTs = buffer.getLong(entry + 28);
+            if (maxTs < fromMicros || minTs > toMicros) {
+                continue;
+            }
+            readBlock(entry, accountId, fromMicros, toMicros, action);
+        }
+    }
+
+    /**
+     * Parcourt les lignes COMPLETED dont le compte émetteur ou destinataire est dans
+     * [minAccountId, maxAccountId] : seuls les blocs cités par l'index pour cette plage sont
+     * décompressés, et seules les colonnes numériques sont lues. Renvoie le nombre de lignes visitées.
+     */
+    public long scanCompleted(long minAccountId, long maxAccountId, PostingVisitor visitor) {
+        int completed = List.of(statuses).indexOf(TransactionStatus.COMPLETED);
+        if (completed < 0) {
+            return 0;
+        }
+        long visited = 0;
+        BitSet blocks = blocksOfRange(minAccountId, maxAccountId);
+        for (int block = blocks.nextSetBit(0); block >= 0; block = blocks.nextSetBit(block + 1)) {
+            int entry = (int) blockDirOffset + block * SegmentFormat.BLOCK_DIR_ENTRY_BYTES;
+            long offset = buffer.getLong(entry);
+            int compressed = buffer.getInt(entry + 8);
+            int uncompressed = buffer.getInt(entry + 12);
+            int rows = buffer.getInt(entry + 16);
+
+            ByteBuffer data = ByteBuffer.wrap(inflate(buffer.slice((int) offset, compressed), uncompressed));
+            data.position(2 * rows * Long.BYTES); // id[] et ts[]
+            long[] fromAccounts = readLongs(data, rows);
+            long[] toAccounts = readLongs(data, rows);
+            long[] amounts = readLongs(data, rows);
+            data.position(data.position() + rows); // type[]
+
+            for (int i = 0; i < rows; i++) {
+                boolean inRange = fromAccounts[i] >= minAccountId && fromAccounts[i] <= maxAccountId
+                        || toAccounts[i] >= minAccountId && toAccounts[i] <= maxAccountId;
+                if (data.get() == completed && inRange) {
+                    visitor.visit(fromAccounts[i], toAccounts[i], amounts[i]);
+                    visited++;
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Blocs contenant au moins un compte de la plage : premier compte >= minAccountId par
+     * dichotomie, puis lecture séquentielle de l'index
+     */
+    private BitSet blocksOfRange(long minAccountId, long maxAccountId) {
+        int entries = (int) indexOffset + 4;
+        int postings = entries + accountCount * SegmentFormat.INDEX_ENTRY_BYTES;
+        int low = 0;
+        int high = accountCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(entries + mid * SegmentFormat.INDEX_ENTRY_BYTES) < minAccountId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        BitSet blocks = new BitSet(blockCount);
+        for (int i = low; i < accountCount; i++) {
+            int indexEntry = entries + i * SegmentFormat.INDEX_ENTRY_BYTES;
+            if (buffer.getLong(indexEntry) > maxAccountId) {
+                break;
+            }
+            int postingsOffset = buffer.getInt(indexEntry + 8);
+            int postingsCount = buffer.getInt(indexEntry + 12);
+            for (int j = 0; j < postingsCount; j++) {
+                blocks.set(buffer.getInt(postings + (postingsOffset + j) * 4));
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Recherche dichotomique du compte dans l'index creux (numéros de blocs)
+     */
+    private int[] blocksOf(long accountId) {
+        int entries = (int) indexOffset + 4;
+        int low = 0;
+        int high = accountCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long candidate = buffer.getLong(entries + mid * SegmentFormat.INDEX_ENTRY_BYTES);
+            if (candidate < accountId) {
+                low = mid + 1;
+            } else if (candidate > accountId) {
+                high = mid - 1;
+            } else {
+                int postingsOffset = buffer.getInt(entries + mid * SegmentFormat.INDEX_ENTRY_BYTES + 8);
+                int postingsCount = buffer.getInt(entries + mid * SegmentFormat.INDEX_ENTRY_BYTES + 12);
+                int postings = entries + accountCount * SegmentFormat.INDEX_ENTRY_BYTES;
+                int[] blocks = new int[postingsCount];
+                for (int i = 0; i < postingsCount; i++) {
+                    blocks[i] = buffer.getInt(postings + (postingsOffset + i) * 4);
+                }
+                return blocks;
+            }
+        }
+        return new int[0];
+    }
+
+    private void readBlock(int entry, long accountId, long fromMicros, long toMicros, Consumer<ArchivedTransaction> action) {
+        long offset = buffer.getLong(entry);
+        int compressed = buffer.getInt(entry + 8);
+        int uncompressed = buffer.getInt(entry + 12);
+        int rows = buffer.getInt(entry + 16);
+
+        ByteBuffer block = ByteBuffer.wrap(inflate(buffer.slice((int) offset, compressed), uncompressed));
+
+        long[] ids = readLongs(block, rows);
+        long[] timestamps = readLongs(block, rows);
+        long[] fromAccounts = readLongs(block, rows);
+        long[] toAccounts = readLongs(block, rows);
+        long[] amounts = readLongs(block, rows);
+
+        boolean[] match = new boolean[rows];
+        boolean any = false;
+        for (int i = 0; i < rows; i++) {
+            match[i] = (fromAccounts[i] == accountId || toAccounts[i] == accountId)
+                    && timestamps[i] >= fromMicros && timestamps[i] <= toMicros;
+            any |= match[i];
+        }
+        if (!any) {
+            return;
+        }
+
+        byte[] typeOrdinals = new byte[rows];
+        block.get(typeOrdinals);
+        byte[] statusOrdinals = new byte[rows];
+        block.get(statusOrdinals);
+        String[] fromIbans = readStrings(block, rows);
+        String[] toIbans = readStrings(block, rows);
+        String[] descriptions = readStrings(block, rows);
+        String[] references = readStrings(block, rows);
+
+        for (int i = 0; i < rows; i++) {
+            if (!match[i]) {
+                continue;
+            }
+            action.accept(new ArchivedTransaction(
+                    ids[i],
+                    SegmentFormat.fromMicros(timestamps[i]),
+                    fromAccounts[i] == SegmentFormat.NO_ACCOUNT ? null : fromAccounts[i],
+                    fromIbans[i],
+                    toAccounts[i] == SegmentFormat.NO_ACCOUNT ? null : toAccounts[i],
+                    toIbans[i],
+                    SegmentFormat.fromUnscaled(amounts[i]),
+                    types[typeOrdinals[i]],
+                    statuses[statusOrdinals[i]],
+                    descriptions[i],
+                    references[i]
+            ));
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer input, int uncompressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            byte[] output = new byte[uncompressed];
+            int read = 0;
+            while (read < uncompressed && !inflater.finished()) {
+                int inflated = inflater.inflate(output, read, uncompressed - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    // Bloc tronqué : sans ce contrôle, la boucle tournerait indéfiniment
+                    throw new IllegalStateException("Bloc d'archive tronqué : " + read + " octet(s) sur " + uncompressed);
+                }
+                read += inflated;
+            }
+            if (read < uncompressed) {
+                throw new IllegalStateException("Bloc d'archive incomplet : " + read + " octet(s) sur " + uncompressed);
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Bloc d'archive corrompu", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static long[] readLongs(ByteBuffer block, int rows) {
+        long[] values = new long[rows];
+        block.asLongBuffer().get(values);
+        block.position(block.position() + rows * Long.BYTES);
+        return values;
+    }
+
+    private static String[] readStrings(ByteBuffer block, int rows) {
+        String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            int length = block.getInt();
+            if (length >= 0) {
+                values[i] = new String(block.array(), block.position(), length, StandardCharsets.UTF_8);
+                block.position(block.position() + length);
+            }
+        }
+        return values;
+    }
+
+    private static String readUtf(ByteBuffer meta) {
+        int length = meta.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        meta.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
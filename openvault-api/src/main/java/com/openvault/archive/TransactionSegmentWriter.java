@@ -0,0 +1,383 @@
+package com.openvault.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.zip.Deflater;
+
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+
+/**
+ * Écrit un segment d'archive en flux : les lignes sont regroupées par blocs compressés,
+ * un seul bloc de lignes en mémoire. Les comptes de chaque bloc (triés, sans doublon) sont
+ * déversés dans un fichier temporaire, puis fusionnés en fin de segment pour écrire
+ * l'index : la mémoire reste proportionnelle au nombre de blocs, pas de comptes.
+ *
+ * Le fichier n'apparaît sous son nom définitif qu'une fois complet et synchronisé sur
+ * disque (renommage atomique). Un segment est lu via un seul mapping mémoire : l'écriture
+ * échoue dès qu'il dépasserait {@link SegmentFormat#MAX_SEGMENT_BYTES}.
+ */
+public class TransactionSegmentWriter implements Closeable {
+
+    // Comptes lus à la fois dans le fichier temporaire, par bloc fusionné
+    private static final int RUN_BUFFER_BYTES = 64 * Long.BYTES;
+    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    // Comptes de chaque bloc, à la suite : blockAccountOffsets/blockAccountCounts par bloc
+    private final Path accountRunsTemp;
+    private final FileChannel accountRuns;
+
+    private final List<ArchivedTransaction> pending = new ArrayList<>(SegmentFormat.BLOCK_ROWS);
+    private final List<long[]> blockDirectory = new ArrayList<>();
+    private long[] blockAccountOffsets = new long[64];
+    private int[] blockAccountCounts = new int[64];
+
+    private int rowCount;
+    private boolean finished;
+
+    public TransactionSegmentWriter(Path target) throws IOException {
+        this.target = target;
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        channel.position(SegmentFormat.HEADER_BYTES);
+        this.accountRunsTemp = Files.createTempFile("ovseg-", ".accounts");
+        this.accountRuns = FileChannel.open(accountRunsTemp, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    public void append(ArchivedTransaction transaction) throws IOException {
+        pending.add(transaction);
+        if (pending.size() == SegmentFormat.BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount + pending.size();
+    }
+
+    /**
+     * Termine le segment : métadonnées, répertoire des blocs, index par compte, en-tête
+     */
+    public void finish() throws IOException {
+        if (!pending.isEmpty()) {
+            flushBlock();
+        }
+
+        long metaOffset = channel.position();
+        writeFully(encodeMeta());
+
+        long blockDirOffset = channel.position();
+        ByteBuffer directory = ByteBuffer.allocate(blockDirectory.size() * SegmentFormat.BLOCK_DIR_ENTRY_BYTES);
+        for (long[] entry : blockDirectory) {
+            directory.putLong(entry[0]).putInt((int) entry[1]).putInt((int) entry[2]).putInt((int) entry[3])
+                    .putLong(entry[4]).putLong(entry[5]);
+        }
+        writeFully(directory.flip());
+
+        long indexOffset = channel.position();
+        writeIndex(indexOffset);
+
+        ByteBuffer footer = ByteBuffer.allocate(SegmentFormat.FOOTER_BYTES);
+        footer.putLong(metaOffset).putLong(blockDirOffset).putLong(indexOffset).putInt(SegmentFormat.MAGIC);
+        writeFully(footer.flip());
+
+        ByteBuffer header = ByteBuffer.allocate(SegmentFormat.HEADER_BYTES);
+        header.putInt(SegmentFormat.MAGIC).putInt(SegmentFormat.VERSION).putInt(rowCount).putInt(blockDirectory.size());
+        channel.write(header.flip(), 0);
+
+        channel.force(true);
+        channel.close();
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.close();
+        }
+        accountRuns.close();
+        Files.deleteIfExists(accountRunsTemp);
+        if (!finished) {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        int rows = pending.size();
+        long minTs = Long.MAX_VALUE;
+        long maxTs = Long.MIN_VALUE;
+
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(rows * 96);
+        DataOutputStream out = new DataOutputStream(raw);
+        for (ArchivedTransaction t : pending) {
+            out.writeLong(t.getId());
+        }
+        for (ArchivedTransaction t : pending) {
+            long ts = SegmentFormat.toMicros(t.getTimestamp());
+            minTs = Math.min(minTs, ts);
+            maxTs = Math.max(maxTs, ts);
+            out.writeLong(ts);
+        }
+        for (ArchivedTransaction t : pending) {
+            out.writeLong(accountId(t.getFromAccountId()));
+        }
+        for (ArchivedTransaction t : pending) {
+            out.writeLong(accountId(t.getToAccountId()));
+        }
+        for (ArchivedTransaction t : pending) {
+            out.writeLong(SegmentFormat.toUnscaled(t.getAmount()));
+        }
+        for (ArchivedTransaction t : pending) {
+            out.writeByte(t.getType().ordinal());
+        }
+        for (ArchivedTransaction t : pending) {
+            out.writeByte(t.getStatus().ordinal());
+        }
+        for (ArchivedTransaction t : pending) {
+            writeString(out, t.getFromIban());
+        }
+        for (ArchivedTransaction t : pending) {
+            writeString(out, t.getToIban());
+        }
+        for (ArchivedTransaction t : pending) {
+            writeString(out, t.getDescription());
+        }
+        for (ArchivedTransaction t : pending) {
+            writeString(out, t.getReference());
+        }
+        out.flush();
+
+        byte[] compressed = deflate(raw.toByteArray());
+        long offset = channel.position();
+        writeFully(ByteBuffer.wrap(compressed));
+
+        spillAccounts(blockDirectory.size());
+        blockDirectory.add(new long[] { offset, compressed.length, raw.size(), rows, minTs, maxTs });
+        rowCount += rows;
+        pending.clear();
+    }
+
+    private static long accountId(Long accountId) {
+        return accountId != null ? accountId : SegmentFormat.NO_ACCOUNT;
+    }
+
+    /**
+     * Déverse les comptes distincts du bloc, triés, à la fin du fichier temporaire
+     */
+    private void spillAccounts(int blockNumber) throws IOException {
+        long[] accounts = new long[pending.size() * 2];
+        int count = 0;
+        for (ArchivedTransaction t : pending) {
+            if (t.getFromAccountId() != null) {
+                accounts[count++] = t.getFromAccountId();
+            }
+            if (t.getToAccountId() != null) {
+                accounts[count++] = t.getToAccountId();
+            }
+        }
+        Arrays.sort(accounts, 0, count);
+        ByteBuffer run = ByteBuffer.allocate(count * Long.BYTES);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || accounts[i] != accounts[i - 1]) {
+                run.putLong(accounts[i]);
+                distinct++;
+            }
+        }
+
+        if (blockNumber == blockAccountCounts.length) {
+            blockAccountOffsets = Arrays.copyOf(blockAccountOffsets, blockNumber * 2);
+            blockAccountCounts = Arrays.copyOf(blockAccountCounts, blockNumber * 2);
+        }
+        blockAccountOffsets[blockNumber] = accountRuns.position();
+        blockAccountCounts[blockNumber] = distinct;
+        run.flip();
+        while (run.hasRemaining()) {
+            accountRuns.write(run);
+        }
+    }
+
+    private ByteBuffer encodeMeta() throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(raw);
+        out.writeByte(TransactionType.values().length);
+        for (TransactionType type : TransactionType.values()) {
+            out.writeUTF(type.name());
+        }
+        out.writeByte(TransactionStatus.values().length);
+        for (TransactionStatus status : TransactionStatus.values()) {
+            out.writeUTF(status.name());
+        }
+        out.flush();
+        return ByteBuffer.wrap(raw.toByteArray());
+    }
+
+    /**
+     * Fusionne les comptes déversés par bloc : entrées d'index écrites à la suite dans le
+     * segment, numéros de blocs dans un second fichier temporaire recopié derrière elles
+     */
+    private void writeIndex(long indexOffset) throws IOException {
+        PriorityQueue<AccountRun> heads = new PriorityQueue<>();
+        for (int block = 0; block < blockDirectory.size(); block++) {
+            AccountRun run = new AccountRun(block, blockAccountOffsets[block], blockAccountCounts[block]);
+            if (run.advance(accountRuns)) {
+                heads.add(run);
+            }
+        }
+
+        Path postingsTemp = Files.createTempFile("ovseg-", ".postings");
+        try {
+            int accountCount = 0;
+            int postingsCount = 0;
+            channel.position(indexOffset + 4);
+            DataOutputStream entries = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), STREAM_BUFFER_BYTES));
+            try (DataOutputStream postings = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(postingsTemp), STREAM_BUFFER_BYTES))) {
+                while (!heads.isEmpty()) {
+                    long accountId = heads.peek().current;
+                    int count = 0;
+                    // Même compte : blocs dépilés par numéro croissant
+                    while (!heads.isEmpty() && heads.peek().current == accountId) {
+                        AccountRun run = heads.poll();
+                        postings.writeInt(run.block);
+                        count++;
+                        if (run.advance(accountRuns)) {
+                            heads.add(run);
+                        }
+                    }
+                    entries.writeLong(accountId);
+                    entries.writeInt(postingsCount);
+                    entries.writeInt(count);
+                    accountCount++;
+                    postingsCount += count;
+                    checkSize(indexOffset + 4 + (long) accountCount * SegmentFormat.INDEX_ENTRY_BYTES
+                            + (long) postingsCount * Integer.BYTES + SegmentFormat.FOOTER_BYTES);
+                }
+            }
+            // Pas de close : il fermerait le canal du segment
+            entries.flush();
+
+            ByteBuffer count = ByteBuffer.allocate(4).putInt(0, accountCount);
+            channel.write(count, indexOffset);
+
+            try (FileChannel source = FileChannel.open(postingsTemp, StandardOpenOption.READ)) {
+                long position = channel.position();
+                long size = source.size();
+                for (long copied = 0; copied < size; ) {
+                    copied += channel.transferFrom(source, position + copied, size - copied);
+                }
+                channel.position(position + size);
+            }
+        } finally {
+            Files.deleteIfExists(postingsTemp);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4 + 64);
+            byte[] buffer = new byte[16 * 1024];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void checkSize(long bytes) throws IOException {
+        if (bytes > SegmentFormat.MAX_SEGMENT_BYTES) {
+            throw new IOException("Segment " + target.getFileName() + " trop volumineux : plus de "
+                    + SegmentFormat.MAX_SEGMENT_BYTES + " octets");
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        checkSize(channel.position() + buffer.remaining());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Comptes triés d'un bloc, relus par petits morceaux pendant la fusion
+     */
+    private static final class AccountRun implements Comparable<AccountRun> {
+
+        private final int block;
+        private final ByteBuffer buffer = ByteBuffer.allocate(RUN_BUFFER_BYTES).limit(0);
+        private long position;
+        private int remaining;
+        private long current;
+
+        AccountRun(int block, long position, int count) {
+            this.block = block;
+            this.position = position;
+            this.remaining = count;
+        }
+
+        boolean advance(FileChannel runs) throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            if (!buffer.hasRemaining()) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), (long) remaining * Long.BYTES));
+                while (buffer.hasRemaining()) {
+                    int read = runs.read(buffer, position);
+                    if (read < 0) {
+                        throw new EOFException("Comptes du bloc " + block + " tronqués");
+                    }
+                    position += read;
+                }
+                buffer.flip();
+            }
+            current = buffer.getLong();
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public int compareTo(AccountRun other) {
+            int byAccount = Long.compare(current, other.current);
+            return byAccount != 0 ? byAccount : Integer.compare(block, other.block);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.openvault.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Décodeur minimal du format protobuf : lit un message délimité puis ses champs un à un.
+ * Les champs inconnus sont ignorés, comme le prévoit protobuf pour la compatibilité.
+ */
+public final class ProtoReader {
+
+    static final int VARINT = 0;
+    static final int FIXED64 = 1;
+    static final int LENGTH_DELIMITED = 2;
+    static final int FIXED32 = 5;
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+    private int wireType;
+
+    private ProtoReader(byte[] buffer, int position, int limit) {
+        this.buffer = buffer;
+        this.position = position;
+        this.limit = limit;
+    }
+
+    /**
+     * Lit le prochain message délimité du flux, ou null en fin de flux
+     */
+    public static ProtoReader readDelimited(InputStream in, int maxBytes) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        long length = first & 0x7F;
+        int shift = 7;
+        int current = first;
+        while ((current & 0x80) != 0) {
+            current = in.read();
+            if (current < 0 || shift > 28) {
+                throw new IOException("Longueur de message protobuf invalide");
+            }
+            length |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        }
+        if (length > maxBytes) {
+            throw new IOException("Message protobuf trop volumineux : " + length + " octets");
+        }
+        byte[] message = in.readNBytes((int) length);
+        if (message.length != length) {
+            throw new EOFException("Message protobuf tronqué");
+        }
+        return new ProtoReader(message, 0, message.length);
+    }
+
+    /**
+     * Numéro du champ suivant, 0 en fin de message
+     */
+    public int nextField() throws IOException {
+        if (position >= limit) {
+            return 0;
+        }
+        long tag = readVarint();
+        wireType = (int) (tag & 0x7);
+        int field = (int) (tag >>> 3);
+        if (field <= 0) {
+            throw new IOException("Numéro de champ protobuf invalide");
+        }
+        return field;
+    }
+
+    public long readInt64() throws IOException {
+        expect(VARINT);
+        return readVarint();
+    }
+
+    public long readSInt64() throws IOException {
+        long value = readInt64();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public String readString() throws IOException {
+        expect(LENGTH_DELIMITED);
+        int length = readLength();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Sous-message imbriqué, lu sans copie dans le même tampon
+     */
+    public ProtoReader readMessage() throws IOException {
+        expect(LENGTH_DELIMITED);
+        int length = readLength();
+        ProtoReader message = new ProtoReader(buffer, position, position + length);
+        position += length;
+        return message;
+    }
+
+    public void skip() throws IOException {
+        switch (wireType) {
+            case VARINT -> readVarint();
+            case FIXED64 -> advance(8);
+            case LENGTH_DELIMITED -> advance(readLength());
+            case FIXED32 -> advance(4);
+            default -> throw new IOException("Type protobuf non supporté : " + wireType);
+        }
+    }
+
+    private void expect(int expected) throws IOException {
+        if (wireType != expected) {
+            throw new IOException("Type protobuf inattendu : " + wireType + " au lieu de " + expected);
+        }
+    }
+
+    private int readLength() throws IOException {
+        long length = readVarint();
+        if (length < 0 || length > limit - position) {
+            throw new IOException("Longueur de champ protobuf invalide");
+        }
+        return (int) length;
+    }
+
+    private void advance(int bytes) throws IOException {
+        if (bytes > limit - position) {
+            throw new EOFException("Message protobuf tronqué");
+        }
+        position += bytes;
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit) {
+                throw new EOFException("Message protobuf tronqué");
+            }
+            byte b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint protobuf invalide");
+    }
+}
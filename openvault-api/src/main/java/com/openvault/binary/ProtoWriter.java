@@ -0,0 +1,138 @@
+package com.openvault.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodeur minimal du format protobuf (varint, zigzag, chaînes, messages imbriqués),
+ * réutilisable d'un message à l'autre pour ne pas réallouer de tampon.
+ *
+ * Comme en proto3, les valeurs par défaut (0, chaîne vide, null) ne sont pas écrites.
+ */
+public final class ProtoWriter {
+
+    private static final int VARINT = 0;
+    private static final int LENGTH_DELIMITED = 2;
+
+    private final byte[] prefix = new byte[5];
+    private byte[] buffer;
+    private int position;
+
+    public ProtoWriter() {
+        this(256);
+    }
+
+    public ProtoWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public ProtoWriter reset() {
+        position = 0;
+        return this;
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public void writeInt64(int field, long value) {
+        if (value != 0) {
+            writeTag(field, VARINT);
+            writeVarint(value);
+        }
+    }
+
+    public void writeSInt64(int field, long value) {
+        if (value != 0) {
+            writeTag(field, VARINT);
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+    }
+
+    public void writeEnum(int field, int value) {
+        writeInt64(field, value);
+    }
+
+    public void writeString(int field, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        writeTag(field, LENGTH_DELIMITED);
+        int length = value.length();
+        // IBAN, références et la plupart des libellés sont en ASCII : pas de byte[] intermédiaire
+        if (isAscii(value)) {
+            writeVarint(length);
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                buffer[position++] = (byte) value.charAt(i);
+            }
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+
+    /**
+     * Écrit un message imbriqué déjà encodé dans un autre writer
+     */
+    public void writeMessage(int field, ProtoWriter message) {
+        writeTag(field, LENGTH_DELIMITED);
+        writeVarint(message.position);
+        ensureCapacity(message.position);
+        System.arraycopy(message.buffer, 0, buffer, position, message.position);
+        position += message.position;
+    }
+
+    /**
+     * Écrit le message courant précédé de sa longueur (format writeDelimitedTo)
+     */
+    public void writeDelimitedTo(OutputStream out) throws IOException {
+        int length = position;
+        int prefixLength = 0;
+        long value = length;
+        while ((value & ~0x7FL) != 0) {
+            prefix[prefixLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        prefix[prefixLength++] = (byte) value;
+        out.write(prefix, 0, prefixLength);
+        out.write(buffer, 0, length);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeTag(int field, int wireType) {
+        writeVarint(((long) field << 3) | wireType);
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,93 @@
+package com.openvault.binary;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.openvault.archive.ArchivedTransaction;
+import com.openvault.dto.TransferRequest;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+
+/**
+ * Correspondance entre les messages de src/main/proto/openvault.proto et le modèle.
+ *
+ * Montants en centimes (sint64) : TransferService refuse déjà plus de deux décimales.
+ * Les énumérations sont décalées de 1, la valeur 0 étant réservée à UNSPECIFIED.
+ */
+public final class TransactionProtoCodec {
+
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+
+    private TransactionProtoCodec() {
+    }
+
+    /**
+     * Ligne lue en flux (historique binaire)
+     */
+    public static void encode(ProtoWriter writer, ArchivedTransaction t) {
+        encode(writer, t.getId(), t.getFromIban(), t.getToIban(), t.getAmount(), t.getType(),
+                t.getDescription(), t.getTimestamp(), t.getStatus(), t.getReference());
+    }
+
+    /**
+     * Entité issue de TransferService (virements en lot)
+     */
+    public static void encode(ProtoWriter writer, Transaction t) {
+        encode(writer, t.getId(),
+                t.getFromAccount() != null ? t.getFromAccount().getIban() : null,
+                t.getToAccount() != null ? t.getToAccount().getIban() : null,
+                t.getAmount(), t.getType(), t.getDescription(), t.getTimestamp(), t.getStatus(), t.getReference());
+    }
+
+    /**
+     * TransferResult : la transaction créée, ou le motif de l'échec
+     */
+    public static void encodeTransferResult(ProtoWriter writer, ProtoWriter scratch, int index,
+                                            Transaction transaction, String error) {
+        writer.writeInt64(1, index);
+        if (transaction != null) {
+            encode(scratch.reset(), transaction);
+            writer.writeMessage(2, scratch);
+        }
+        writer.writeString(3, error);
+    }
+
+    public static TransferRequest decodeTransferRequest(ProtoReader reader) throws IOException {
+        TransferRequest request = new TransferRequest();
+        for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+            switch (field) {
+                case 1 -> request.setFromAccountId(reader.readInt64());
+                case 2 -> request.setToIban(reader.readString());
+                case 3 -> request.setAmount(BigDecimal.valueOf(reader.readSInt64(), 2));
+                case 4 -> request.setDescription(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return request;
+    }
+
+    private static void encode(ProtoWriter writer, Long id, String fromIban, String toIban, BigDecimal amount,
+                               TransactionType type, String description, LocalDateTime timestamp,
+                               TransactionStatus status, String reference) {
+        writer.writeInt64(1, id != null ? id : 0);
+        writer.writeString(2, fromIban);
+        writer.writeString(3, toIban);
+        if (amount != null) {
+            writer.writeSInt64(4, amount.movePointRight(2).longValueExact());
+        }
+        if (type != null) {
+            writer.writeEnum(5, type.ordinal() + 1);
+        }
+        writer.writeString(6, description);
+        if (timestamp != null) {
+            writer.writeInt64(7, timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000);
+        }
+        if (status != null) {
+            writer.writeEnum(8, status.ordinal() + 1);
+        }
+        writer.writeString(9, reference);
+    }
+}
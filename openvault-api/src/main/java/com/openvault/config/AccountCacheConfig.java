@@ -0,0 +1,24 @@
+package com.openvault.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.openvault.outbox.ChangeFeed;
+import com.openvault.service.AccountSummaryCache;
+
+/**
+ * Cache des comptes par utilisateur, invalidé par le flux de changements quand l'outbox
+ * est active
+ */
+@Configuration
+@EnableConfigurationProperties(AccountCacheProperties.class)
+public class AccountCacheConfig {
+
+    @Bean
+    public AccountSummaryCache accountSummaryCache(AccountCacheProperties properties,
+                                                   ObjectProvider<ChangeFeed> changeFeed) {
+        return new AccountSummaryCache(properties, changeFeed.getIfAvailable());
+    }
+}
@@ -0,0 +1,27 @@
+package com.openvault.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Cache des comptes par utilisateur (openvault.account-cache.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.account-cache")
+public class AccountCacheProperties {
+
+    /**
+     * Durée de vie d'une entrée : borne la fraîcheur des écritures que le flux de
+     * changements ne publie pas (création, désactivation de compte sur une autre instance)
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Utilisateurs gardés au plus ; au-delà, les chargements ne sont plus mis en cache
+     * jusqu'à l'expiration d'entrées
+     */
+    private int maxUsers = 100_000;
+}
@@ -0,0 +1,87 @@
+package com.openvault.config;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+
+import com.openvault.OpenVaultApiApplication;
+
+/**
+ * Enregistre au build AOT le résultat des {@code @ConditionalOnProperty} de l'application,
+ * contrôlé au démarrage par {@link AotConditionVerifier}.
+ */
+public class AotConditionRecorder implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        if (beanFactory.getParentBeanFactory() != null) {
+            // Contexte enfant (port de management) : mêmes propriétés que le contexte principal
+            return null;
+        }
+        Environment environment = beanFactory.getBean(ConfigurableApplicationContext.ENVIRONMENT_BEAN_NAME,
+                Environment.class);
+        Properties conditions = capture(environment);
+        return (generationContext, code) -> {
+            StringWriter content = new StringWriter();
+            try {
+                conditions.store(content, "Conditions du contexte AOT : valeur attendue, si absente, résultat");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            generationContext.getGeneratedFiles().addResourceFile(AotConditionVerifier.RESOURCE, content.toString());
+        };
+    }
+
+    static Properties capture(Environment environment) {
+        TypeFilter conditional = new AnnotationTypeFilter(ConditionalOnProperty.class);
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(MetadataReader metadataReader) throws IOException {
+                // Sans évaluer les conditions : les classes inactives au build sont aussi enregistrées
+                return conditional.match(metadataReader, getMetadataReaderFactory());
+            }
+        };
+
+        Properties conditions = new Properties();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(OpenVaultApiApplication.class.getPackageName())) {
+            ((AnnotatedBeanDefinition) candidate).getMetadata().getAnnotations()
+                    .stream(ConditionalOnProperty.class)
+                    .forEach(condition -> record(condition, environment, conditions));
+        }
+        return conditions;
+    }
+
+    private static void record(MergedAnnotation<ConditionalOnProperty> condition, Environment environment,
+                               Properties conditions) {
+        String prefix = condition.getString("prefix");
+        if (!prefix.isEmpty() && !prefix.endsWith(".")) {
+            prefix = prefix + ".";
+        }
+        String[] names = condition.getStringArray("name");
+        if (names.length == 0) {
+            names = condition.getStringArray("value");
+        }
+        String havingValue = condition.getString("havingValue");
+        boolean matchIfMissing = condition.getBoolean("matchIfMissing");
+        for (String name : names) {
+            String property = prefix + name;
+            boolean matched = AotConditionVerifier.matches(environment.getProperty(property), havingValue, matchIfMissing);
+            conditions.setProperty(property, havingValue + "," + matchIfMissing + "," + matched);
+        }
+    }
+}
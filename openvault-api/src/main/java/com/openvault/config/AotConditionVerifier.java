@@ -0,0 +1,96 @@
+package com.openvault.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.PropertyResolver;
+
+/**
+ * Refuse de démarrer un contexte AOT dont les conditions ne correspondent plus à la
+ * configuration d'exécution.
+ *
+ * Les {@code @ConditionalOnProperty} sont évaluées une fois pour toutes au build AOT :
+ * sans ce contrôle, ARCHIVE_ENABLED=true ou un routage vers les réplicas activé au
+ * déploiement serait ignoré en silence. Les valeurs du build sont enregistrées par
+ * {@link AotConditionRecorder} ; hors AOT, rien n'est vérifié.
+ */
+public class AotConditionVerifier implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    static final String RESOURCE = "META-INF/openvault/aot-conditions.properties";
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        Properties recorded = load(context.getClassLoader());
+        String error = null;
+        if (recorded == null) {
+            error = "Contexte AOT sans conditions enregistrées (" + RESOURCE
+                    + ") : reconstruire avec -Pfast-startup ou démarrer avec spring.aot.enabled=false";
+        } else {
+            List<String> mismatches = mismatches(recorded, context.getEnvironment());
+            if (!mismatches.isEmpty()) {
+                error = "Configuration incompatible avec le contexte AOT, figé au build : "
+                        + String.join(" ; ", mismatches)
+                        + ". Démarrer avec spring.aot.enabled=false (SPRING_AOT_ENABLED=false) ou reconstruire l'image";
+            }
+        }
+        if (error != null) {
+            String message = error;
+            // Échec levé au rafraîchissement, avant toute création de bean : les logs
+            // asynchrones ne sont vidés à l'arrêt qu'une fois le contexte démarré
+            context.addBeanFactoryPostProcessor(beanFactory -> {
+                throw new IllegalStateException(message);
+            });
+        }
+    }
+
+    /**
+     * Conditions dont le résultat à l'exécution diffère de celui du build
+     */
+    static List<String> mismatches(Properties recorded, PropertyResolver environment) {
+        List<String> mismatches = new ArrayList<>();
+        for (String property : recorded.stringPropertyNames()) {
+            String[] rule = recorded.getProperty(property).split(",", -1);
+            boolean atBuild = Boolean.parseBoolean(rule[2]);
+            boolean atRuntime = matches(environment.getProperty(property), rule[0], Boolean.parseBoolean(rule[1]));
+            if (atBuild != atRuntime) {
+                mismatches.add(property + " " + (atBuild ? "actif" : "inactif") + " au build, "
+                        + (atRuntime ? "actif" : "inactif") + " à l'exécution");
+            }
+        }
+        mismatches.sort(null);
+        return mismatches;
+    }
+
+    /**
+     * Même règle que {@code @ConditionalOnProperty}
+     */
+    static boolean matches(String value, String havingValue, boolean matchIfMissing) {
+        if (value == null) {
+            return matchIfMissing;
+        }
+        return havingValue.isEmpty() ? !"false".equalsIgnoreCase(value) : havingValue.equalsIgnoreCase(value);
+    }
+
+    private static Properties load(ClassLoader classLoader) {
+        try (InputStream in = classLoader.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                return null;
+            }
+            Properties properties = new Properties();
+            properties.load(in);
+            return properties;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture de " + RESOURCE + " impossible", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.openvault.config;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.openvault.service.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Routage lecture/écriture : les transactions @Transactional(readOnly = true)
+ * sont servies par les réplicas, tout le reste par la base primaire.
+ *
+ * Le {@link LazyConnectionDataSourceProxy} retarde l'obtention de la connexion physique
+ * jusqu'à la première requête SQL, une fois le flag readOnly de la transaction connu.
+ * Le {@link DatabaseConcurrencyGovernor}, s'il est actif, ne limite que le pool primaire :
+ * écritures et lectures renvoyées au primaire, jamais les lectures servies par un réplica.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "openvault.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource readOnlyDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceRoutingProperties properties,
+            ReadYourWritesTracker readYourWritesTracker,
+            ObjectProvider<DatabaseConcurrencyGovernor> governor
+    ) {
+        List<DataSourceRoutingProperties.Replica> replicas = properties.getReplicas();
+        List<HikariDataSource> pools = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            pools.add(createReplicaPool(replicas.get(i), i));
+        }
+        return new ReplicaRoutingDataSource(governed(primaryDataSource, governor), pools, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource readOnlyDataSource,
+                                 ObjectProvider<DatabaseConcurrencyGovernor> governor) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(governed(primaryDataSource, governor));
+        proxy.setReadOnlyDataSource(readOnlyDataSource);
+        // Valeurs connues d'avance : évite d'ouvrir une connexion au démarrage
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    // Un permis par connexion physique du primaire, partagé entre les deux chemins qui y mènent
+    private static DataSource governed(HikariDataSource primaryDataSource,
+                                       ObjectProvider<DatabaseConcurrencyGovernor> governor) {
+        DatabaseConcurrencyGovernor databaseGovernor = governor.getIfAvailable();
+        return databaseGovernor != null ? new GovernedDataSource(primaryDataSource, databaseGovernor) : primaryDataSource;
+    }
+
+    private HikariDataSource createReplicaPool(DataSourceRoutingProperties.Replica replica, int index) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica-" + index);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
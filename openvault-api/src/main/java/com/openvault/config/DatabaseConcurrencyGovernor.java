@@ -0,0 +1,59 @@
+package com.openvault.config;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Borne le nombre de threads qui travaillent simultanément avec la base.
+ *
+ * Avec des threads virtuels, Tomcat n'impose plus de limite au nombre de requêtes
+ * concurrentes : sans ce garde-fou, des milliers de threads se disputeraient les
+ * connexions du pool. Le sémaphore équitable les fait patienter dans l'ordre
+ * d'arrivée et échoue proprement au-delà du délai d'attente.
+ */
+public class DatabaseConcurrencyGovernor {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long acquireTimeoutNanos;
+
+    public DatabaseConcurrencyGovernor(int maxConcurrency, Duration acquireTimeout) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Le nombre de permis doit être positif");
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    public void acquire() throws SQLTransientConnectionException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Base de données saturée : aucun accès disponible après "
+                                + Duration.ofNanos(acquireTimeoutNanos).toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Attente d'accès à la base interrompue", e);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+}
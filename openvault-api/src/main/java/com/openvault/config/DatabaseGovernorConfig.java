@@ -0,0 +1,50 @@
+package com.openvault.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Active le {@link DatabaseConcurrencyGovernor} sur le pool Hikari primaire.
+ *
+ * Par défaut le nombre de permis est la taille du pool primaire : au-delà, un thread
+ * ne ferait qu'attendre une connexion dans Hikari, sans ordre ni limite de file.
+ *
+ * Sans routage, le bean "dataSource" est ce pool et il est enveloppé ici. Avec le routage,
+ * "dataSource" est le {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * dont les connexions peuvent finir sur un réplica : c'est {@link DataSourceRoutingConfig}
+ * qui enveloppe alors le pool primaire, seul à porter des permis.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "openvault.concurrency.db-governor", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseGovernorConfig {
+
+    @Bean
+    public DatabaseConcurrencyGovernor databaseConcurrencyGovernor(
+            @Value("${openvault.concurrency.db-governor.max-concurrency:0}") int maxConcurrency,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${openvault.concurrency.db-governor.acquire-timeout:5s}") Duration acquireTimeout
+    ) {
+        return new DatabaseConcurrencyGovernor(maxConcurrency > 0 ? maxConcurrency : poolSize, acquireTimeout);
+    }
+
+    @Bean
+    public static BeanPostProcessor governedDataSourcePostProcessor(ObjectProvider<DatabaseConcurrencyGovernor> governor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof HikariDataSource dataSource) {
+                    return new GovernedDataSource(dataSource, governor.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
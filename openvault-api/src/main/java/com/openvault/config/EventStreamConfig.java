@@ -0,0 +1,30 @@
+package com.openvault.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.openvault.events.EventStreamBroadcaster;
+import com.openvault.outbox.ChangeFeed;
+import com.openvault.repository.AccountRepository;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Notifications en direct alimentées par le flux de changements : nécessite l'outbox
+ */
+@Configuration
+@EnableConfigurationProperties(EventStreamProperties.class)
+@ConditionalOnProperty(name = {"openvault.outbox.enabled", "openvault.events.enabled"},
+        havingValue = "true", matchIfMissing = true)
+public class EventStreamConfig {
+
+    @Bean
+    public EventStreamBroadcaster eventStreamBroadcaster(ChangeFeed changeFeed,
+                                                         AccountRepository accountRepository,
+                                                         JsonMapper jsonMapper,
+                                                         EventStreamProperties properties) {
+        return new EventStreamBroadcaster(changeFeed, accountRepository, jsonMapper, properties);
+    }
+}
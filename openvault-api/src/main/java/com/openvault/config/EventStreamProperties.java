@@ -0,0 +1,45 @@
+package com.openvault.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Notifications en direct sur GET /events (openvault.events.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.events")
+public class EventStreamProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Intervalle entre deux commentaires de maintien, pour que proxys et répartiteurs
+     * ne ferment pas une connexion inactive
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /**
+     * Durée de vie d'une connexion ; le client se reconnecte ensuite avec Last-Event-ID
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Délai de reconnexion suggéré au client (champ retry)
+     */
+    private Duration reconnectTime = Duration.ofSeconds(3);
+
+    /**
+     * Écart maximal rejoué depuis Last-Event-ID ; au-delà, le client reçoit « resync »
+     * et recharge ses données par l'API
+     */
+    private int replayLimit = 10_000;
+
+    /**
+     * Messages en attente par connexion ; un client trop lent est déconnecté et reprend
+     * par rejeu à sa reconnexion
+     */
+    private int maxPendingFrames = 1_000;
+}
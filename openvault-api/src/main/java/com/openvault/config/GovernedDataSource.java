@@ -0,0 +1,106 @@
+package com.openvault.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Source de données qui prend un permis du {@link DatabaseConcurrencyGovernor}
+ * avant chaque connexion et le rend à la fermeture de celle-ci.
+ */
+public class GovernedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final DatabaseConcurrencyGovernor governor;
+
+    public GovernedDataSource(DataSource targetDataSource, DatabaseConcurrencyGovernor governor) {
+        super(targetDataSource);
+        this.governor = governor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        governor.acquire();
+        try {
+            return governed(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            governor.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        governor.acquire();
+        try {
+            return governed(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            governor.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Ferme le pool sous-jacent à l'arrêt du contexte
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection governed(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] { ConnectionProxy.class },
+                new ReleasingInvocationHandler(target)
+        );
+    }
+
+    private class ReleasingInvocationHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingInvocationHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getTargetConnection":
+                    return target;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        // Un double close ne doit pas rendre deux permis
+                        if (released.compareAndSet(false, true)) {
+                            governor.release();
+                        }
+                    }
+                    return null;
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.openvault.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.openvault.contention.HotAccountDetector;
+import com.openvault.contention.HotAccountsEndpoint;
+
+/**
+ * Suivi des comptes chauds, alimenté par TransferService et publié sur
+ * /actuator/hotaccounts et dans les métriques
+ */
+@Configuration
+@EnableConfigurationProperties(HotAccountProperties.class)
+@ConditionalOnProperty(prefix = "openvault.hot-accounts", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HotAccountConfig {
+
+    @Bean
+    public HotAccountDetector hotAccountDetector(HotAccountProperties properties) {
+        return new HotAccountDetector(properties);
+    }
+
+    @Bean
+    public HotAccountsEndpoint hotAccountsEndpoint(HotAccountDetector detector) {
+        return new HotAccountsEndpoint(detector);
+    }
+}
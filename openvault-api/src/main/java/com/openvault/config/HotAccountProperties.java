@@ -0,0 +1,42 @@
+package com.openvault.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Détection des comptes très sollicités (openvault.hot-accounts.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.hot-accounts")
+public class HotAccountProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Compteurs gardés par classement : mémoire bornée, précision en total / capacity
+     */
+    private int capacity = 64;
+
+    /**
+     * Fenêtre glissante sur laquelle les débits sont calculés
+     */
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * Comptes listés par classement
+     */
+    private int top = 10;
+
+    /**
+     * Alerte au-delà de ce nombre de virements par seconde sur un compte (0 = désactivée)
+     */
+    private double alertTransferRate = 0;
+
+    /**
+     * Alerte au-delà de ce temps d'attente de verrou cumulé par seconde (0 = désactivée)
+     */
+    private Duration alertLockWait = Duration.ZERO;
+}
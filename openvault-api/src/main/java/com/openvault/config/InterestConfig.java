@@ -0,0 +1,38 @@
+package com.openvault.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.interest.InterestAccrualJob;
+import com.openvault.outbox.OutboxRecorder;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.InterestAccrualCheckpointRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.service.AccountSummaryCache;
+
+/**
+ * Versement nocturne des intérêts des comptes épargne
+ */
+@Configuration
+@EnableConfigurationProperties(InterestProperties.class)
+@ConditionalOnProperty(prefix = "openvault.interest", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class InterestConfig {
+
+    @Bean
+    public InterestAccrualJob interestAccrualJob(AccountRepository accountRepository,
+                                                 TransactionRepository transactionRepository,
+                                                 InterestAccrualCheckpointRepository checkpointRepository,
+                                                 ObjectProvider<OutboxRecorder> outboxRecorder,
+                                                 AccountSummaryCache accountSummaryCache,
+                                                 PlatformTransactionManager transactionManager,
+                                                 InterestProperties properties) {
+        return new InterestAccrualJob(accountRepository, transactionRepository, checkpointRepository,
+                outboxRecorder.getIfAvailable(), accountSummaryCache, new TransactionTemplate(transactionManager),
+                properties);
+    }
+}
@@ -0,0 +1,38 @@
+package com.openvault.config;
+
+import java.math.BigDecimal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Intérêts des comptes épargne (openvault.interest.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.interest")
+public class InterestProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Taux annuel (0.03 pour 3 %), couru chaque jour au prorata des jours de l'année
+     */
+    private BigDecimal annualRate = new BigDecimal("0.03");
+
+    /**
+     * Plages de comptes versées en parallèle, chacune sur sa propre connexion
+     */
+    private int parallelism = 4;
+
+    /**
+     * Largeur d'une plage d'identifiants de comptes : une transaction, un point de reprise.
+     * Borne aussi le nombre de comptes verrouillés ensemble jusqu'au commit de la plage
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Journées manquées (instances arrêtées) rattrapées au plus par un calcul
+     */
+    private int catchUpDays = 7;
+}
@@ -0,0 +1,41 @@
+package com.openvault.config;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.openvault.logging.CorrelationIdFilter;
+import com.openvault.logging.SamplingTurboFilter;
+
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Identifiant de corrélation par requête et échantillonnage des logs à fort volume.
+ * L'appender JSON asynchrone lui-même est déclaré dans logback-spring.xml.
+ */
+@Configuration
+@EnableConfigurationProperties(LoggingProperties.class)
+public class LoggingConfig {
+
+    /**
+     * Tout premier filtre : les logs des filtres suivants (JWT, budget SQL) sont corrélés
+     */
+    @Bean
+    public FilterRegistrationBean<CorrelationIdFilter> correlationIdFilter() {
+        FilterRegistrationBean<CorrelationIdFilter> registration = new FilterRegistrationBean<>(new CorrelationIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public SamplingTurboFilter samplingTurboFilter(LoggingProperties properties) {
+        SamplingTurboFilter filter = new SamplingTurboFilter(properties.getSampling());
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            filter.install(context);
+        }
+        return filter;
+    }
+}
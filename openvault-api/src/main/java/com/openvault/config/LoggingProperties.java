@@ -0,0 +1,26 @@
+package com.openvault.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Pipeline de logs (openvault.logging.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.logging")
+public class LoggingProperties {
+
+    /**
+     * Lignes en attente dans l'appender asynchrone (lu par logback-spring.xml)
+     */
+    private int queueSize = 8192;
+
+    /**
+     * Échantillonnage des logs INFO par logger : une requête sur N gardée
+     */
+    private Map<String, Integer> sampling = new LinkedHashMap<>();
+}
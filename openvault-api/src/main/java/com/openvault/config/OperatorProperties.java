@@ -0,0 +1,23 @@
+package com.openvault.config;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Opérateurs de la banque (openvault.operators.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.operators")
+public class OperatorProperties {
+
+    /**
+     * Emails des utilisateurs qui reçoivent le rôle OPERATOR : seuls à lire les endpoints
+     * Actuator d'exploitation (rapprochement, comptes chauds...), qui exposent les comptes
+     * de tous les clients. L'inscription étant ouverte, le rôle ne s'obtient que par configuration.
+     */
+    private Set<String> emails = new LinkedHashSet<>();
+}
@@ -0,0 +1,43 @@
+package com.openvault.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.outbox.ChangeFeed;
+import com.openvault.outbox.OutboxRecorder;
+import com.openvault.outbox.OutboxRelay;
+import com.openvault.repository.ChangeFeedCursorRepository;
+import com.openvault.repository.OutboxEventRepository;
+
+/**
+ * Outbox écrite par TransferService, relayée vers le flux de changements en processus
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnProperty(prefix = "openvault.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxRecorder outboxRecorder(OutboxEventRepository outboxEventRepository) {
+        return new OutboxRecorder(outboxEventRepository);
+    }
+
+    @Bean
+    public ChangeFeed changeFeed(OutboxEventRepository outboxEventRepository,
+                                 ChangeFeedCursorRepository cursorRepository,
+                                 OutboxProperties properties) {
+        return new ChangeFeed(outboxEventRepository, cursorRepository, properties.getBatchSize());
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxEventRepository outboxEventRepository,
+                                   ChangeFeedCursorRepository cursorRepository,
+                                   ChangeFeed changeFeed,
+                                   TransactionTemplate transactionTemplate,
+                                   OutboxProperties properties) {
+        return new OutboxRelay(outboxEventRepository, cursorRepository, changeFeed, transactionTemplate, properties);
+    }
+}
@@ -0,0 +1,37 @@
+package com.openvault.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Outbox transactionnelle et flux de changements (openvault.outbox.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Intervalle entre deux passages du relais
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * Événements publiés par transaction du relais, et livrés par appel de consommateur
+     */
+    private int batchSize = 500;
+
+    /**
+     * Durée de conservation des événements publiés, pour le rattrapage depuis un offset
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Intervalle entre deux purges des événements publiés
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,42 @@
+package com.openvault.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.limits.VelocityLimiter;
+import com.openvault.outbox.OutboxRecorder;
+import com.openvault.payroll.PayrollProcessor;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.PayrollLineRepository;
+import com.openvault.repository.PayrollRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.service.AccountSummaryCache;
+import com.openvault.util.IbanGenerator;
+
+/**
+ * Paies par fichier : lecture en flux, débit unique du total, crédits par lots
+ */
+@Configuration
+@EnableConfigurationProperties(PayrollProperties.class)
+public class PayrollConfig {
+
+    @Bean
+    public PayrollProcessor payrollProcessor(PayrollRepository payrollRepository,
+                                             PayrollLineRepository payrollLineRepository,
+                                             AccountRepository accountRepository,
+                                             TransactionRepository transactionRepository,
+                                             ObjectProvider<OutboxRecorder> outboxRecorder,
+                                             ObjectProvider<VelocityLimiter> velocityLimiter,
+                                             AccountSummaryCache accountSummaryCache,
+                                             IbanGenerator ibanGenerator,
+                                             PlatformTransactionManager transactionManager,
+                                             PayrollProperties properties) {
+        return new PayrollProcessor(payrollRepository, payrollLineRepository, accountRepository,
+                transactionRepository, outboxRecorder.getIfAvailable(), velocityLimiter.getIfAvailable(),
+                accountSummaryCache, ibanGenerator, new TransactionTemplate(transactionManager), properties);
+    }
+}
@@ -0,0 +1,45 @@
+package com.openvault.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Paies par fichier (openvault.payroll.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.payroll")
+public class PayrollProperties {
+
+    /**
+     * Lignes écrites ou créditées par transaction
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Lignes acceptées par fichier
+     */
+    private int maxLines = 100_000;
+
+    /**
+     * Paies créditées en même temps par instance, une connexion chacune
+     */
+    private int concurrency = 2;
+
+    /**
+     * Tentatives d'un lot de crédits (interblocage...) avant d'abandonner la paie à la reprise
+     */
+    private int maxChunkAttempts = 3;
+
+    /**
+     * Paie sans avancement depuis ce délai : reprise par n'importe quelle instance
+     */
+    private Duration stallTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Intervalle entre deux recherches de paies interrompues
+     */
+    private Duration resumeInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,43 @@
+package com.openvault.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.archive.TransactionArchive;
+import com.openvault.reconciliation.LedgerReconciler;
+import com.openvault.reconciliation.ReconciliationEndpoint;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.TransactionRepository;
+
+/**
+ * Rapprochement nocturne du grand livre, publié sur /actuator/reconciliation
+ */
+@Configuration
+@EnableConfigurationProperties(ReconciliationProperties.class)
+@ConditionalOnProperty(prefix = "openvault.reconciliation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReconciliationConfig {
+
+    @Bean
+    public LedgerReconciler ledgerReconciler(AccountRepository accountRepository,
+                                             TransactionRepository transactionRepository,
+                                             TransactionArchive archive,
+                                             PlatformTransactionManager transactionManager,
+                                             ReconciliationProperties properties) {
+        // Une plage = un instantané : soldes et mouvements lus dans la même transaction.
+        // En lecture seule, elle part sur un réplica quand le routage est actif.
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshot.setReadOnly(true);
+        return new LedgerReconciler(accountRepository, transactionRepository, archive, snapshot, properties);
+    }
+
+    @Bean
+    public ReconciliationEndpoint reconciliationEndpoint(LedgerReconciler reconciler) {
+        return new ReconciliationEndpoint(reconciler);
+    }
+}
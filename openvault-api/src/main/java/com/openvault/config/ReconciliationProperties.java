@@ -0,0 +1,30 @@
+package com.openvault.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Rapprochement des soldes avec les mouvements (openvault.reconciliation.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.reconciliation")
+public class ReconciliationProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Plages de comptes traitées en parallèle, chacune sur sa propre connexion
+     */
+    private int parallelism = 4;
+
+    /**
+     * Largeur d'une plage d'identifiants de comptes : un long par compte en mémoire
+     */
+    private int chunkSize = 50_000;
+
+    /**
+     * Écarts détaillés dans le rapport (tous sont comptés)
+     */
+    private int maxReported = 100;
+}
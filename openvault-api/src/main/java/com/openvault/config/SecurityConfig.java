@@ -1,5 +1,7 @@
 package com.openvault.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,14 +17,20 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfigurationSource;
 
 import com.openvault.security.JwtAuthenticationFilter;
+import com.openvault.security.UserDetailsServiceImpl;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(OperatorProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
@@ -30,19 +38,36 @@ public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final CorsConfigurationSource corsConfigurationSource;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    // Port du serveur de management (Actuator), non publié hors du réseau interne
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Fin d'une réponse asynchrone (SSE) : la requête d'origine a déjà été autorisée
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/auth/**",
                                 "/health",
+                                "/livez",
+                                "/readyz",
+                                "/actuator/health/**",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
                                 "/swagger-ui.html"
                         ).permitAll()
+                        // Collecte Prometheus sans jeton, seulement sur le port de management
+                        .requestMatchers(new AndRequestMatcher(onManagementPort(),
+                                PathPatternRequestMatcher.withDefaults().matcher("/actuator/prometheus"))).permitAll()
+                        // Rapprochement, comptes chauds, métriques : comptes de tous les clients
+                        .requestMatchers("/actuator/**").hasRole(UserDetailsServiceImpl.OPERATOR_ROLE)
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -54,6 +79,12 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private RequestMatcher onManagementPort() {
+        // Port de management confondu avec le port principal : pas de collecte anonyme
+        return request -> managementPort > 0 && managementPort != serverPort
+                && request.getLocalPort() == managementPort;
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
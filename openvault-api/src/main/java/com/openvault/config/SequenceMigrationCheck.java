@@ -0,0 +1,91 @@
+package com.openvault.config;
+
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+/**
+ * Refuse de démarrer sur une base PostgreSQL existante qui n'a pas été migrée vers les
+ * séquences "pooled" (db/postgres/identity-to-sequences.sql, à exécuter avant le démarrage).
+ *
+ * Vérifié avant la création de l'EntityManagerFactory : sans la migration, Hibernate
+ * (ddl-auto: update) créerait les séquences à 1 et attribuerait des identifiants existants.
+ */
+@Configuration
+public class SequenceMigrationCheck implements InitializingBean {
+
+    static final String MIGRATION_SCRIPT = "db/postgres/identity-to-sequences.sql";
+
+    // Tables créées avec des colonnes IDENTITY avant le passage aux séquences
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users", "users_seq",
+            "accounts", "accounts_seq",
+            "transactions", "transactions_seq"
+    );
+
+    private final DataSource dataSource;
+
+    public SequenceMigrationCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor sequenceMigrationCheckDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(SequenceMigrationCheck.class);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if ("PostgreSQL".equals(product)) {
+            verify(new JdbcTemplate(dataSource));
+        }
+    }
+
+    /**
+     * Échoue si une table est encore en IDENTITY, ou existe sans sa séquence
+     */
+    static void verify(JdbcTemplate jdbcTemplate) {
+        List<String> identity = jdbcTemplate.queryForList("""
+                SELECT table_name FROM information_schema.columns
+                WHERE table_schema = CURRENT_SCHEMA AND column_name = 'id' AND is_identity = 'YES'
+                  AND table_name IN ('users', 'accounts', 'transactions')
+                ORDER BY table_name
+                """, String.class);
+        if (!identity.isEmpty()) {
+            throw new IllegalStateException("Identifiants encore en IDENTITY sur " + identity
+                    + " : exécuter " + MIGRATION_SCRIPT + " avant de démarrer cette version");
+        }
+
+        List<String> tables = jdbcTemplate.queryForList("""
+                SELECT table_name FROM information_schema.tables
+                WHERE table_schema = CURRENT_SCHEMA AND table_name IN ('users', 'accounts', 'transactions')
+                """, String.class);
+        List<String> sequences = jdbcTemplate.queryForList("""
+                SELECT sequence_name FROM information_schema.sequences
+                WHERE sequence_schema = CURRENT_SCHEMA
+                """, String.class);
+        List<String> missing = new ArrayList<>();
+        for (String table : tables) {
+            if (!sequences.contains(SEQUENCES.get(table))) {
+                missing.add(SEQUENCES.get(table));
+            }
+        }
+        if (!missing.isEmpty()) {
+            missing.sort(null);
+            throw new IllegalStateException("Séquences " + missing + " absentes d'une base existante : exécuter "
+                    + MIGRATION_SCRIPT + " avant de démarrer cette version");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.openvault.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.openvault.persistence.SqlBudgetFilter;
+import com.openvault.persistence.SqlBudgetStatementInspector;
+import com.openvault.persistence.SqlStatementRecorder;
+import com.openvault.persistence.SqlTimingSessionListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Branche la surveillance SQL sur Hibernate et sur chaque requête HTTP : budget de
+ * requêtes par endpoint, détection des N+1 et journal des requêtes lentes.
+ * Remplace show-sql, trop bavard pour la production et muet sur les durées.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+@ConditionalOnProperty(prefix = "openvault.sql", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMonitoringConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlMonitoringHibernateCustomizer(SqlMonitoringProperties properties) {
+        SqlStatementRecorder.setSlowQueryThreshold(properties.getSlowQueryThreshold());
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlBudgetStatementInspector());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionListener.class.getName());
+        };
+    }
+
+    /**
+     * En tête de chaîne, juste après la corrélation : les requêtes du filtre JWT
+     * (chargement de l'utilisateur) comptent aussi
+     */
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(SqlMonitoringProperties properties,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        FilterRegistrationBean<SqlBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlBudgetFilter(properties, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,48 @@
+package com.openvault.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Surveillance des requêtes SQL (openvault.sql.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.sql")
+public class SqlMonitoringProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Requêtes au-delà desquelles une requête HTTP est journalisée
+     */
+    private int defaultBudget = 20;
+
+    /**
+     * Budgets par endpoint, clé "GET /transactions/account/{accountId}"
+     */
+    private Map<String, Integer> budgets = new LinkedHashMap<>();
+
+    /**
+     * Endpoints traitant un lot (mêmes requêtes répétées par élément) : mesurés, sans
+     * budget ni détection de N+1
+     */
+    private Set<String> batchEndpoints = new LinkedHashSet<>();
+
+    /**
+     * Répétitions d'une même requête signalées comme N+1
+     */
+    private int repeatedStatementThreshold = 5;
+
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+}
@@ -0,0 +1,33 @@
+package com.openvault.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.StandingOrderRepository;
+import com.openvault.service.TransferService;
+import com.openvault.standingorder.StandingOrderScheduler;
+
+/**
+ * Exécution des virements permanents, répartie entre toutes les instances de l'API
+ */
+@Configuration
+@EnableConfigurationProperties(StandingOrderProperties.class)
+@ConditionalOnProperty(prefix = "openvault.standing-orders", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StandingOrderConfig {
+
+    @Bean
+    public StandingOrderScheduler standingOrderScheduler(StandingOrderRepository standingOrderRepository,
+                                                         AccountRepository accountRepository,
+                                                         TransferService transferService,
+                                                         PlatformTransactionManager transactionManager,
+                                                         ObjectProvider<DatabaseConcurrencyGovernor> governor,
+                                                         StandingOrderProperties properties) {
+        return new StandingOrderScheduler(standingOrderRepository, accountRepository, transferService,
+                transactionManager, governor.getIfAvailable(), properties);
+    }
+}
@@ -0,0 +1,60 @@
+package com.openvault.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Exécution des virements permanents (openvault.standing-orders.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.standing-orders")
+public class StandingOrderProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Intervalle entre deux recherches d'ordres échus
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Ordres réservés par requête SKIP LOCKED
+     */
+    private int batchSize = 100;
+
+    /**
+     * Files d'exécution, donc connexions utilisées au plus en même temps ; les ordres
+     * d'un même compte passent toujours par la même file, dans l'ordre de leurs échéances
+     */
+    private int workers = 4;
+
+    /**
+     * Durée d'une réservation : au-delà, une autre instance peut reprendre l'ordre
+     */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /**
+     * Tentatives par échéance (solde insuffisant...) avant de passer à la suivante
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Délai avant une nouvelle tentative
+     */
+    private Duration retryDelay = Duration.ofHours(1);
+
+    /**
+     * Retard au-delà duquel une échéance manquée (instances arrêtées) n'est plus exécutée
+     * mais reportée à la suivante
+     */
+    private Duration maxDelay = Duration.ofDays(3);
+
+    /**
+     * Autorisations du gouverneur d'accès à la base laissées aux requêtes interactives :
+     * aucune réservation tant qu'il en reste moins, ou que des requêtes attendent
+     */
+    private int interactiveReserve = 2;
+}
@@ -0,0 +1,79 @@
+package com.openvault.config;
+
+import java.sql.DatabaseMetaData;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import com.openvault.entity.TransactionType;
+
+/**
+ * Refuse de démarrer le versement des intérêts sur une base PostgreSQL existante dont la
+ * contrainte CHECK de transactions.type ignore INTEREST (db/postgres/transaction-type-interest.sql,
+ * à exécuter avant le démarrage) : chaque plage échouerait à l'insertion, toutes les nuits.
+ *
+ * ddl-auto: update crée la contrainte avec la table mais ne la modifie jamais ensuite.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "openvault.interest", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionTypeMigrationCheck implements InitializingBean {
+
+    static final String MIGRATION_SCRIPT = "db/postgres/transaction-type-interest.sql";
+
+    private final DataSource dataSource;
+
+    public TransactionTypeMigrationCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor transactionTypeMigrationCheckDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(TransactionTypeMigrationCheck.class);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if ("PostgreSQL".equals(product)) {
+            verify(new JdbcTemplate(dataSource));
+        }
+    }
+
+    /**
+     * Échoue si la contrainte des types de mouvement existe sans lister tous les types
+     */
+    static void verify(JdbcTemplate jdbcTemplate) {
+        // La contrainte de l'enum est celle qui cite un type ; les NOT NULL apparaissent aussi ici
+        List<String> clauses = jdbcTemplate.queryForList("""
+                SELECT cc.check_clause
+                FROM information_schema.table_constraints tc
+                JOIN information_schema.check_constraints cc
+                  ON cc.constraint_schema = tc.constraint_schema AND cc.constraint_name = tc.constraint_name
+                WHERE tc.table_schema = CURRENT_SCHEMA AND tc.table_name = 'transactions'
+                  AND tc.constraint_type = 'CHECK'
+                """, String.class);
+        for (String clause : clauses) {
+            if (!clause.contains("'" + TransactionType.DEPOSIT.name() + "'")) {
+                continue;
+            }
+            List<String> missing = Arrays.stream(TransactionType.values())
+                    .map(Enum::name)
+                    .filter(type -> !clause.contains("'" + type + "'"))
+                    .toList();
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Types de mouvement " + missing + " refusés par la contrainte de "
+                        + "transactions.type : exécuter " + MIGRATION_SCRIPT + " avant de démarrer cette version");
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.openvault.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.openvault.limits.VelocityLimiter;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.TransactionRepository;
+
+/**
+ * Plafonds de débit par compte, vérifiés par TransferService avant tout verrou
+ */
+@Configuration
+@EnableConfigurationProperties(VelocityLimitProperties.class)
+@ConditionalOnProperty(prefix = "openvault.velocity-limits", name = "enabled", havingValue = "true")
+public class VelocityLimitConfig {
+
+    @Bean
+    public VelocityLimiter velocityLimiter(AccountRepository accountRepository,
+                                           TransactionRepository transactionRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           VelocityLimitProperties properties) {
+        return new VelocityLimiter(accountRepository, transactionRepository, transactionManager, properties);
+    }
+}
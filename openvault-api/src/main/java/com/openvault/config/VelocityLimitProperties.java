@@ -0,0 +1,53 @@
+package com.openvault.config;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.openvault.entity.AccountType;
+
+import lombok.Data;
+
+/**
+ * Plafonds de virements, de retraits et de paies par compte (openvault.velocity-limits.*).
+ * Désactivés par défaut : aucun plafond n'est imposé tant qu'ils ne sont pas configurés.
+ */
+@Data
+@ConfigurationProperties(prefix = "openvault.velocity-limits")
+public class VelocityLimitProperties {
+
+    private boolean enabled;
+
+    /**
+     * Plafonds par type de compte ; un type absent n'est pas plafonné
+     */
+    private Map<AccountType, Limits> limits = new EnumMap<>(AccountType.class);
+
+    /**
+     * Intervalle de purge des comptes sans débit depuis plus d'un jour
+     */
+    private Duration evictionInterval = Duration.ofMinutes(10);
+
+    /**
+     * Plafonds d'un type de compte ; null ou 0 : pas de plafond
+     */
+    @Data
+    public static class Limits {
+
+        private BigDecimal hourlyAmount;
+
+        private int hourlyCount;
+
+        private BigDecimal dailyAmount;
+
+        private int dailyCount;
+
+        /**
+         * Total des paies débitées sur 24 h, compté à part des virements et retraits
+         */
+        private BigDecimal payrollDailyAmount;
+    }
+}
@@ -0,0 +1,176 @@
+package com.openvault.contention;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.openvault.config.HotAccountProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Repère les comptes sur lesquels les virements se concentrent, avant que l'attente
+ * sur leur verrou ne ralentisse toute l'API.
+ *
+ * Deux classements Space-Saving sont tenus par fenêtre : nombre de virements (émis ou
+ * reçus) et temps passé à attendre le verrou du compte (mesuré par OperationMetricsAspect). Les débits publiés
+ * couvrent la fenêtre courante et la précédente, pour ne pas retomber à zéro à chaque
+ * bascule. Le coût par virement est de deux ou trois CAS, sans allocation de compteur.
+ */
+@Slf4j
+public class HotAccountDetector {
+
+    private final HotAccountProperties properties;
+    private final long windowNanos;
+    private final AtomicReference<Window> current;
+    private volatile Window previous;
+
+    private final LongAdder transferRateAlerts = new LongAdder();
+    private final LongAdder lockWaitAlerts = new LongAdder();
+
+    public HotAccountDetector(HotAccountProperties properties) {
+        if (properties.getWindow().isZero() || properties.getWindow().isNegative()) {
+            throw new IllegalArgumentException("La fenêtre de détection doit être positive");
+        }
+        this.properties = properties;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.current = new AtomicReference<>(new Window(System.nanoTime(), properties.getCapacity()));
+    }
+
+    /**
+     * Enregistre un virement sur ses deux comptes
+     */
+    public void recordTransfer(long fromAccountId, long toAccountId) {
+        Window window = currentWindow(System.nanoTime());
+        long transferThreshold = (long) Math.ceil(properties.getAlertTransferRate() * windowSeconds());
+        checkThreshold(fromAccountId, window.transfers.offer(fromAccountId, 1), 1, transferThreshold,
+                transferRateAlerts, "virements");
+        checkThreshold(toAccountId, window.transfers.offer(toAccountId, 1), 1, transferThreshold,
+                transferRateAlerts, "virements");
+    }
+
+    /**
+     * Enregistre l'attente du verrou d'un compte (SELECT ... FOR UPDATE)
+     */
+    public void recordLockWait(long accountId, long lockWaitNanos) {
+        long waitMicros = TimeUnit.NANOSECONDS.toMicros(lockWaitNanos);
+        if (waitMicros > 0) {
+            long lockThreshold = (long) (properties.getAlertLockWait().toNanos() / 1000 * windowSeconds());
+            checkThreshold(accountId, currentWindow(System.nanoTime()).lockWait.offer(accountId, waitMicros),
+                    waitMicros, lockThreshold, lockWaitAlerts, "attente de verrou");
+        }
+    }
+
+    /**
+     * Classements courants, débits ramenés à la seconde
+     */
+    public HotAccountsReport report() {
+        long now = System.nanoTime();
+        Window window = currentWindow(now);
+        Window before = previous;
+        List<Window> windows = new ArrayList<>(2);
+        windows.add(window);
+        long spanNanos = now - window.start;
+        // Une fenêtre précédente trop ancienne (période d'inactivité) n'est plus représentative
+        if (before != null && window.start - before.start <= 2 * windowNanos) {
+            windows.add(before);
+            spanNanos += window.start - before.start;
+        }
+        double seconds = Math.max(1.0, spanNanos / 1e9);
+
+        List<HotAccount> byTransferRate = merge(windows, false, seconds);
+        List<HotAccount> byLockWait = merge(windows, true, seconds);
+        return new HotAccountsReport(seconds, byTransferRate, byLockWait,
+                transferRateAlerts.sum(), lockWaitAlerts.sum());
+    }
+
+    public long getTransferRateAlerts() {
+        return transferRateAlerts.sum();
+    }
+
+    public long getLockWaitAlerts() {
+        return lockWaitAlerts.sum();
+    }
+
+    private List<HotAccount> merge(List<Window> windows, boolean lockWait, double seconds) {
+        Map<Long, long[]> totals = new HashMap<>();
+        for (Window window : windows) {
+            SpaceSavingSketch sketch = lockWait ? window.lockWait : window.transfers;
+            for (SpaceSavingSketch.Counter counter : sketch.top(sketch.capacity())) {
+                long[] total = totals.computeIfAbsent(counter.key(), key -> new long[2]);
+                total[0] += counter.count();
+                total[1] += counter.error();
+            }
+        }
+        List<HotAccount> accounts = new ArrayList<>(totals.size());
+        // Le temps d'attente est compté en microsecondes : ramené en ms par seconde
+        double scale = lockWait ? 1000.0 : 1.0;
+        totals.forEach((accountId, total) -> accounts.add(
+                new HotAccount(accountId, total[0] / scale / seconds, total[1] / scale / seconds)));
+        accounts.sort(Comparator.comparingDouble(HotAccount::perSecond).reversed());
+        return accounts.size() > properties.getTop() ? List.copyOf(accounts.subList(0, properties.getTop())) : accounts;
+    }
+
+    private void checkThreshold(long accountId, long estimate, long weight, long threshold,
+                                LongAdder alerts, String kind) {
+        // Un seul avertissement par compte et par fenêtre : au franchissement du seuil
+        if (threshold > 0 && estimate >= threshold && estimate - weight < threshold) {
+            alerts.increment();
+            log.warn("Compte {} très sollicité ({}) : seuil franchi sur la fenêtre de {} s",
+                    accountId, kind, (long) windowSeconds());
+        }
+    }
+
+    private Window currentWindow(long now) {
+        Window window = current.get();
+        if (now - window.start < windowNanos) {
+            return window;
+        }
+        Window next = new Window(now, properties.getCapacity());
+        if (current.compareAndSet(window, next)) {
+            previous = window;
+            return next;
+        }
+        return current.get();
+    }
+
+    private double windowSeconds() {
+        return windowNanos / 1e9;
+    }
+
+    private static final class Window {
+        final long start;
+        final SpaceSavingSketch transfers;
+        final SpaceSavingSketch lockWait;
+
+        Window(long start, int capacity) {
+            this.start = start;
+            this.transfers = new SpaceSavingSketch(capacity);
+            this.lockWait = new SpaceSavingSketch(capacity);
+        }
+    }
+
+    /**
+     * @param perSecond      virements par seconde, ou ms d'attente de verrou par seconde
+     * @param errorPerSecond surestimation maximale de perSecond
+     */
+    public record HotAccount(long accountId, double perSecond, double errorPerSecond) {
+    }
+
+    /**
+     * @param windowSeconds durée effectivement couverte par les débits
+     */
+    public record HotAccountsReport(
+            double windowSeconds,
+            List<HotAccount> byTransferRate,
+            List<HotAccount> byLockWait,
+            long transferRateAlerts,
+            long lockWaitAlerts
+    ) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.openvault.contention;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /actuator/hotaccounts : comptes les plus sollicités, par débit de virements et par
+ * temps d'attente de verrou ; réservé au rôle OPERATOR (identifiants des comptes d'autres clients)
+ */
+@Endpoint(id = "hotaccounts")
+@RequiredArgsConstructor
+public class HotAccountsEndpoint {
+
+    private final HotAccountDetector detector;
+
+    @ReadOperation
+    public HotAccountDetector.HotAccountsReport hotAccounts() {
+        return detector.report();
+    }
+}
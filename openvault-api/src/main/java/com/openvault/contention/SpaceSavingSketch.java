@@ -0,0 +1,121 @@
+package com.openvault.contention;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Top-K approximatif (algorithme Space-Saving) en mémoire bornée et sans verrou.
+ *
+ * Le sketch garde au plus {@code capacity} compteurs. Une clé absente remplace le plus
+ * petit compteur et hérite de sa valeur, conservée comme erreur maximale : l'estimation
+ * surévalue donc au plus de {@code error}, et toute clé dont le poids réel dépasse
+ * total / capacity est garantie d'être présente.
+ *
+ * Chaque compteur est immuable et remplacé par CAS ; l'index clé -> emplacement n'est
+ * qu'un raccourci, vérifié à chaque lecture. La somme des compteurs reste exactement
+ * égale au poids total reçu, même sous concurrence.
+ */
+public class SpaceSavingSketch {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final AtomicReferenceArray<Counter> slots;
+    private final ConcurrentHashMap<Long, Integer> index;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité du sketch doit être positive");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.index = new ConcurrentHashMap<>(capacity * 2);
+        Counter empty = new Counter(EMPTY, 0, 0);
+        for (int i = 0; i < capacity; i++) {
+            slots.set(i, empty);
+        }
+    }
+
+    /**
+     * Ajoute un poids à la clé et renvoie son estimation après mise à jour
+     */
+    public long offer(long key, long weight) {
+        if (key == EMPTY || weight <= 0) {
+            throw new IllegalArgumentException("Clé ou poids invalide : " + key + ", " + weight);
+        }
+        while (true) {
+            Integer slot = index.get(key);
+            if (slot != null) {
+                Counter counter = slots.get(slot);
+                if (counter.key() == key) {
+                    Counter updated = new Counter(key, counter.count() + weight, counter.error());
+                    if (slots.compareAndSet(slot, counter, updated)) {
+                        return updated.count();
+                    }
+                } else {
+                    // Emplacement en cours de remplacement par un autre thread
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+
+            int victim = smallestSlot();
+            Counter evicted = slots.get(victim);
+            // Réserve la clé : un seul thread peut l'installer à la fois
+            if (index.putIfAbsent(key, victim) != null) {
+                continue;
+            }
+            Counter replacement = new Counter(key, evicted.count() + weight, evicted.count());
+            if (slots.compareAndSet(victim, evicted, replacement)) {
+                if (evicted.key() != EMPTY) {
+                    index.remove(evicted.key(), victim);
+                }
+                return replacement.count();
+            }
+            index.remove(key, victim);
+        }
+    }
+
+    /**
+     * Les n plus gros compteurs, du plus élevé au plus faible
+     */
+    public List<Counter> top(int n) {
+        List<Counter> counters = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            Counter counter = slots.get(i);
+            if (counter.key() != EMPTY) {
+                counters.add(counter);
+            }
+        }
+        counters.sort(Comparator.comparingLong(Counter::count).reversed());
+        return counters.size() > n ? List.copyOf(counters.subList(0, n)) : counters;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    private int smallestSlot() {
+        int smallest = 0;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < slots.length(); i++) {
+            long count = slots.get(i).count();
+            if (count < min) {
+                min = count;
+                smallest = i;
+                if (count == 0) {
+                    break;
+                }
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * @param count estimation (majorant) du poids de la clé
+     * @param error surestimation maximale, héritée du compteur évincé
+     */
+    public record Counter(long key, long count, long error) {
+    }
+}
@@ -4,22 +4,28 @@ import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.openvault.dto.AccountDTO;
+import com.openvault.dto.AccountSummary;
 import com.openvault.entity.Account;
 import com.openvault.entity.AccountType;
 import com.openvault.service.AccountService;
+import com.openvault.util.AccountETags;
 import com.openvault.util.EntityMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -40,6 +46,9 @@ import lombok.RequiredArgsConstructor;
 @SecurityRequirement(name = "Bearer Authentication")
 public class AccountController {
 
+    // Le navigateur garde la réponse mais la revalide à chaque appel (If-None-Match)
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final AccountService accountService;
     private final EntityMapper entityMapper;
 
@@ -76,15 +85,25 @@ public class AccountController {
                                     """)
                     )
             ),
+            @ApiResponse(responseCode = "304", description = "Comptes inchangés depuis l'ETag fourni"),
             @ApiResponse(responseCode = "401", description = "Non authentifié")
     })
     @GetMapping
-    public ResponseEntity<List<AccountDTO>> getAllAccounts() {
-        List<Account> accounts = accountService.getUserAccounts();
+    public ResponseEntity<List<AccountDTO>> getAllAccounts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        ResponseEntity<List<AccountDTO>> notModified = notModified(ifNoneMatch, accountService::getAccountsETag);
+        if (notModified != null) {
+            return notModified;
+        }
+        List<AccountSummary> accounts = accountService.getUserAccounts();
         List<AccountDTO> accountDTOs = accounts.stream()
                 .map(entityMapper::toAccountDTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(accountDTOs);
+        return ResponseEntity.ok()
+                .eTag(AccountETags.forAccounts(accounts))
+                .cacheControl(REVALIDATE)
+                .body(accountDTOs);
     }
 
     @Operation(
@@ -93,6 +112,7 @@ public class AccountController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Compte trouvé"),
+            @ApiResponse(responseCode = "304", description = "Compte inchangé depuis l'ETag fourni"),
             @ApiResponse(
                     responseCode = "404",
                     description = "Compte non trouvé ou accès non autorisé",
@@ -112,10 +132,18 @@ public class AccountController {
     @GetMapping("/{id}")
     public ResponseEntity<AccountDTO> getAccountById(
             @Parameter(description = "ID du compte", example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
+        ResponseEntity<AccountDTO> notModified = notModified(ifNoneMatch, () -> accountService.getAccountETag(id));
+        if (notModified != null) {
+            return notModified;
+        }
         Account account = accountService.getAccountById(id);
-        return ResponseEntity.ok(entityMapper.toAccountDTO(account));
+        return ResponseEntity.ok()
+                .eTag(AccountETags.forAccount(account.getId(), account.getVersion()))
+                .cacheControl(REVALIDATE)
+                .body(entityMapper.toAccountDTO(account));
     }
 
     @Operation(
@@ -188,10 +216,37 @@ public class AccountController {
             )
     )
     @GetMapping("/total-balance")
-    public ResponseEntity<Map<String, BigDecimal>> getTotalBalance() {
-        BigDecimal totalBalance = accountService.getTotalBalance();
+    public ResponseEntity<Map<String, BigDecimal>> getTotalBalance(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        ResponseEntity<Map<String, BigDecimal>> notModified = notModified(ifNoneMatch, accountService::getAccountsETag);
+        if (notModified != null) {
+            return notModified;
+        }
+        // L'ETag et le total viennent de la même lecture du cache
+        List<AccountSummary> accounts = accountService.getUserAccounts();
         Map<String, BigDecimal> response = new HashMap<>();
-        response.put("totalBalance", totalBalance);
-        return ResponseEntity.ok(response);
+        response.put("totalBalance", AccountService.totalBalance(accounts));
+        return ResponseEntity.ok()
+                .eTag(AccountETags.forAccounts(accounts))
+                .cacheControl(REVALIDATE)
+                .body(response);
+    }
+
+    /**
+     * 304 si le client possède déjà la version courante, avant tout chargement ou rendu JSON
+     */
+    private static <T> ResponseEntity<T> notModified(String ifNoneMatch, Supplier<String> currentETag) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        String etag = currentETag.get();
+        if (etag == null || !AccountETags.matches(ifNoneMatch, etag)) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .build();
     }
 }
\ No newline at end of file
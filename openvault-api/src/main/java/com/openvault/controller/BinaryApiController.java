@@ -0,0 +1,176 @@
+package com.openvault.controller;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.openvault.binary.ProtoReader;
+import com.openvault.binary.ProtoWriter;
+import com.openvault.binary.TransactionProtoCodec;
+import com.openvault.dto.TransferRequest;
+import com.openvault.entity.Transaction;
+import com.openvault.service.TransactionHistoryService;
+import com.openvault.service.TransferService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * API binaire pour les clients internes à fort volume (rapprochement, exports) :
+ * messages protobuf préfixés par leur longueur, décrits dans src/main/proto/openvault.proto.
+ *
+ * Les réponses sont écrites au fil de l'eau, sans construire de liste ni de DTO : la
+ * mémoire reste constante quelle que soit la taille de l'historique ou du lot.
+ */
+@RestController
+@RequestMapping("/binary")
+@RequiredArgsConstructor
+@Tag(name = "API binaire", description = "Historique et virements en lot au format protobuf délimité")
+@SecurityRequirement(name = "Bearer Authentication")
+public class BinaryApiController {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_REQUEST_BYTES = 4096;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionHistoryService transactionHistoryService;
+    private final TransferService transferService;
+    private final Validator validator;
+
+    @Operation(
+            summary = "Historique d'un compte en flux binaire",
+            description = "Suite de messages Transaction délimités, du plus ancien au plus récent, archive comprise"
+    )
+    @GetMapping("/transactions/account/{accountId}")
+    public void streamAccountTransactions(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            HttpServletResponse response
+    ) throws IOException {
+        DelimitedOutput output = new DelimitedOutput(response);
+        ProtoWriter writer = new ProtoWriter();
+        transactionHistoryService.streamAccountTransactions(accountId, since != null ? since : EPOCH, row -> {
+            TransactionProtoCodec.encode(writer.reset(), row);
+            output.write(writer);
+        });
+        output.finish();
+    }
+
+    @Operation(
+            summary = "Virements en lot",
+            description = """
+                    Corps : suite de messages TransferRequest délimités (1000 au plus).
+                    Réponse : un TransferResult par virement, dans l'ordre ; chaque virement est
+                    indépendant et un refus n'interrompt pas le lot.
+                    """
+    )
+    @PostMapping(value = "/transfers/batch", consumes = TransactionProtoCodec.MEDIA_TYPE)
+    public void transferBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<TransferRequest> transfers = readTransfers(request.getInputStream());
+
+        DelimitedOutput output = new DelimitedOutput(response);
+        ProtoWriter writer = new ProtoWriter();
+        ProtoWriter scratch = new ProtoWriter();
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferRequest transfer = transfers.get(i);
+            Transaction transaction = null;
+            String error = validate(transfer);
+            if (error == null) {
+                try {
+                    transaction = transferService.transfer(transfer.getFromAccountId(), transfer.getToIban(),
+                            transfer.getAmount(), transfer.getDescription());
+                } catch (RuntimeException e) {
+                    error = e.getMessage();
+                }
+            }
+            TransactionProtoCodec.encodeTransferResult(writer.reset(), scratch, i, transaction, error);
+            output.write(writer);
+        }
+        output.finish();
+    }
+
+    /**
+     * Le lot est lu en entier avant le premier virement : un flux malformé est refusé
+     * (400) sans avoir rien exécuté
+     */
+    private static List<TransferRequest> readTransfers(InputStream in) {
+        List<TransferRequest> transfers = new ArrayList<>();
+        try {
+            for (ProtoReader reader = ProtoReader.readDelimited(in, MAX_REQUEST_BYTES);
+                 reader != null;
+                 reader = ProtoReader.readDelimited(in, MAX_REQUEST_BYTES)) {
+                if (transfers.size() == MAX_BATCH_SIZE) {
+                    throw new RuntimeException("Lot trop volumineux : " + MAX_BATCH_SIZE + " virements au plus");
+                }
+                transfers.add(TransactionProtoCodec.decodeTransferRequest(reader));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Flux protobuf invalide : " + e.getMessage(), e);
+        }
+        return transfers;
+    }
+
+    private String validate(TransferRequest transfer) {
+        Set<ConstraintViolation<TransferRequest>> violations = validator.validate(transfer);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Flux de réponse ouvert au premier message : si le service échoue avant (compte
+     * d'un autre utilisateur, par exemple), le gestionnaire d'erreurs répond encore en JSON
+     */
+    private static final class DelimitedOutput {
+
+        private final HttpServletResponse response;
+        private OutputStream out;
+
+        DelimitedOutput(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        void write(ProtoWriter message) {
+            try {
+                message.writeDelimitedTo(open());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            open().flush();
+        }
+
+        private OutputStream open() throws IOException {
+            if (out == null) {
+                response.setContentType(TransactionProtoCodec.MEDIA_TYPE);
+                out = new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE);
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.openvault.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.openvault.events.EventStreamBroadcaster;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Enregistré avec le diffuseur (mêmes conditions que EventStreamConfig) : notifications
+ * désactivées, /events répond 404 comme une route inconnue
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = {"openvault.outbox.enabled", "openvault.events.enabled"},
+        havingValue = "true", matchIfMissing = true)
+@Tag(name = "Événements", description = "Soldes et mouvements en direct (Server-Sent Events)")
+@SecurityRequirement(name = "Bearer Authentication")
+public class EventStreamController {
+
+    private final EventStreamBroadcaster broadcaster;
+
+    @Operation(
+            summary = "Flux d'événements de l'utilisateur",
+            description = """
+                    Événements « balance » (nouveau solde d'un compte) et « transaction » (TransactionDTO),
+                    émis après commit. L'en-tête Last-Event-ID rejoue les mouvements manqués depuis
+                    la dernière connexion ; « resync » demande de recharger les données par l'API.
+                    """
+    )
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return broadcaster.connect(email, lastEventId);
+    }
+}
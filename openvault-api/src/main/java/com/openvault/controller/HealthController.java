@@ -1,25 +1,52 @@
 package com.openvault.controller;
 
+import org.springframework.boot.health.actuate.endpoint.HealthDescriptor;
+import org.springframework.boot.health.actuate.endpoint.HealthEndpoint;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.openvault.service.AccountSummaryCache;
+
+import lombok.RequiredArgsConstructor;
+
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/health")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final AccountSummaryCache accountSummaryCache;
+    private final HealthEndpoint healthEndpoint;
+
+    /**
+     * Santé agrégée par Actuator (connexion à la base comprise) ; 503 si l'un des
+     * indicateurs est en échec. Détail complet sur /actuator/health.
+     */
     @GetMapping 
     public ResponseEntity<Map<String, Object>> health() {
+        Status status = healthEndpoint.health().getStatus();
+        HealthDescriptor database = healthEndpoint.healthForPath("db");
+
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
+        response.put("status", status.getCode());
+        response.put("database", database != null ? database.getStatus().getCode() : Status.UNKNOWN.getCode());
         response.put("timestamp", LocalDateTime.now());
         response.put("service", "OpenVault API");
         response.put("version", "1.0.0");
-        return ResponseEntity.ok(response);
+
+        Map<String, Object> cache = new HashMap<>();
+        cache.put("hits", accountSummaryCache.getHitCount());
+        cache.put("misses", accountSummaryCache.getMissCount());
+        cache.put("users", accountSummaryCache.size());
+        response.put("accountCache", cache);
+        return ResponseEntity.status(Status.UP.equals(status) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.openvault.controller;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.openvault.dto.PayrollDTO;
+import com.openvault.dto.PayrollLineDTO;
+import com.openvault.entity.PayrollLineStatus;
+import com.openvault.service.PayrollService;
+import com.openvault.util.EntityMapper;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/payrolls")
+@RequiredArgsConstructor
+@Tag(name = "Paie", description = "Virements de salaires en masse depuis un compte professionnel")
+@SecurityRequirement(name = "Bearer Authentication")
+public class PayrollController {
+
+    private final PayrollService payrollService;
+    private final EntityMapper entityMapper;
+
+    @Operation(
+            summary = "Soumet un fichier de paie",
+            description = """
+                    Corps CSV lu en flux : une ligne « IBAN;montant;libellé » par salarié (virgule acceptée,
+                    en-tête facultatif). Le total des lignes valides est débité en une fois, puis les crédits
+                    sont passés en arrière-plan : suivre l'avancement sur GET /payrolls/{id}.
+                    """
+    )
+    @PostMapping(consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<PayrollDTO> submitPayroll(@RequestParam Long accountId, HttpServletRequest request)
+            throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(entityMapper.toPayrollDTO(payrollService.submitPayroll(accountId, request.getInputStream())));
+    }
+
+    @Operation(summary = "Liste les dernières paies de l'utilisateur")
+    @GetMapping
+    public ResponseEntity<List<PayrollDTO>> getPayrolls() {
+        return ResponseEntity.ok(payrollService.getUserPayrolls().stream()
+                .map(entityMapper::toPayrollDTO)
+                .toList());
+    }
+
+    @Operation(summary = "Avancement d'une paie")
+    @GetMapping("/{id}")
+    public ResponseEntity<PayrollDTO> getPayroll(@PathVariable Long id) {
+        return ResponseEntity.ok(entityMapper.toPayrollDTO(payrollService.getPayroll(id)));
+    }
+
+    @Operation(summary = "État ligne à ligne d'une paie, filtrable par statut")
+    @GetMapping("/{id}/lines")
+    public ResponseEntity<Page<PayrollLineDTO>> getPayrollLines(
+            @PathVariable Long id,
+            @RequestParam(required = false) PayrollLineStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return ResponseEntity.ok(payrollService.getPayrollLines(id, status, page, size)
+                .map(entityMapper::toPayrollLineDTO));
+    }
+}
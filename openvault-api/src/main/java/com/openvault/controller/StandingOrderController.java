@@ -0,0 +1,64 @@
+package com.openvault.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.openvault.dto.StandingOrderDTO;
+import com.openvault.dto.StandingOrderRequest;
+import com.openvault.service.StandingOrderService;
+import com.openvault.util.EntityMapper;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/standing-orders")
+@RequiredArgsConstructor
+@Tag(name = "Virements permanents", description = "Virements récurrents (loyer, épargne...)")
+@SecurityRequirement(name = "Bearer Authentication")
+public class StandingOrderController {
+
+    private final StandingOrderService standingOrderService;
+    private final EntityMapper entityMapper;
+
+    @Operation(
+            summary = "Crée un virement permanent",
+            description = """
+                    Le virement est exécuté à firstExecutionAt puis à chaque échéance (DAILY, WEEKLY, MONTHLY).
+                    Un ordre mensuel du 31 s'exécute le dernier jour des mois plus courts.
+                    """
+    )
+    @PostMapping
+    public ResponseEntity<StandingOrderDTO> createStandingOrder(@Valid @RequestBody StandingOrderRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(entityMapper.toStandingOrderDTO(standingOrderService.createStandingOrder(request)));
+    }
+
+    @Operation(summary = "Liste les virements permanents actifs de l'utilisateur")
+    @GetMapping
+    public ResponseEntity<List<StandingOrderDTO>> getStandingOrders() {
+        return ResponseEntity.ok(standingOrderService.getUserStandingOrders().stream()
+                .map(entityMapper::toStandingOrderDTO)
+                .toList());
+    }
+
+    @Operation(summary = "Annule un virement permanent")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, String>> cancelStandingOrder(@PathVariable Long id) {
+        standingOrderService.cancelStandingOrder(id);
+        return ResponseEntity.ok(Map.of("message", "Virement permanent annulé"));
+    }
+}
@@ -31,12 +31,18 @@ import lombok.RequiredArgsConstructor;
 @SecurityRequirement(name = "Bearer Authentication")
 public class TransactionController {
 
+    // Début de l'historique servi par les consultations limitées à la fenêtre chaude
+    static final String HISTORY_START_HEADER = "X-History-Start";
+
     private final TransactionHistoryService transactionHistoryService;
     private final EntityMapper entityMapper;
 
     @Operation(
             summary = "Historique paginé des transactions",
-            description = "Retourne l'historique des transactions d'un compte avec pagination"
+            description = "Retourne l'historique des transactions d'un compte avec pagination, limité à la "
+                    + "fenêtre chaude (openvault.archive.hot-months, 18 mois par défaut) dont le début est "
+                    + "renvoyé dans l'en-tête X-History-Start. L'historique antérieur est servi par "
+                    + "/account/{accountId}/date-range ou l'API binaire."
     )
     @GetMapping("/account/{accountId}")
     public ResponseEntity<Page<TransactionDTO>> getAccountTransactions(
@@ -46,12 +52,13 @@ public class TransactionController {
     ) {
         Page<Transaction> transactions = transactionHistoryService.getAccountTransactions(accountId, page, size);
         Page<TransactionDTO> transactionDTOs = transactions.map(entityMapper::toTransactionDTO);
-        return ResponseEntity.ok(transactionDTOs);
+        return liveWindow().body(transactionDTOs);
     }
 
     @Operation(
             summary = "Dernières transactions",
-            description = "Retourne les dernières transactions d'un compte"
+            description = "Retourne les dernières transactions d'un compte dans la fenêtre chaude "
+                    + "(début dans l'en-tête X-History-Start)"
     )
     @GetMapping("/account/{accountId}/recent")
     public ResponseEntity<List<TransactionDTO>> getRecentTransactions(
@@ -62,12 +69,13 @@ public class TransactionController {
         List<TransactionDTO> transactionDTOs = transactions.stream()
                 .map(entityMapper::toTransactionDTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(transactionDTOs);
+        return liveWindow().body(transactionDTOs);
     }
 
     @Operation(
             summary = "Transactions par type",
-            description = "Retourne les transactions d'un compte filtrées par type"
+            description = "Retourne les transactions d'un compte filtrées par type, dans la fenêtre chaude "
+                    + "(début dans l'en-tête X-History-Start)"
     )
     @GetMapping("/account/{accountId}/type/{type}")
     public ResponseEntity<List<TransactionDTO>> getTransactionsByType(
@@ -78,7 +86,7 @@ public class TransactionController {
         List<TransactionDTO> transactionDTOs = transactions.stream()
                 .map(entityMapper::toTransactionDTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(transactionDTOs);
+        return liveWindow().body(transactionDTOs);
     }
 
     @Operation(
@@ -100,7 +108,8 @@ public class TransactionController {
 
     @Operation(
             summary = "Transaction par ID",
-            description = "Retourne une transaction par son ID"
+            description = "Retourne une transaction par son ID ; une transaction archivée (antérieure à "
+                    + "la fenêtre chaude) n'est consultable que par période"
     )
     @GetMapping("/{id}")
     public ResponseEntity<TransactionDTO> getTransactionById(@PathVariable Long id) {
@@ -119,4 +128,9 @@ public class TransactionController {
         TransactionHistoryService.TransactionStats stats = transactionHistoryService.getTransactionStats(accountId);
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+
+    private ResponseEntity.BodyBuilder liveWindow() {
+        return ResponseEntity.ok()
+                .header(HISTORY_START_HEADER, transactionHistoryService.getLiveWindowStart().toString());
+    }
+}
@@ -0,0 +1,10 @@
+package com.openvault.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Solde courant d'un compte et son propriétaire, lus en une requête pour un lot
+ * d'événements du flux de changements
+ */
+public record AccountBalance(Long accountId, String ownerEmail, String iban, BigDecimal balance, Long version) {
+}
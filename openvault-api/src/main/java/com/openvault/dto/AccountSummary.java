@@ -0,0 +1,38 @@
+package com.openvault.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Vue immuable d'un compte, conservée dans le cache des comptes par utilisateur.
+ * La version JPA permet de ne jamais remplacer un état récent par un état plus ancien.
+ */
+@Value
+@Builder
+public class AccountSummary {
+    Long id;
+    String iban;
+    BigDecimal balance;
+    AccountType type;
+    Boolean active;
+    Long version;
+    LocalDateTime createdAt;
+
+    public static AccountSummary from(Account account) {
+        return AccountSummary.builder()
+                .id(account.getId())
+                .iban(account.getIban())
+                .balance(account.getBalance())
+                .type(account.getType())
+                .active(account.getActive())
+                .version(account.getVersion())
+                .createdAt(account.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.openvault.dto;
+
+/**
+ * Empreinte des comptes actifs d'un utilisateur, calculée en base sans charger d'entité.
+ * Les versions JPA ne font que croître : toute écriture modifie la somme, une création
+ * ou une désactivation modifie en plus le nombre ou le plus grand identifiant.
+ */
+public record AccountVersionStamp(Long count, Long versionSum, Long maxId) {
+}
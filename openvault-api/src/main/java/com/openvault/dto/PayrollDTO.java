@@ -0,0 +1,32 @@
+package com.openvault.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.openvault.entity.PayrollStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollDTO {
+    private Long id;
+    private Long accountId;
+    private PayrollStatus status;
+    private Integer totalLines;
+    private Integer validLines;
+    private Integer postedLines;
+    private Integer rejectedLines;
+    private Integer progress; // Lignes traitées (créditées ou rejetées), en pourcentage
+    private BigDecimal totalAmount;
+    private BigDecimal postedAmount;
+    private BigDecimal refundedAmount;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
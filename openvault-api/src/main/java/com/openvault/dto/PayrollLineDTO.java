@@ -0,0 +1,24 @@
+package com.openvault.dto;
+
+import java.math.BigDecimal;
+
+import com.openvault.entity.PayrollLineStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollLineDTO {
+    private Integer lineNumber;
+    private String iban;
+    private BigDecimal amount;
+    private String description;
+    private PayrollLineStatus status;
+    private String error;
+    private Long transactionId;
+}
@@ -0,0 +1,29 @@
+package com.openvault.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.openvault.entity.StandingOrderFrequency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingOrderDTO {
+    private Long id;
+    private Long fromAccountId;
+    private String fromIban;
+    private String toIban;
+    private BigDecimal amount;
+    private String description;
+    private StandingOrderFrequency frequency;
+    private LocalDateTime nextExecutionAt;
+    private LocalDateTime lastExecutedAt;
+    private String lastError;
+    private Boolean active;
+}
@@ -0,0 +1,43 @@
+package com.openvault.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.openvault.entity.StandingOrderFrequency;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingOrderRequest {
+
+    @NotNull(message = "Le compte source est obligatoire")
+    private Long fromAccountId;
+
+    @NotBlank(message = "L'IBAN du destinataire est obligatoire")
+    private String toIban;
+
+    @NotNull(message = "Le montant est obligatoire")
+    @DecimalMin(value = "0.01", message = "Le montant doit être supérieur à 0")
+    @DecimalMax(value = "100000", message = "Le montant ne peut pas dépasser 100 000 EUR")
+    @Digits(integer = 6, fraction = 2, message = "Le montant ne peut avoir plus de 2 décimales")
+    private BigDecimal amount;
+
+    private String description;
+
+    @NotNull(message = "La fréquence est obligatoire")
+    private StandingOrderFrequency frequency;
+
+    @NotNull(message = "La date de première exécution est obligatoire")
+    @FutureOrPresent(message = "La première exécution ne peut pas être dans le passé")
+    private LocalDateTime firstExecutionAt;
+}
@@ -5,8 +5,6 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.hibernate.annotations.CreationTimestamp;
-
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -19,9 +17,13 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -34,7 +36,8 @@ import lombok.NoArgsConstructor;
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 34)
@@ -48,6 +51,11 @@ public class Account {
     @Column(nullable = false)
     private AccountType type = AccountType.CHECKING;
 
+    // Intérêts courus pas encore versés : fraction de centime reportée d'une nuit à l'autre (épargne)
+    @Column(precision = 19, scale = 4, nullable = false)
+    @ColumnDefault("0")
+    private BigDecimal accruedInterest = BigDecimal.ZERO;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -58,7 +66,6 @@ public class Account {
     @OneToMany(mappedBy = "toAccount", cascade = CascadeType.ALL)
     private List<Transaction> incomingTransactions = new ArrayList<>();
 
-    @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
@@ -68,6 +75,15 @@ public class Account {
     @Column(nullable = false)
     private Boolean active = true;
 
+    // Date d'ouverture conservée si elle est fournie (reprise de comptes, tests), sinon
+    // maintenant : @CreationTimestamp l'écraserait toujours au persist
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
     // Méthodes métier
     public void credit(BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
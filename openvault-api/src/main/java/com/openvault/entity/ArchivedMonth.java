@@ -0,0 +1,52 @@
+package com.openvault.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mois de la table transactions déplacé dans un segment d'archive.
+ *
+ * Inséré au début de la transaction d'archivage, avant l'écriture du segment : la
+ * contrainte d'unicité fait attendre puis échouer une autre instance sur le même mois,
+ * sans qu'elle touche au fichier.
+ */
+@Entity
+@Table(name = "archived_months", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_archived_months_month", columnNames = {"month_start"})
+})
+@Data
+@NoArgsConstructor
+public class ArchivedMonth {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "archived_months_seq")
+    @SequenceGenerator(name = "archived_months_seq", sequenceName = "archived_months_seq", allocationSize = 1)
+    private Long id;
+
+    // Premier jour du mois archivé
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    // Lignes supprimées de la base
+    @Column(nullable = false)
+    private long rowCount;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    public ArchivedMonth(LocalDate monthStart) {
+        this.monthStart = monthStart;
+        this.archivedAt = LocalDateTime.now();
+    }
+}
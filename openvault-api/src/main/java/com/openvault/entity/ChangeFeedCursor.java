@@ -0,0 +1,33 @@
+package com.openvault.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position d'un consommateur dans le flux de changements : dernier offset traité.
+ * Le relais y tient aussi le dernier offset attribué, sous le nom {@code outbox-relay}.
+ */
+@Entity
+@Table(name = "change_feed_cursors")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedCursor {
+
+    @Id
+    @Column(length = 100)
+    private String consumer;
+
+    @Column(name = "feed_position", nullable = false)
+    private long position;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,61 @@
+package com.openvault.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Plage de comptes dont les intérêts d'une journée sont versés.
+ *
+ * Écrite dans la même transaction que les versements de la plage : après un arrêt, le
+ * calcul reprend aux plages sans point de reprise, et la contrainte d'unicité empêche
+ * deux instances de verser la même plage.
+ */
+@Entity
+@Table(name = "interest_accrual_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_interest_checkpoints_date_chunk", columnNames = {"accrual_date", "chunk_start"})
+})
+@Data
+@NoArgsConstructor
+public class InterestAccrualCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interest_accrual_checkpoints_seq")
+    @SequenceGenerator(name = "interest_accrual_checkpoints_seq", sequenceName = "interest_accrual_checkpoints_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "accrual_date", nullable = false)
+    private LocalDate accrualDate;
+
+    // Premier identifiant de la plage, multiple de la largeur des plages
+    @Column(name = "chunk_start", nullable = false)
+    private Long chunkStart;
+
+    // Comptes crédités d'au moins un centime
+    @Column(nullable = false)
+    private int creditedAccounts;
+
+    @Column(precision = 19, scale = 4, nullable = false)
+    private BigDecimal interest = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private LocalDateTime completedAt;
+
+    public InterestAccrualCheckpoint(LocalDate accrualDate, Long chunkStart) {
+        this.accrualDate = accrualDate;
+        this.chunkStart = chunkStart;
+        this.completedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,65 @@
+package com.openvault.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Écriture comptable validée, enregistrée dans la même transaction que le mouvement.
+ * Le relais lui attribue ensuite une position dans le flux de changements (feedOffset).
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_feed_offset", columnList = "feed_offset", unique = true)
+})
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    // allocationSize = 1 : l'id est tiré après les verrous du compte, donc deux écritures
+    // successives sur un même compte sont numérotées dans leur ordre de commit
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 1)
+    private Long id;
+
+    // Null tant que le relais n'a pas publié l'événement
+    @Column(name = "feed_offset")
+    private Long feedOffset;
+
+    @Column(nullable = false)
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    private Long fromAccountId;
+
+    private Long toAccountId;
+
+    @Column(precision = 19, scale = 4, nullable = false)
+    private BigDecimal amount;
+
+    @Column(length = 500)
+    private String description;
+
+    private String reference;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    private LocalDateTime relayedAt;
+}
@@ -0,0 +1,95 @@
+package com.openvault.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Paie d'un compte professionnel : un débit du total, puis un crédit par ligne du fichier.
+ *
+ * Les compteurs sont mis à jour avec chaque lot de crédits et donnent l'avancement ;
+ * updatedAt sert de battement de cœur pour reprendre une paie dont l'instance s'est arrêtée.
+ */
+@Entity
+@Table(name = "payrolls", indexes = {
+        @Index(name = "idx_payrolls_status_updated", columnList = "status, updated_at")
+})
+@Data
+@NoArgsConstructor
+public class Payroll {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payrolls_seq")
+    @SequenceGenerator(name = "payrolls_seq", sequenceName = "payrolls_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PayrollStatus status = PayrollStatus.RECEIVING;
+
+    @Column(nullable = false)
+    private int totalLines;
+
+    @Column(nullable = false)
+    private int validLines;
+
+    @Column(nullable = false)
+    private int postedLines;
+
+    @Column(nullable = false)
+    private int rejectedLines;
+
+    // Somme des lignes valides, débitée en une fois
+    @Column(precision = 19, scale = 4, nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(precision = 19, scale = 4, nullable = false)
+    private BigDecimal postedAmount = BigDecimal.ZERO;
+
+    // Lignes rejetées au crédit (compte introuvable...), recréditées au payeur à la fin
+    @Column(precision = 19, scale = 4, nullable = false)
+    private BigDecimal refundedAmount = BigDecimal.ZERO;
+
+    private Long debitTransactionId;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    @Version
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+}
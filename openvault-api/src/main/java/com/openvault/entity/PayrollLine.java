@@ -0,0 +1,60 @@
+package com.openvault.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ligne d'un fichier de paie et son état. Référence la paie par identifiant : les lignes
+ * sont écrites et relues par lots sans charger la paie.
+ */
+@Entity
+@Table(name = "payroll_lines", indexes = {
+        @Index(name = "idx_payroll_lines_payroll_status", columnList = "payroll_id, status, id")
+})
+@Data
+@NoArgsConstructor
+public class PayrollLine {
+
+    // Séquence + pooled : les lignes d'un lot sont insérées en batch JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_lines_seq")
+    @SequenceGenerator(name = "payroll_lines_seq", sequenceName = "payroll_lines_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "payroll_id", nullable = false)
+    private Long payrollId;
+
+    // Numéro de ligne dans le fichier, en-tête compris
+    @Column(nullable = false)
+    private int lineNumber;
+
+    @Column(length = 34)
+    private String iban;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PayrollLineStatus status = PayrollLineStatus.PENDING;
+
+    @Column(length = 255)
+    private String error;
+
+    private Long transactionId;
+}
@@ -0,0 +1,7 @@
+package com.openvault.entity;
+
+public enum PayrollLineStatus {
+    PENDING,   // À créditer
+    POSTED,    // Crédité
+    REJECTED   // Ligne invalide ou compte destinataire introuvable
+}
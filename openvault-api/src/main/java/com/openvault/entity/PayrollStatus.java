@@ -0,0 +1,8 @@
+package com.openvault.entity;
+
+public enum PayrollStatus {
+    RECEIVING,  // Fichier en cours de lecture
+    POSTING,    // Total débité, crédits en cours
+    COMPLETED,  // Tous les crédits passés, lignes rejetées remboursées
+    REJECTED    // Aucun débit (solde insuffisant, fichier invalide)
+}
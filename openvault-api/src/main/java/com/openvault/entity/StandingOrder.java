@@ -0,0 +1,116 @@
+package com.openvault.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Virement permanent : exécuté à chaque échéance par StandingOrderScheduler.
+ *
+ * Une instance qui réserve l'ordre y inscrit son identifiant et la fin de sa réservation ;
+ * passé ce délai (instance arrêtée), l'ordre redevient disponible pour les autres.
+ */
+@Entity
+@Table(name = "standing_orders", indexes = {
+        @Index(name = "idx_standing_orders_due", columnList = "active, next_execution_at")
+})
+@Data
+@NoArgsConstructor
+public class StandingOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "standing_orders_seq")
+    @SequenceGenerator(name = "standing_orders_seq", sequenceName = "standing_orders_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "from_account_id", nullable = false)
+    private Account fromAccount;
+
+    @Column(name = "to_iban", nullable = false, length = 34)
+    private String toIban;
+
+    @Column(precision = 19, scale = 4, nullable = false)
+    private BigDecimal amount;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StandingOrderFrequency frequency;
+
+    @Column(name = "first_execution_at", nullable = false)
+    private LocalDateTime firstExecutionAt;
+
+    // Rang de l'échéance nextExecutionAt depuis firstExecutionAt
+    @Column(nullable = false)
+    private int occurrence;
+
+    @Column(name = "next_execution_at", nullable = false)
+    private LocalDateTime nextExecutionAt;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @Column(length = 36)
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
+
+    private LocalDateTime lastExecutedAt;
+
+    @Column(nullable = false)
+    private int failedAttempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Version
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextExecutionAt == null) {
+            nextExecutionAt = firstExecutionAt;
+        }
+    }
+
+    /**
+     * Passe à la première échéance postérieure à {@code now} : les échéances manquées
+     * ne sont pas rattrapées une à une
+     */
+    public void scheduleNextAfter(LocalDateTime now) {
+        do {
+            occurrence++;
+            nextExecutionAt = frequency.occurrence(firstExecutionAt, occurrence);
+        } while (!nextExecutionAt.isAfter(now));
+        failedAttempts = 0;
+    }
+
+    public void release() {
+        claimedBy = null;
+        claimedUntil = null;
+    }
+}
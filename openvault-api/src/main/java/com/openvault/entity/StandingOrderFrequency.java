@@ -0,0 +1,21 @@
+package com.openvault.entity;
+
+import java.time.LocalDateTime;
+
+public enum StandingOrderFrequency {
+    DAILY,    // Quotidien
+    WEEKLY,   // Hebdomadaire
+    MONTHLY;  // Mensuel
+
+    /**
+     * Échéance de rang {@code n} (0 = première). Calculée depuis la première échéance, et
+     * non depuis la précédente : un ordre du 31 tombe le 28 février puis de nouveau le 31 mars.
+     */
+    public LocalDateTime occurrence(LocalDateTime first, long n) {
+        return switch (this) {
+            case DAILY -> first.plusDays(n);
+            case WEEKLY -> first.plusWeeks(n);
+            case MONTHLY -> first.plusMonths(n);
+        };
+    }
+}
@@ -6,20 +6,24 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_from_account_ts", columnList = "from_account_id, timestamp"),
+        @Index(name = "idx_transactions_to_account_ts", columnList = "to_account_id, timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
 
+    // Séquence + optimiseur pooled (contrairement à IDENTITY) : les inserts peuvent être regroupés en batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -42,7 +46,6 @@ public class Transaction {
     @Column(length = 500)
     private String description;
 
-    @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime timestamp;
 
@@ -52,6 +55,14 @@ public class Transaction {
 
     private String reference; // Référence unique de la transaction
 
+    // Horodatage par défaut si le service ne l'a pas fixé
+    @PrePersist
+    void onCreate() {
+        if (timestamp == null) {
+            timestamp = LocalDateTime.now();
+        }
+    }
+
     // Constructeur utilitaire
     public Transaction(Account fromAccount, Account toAccount, BigDecimal amount, TransactionType type, String description) {
         this.fromAccount = fromAccount;
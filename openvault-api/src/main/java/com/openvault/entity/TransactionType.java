@@ -4,5 +4,6 @@ public enum TransactionType {
     TRANSFER,    // Virement
     DEPOSIT,     // Dépôt
     WITHDRAWAL,  // Retrait
-    PAYMENT      // Paiement
+    PAYMENT,     // Paiement
+    INTEREST     // Intérêts
 }
\ No newline at end of file
@@ -0,0 +1,372 @@
+package com.openvault.events;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.openvault.config.EventStreamProperties;
+import com.openvault.dto.AccountBalance;
+import com.openvault.dto.TransactionDTO;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.outbox.ChangeEvent;
+import com.openvault.outbox.ChangeFeed;
+import com.openvault.repository.AccountRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Diffuse aux connexions SSE ouvertes les mouvements et les nouveaux soldes de leurs
+ * comptes, à partir du flux de changements : seules les écritures commitées sont
+ * notifiées, avec au plus l'intervalle du relais de retard.
+ *
+ * Une connexion inactive ne coûte qu'une entrée dans le registre : aucun thread ne lui
+ * est attaché. Les envois passent par une file par connexion, vidée sur un thread
+ * virtuel ; un client lent ne bloque ni le flux ni les autres clients.
+ *
+ * Chaque mouvement porte son offset dans le flux comme identifiant d'événement. À la
+ * reconnexion, le navigateur renvoie Last-Event-ID et reçoit ce qu'il a manqué.
+ */
+@Slf4j
+public class EventStreamBroadcaster implements DisposableBean {
+
+    static final String CONSUMER = "sse-events";
+
+    private final AccountRepository accountRepository;
+    private final JsonMapper jsonMapper;
+    private final EventStreamProperties properties;
+    private final ChangeFeed changeFeed;
+
+    private final Map<String, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<DataWithMediaType> heartbeatFrame = SseEmitter.event().comment("ping").build();
+
+    // Protège deliveredUpTo et l'enregistrement des connexions : une connexion ajoutée
+    // après le lot N reçoit N+1 en direct et rejoue au plus jusqu'à N
+    private final Object lock = new Object();
+    private long deliveredUpTo;
+
+    public EventStreamBroadcaster(ChangeFeed changeFeed, AccountRepository accountRepository, JsonMapper jsonMapper,
+                                  EventStreamProperties properties) {
+        this.changeFeed = changeFeed;
+        this.accountRepository = accountRepository;
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+        synchronized (lock) {
+            this.deliveredUpTo = changeFeed.follow(CONSUMER, this::onChanges);
+        }
+    }
+
+    /**
+     * Ouvre le flux d'un utilisateur. Avec {@code lastEventId}, les mouvements manqués
+     * sont rejoués avant le direct ; si l'écart n'est plus disponible, un événement
+     * « resync » invite le client à recharger ses données.
+     */
+    public SseEmitter connect(String username, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Connection connection = new Connection(username, emitter);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        long position;
+        synchronized (lock) {
+            position = deliveredUpTo;
+            connections.computeIfAbsent(username, key -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+        connectionCount.incrementAndGet();
+
+        // Envois directs : les messages émis avant le retour du contrôleur sont mis en
+        // attente par l'emitter, et le direct reste retenu jusqu'à release()
+        try {
+            if (lastEventId != null && lastEventId != position) {
+                for (Set<DataWithMediaType> frame : replay(username, lastEventId, position)) {
+                    emitter.send(frame);
+                }
+            }
+            emitter.send(SseEmitter.event()
+                    .name("ready")
+                    .id(Long.toString(position))
+                    .reconnectTime(properties.getReconnectTime().toMillis())
+                    .data("{}"));
+        } catch (IOException e) {
+            connection.close();
+            return emitter;
+        } catch (RuntimeException e) {
+            remove(connection);
+            throw e;
+        }
+        connection.release();
+        return emitter;
+    }
+
+    /**
+     * Mouvements de l'utilisateur dans ]from, to], ou « resync » si l'écart est trop
+     * grand, purgé, ou en avance sur le flux
+     */
+    private List<Set<DataWithMediaType>> replay(String username, long from, long to) {
+        if (from > to || to - from > properties.getReplayLimit()) {
+            return List.of(resyncFrame(to));
+        }
+        List<ChangeEvent> events = changeFeed.read(from, (int) (to - from));
+        if (events.isEmpty() || events.getFirst().offset() != from + 1) {
+            return List.of(resyncFrame(to));
+        }
+        Map<Long, AccountBalance> accounts = loadAccounts(events);
+        List<ChangeEvent> mine = events.stream()
+                .filter(event -> involves(event, username, accounts))
+                .toList();
+        return frames(username, mine, accounts);
+    }
+
+    /**
+     * Les comptes sont lus hors du verrou : une connexion qui s'ouvre n'attend pas la base.
+     * Si la première connexion arrive pendant ce temps, le lot est relu avant d'être
+     * marqué livré, puisqu'elle attend ce lot en direct.
+     */
+    private void onChanges(List<ChangeEvent> batch) {
+        Map<Long, AccountBalance> accounts = null;
+        while (true) {
+            if (accounts == null && !connections.isEmpty()) {
+                accounts = loadAccounts(batch);
+            }
+            synchronized (lock) {
+                if (accounts == null && !connections.isEmpty()) {
+                    continue;
+                }
+                if (accounts != null) {
+                    broadcast(batch, accounts);
+                }
+                deliveredUpTo = batch.getLast().offset();
+                return;
+            }
+        }
+    }
+
+    private void broadcast(List<ChangeEvent> batch, Map<Long, AccountBalance> accounts) {
+        Map<String, List<ChangeEvent>> byUser = new LinkedHashMap<>();
+        for (ChangeEvent event : batch) {
+            for (String owner : owners(event, accounts)) {
+                if (connections.containsKey(owner)) {
+                    byUser.computeIfAbsent(owner, key -> new ArrayList<>()).add(event);
+                }
+            }
+        }
+        byUser.forEach((username, events) -> {
+            Set<Connection> userConnections = connections.get(username);
+            if (userConnections == null) {
+                return;
+            }
+            List<Set<DataWithMediaType>> frames = frames(username, events, accounts);
+            userConnections.forEach(connection -> connection.offer(frames));
+        });
+    }
+
+    /**
+     * Nouveaux soldes d'abord (sans identifiant), puis les mouvements : un client coupé
+     * entre les deux reprend avant le mouvement et reçoit de nouveau les deux
+     */
+    private List<Set<DataWithMediaType>> frames(String username, List<ChangeEvent> events,
+                                                Map<Long, AccountBalance> accounts) {
+        List<Set<DataWithMediaType>> frames = new ArrayList<>();
+        Set<Long> touched = new LinkedHashSet<>();
+        for (ChangeEvent event : events) {
+            touched.add(event.fromAccountId());
+            touched.add(event.toAccountId());
+        }
+        for (Long accountId : touched) {
+            AccountBalance account = accountId != null ? accounts.get(accountId) : null;
+            if (account != null && username.equals(account.ownerEmail())) {
+                BalanceChange change = new BalanceChange(account.accountId(), account.iban(), account.balance(),
+                        account.version());
+                frames.add(SseEmitter.event().name("balance").data(jsonMapper.writeValueAsString(change)).build());
+            }
+        }
+        for (ChangeEvent event : events) {
+            frames.add(SseEmitter.event()
+                    .name("transaction")
+                    .id(Long.toString(event.offset()))
+                    .data(jsonMapper.writeValueAsString(toTransaction(event, accounts)))
+                    .build());
+        }
+        return frames;
+    }
+
+    private static TransactionDTO toTransaction(ChangeEvent event, Map<Long, AccountBalance> accounts) {
+        return TransactionDTO.builder()
+                .id(event.transactionId())
+                .fromIban(iban(event.fromAccountId(), accounts))
+                .toIban(iban(event.toAccountId(), accounts))
+                .amount(event.amount())
+                .type(event.type())
+                .description(event.description())
+                .timestamp(event.occurredAt())
+                .status(TransactionStatus.COMPLETED)
+                .reference(event.reference())
+                .build();
+    }
+
+    private Set<DataWithMediaType> resyncFrame(long position) {
+        return SseEmitter.event().name("resync").id(Long.toString(position)).data("{}").build();
+    }
+
+    private Map<Long, AccountBalance> loadAccounts(List<ChangeEvent> events) {
+        Set<Long> ids = new HashSet<>();
+        for (ChangeEvent event : events) {
+            if (event.fromAccountId() != null) {
+                ids.add(event.fromAccountId());
+            }
+            if (event.toAccountId() != null) {
+                ids.add(event.toAccountId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return accountRepository.findBalancesByIdIn(ids).stream()
+                .collect(Collectors.toMap(AccountBalance::accountId, Function.identity()));
+    }
+
+    private static Set<String> owners(ChangeEvent event, Map<Long, AccountBalance> accounts) {
+        Set<String> owners = new LinkedHashSet<>(2);
+        AccountBalance from = event.fromAccountId() != null ? accounts.get(event.fromAccountId()) : null;
+        AccountBalance to = event.toAccountId() != null ? accounts.get(event.toAccountId()) : null;
+        if (from != null) {
+            owners.add(from.ownerEmail());
+        }
+        if (to != null) {
+            owners.add(to.ownerEmail());
+        }
+        return owners;
+    }
+
+    private static boolean involves(ChangeEvent event, String username, Map<Long, AccountBalance> accounts) {
+        return owners(event, accounts).contains(username);
+    }
+
+    private static String iban(Long accountId, Map<Long, AccountBalance> accounts) {
+        AccountBalance account = accountId != null ? accounts.get(accountId) : null;
+        return account != null ? account.iban() : null;
+    }
+
+    /**
+     * Commentaire SSE envoyé à toutes les connexions, ignoré par les clients
+     */
+    @Scheduled(fixedDelayString = "${openvault.events.heartbeat:15s}")
+    public void heartbeat() {
+        List<Set<DataWithMediaType>> frames = List.of(heartbeatFrame);
+        connections.values().forEach(userConnections -> userConnections.forEach(c -> c.offer(frames)));
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.username, (key, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @Override
+    public void destroy() {
+        changeFeed.unsubscribe(CONSUMER);
+        connections.values().forEach(userConnections -> userConnections.forEach(Connection::close));
+        senders.shutdown();
+    }
+
+    /**
+     * Solde publié après un mouvement ; la version permet au client d'ignorer un état
+     * plus ancien que celui qu'il affiche
+     */
+    public record BalanceChange(Long accountId, String iban, BigDecimal balance, Long version) {
+    }
+
+    private final class Connection {
+
+        private final String username;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean released;
+        private volatile boolean closed;
+
+        private Connection(String username, SseEmitter emitter) {
+            this.username = username;
+            this.emitter = emitter;
+        }
+
+        void offer(List<Set<DataWithMediaType>> frames) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.addAndGet(frames.size()) > properties.getMaxPendingFrames()) {
+                log.debug("Connexion SSE de {} trop lente, fermée", username);
+                close();
+                return;
+            }
+            pending.addAll(frames);
+            if (released) {
+                schedule();
+            }
+        }
+
+        void release() {
+            released = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                for (Set<DataWithMediaType> frame = pending.poll(); frame != null; frame = pending.poll()) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            pending.clear();
+            remove(this);
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.openvault.interest;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.config.InterestProperties;
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.InterestAccrualCheckpoint;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.outbox.OutboxRecorder;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.InterestAccrualCheckpointRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.service.AccountSummaryCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verse chaque nuit les intérêts de la veille sur les comptes épargne.
+ *
+ * Les comptes sont découpés en plages d'identifiants de largeur fixe, versées en parallèle :
+ * une plage est une transaction qui lit ses comptes en flux (verrouillés jusqu'au commit),
+ * crédite les intérêts et écrit ses mouvements INTEREST en batch JDBC, puis son point de
+ * reprise. Un arrêt en cours de calcul ne perd ni ne double rien : le calcul suivant
+ * reprend aux plages sans point de reprise. Les plages sont étroites (chunk-size) : un
+ * virement sur un compte épargne n'attend que le versement de quelques centaines de comptes.
+ *
+ * Les intérêts sont calculés en dix-millièmes d'euro (échelle de la colonne balance) sur
+ * des long, en BigInteger pour un solde dont le produit par le taux dépasserait un long :
+ * seuls les centimes entiers sont versés, le reste est reporté sur le compte au lendemain.
+ * Une journée rattrapée après un arrêt est calculée sur le solde courant.
+ */
+@Slf4j
+public class InterestAccrualJob {
+
+    private static final int AMOUNT_SCALE = 4;
+    private static final long UNITS_PER_CENT = 100;
+    private static final long RATE_SCALE = 1_000_000;
+    private static final DateTimeFormatter REFERENCE_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final InterestAccrualCheckpointRepository checkpointRepository;
+    private final OutboxRecorder outboxRecorder;
+    private final AccountSummaryCache accountSummaryCache;
+    private final TransactionTemplate transactionTemplate;
+    private final InterestProperties properties;
+    // Taux annuel en millionièmes : le calcul reste en arithmétique entière
+    private final long ratePpm;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final LongAdder creditedAccounts = new LongAdder();
+    private final LongAdder failedChunks = new LongAdder();
+    private volatile AccrualReport lastReport;
+
+    public InterestAccrualJob(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                              InterestAccrualCheckpointRepository checkpointRepository, OutboxRecorder outboxRecorder,
+                              AccountSummaryCache accountSummaryCache, TransactionTemplate transactionTemplate,
+                              InterestProperties properties) {
+        if (properties.getChunkSize() < 1) {
+            throw new IllegalArgumentException("La largeur des plages de comptes doit être positive");
+        }
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.outboxRecorder = outboxRecorder;
+        this.accountSummaryCache = accountSummaryCache;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.ratePpm = properties.getAnnualRate().movePointRight(6).longValueExact();
+    }
+
+    /**
+     * Relancé plusieurs fois par nuit : après le premier calcul complet, les suivants ne
+     * trouvent plus de plage à verser ; après un arrêt, ils reprennent le calcul
+     */
+    @Scheduled(cron = "${openvault.interest.cron:0 30 1-5 * * *}")
+    public void scheduledRun() {
+        if (running.get()) {
+            return;
+        }
+        for (AccrualReport report : accrueUntil(LocalDate.now().minusDays(1))) {
+            if (report.failedChunks() > 0) {
+                log.error("Intérêts du {} : {} plage(s) en échec, reprises au prochain calcul",
+                        report.accrualDate(), report.failedChunks());
+            } else if (report.chunks() > 0) {
+                log.info("Intérêts du {} : {} EUR versés sur {} comptes en {} ms", report.accrualDate(),
+                        report.interest(), report.creditedAccounts(), report.durationMillis());
+            }
+        }
+    }
+
+    /**
+     * Verse les journées depuis la dernière calculée (reprise comprise) jusqu'à {@code lastDate}
+     */
+    public List<AccrualReport> accrueUntil(LocalDate lastDate) {
+        LocalDate earliest = lastDate.minusDays(properties.getCatchUpDays() - 1L);
+        // Reprise à la dernière journée calculée, peut-être incomplète ; premier calcul : rien à rattraper
+        LocalDate first = checkpointRepository.findLastAccrualDate()
+                .map(last -> last.isBefore(earliest) ? earliest : last)
+                .orElse(lastDate);
+        List<AccrualReport> reports = new ArrayList<>();
+        for (LocalDate date = first; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            reports.add(accrue(date));
+        }
+        return reports;
+    }
+
+    /**
+     * Verse les intérêts d'une journée sur les plages qui ne l'ont pas encore été ;
+     * un seul calcul à la fois par instance
+     */
+    public AccrualReport accrue(LocalDate date) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Calcul des intérêts déjà en cours");
+        }
+        try {
+            long start = System.nanoTime();
+            Long minId = accountRepository.findMinIdByType(AccountType.SAVINGS).orElse(null);
+            Long maxId = accountRepository.findMaxIdByType(AccountType.SAVINGS).orElse(null);
+            Set<Long> done = checkpointRepository.findChunkStartsByAccrualDate(date);
+
+            List<Long> pending = new ArrayList<>();
+            if (minId != null) {
+                long chunkSize = properties.getChunkSize();
+                // Plages alignées sur des multiples de leur largeur : identiques d'un calcul à l'autre
+                for (long chunkStart = minId / chunkSize * chunkSize; chunkStart <= maxId; chunkStart += chunkSize) {
+                    if (!done.contains(chunkStart)) {
+                        pending.add(chunkStart);
+                    }
+                }
+            }
+
+            ChunkResult total = new ChunkResult(0, 0, 0);
+            int skipped = 0;
+            int failed = 0;
+            try (ExecutorService executor = Executors.newFixedThreadPool(properties.getParallelism(),
+                    Thread.ofVirtual().name("interest-", 0).factory())) {
+                List<Future<ChunkResult>> futures = new ArrayList<>(pending.size());
+                for (Long chunkStart : pending) {
+                    futures.add(executor.submit(() -> accrueChunk(date, chunkStart)));
+                }
+                for (Future<ChunkResult> future : futures) {
+                    try {
+                        total = total.plus(future.get());
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof DataIntegrityViolationException) {
+                            // Point de reprise écrit entre-temps par une autre instance
+                            skipped++;
+                        } else {
+                            failed++;
+                            log.warn("Intérêts du {} : plage en échec : {}", date, e.getCause().getMessage());
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Calcul des intérêts interrompu", e);
+            }
+            failedChunks.add(failed);
+
+            AccrualReport report = new AccrualReport(
+                    date,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                    pending.size() - skipped - failed,
+                    done.size() + skipped,
+                    failed,
+                    total.accounts(),
+                    total.creditedAccounts(),
+                    BigDecimal.valueOf(total.interestCents(), 2)
+            );
+            lastReport = report;
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ChunkResult accrueChunk(LocalDate date, long chunkStart) {
+        return transactionTemplate.execute(status -> {
+            // Point de reprise écrit d'abord : une autre instance sur la même plage attend puis échoue
+            InterestAccrualCheckpoint checkpoint = checkpointRepository.saveAndFlush(
+                    new InterestAccrualCheckpoint(date, chunkStart));
+
+            long denominator = RATE_SCALE * date.lengthOfYear();
+            List<Account> credited = new ArrayList<>();
+            long accounts = 0;
+            long interestCents = 0;
+            try (Stream<Account> savings = accountRepository.streamForInterest(AccountType.SAVINGS, chunkStart,
+                    chunkStart + properties.getChunkSize() - 1, date.plusDays(1).atStartOfDay())) {
+                for (Iterator<Account> iterator = savings.iterator(); iterator.hasNext(); accounts++) {
+                    Account account = iterator.next();
+                    long accrued = toUnits(account.getAccruedInterest())
+                            + dailyInterest(account.getBalance(), denominator);
+                    long cents = accrued / UNITS_PER_CENT;
+                    account.setAccruedInterest(toAmount(accrued - cents * UNITS_PER_CENT));
+                    if (cents > 0) {
+                        BigDecimal amount = BigDecimal.valueOf(cents, 2);
+                        account.credit(amount);
+                        post(account, amount, date);
+                        credited.add(account);
+                        interestCents += cents;
+                    }
+                }
+            }
+            if (!credited.isEmpty()) {
+                accountSummaryCache.refreshAfterCommit(credited.toArray(Account[]::new));
+            }
+
+            checkpoint.setCreditedAccounts(credited.size());
+            checkpoint.setInterest(BigDecimal.valueOf(interestCents, 2));
+            checkpoint.setCompletedAt(LocalDateTime.now());
+            creditedAccounts.add(credited.size());
+            return new ChunkResult(accounts, credited.size(), interestCents);
+        });
+    }
+
+    private void post(Account account, BigDecimal amount, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setToAccount(account);
+        transaction.setAmount(amount);
+        transaction.setType(TransactionType.INTEREST);
+        transaction.setDescription("Intérêts du " + date);
+        transaction.setTimestamp(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setReference("INT-" + REFERENCE_DATE.format(date) + "-" + account.getId());
+        Transaction saved = transactionRepository.save(transaction);
+        if (outboxRecorder != null) {
+            outboxRecorder.record(saved);
+        }
+    }
+
+    /**
+     * Intérêts de la journée en dix-millièmes ; au taux de 3 %, le produit dépasse un long
+     * au-delà d'environ 3·10^10 EUR de solde
+     */
+    private long dailyInterest(BigDecimal balance, long denominator) {
+        try {
+            return Math.multiplyExact(toUnits(balance), ratePpm) / denominator;
+        } catch (ArithmeticException e) {
+            return balance.setScale(AMOUNT_SCALE).unscaledValue()
+                    .multiply(BigInteger.valueOf(ratePpm))
+                    .divide(BigInteger.valueOf(denominator))
+                    .longValueExact();
+        }
+    }
+
+    private static long toUnits(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal toAmount(long units) {
+        return BigDecimal.valueOf(units, AMOUNT_SCALE);
+    }
+
+    public AccrualReport getLastReport() {
+        return lastReport;
+    }
+
+    public long getCreditedAccountCount() {
+        return creditedAccounts.sum();
+    }
+
+    public long getFailedChunkCount() {
+        return failedChunks.sum();
+    }
+
+    private record ChunkResult(long accounts, long creditedAccounts, long interestCents) {
+
+        ChunkResult plus(ChunkResult other) {
+            return new ChunkResult(accounts + other.accounts, creditedAccounts + other.creditedAccounts,
+                    interestCents + other.interestCents);
+        }
+    }
+
+    /**
+     * Calcul d'une journée ; {@code skippedChunks} : plages déjà versées (reprise, autre instance)
+     */
+    public record AccrualReport(
+            LocalDate accrualDate,
+            long durationMillis,
+            int chunks,
+            int skippedChunks,
+            int failedChunks,
+            long accountsScanned,
+            long creditedAccounts,
+            BigDecimal interest
+    ) {
+    }
+}
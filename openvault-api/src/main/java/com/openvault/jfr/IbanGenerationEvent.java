@@ -0,0 +1,23 @@
+package com.openvault.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.openvault.IbanGeneration")
+@Label("Génération d'IBAN")
+@Description("Tirage d'un IBAN unique à l'ouverture d'un compte ; chaque collision coûte un aller-retour en base")
+@Category({ "OpenVault", "Comptes" })
+@StackTrace(false)
+public class IbanGenerationEvent extends Event {
+
+    @Label("Tentatives")
+    int attempts;
+
+    public void attempt() {
+        attempts++;
+    }
+}
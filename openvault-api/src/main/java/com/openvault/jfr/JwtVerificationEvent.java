@@ -0,0 +1,28 @@
+package com.openvault.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.openvault.JwtVerification")
+@Label("Vérification JWT")
+@Description("Décodage et vérification de signature d'un token")
+@Category({ "OpenVault", "Sécurité" })
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Issue")
+    @Description("valid ou invalid")
+    String outcome;
+
+    public void complete(boolean valid) {
+        end();
+        if (shouldCommit()) {
+            outcome = valid ? "valid" : "invalid";
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.openvault.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.openvault.TransferCommitted")
+@Label("Virement terminé")
+@Description("Fin de transaction d'un virement (validé ou annulé), durée par phase")
+@Category({ "OpenVault", "Virements" })
+@StackTrace(false)
+public class TransferCommittedEvent extends Event {
+
+    @Label("Compte source")
+    long fromAccountId;
+
+    @Label("Montant (EUR)")
+    double amount;
+
+    @Label("Issue")
+    @Description("committed ou rolled-back")
+    String outcome;
+
+    @Label("Validation")
+    @Description("Contrôles du montant, du destinataire, du propriétaire et du solde")
+    @Timespan
+    long validation;
+
+    @Label("Acquisition du verrou")
+    @Description("SELECT ... FOR UPDATE sur le compte source")
+    @Timespan
+    long lockAcquisition;
+
+    @Label("Mouvement des soldes")
+    @Description("Débit, crédit et enregistrement de la transaction")
+    @Timespan
+    long balanceMutation;
+
+    @Label("Commit")
+    @Description("Flush Hibernate et commit JDBC")
+    @Timespan
+    long commit;
+}
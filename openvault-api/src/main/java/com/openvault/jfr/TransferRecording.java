@@ -0,0 +1,101 @@
+package com.openvault.jfr;
+
+import java.math.BigDecimal;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Chronomètre les phases d'un virement et émet les événements JFR correspondants.
+ *
+ * TransferCommitted est émis à la fin de la transaction Spring, pour inclure le flush
+ * et le commit. Si l'enregistrement JFR est inactif (ou hors transaction), une instance
+ * neutre est renvoyée : le coût se limite à la vérification isEnabled().
+ */
+public class TransferRecording implements TransactionSynchronization {
+
+    private static final TransferRecording DISABLED = new TransferRecording(null);
+
+    private final TransferCommittedEvent event;
+    private long start;
+    private long lockRequested;
+    private long lockAcquired;
+    private long mutationStarted;
+    private long commitStarted;
+
+    private TransferRecording(TransferCommittedEvent event) {
+        this.event = event;
+    }
+
+    public static TransferRecording start(Long fromAccountId, BigDecimal amount) {
+        long id = fromAccountId != null ? fromAccountId : 0;
+        double value = amount != null ? amount.doubleValue() : 0;
+
+        TransferStartedEvent started = new TransferStartedEvent();
+        if (started.isEnabled()) {
+            started.fromAccountId = id;
+            started.amount = value;
+            started.commit();
+        }
+
+        TransferCommittedEvent event = new TransferCommittedEvent();
+        if (!event.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return DISABLED;
+        }
+        event.fromAccountId = id;
+        event.amount = value;
+        event.begin();
+
+        TransferRecording recording = new TransferRecording(event);
+        recording.start = System.nanoTime();
+        TransactionSynchronizationManager.registerSynchronization(recording);
+        return recording;
+    }
+
+    public void lockRequested() {
+        if (event != null) {
+            lockRequested = System.nanoTime();
+        }
+    }
+
+    public void lockAcquired() {
+        if (event != null) {
+            lockAcquired = System.nanoTime();
+        }
+    }
+
+    public void mutationStarted() {
+        if (event != null) {
+            mutationStarted = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        commitStarted = System.nanoTime();
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        long end = System.nanoTime();
+        // Une phase non atteinte (échec en validation...) garde une durée nulle
+        long validationEnd = lockRequested > 0 ? lockRequested : end;
+        event.validation = validationEnd - start;
+        if (lockAcquired > 0) {
+            event.lockAcquisition = lockAcquired - lockRequested;
+            event.validation += (mutationStarted > 0 ? mutationStarted : end) - lockAcquired;
+        }
+        long mutationEnd = commitStarted > 0 ? commitStarted : end;
+        if (mutationStarted > 0) {
+            event.balanceMutation = mutationEnd - mutationStarted;
+        }
+        if (commitStarted > 0) {
+            event.commit = end - commitStarted;
+        }
+        event.outcome = status == STATUS_COMMITTED ? "committed" : status == STATUS_ROLLED_BACK ? "rolled-back" : "unknown";
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+}
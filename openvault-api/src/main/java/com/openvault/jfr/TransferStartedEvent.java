@@ -0,0 +1,22 @@
+package com.openvault.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.openvault.TransferStarted")
+@Label("Virement démarré")
+@Description("Entrée dans TransferService.transfer, avant toute validation")
+@Category({ "OpenVault", "Virements" })
+@StackTrace(false)
+public class TransferStartedEvent extends Event {
+
+    @Label("Compte source")
+    long fromAccountId;
+
+    @Label("Montant (EUR)")
+    double amount;
+}
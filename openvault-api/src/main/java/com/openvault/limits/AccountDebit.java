@@ -0,0 +1,15 @@
+package com.openvault.limits;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.openvault.entity.AccountType;
+import com.openvault.entity.TransactionType;
+
+/**
+ * Débit récent d'un compte, lu en flux pour reconstruire les fenêtres de plafonds ;
+ * le débit d'une paie est net de son remboursement
+ */
+public record AccountDebit(Long accountId, AccountType type, TransactionType kind, BigDecimal amount,
+                           LocalDateTime timestamp) {
+}
@@ -0,0 +1,82 @@
+package com.openvault.limits;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Montant (en centimes) et nombre d'opérations sur une fenêtre glissante, en seaux
+ * circulaires : une heure en 12 seaux de 5 minutes, un jour en 24 seaux d'une heure.
+ *
+ * Ajout et lecture en temps constant et sans verrou : un seau est un instantané immuable
+ * (période comptée, montant, nombre) remplacé par compare-and-set. Le premier ajout d'une
+ * période plus récente remplace le seau par un seau neuf ; un ajout concurrent qui avait lu
+ * l'ancienne période échoue sur le compare-and-set et recommence : rien n'est compté dans
+ * la mauvaise période ni perdu. La fenêtre est glissante au seau près : une opération sort
+ * du total au plus une durée de seau après la fin exacte de la fenêtre, ce qui reste du
+ * côté prudent pour un plafond.
+ */
+final class SlidingWindowCounter {
+
+    private static final Bucket EMPTY = new Bucket(-1, 0, 0);
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final AtomicReferenceArray<Bucket> slots;
+
+    SlidingWindowCounter(Duration window, int buckets) {
+        if (window.toMillis() % buckets != 0) {
+            throw new IllegalArgumentException("La fenêtre doit se découper en seaux de durée entière");
+        }
+        this.bucketMillis = window.toMillis() / buckets;
+        this.buckets = buckets;
+        this.slots = new AtomicReferenceArray<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            slots.set(i, EMPTY);
+        }
+    }
+
+    /**
+     * Ajoute (ou retire, en négatif) une opération datée ; sans effet si sa période
+     * est déjà sortie de la fenêtre
+     */
+    void add(long timestampMillis, long amountCents, long count) {
+        long period = timestampMillis / bucketMillis;
+        int slot = (int) (period % buckets);
+        while (true) {
+            Bucket current = slots.get(slot);
+            if (current.period > period) {
+                // Seau déjà repris par une période plus récente : l'opération est sortie de la fenêtre
+                return;
+            }
+            Bucket next = current.period == period
+                    ? new Bucket(period, current.amountCents + amountCents, current.count + count)
+                    : new Bucket(period, amountCents, count);
+            if (slots.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Totaux des seaux de la fenêtre qui se termine à {@code nowMillis}
+     */
+    Usage usage(long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        long amount = 0;
+        long count = 0;
+        for (int slot = 0; slot < buckets; slot++) {
+            Bucket bucket = slots.get(slot);
+            if (bucket.period > current - buckets && bucket.period <= current) {
+                amount += bucket.amountCents;
+                count += bucket.count;
+            }
+        }
+        return new Usage(amount, count);
+    }
+
+    private record Bucket(long period, long amountCents, long count) {
+    }
+
+    record Usage(long amountCents, long count) {
+    }
+}
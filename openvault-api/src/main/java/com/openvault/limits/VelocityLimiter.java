@@ -0,0 +1,283 @@
+package com.openvault.limits;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.config.VelocityLimitProperties;
+import com.openvault.config.VelocityLimitProperties.Limits;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.TransactionType;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.TransactionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Plafonds horaires et journaliers des débits d'un compte (virements, retraits), en
+ * montant et en nombre, vérifiés avant tout verrou. Les paies ont leur propre plafond
+ * journalier en montant : un débit de paie ne consomme pas les plafonds des virements.
+ *
+ * Les débits de chaque compte sont comptés en mémoire dans deux fenêtres glissantes ;
+ * la vérification ne lit pas la base et coûte quelques additions atomiques. Le débit est
+ * réservé avant la vérification, puis retiré s'il dépasse un plafond : deux virements
+ * simultanés ne peuvent pas passer ensemble au-delà. La réservation est aussi retirée
+ * si la transaction du virement n'est pas commitée (solde insuffisant...). Les lignes de
+ * paie remboursées au payeur sont retirées de la réservation de la paie.
+ *
+ * Les fenêtres sont reconstruites au démarrage à partir des débits des dernières 24 h.
+ * Chaque instance ne compte que ses propres virements : derrière un répartiteur de charge,
+ * un client peut dépasser un plafond d'au plus un facteur égal au nombre d'instances,
+ * jusqu'au prochain redémarrage.
+ */
+@Slf4j
+public class VelocityLimiter implements InitializingBean {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration DAY = Duration.ofDays(1);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final VelocityLimitProperties properties;
+    private final TransactionTemplate readTransaction;
+
+    private final Map<Long, AccountVelocity> accounts = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public VelocityLimiter(AccountRepository accountRepository,
+                           TransactionRepository transactionRepository,
+                           PlatformTransactionManager transactionManager,
+                           VelocityLimitProperties properties) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.properties = properties;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        rebuild();
+    }
+
+    /**
+     * Réserve un débit sur les fenêtres du compte, ou lève une exception si un plafond
+     * serait dépassé
+     */
+    public void acquire(Long accountId, BigDecimal amount) {
+        reserve(accountId, amount, false);
+    }
+
+    /**
+     * Réserve le débit d'une paie sur le plafond des paies du compte, ou lève une exception
+     * s'il serait dépassé
+     */
+    public void acquirePayroll(Long accountId, BigDecimal amount) {
+        reserve(accountId, amount, true);
+    }
+
+    /**
+     * Retire de la réservation d'une paie débitée à {@code debitedAt} ses lignes remboursées,
+     * au commit de la transaction en cours. Sans effet si cette instance ne compte pas le compte.
+     */
+    public void releasePayroll(Long accountId, BigDecimal refunded, LocalDateTime debitedAt) {
+        AccountVelocity velocity = accounts.get(accountId);
+        if (velocity == null) {
+            return;
+        }
+        long cents = toCents(refunded);
+        long timestamp = toMillis(debitedAt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    velocity.addPayroll(timestamp, -cents);
+                }
+            });
+        } else {
+            velocity.addPayroll(timestamp, -cents);
+        }
+    }
+
+    private void reserve(Long accountId, BigDecimal amount, boolean payroll) {
+        AccountVelocity velocity = velocityOf(accountId);
+        if (velocity == null) {
+            // Compte inconnu : le débit échouera plus loin avec son propre message
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long cents = toCents(amount);
+        Runnable release = payroll
+                ? () -> velocity.addPayroll(now, -cents)
+                : () -> velocity.add(now, -cents, -1);
+        String exceeded;
+        if (payroll) {
+            velocity.addPayroll(now, cents);
+            exceeded = exceededPayrollLimit(velocity, now);
+        } else {
+            velocity.add(now, cents, 1);
+            exceeded = exceededLimit(velocity, now);
+        }
+        if (exceeded != null) {
+            release.run();
+            rejected.increment();
+            log.warn("Débit de {} EUR refusé sur le compte {} : {}", amount, accountId, exceeded);
+            throw new RuntimeException(exceeded);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release.run();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Recompte les débits des dernières 24 h
+     */
+    public void rebuild() {
+        accounts.clear();
+        LocalDateTime since = LocalDateTime.now().minus(DAY);
+        Long loaded = readTransaction.execute(status -> {
+            try (Stream<AccountDebit> debits = transactionRepository.streamRecentDebits(since)) {
+                return debits.peek(debit -> {
+                    AccountVelocity velocity = accounts.computeIfAbsent(debit.accountId(),
+                            id -> new AccountVelocity(debit.type()));
+                    if (debit.kind() == TransactionType.PAYMENT) {
+                        velocity.addPayroll(toMillis(debit.timestamp()), toCents(debit.amount()));
+                    } else {
+                        velocity.add(toMillis(debit.timestamp()), toCents(debit.amount()), 1);
+                    }
+                }).count();
+            }
+        });
+        log.info("Plafonds de débit : {} débits des dernières 24 h recomptés sur {} comptes", loaded, accounts.size());
+    }
+
+    /**
+     * Oublie les comptes sans débit sur la dernière journée : leurs fenêtres sont vides
+     */
+    @Scheduled(fixedDelayString = "${openvault.velocity-limits.eviction-interval:10m}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - DAY.toMillis();
+        accounts.values().removeIf(velocity -> velocity.lastActivity < threshold);
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getTrackedAccounts() {
+        return accounts.size();
+    }
+
+    private AccountVelocity velocityOf(Long accountId) {
+        AccountVelocity velocity = accounts.get(accountId);
+        if (velocity != null) {
+            return velocity;
+        }
+        // Hors de computeIfAbsent : pas de requête pendant que la table est verrouillée
+        AccountType type = accountRepository.findTypeById(accountId).orElse(null);
+        if (type == null) {
+            return null;
+        }
+        return accounts.computeIfAbsent(accountId, id -> new AccountVelocity(type));
+    }
+
+    private String exceededLimit(AccountVelocity velocity, long now) {
+        Limits limits = properties.getLimits().get(velocity.type);
+        if (limits == null) {
+            return null;
+        }
+        SlidingWindowCounter.Usage hour = velocity.hour.usage(now);
+        if (limits.getHourlyCount() > 0 && hour.count() > limits.getHourlyCount()) {
+            return "Nombre de débits par heure dépassé : " + limits.getHourlyCount() + " maximum";
+        }
+        if (limits.getHourlyAmount() != null && limits.getHourlyAmount().signum() > 0
+                && hour.amountCents() > toCents(limits.getHourlyAmount())) {
+            return "Plafond horaire dépassé : " + limits.getHourlyAmount().toPlainString() + " EUR maximum";
+        }
+        SlidingWindowCounter.Usage day = velocity.day.usage(now);
+        if (limits.getDailyCount() > 0 && day.count() > limits.getDailyCount()) {
+            return "Nombre de débits par jour dépassé : " + limits.getDailyCount() + " maximum";
+        }
+        if (limits.getDailyAmount() != null && limits.getDailyAmount().signum() > 0
+                && day.amountCents() > toCents(limits.getDailyAmount())) {
+            return "Plafond journalier dépassé : " + limits.getDailyAmount().toPlainString() + " EUR maximum";
+        }
+        return null;
+    }
+
+    private String exceededPayrollLimit(AccountVelocity velocity, long now) {
+        Limits limits = properties.getLimits().get(velocity.type);
+        if (limits == null || limits.getPayrollDailyAmount() == null || limits.getPayrollDailyAmount().signum() <= 0) {
+            return null;
+        }
+        if (velocity.payroll.usage(now).amountCents() > toCents(limits.getPayrollDailyAmount())) {
+            return "Plafond journalier des paies dépassé : " + limits.getPayrollDailyAmount().toPlainString()
+                    + " EUR maximum";
+        }
+        return null;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        // Montants relus en base à l'échelle 4 : arrondi du côté prudent
+        return amount.movePointRight(2).setScale(0, RoundingMode.UP).longValue();
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Fenêtres d'un compte ; le type est celui du compte, qui ne change pas
+     */
+    private static final class AccountVelocity {
+
+        private final AccountType type;
+        private final SlidingWindowCounter hour = new SlidingWindowCounter(HOUR, 12);
+        private final SlidingWindowCounter day = new SlidingWindowCounter(DAY, 24);
+        private final SlidingWindowCounter payroll = new SlidingWindowCounter(DAY, 24);
+        private volatile long lastActivity;
+
+        AccountVelocity(AccountType type) {
+            this.type = type;
+        }
+
+        void add(long timestampMillis, long amountCents, long count) {
+            hour.add(timestampMillis, amountCents, count);
+            day.add(timestampMillis, amountCents, count);
+            touch(timestampMillis);
+        }
+
+        // Plafond des paies en montant seulement
+        void addPayroll(long timestampMillis, long amountCents) {
+            payroll.add(timestampMillis, amountCents, 0);
+            touch(timestampMillis);
+        }
+
+        private void touch(long timestampMillis) {
+            if (timestampMillis > lastActivity) {
+                lastActivity = timestampMillis;
+            }
+        }
+    }
+}
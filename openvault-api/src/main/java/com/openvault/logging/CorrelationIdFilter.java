@@ -0,0 +1,56 @@
+package com.openvault.logging;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import org.slf4j.MDC;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Attribue à chaque requête HTTP un identifiant de corrélation, repris de l'en-tête
+ * X-Correlation-Id s'il est fourni (frontend, passerelle) et renvoyé dans la réponse.
+ *
+ * L'identifiant est placé dans le MDC : il apparaît dans chaque ligne de log JSON de la
+ * requête et sert de clé d'échantillonnage à {@link SamplingTurboFilter}.
+ */
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    // Un en-tête client ne doit pas pouvoir injecter n'importe quoi dans les logs
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String correlationId = request.getHeader(HEADER);
+        if (correlationId == null || !VALID_ID.matcher(correlationId).matches()) {
+            correlationId = newCorrelationId();
+        }
+        MDC.put(MDC_KEY, correlationId);
+        response.setHeader(HEADER, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    /**
+     * 64 bits aléatoires en hexadécimal : assez pour corréler, sans le coût de SecureRandom
+     */
+    static String newCorrelationId() {
+        return String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+}
@@ -0,0 +1,42 @@
+package com.openvault.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * AsyncAppender Logback qui compte les lignes perdues.
+ *
+ * Les appels de log ne font que déposer l'événement dans une file bornée. Configuré
+ * avec neverBlock (voir logback-spring.xml), il ne bloque jamais : au-delà du seuil de
+ * rejet, les lignes INFO et inférieures sont écartées, et file pleine, toute ligne l'est.
+ * Le compteur est statique car l'appender est instancié par Logback, hors de Spring.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isStarted() && getRemainingCapacity() == 0 && isNeverBlock()) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // Appelé seulement quand la file passe sous le seuil de rejet
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            DROPPED.increment();
+        }
+        return discardable;
+    }
+}
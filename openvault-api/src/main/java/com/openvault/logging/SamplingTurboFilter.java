@@ -0,0 +1,72 @@
+package com.openvault.logging;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Échantillonne les logs INFO et inférieurs des loggers à fort volume (chemin nominal
+ * des virements) : une requête sur N est gardée. WARN et ERROR ne sont jamais filtrés.
+ *
+ * La décision dépend de l'identifiant de corrélation : toutes les lignes d'une requête
+ * retenue sont gardées ensemble. Hors requête HTTP, un compteur prend le relais.
+ * Le filtre intervient avant le formatage du message : une ligne écartée ne coûte rien.
+ */
+public class SamplingTurboFilter extends TurboFilter implements AutoCloseable {
+
+    private final Map<String, Integer> oneIn;
+    private final AtomicLong sequence = new AtomicLong();
+    private LoggerContext loggerContext;
+
+    /**
+     * @param oneIn nom du logger -> N (une requête sur N gardée)
+     */
+    public SamplingTurboFilter(Map<String, Integer> oneIn) {
+        this.oneIn = Map.copyOf(oneIn);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        // format nul : simple appel à isInfoEnabled(), qui ne doit pas consommer de tirage
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        Integer rate = oneIn.get(logger.getName());
+        if (rate == null || rate <= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        long ticket = correlationId != null
+                ? correlationId.hashCode() & 0x7fffffffL
+                : sequence.getAndIncrement();
+        return ticket % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    /**
+     * Branche le filtre sur le contexte Logback
+     */
+    public void install(LoggerContext context) {
+        this.loggerContext = context;
+        setContext(context);
+        setName("openvault-sampling");
+        start();
+        context.addTurboFilter(this);
+    }
+
+    @Override
+    public void close() {
+        if (loggerContext != null) {
+            loggerContext.getTurboFilterList().remove(this);
+        }
+        stop();
+    }
+}
@@ -0,0 +1,184 @@
+package com.openvault.metrics;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.openvault.config.DatabaseConcurrencyGovernor;
+import com.openvault.contention.HotAccountDetector;
+import com.openvault.events.EventStreamBroadcaster;
+import com.openvault.interest.InterestAccrualJob;
+import com.openvault.limits.VelocityLimiter;
+import com.openvault.logging.MeteredAsyncAppender;
+import com.openvault.outbox.ChangeFeed;
+import com.openvault.outbox.OutboxRelay;
+import com.openvault.payroll.PayrollProcessor;
+import com.openvault.reconciliation.LedgerReconciler;
+import com.openvault.service.AccountSummaryCache;
+import com.openvault.standingorder.StandingOrderScheduler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Expose les compteurs internes déjà tenus par l'application : efficacité du cache
+ * des comptes, file d'attente du gouverneur d'accès à la base, comptes chauds, lignes
+ * de log perdues, débit du flux de changements, connexions SSE ouvertes, écarts
+ * du dernier rapprochement, exécutions des virements permanents, crédits de paie,
+ * débits refusés par les plafonds et versements d'intérêts.
+ *
+ * La saturation du pool lui-même (hikaricp_connections_pending...) et les statistiques
+ * Hibernate sont publiées par l'auto-configuration Actuator.
+ */
+@Component
+@RequiredArgsConstructor
+public class OpenVaultMeterBinder implements MeterBinder {
+
+    private final AccountSummaryCache accountSummaryCache;
+    private final ObjectProvider<DatabaseConcurrencyGovernor> governor;
+    private final ObjectProvider<HotAccountDetector> hotAccountDetector;
+    private final ObjectProvider<OutboxRelay> outboxRelay;
+    private final ObjectProvider<ChangeFeed> changeFeed;
+    private final ObjectProvider<EventStreamBroadcaster> eventStream;
+    private final ObjectProvider<LedgerReconciler> ledgerReconciler;
+    private final ObjectProvider<StandingOrderScheduler> standingOrderScheduler;
+    private final ObjectProvider<PayrollProcessor> payrollProcessor;
+    private final ObjectProvider<VelocityLimiter> velocityLimiter;
+    private final ObjectProvider<InterestAccrualJob> interestAccrualJob;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("openvault.account.cache.requests", accountSummaryCache, AccountSummaryCache::getHitCount)
+                .description("Lectures servies par le cache des comptes")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("openvault.account.cache.requests", accountSummaryCache, AccountSummaryCache::getMissCount)
+                .description("Lectures servies par le cache des comptes")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("openvault.account.cache.invalidations", accountSummaryCache,
+                        AccountSummaryCache::getInvalidationCount)
+                .description("Utilisateurs invalidés par le flux de changements")
+                .register(registry);
+        Gauge.builder("openvault.account.cache.size", accountSummaryCache, AccountSummaryCache::size)
+                .description("Utilisateurs dont les comptes sont en cache")
+                .register(registry);
+
+        governor.ifAvailable(dbGovernor -> {
+            Gauge.builder("openvault.db.governor.permits", dbGovernor, DatabaseConcurrencyGovernor::getMaxConcurrency)
+                    .description("Accès simultanés autorisés à la base")
+                    .tag("state", "max")
+                    .register(registry);
+            Gauge.builder("openvault.db.governor.permits", dbGovernor, DatabaseConcurrencyGovernor::getAvailablePermits)
+                    .description("Accès simultanés autorisés à la base")
+                    .tag("state", "available")
+                    .register(registry);
+            Gauge.builder("openvault.db.governor.queue", dbGovernor, DatabaseConcurrencyGovernor::getQueueLength)
+                    .description("Threads en attente d'un accès à la base")
+                    .register(registry);
+        });
+
+        FunctionCounter.builder("openvault.logging.dropped", MeteredAsyncAppender.class,
+                        appender -> MeteredAsyncAppender.getDroppedCount())
+                .description("Lignes de log écartées par l'appender asynchrone saturé")
+                .register(registry);
+
+        // Seul le compte le plus chaud est publié : le détail est sur /actuator/hotaccounts
+        hotAccountDetector.ifAvailable(detector -> {
+            Gauge.builder("openvault.hot.account.top", detector, d -> hottest(d.report().byTransferRate()))
+                    .description("Virements par seconde sur le compte le plus sollicité")
+                    .tag("kind", "transfer-rate")
+                    .register(registry);
+            Gauge.builder("openvault.hot.account.top", detector, d -> hottest(d.report().byLockWait()))
+                    .description("Attente de verrou (ms par seconde) sur le compte le plus sollicité")
+                    .tag("kind", "lock-wait")
+                    .register(registry);
+            FunctionCounter.builder("openvault.hot.account.alerts", detector, HotAccountDetector::getTransferRateAlerts)
+                    .description("Seuils de compte chaud franchis")
+                    .tag("kind", "transfer-rate")
+                    .register(registry);
+            FunctionCounter.builder("openvault.hot.account.alerts", detector, HotAccountDetector::getLockWaitAlerts)
+                    .description("Seuils de compte chaud franchis")
+                    .tag("kind", "lock-wait")
+                    .register(registry);
+        });
+
+        outboxRelay.ifAvailable(relay -> FunctionCounter.builder("openvault.outbox.relayed", relay,
+                        OutboxRelay::getRelayedCount)
+                .description("Événements d'outbox publiés dans le flux de changements")
+                .register(registry));
+        changeFeed.ifAvailable(feed -> {
+            FunctionCounter.builder("openvault.changefeed.delivered", feed, ChangeFeed::getDeliveredCount)
+                    .description("Événements livrés aux consommateurs du flux")
+                    .register(registry);
+            FunctionCounter.builder("openvault.changefeed.failures", feed, ChangeFeed::getFailureCount)
+                    .description("Lots refusés par un consommateur, relivrés ensuite")
+                    .register(registry);
+        });
+        eventStream.ifAvailable(broadcaster -> Gauge.builder("openvault.events.connections", broadcaster,
+                        EventStreamBroadcaster::getConnectionCount)
+                .description("Connexions ouvertes sur GET /events")
+                .register(registry));
+        ledgerReconciler.ifAvailable(reconciler -> Gauge.builder("openvault.reconciliation.discrepancies",
+                        reconciler, r -> r.getLastReport() != null ? r.getLastReport().discrepancyCount() : 0)
+                .description("Comptes dont le solde diffère du net des mouvements, au dernier rapprochement")
+                .register(registry));
+        standingOrderScheduler.ifAvailable(scheduler -> {
+            FunctionCounter.builder("openvault.standingorders.executions", scheduler,
+                            StandingOrderScheduler::getExecutedCount)
+                    .description("Échéances de virements permanents traitées")
+                    .tag("result", "executed")
+                    .register(registry);
+            FunctionCounter.builder("openvault.standingorders.executions", scheduler,
+                            StandingOrderScheduler::getFailedCount)
+                    .description("Échéances de virements permanents traitées")
+                    .tag("result", "failed")
+                    .register(registry);
+            FunctionCounter.builder("openvault.standingorders.executions", scheduler,
+                            StandingOrderScheduler::getSkippedCount)
+                    .description("Échéances de virements permanents traitées")
+                    .tag("result", "skipped")
+                    .register(registry);
+            Gauge.builder("openvault.standingorders.inflight", scheduler, StandingOrderScheduler::getInFlight)
+                    .description("Ordres réservés en attente d'exécution sur cette instance")
+                    .register(registry);
+        });
+        payrollProcessor.ifAvailable(processor -> {
+            FunctionCounter.builder("openvault.payroll.lines", processor, PayrollProcessor::getPostedLineCount)
+                    .description("Lignes de paie traitées au crédit")
+                    .tag("result", "posted")
+                    .register(registry);
+            FunctionCounter.builder("openvault.payroll.lines", processor, PayrollProcessor::getRejectedLineCount)
+                    .description("Lignes de paie traitées au crédit")
+                    .tag("result", "rejected")
+                    .register(registry);
+            Gauge.builder("openvault.payroll.running", processor, PayrollProcessor::getRunningCount)
+                    .description("Paies en cours de crédit sur cette instance")
+                    .register(registry);
+        });
+        velocityLimiter.ifAvailable(limiter -> {
+            FunctionCounter.builder("openvault.velocity.rejections", limiter, VelocityLimiter::getRejectedCount)
+                    .description("Débits refusés par un plafond horaire ou journalier")
+                    .register(registry);
+            Gauge.builder("openvault.velocity.accounts", limiter, VelocityLimiter::getTrackedAccounts)
+                    .description("Comptes dont les débits récents sont suivis en mémoire")
+                    .register(registry);
+        });
+        interestAccrualJob.ifAvailable(job -> {
+            FunctionCounter.builder("openvault.interest.credited", job, InterestAccrualJob::getCreditedAccountCount)
+                    .description("Versements d'intérêts sur les comptes épargne")
+                    .register(registry);
+            FunctionCounter.builder("openvault.interest.failed.chunks", job, InterestAccrualJob::getFailedChunkCount)
+                    .description("Plages de comptes en échec, reprises au calcul suivant")
+                    .register(registry);
+        });
+    }
+
+    private static double hottest(List<HotAccountDetector.HotAccount> accounts) {
+        return accounts.isEmpty() ? 0 : accounts.getFirst().perSecond();
+    }
+}
@@ -0,0 +1,126 @@
+package com.openvault.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.openvault.contention.HotAccountDetector;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Chronomètre les opérations sensibles, étiquetées par issue :
+ * - mouvements d'argent (virement, dépôt, retrait), commit compris ;
+ * - attente du verrou pessimiste d'un compte, seule mesure de cette attente : elle
+ *   alimente aussi le classement des comptes chauds ;
+ * - validation des tokens JWT.
+ *
+ * L'aspect passe avant l'intercepteur transactionnel : un conflit détecté au commit
+ * (version, sérialisation) est donc bien compté comme tel. Un Timer par opération et
+ * par issue, créé au premier appel puis réutilisé.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class OperationMetricsAspect {
+
+    static final String MONEY_MOVEMENT = "openvault.money.movement";
+    static final String ACCOUNT_LOCK_WAIT = "openvault.account.lock.wait";
+    static final String JWT_VALIDATION = "openvault.jwt.validation";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<HotAccountDetector> hotAccountDetector;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.openvault.service.TransferService.transfer(..))"
+            + " || execution(public * com.openvault.service.TransferService.deposit(..))"
+            + " || execution(public * com.openvault.service.TransferService.withdraw(..))")
+    public Object timeMoneyMovement(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, MONEY_MOVEMENT, "Durée des virements, dépôts et retraits, commit compris", null);
+    }
+
+    @Around("execution(* com.openvault.repository.AccountRepository.findByIdWithLock(..))")
+    public Object timeAccountLock(ProceedingJoinPoint joinPoint) throws Throwable {
+        LongConsumer hotAccounts = joinPoint.getArgs()[0] instanceof Long accountId
+                ? lockWait -> hotAccountDetector.ifAvailable(detector -> detector.recordLockWait(accountId, lockWait))
+                : null;
+        return time(joinPoint, ACCOUNT_LOCK_WAIT, "Attente et lecture du compte verrouillé (SELECT ... FOR UPDATE)",
+                hotAccounts);
+    }
+
+    @Around("execution(public * com.openvault.security.JwtService.extractUsername(..))"
+            + " || execution(public * com.openvault.security.JwtService.isTokenValid(..))")
+    public Object timeJwtValidation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, JWT_VALIDATION, "Décodage et vérification de signature des tokens JWT", null);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name, String description,
+                        LongConsumer elapsedListener) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer(name, description, joinPoint.getSignature().getName(), outcome).record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsedListener != null) {
+                elapsedListener.accept(elapsed);
+            }
+        }
+    }
+
+    private Timer timer(String name, String description, String operation, String outcome) {
+        return timers.computeIfAbsent(new TimerKey(name, operation, outcome), key -> Timer.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * conflict : à rejouer ; unavailable : base saturée ; invalid : token refusé ;
+     * rejected : refus métier (solde insuffisant, compte inconnu...) ; error : le reste
+     */
+    private static String outcome(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrencyFailureException
+                    || cause instanceof OptimisticLockException
+                    || cause instanceof PessimisticLockException
+                    || cause instanceof LockTimeoutException) {
+                return "conflict";
+            }
+            if (cause instanceof CannotCreateTransactionException) {
+                return "unavailable";
+            }
+            if (cause instanceof JwtException) {
+                return "invalid";
+            }
+        }
+        return e instanceof RuntimeException ? "rejected" : "error";
+    }
+
+    private record TimerKey(String name, String operation, String outcome) {
+    }
+}
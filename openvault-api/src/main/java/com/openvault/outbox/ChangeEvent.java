@@ -0,0 +1,29 @@
+package com.openvault.outbox;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.openvault.entity.OutboxEvent;
+import com.openvault.entity.TransactionType;
+
+/**
+ * Écriture comptable publiée dans le flux de changements, à la position {@code offset}
+ */
+public record ChangeEvent(
+        long offset,
+        long transactionId,
+        TransactionType type,
+        Long fromAccountId,
+        Long toAccountId,
+        BigDecimal amount,
+        String description,
+        String reference,
+        LocalDateTime occurredAt
+) {
+
+    static ChangeEvent from(OutboxEvent event) {
+        return new ChangeEvent(event.getFeedOffset(), event.getTransactionId(), event.getType(),
+                event.getFromAccountId(), event.getToAccountId(), event.getAmount(), event.getDescription(),
+                event.getReference(), event.getOccurredAt());
+    }
+}
@@ -0,0 +1,189 @@
+package com.openvault.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+
+import com.openvault.entity.ChangeFeedCursor;
+import com.openvault.repository.ChangeFeedCursorRepository;
+import com.openvault.repository.OutboxEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flux ordonné des écritures comptables commitées, alimenté par {@link OutboxRelay}.
+ *
+ * Livraison au moins une fois : la position d'un consommateur n'est enregistrée
+ * qu'après le traitement réussi d'un lot. Après un échec ou un redémarrage, le lot est
+ * relivré ; les projections doivent donc ignorer un offset déjà appliqué.
+ *
+ * Les consommateurs sont appelés un par un depuis un thread dédié, jamais depuis la
+ * transaction du mouvement.
+ */
+@Slf4j
+public class ChangeFeed implements DisposableBean {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ChangeFeedCursorRepository cursorRepository;
+    private final int batchSize;
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("change-feed").daemon().factory());
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public ChangeFeed(OutboxEventRepository outboxEventRepository, ChangeFeedCursorRepository cursorRepository,
+                      int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.cursorRepository = cursorRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Rattrapage : événements situés après {@code afterOffset}, dans l'ordre du flux
+     */
+    public List<ChangeEvent> read(long afterOffset, int limit) {
+        return outboxEventRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(afterOffset, Limit.of(limit))
+                .stream()
+                .map(ChangeEvent::from)
+                .toList();
+    }
+
+    /**
+     * Abonne un consommateur ; il reprend après sa dernière position enregistrée, ou au
+     * début du flux s'il est nouveau, dès le prochain passage du relais
+     */
+    public void subscribe(String consumer, Consumer<List<ChangeEvent>> handler) {
+        long position = cursorRepository.findById(consumer).map(ChangeFeedCursor::getPosition).orElse(0L);
+        register(new Subscription(consumer, handler, position, true));
+    }
+
+    /**
+     * Abonnement sans position enregistrée, à partir de la fin actuelle du flux : pour les
+     * consommateurs propres à l'instance (notifications en direct), qui n'ont rien à rejouer
+     * après un redémarrage. Renvoie la position de départ : le premier lot livré la suit.
+     */
+    public long follow(String consumer, Consumer<List<ChangeEvent>> handler) {
+        long position = getLatestOffset();
+        register(new Subscription(consumer, handler, position, false));
+        return position;
+    }
+
+    /**
+     * Dernière position attribuée par le relais
+     */
+    public long getLatestOffset() {
+        return cursorRepository.findById(OutboxRelay.RELAY_CURSOR).map(ChangeFeedCursor::getPosition).orElse(0L);
+    }
+
+    private void register(Subscription subscription) {
+        if (OutboxRelay.RELAY_CURSOR.equals(subscription.consumer)) {
+            throw new IllegalArgumentException("Nom de consommateur réservé : " + subscription.consumer);
+        }
+        if (subscriptions.putIfAbsent(subscription.consumer, subscription) != null) {
+            throw new IllegalStateException("Consommateur déjà abonné : " + subscription.consumer);
+        }
+    }
+
+    public void unsubscribe(String consumer) {
+        subscriptions.remove(consumer);
+    }
+
+    /**
+     * Dernière position traitée par le consommateur (0 s'il n'a encore rien reçu)
+     */
+    public long getPosition(String consumer) {
+        Subscription subscription = subscriptions.get(consumer);
+        if (subscription != null) {
+            return subscription.position;
+        }
+        return cursorRepository.findById(consumer).map(ChangeFeedCursor::getPosition).orElse(0L);
+    }
+
+    /**
+     * Demande une livraison ; les signaux reçus pendant qu'une livraison attend sont fusionnés
+     */
+    public void signal() {
+        if (subscriptions.isEmpty() || !dispatchQueued.compareAndSet(false, true)) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            dispatchQueued.set(false);
+            dispatchNow();
+        });
+    }
+
+    /**
+     * Livre à chaque consommateur tout ce qui le sépare de la fin du flux
+     */
+    public synchronized void dispatchNow() {
+        for (Subscription subscription : subscriptions.values()) {
+            try {
+                deliver(subscription);
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Consommateur {} en échec après l'offset {}, lot relivré au prochain passage : {}",
+                        subscription.consumer, subscription.position, e.getMessage());
+            }
+        }
+    }
+
+    private void deliver(Subscription subscription) {
+        while (true) {
+            List<ChangeEvent> batch = read(subscription.position, batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            subscription.handler.accept(batch);
+            long last = batch.getLast().offset();
+            if (subscription.durable) {
+                cursorRepository.save(new ChangeFeedCursor(subscription.consumer, last, LocalDateTime.now()));
+            }
+            subscription.position = last;
+            delivered.add(batch.size());
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+    }
+
+    private static final class Subscription {
+
+        private final String consumer;
+        private final Consumer<List<ChangeEvent>> handler;
+        private final boolean durable;
+        private volatile long position;
+
+        private Subscription(String consumer, Consumer<List<ChangeEvent>> handler, long position, boolean durable) {
+            this.consumer = consumer;
+            this.handler = handler;
+            this.position = position;
+            this.durable = durable;
+        }
+    }
+}
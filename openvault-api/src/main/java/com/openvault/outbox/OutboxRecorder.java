@@ -0,0 +1,30 @@
+package com.openvault.outbox;
+
+import com.openvault.entity.OutboxEvent;
+import com.openvault.entity.Transaction;
+import com.openvault.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Écrit l'événement d'outbox d'un mouvement, dans la transaction qui l'enregistre :
+ * l'événement existe si et seulement si le mouvement est commité.
+ */
+@RequiredArgsConstructor
+public class OutboxRecorder {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public void record(Transaction transaction) {
+        OutboxEvent event = new OutboxEvent();
+        event.setTransactionId(transaction.getId());
+        event.setType(transaction.getType());
+        event.setFromAccountId(transaction.getFromAccount() != null ? transaction.getFromAccount().getId() : null);
+        event.setToAccountId(transaction.getToAccount() != null ? transaction.getToAccount().getId() : null);
+        event.setAmount(transaction.getAmount());
+        event.setDescription(transaction.getDescription());
+        event.setReference(transaction.getReference());
+        event.setOccurredAt(transaction.getTimestamp());
+        outboxEventRepository.save(event);
+    }
+}
@@ -0,0 +1,121 @@
+package com.openvault.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.config.OutboxProperties;
+import com.openvault.entity.ChangeFeedCursor;
+import com.openvault.entity.OutboxEvent;
+import com.openvault.repository.ChangeFeedCursorRepository;
+import com.openvault.repository.OutboxEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Vide l'outbox par lots : chaque événement commité reçoit la position suivante du flux,
+ * dans l'ordre de ses id, puis les consommateurs sont réveillés.
+ *
+ * Le curseur du relais est verrouillé pendant le lot : une seule instance attribue des
+ * positions à la fois, et un lot annulé n'en consomme aucune.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    public static final String RELAY_CURSOR = "outbox-relay";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ChangeFeedCursorRepository cursorRepository;
+    private final ChangeFeed changeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    private final LongAdder relayed = new LongAdder();
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            ChangeFeedCursorRepository cursorRepository,
+            ChangeFeed changeFeed,
+            TransactionTemplate transactionTemplate,
+            OutboxProperties properties
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.cursorRepository = cursorRepository;
+        this.changeFeed = changeFeed;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${openvault.outbox.poll-interval:200ms}")
+    public void poll() {
+        try {
+            relayPending();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Relais de l'outbox interrompu, reprise au prochain passage : {}", e.getMessage());
+        }
+        changeFeed.signal();
+    }
+
+    /**
+     * Publie tous les événements en attente ; renvoie leur nombre
+     */
+    public int relayPending() {
+        int total = 0;
+        int batch;
+        do {
+            batch = relayBatch();
+            total += batch;
+        } while (batch == properties.getBatchSize());
+        return total;
+    }
+
+    private int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            ChangeFeedCursor cursor = cursorRepository.findByConsumerForUpdate(RELAY_CURSOR)
+                    .orElseGet(() -> new ChangeFeedCursor(RELAY_CURSOR, 0, LocalDateTime.now()));
+            List<OutboxEvent> pending = outboxEventRepository.findByFeedOffsetIsNullOrderByIdAsc(
+                    Limit.of(properties.getBatchSize()));
+            if (pending.isEmpty()) {
+                return 0;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            long position = cursor.getPosition();
+            for (OutboxEvent event : pending) {
+                event.setFeedOffset(++position);
+                event.setRelayedAt(now);
+            }
+            cursor.setPosition(position);
+            cursor.setUpdatedAt(now);
+            cursorRepository.save(cursor);
+            return pending.size();
+        });
+        relayed.add(count);
+        return count;
+    }
+
+    /**
+     * Supprime les événements publiés plus vieux que la rétention et déjà lus par tous
+     * les consommateurs enregistrés
+     */
+    @Scheduled(fixedDelayString = "${openvault.outbox.purge-interval:1h}",
+            initialDelayString = "${openvault.outbox.purge-interval:1h}")
+    public void purge() {
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteRelayed(
+                cursorRepository.findMinPositionExcluding(RELAY_CURSOR).orElse(Long.MAX_VALUE),
+                LocalDateTime.now().minus(properties.getRetention())));
+        if (deleted != null && deleted > 0) {
+            log.info("Outbox : {} événements publiés purgés", deleted);
+        }
+    }
+
+    public long getRelayedCount() {
+        return relayed.sum();
+    }
+}
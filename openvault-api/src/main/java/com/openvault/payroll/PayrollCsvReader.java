@@ -0,0 +1,151 @@
+package com.openvault.payroll;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.openvault.util.IbanGenerator;
+
+/**
+ * Lit un fichier de paie ligne à ligne : IBAN, montant, libellé.
+ *
+ * Séparateur virgule ou point-virgule (export Excel français), champs entre guillemets
+ * acceptés, en-tête « iban;... » ignoré. Chaque ligne est validée à la lecture avec les
+ * règles d'un virement ; une ligne invalide est rendue avec son erreur, sans interrompre
+ * la lecture du fichier.
+ */
+public class PayrollCsvReader {
+
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("100000");
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private final BufferedReader reader;
+    private final IbanGenerator ibanGenerator;
+    private int lineNumber;
+    private char separator;
+
+    public PayrollCsvReader(Reader reader, IbanGenerator ibanGenerator) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.ibanGenerator = ibanGenerator;
+    }
+
+    /**
+     * Ligne suivante, ou null en fin de fichier ; les lignes vides sont sautées
+     */
+    public Line next() throws IOException {
+        String raw;
+        while ((raw = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !raw.isEmpty() && raw.charAt(0) == '\uFEFF') {
+                raw = raw.substring(1);
+            }
+            if (raw.isBlank()) {
+                continue;
+            }
+            // Séparateur fixé par la première ligne, en-tête ou donnée
+            if (separator == 0) {
+                separator = raw.indexOf(';') >= 0 ? ';' : ',';
+                if (split(raw, separator).getFirst().equalsIgnoreCase("iban")) {
+                    continue;
+                }
+            }
+            List<String> fields = split(raw, separator);
+            return parse(fields);
+        }
+        return null;
+    }
+
+    private Line parse(List<String> fields) {
+        String rawIban = fields.getFirst();
+        if (fields.size() < 2) {
+            return Line.rejected(lineNumber, rawIban, "Ligne incomplète : IBAN et montant attendus");
+        }
+        String iban = ibanGenerator.normalizeIban(rawIban);
+        if (!ibanGenerator.isValidIban(iban)) {
+            return Line.rejected(lineNumber, rawIban, "IBAN invalide");
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(fields.get(1).replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return Line.rejected(lineNumber, iban, "Montant invalide : " + fields.get(1));
+        }
+        String amountError = validateAmount(amount);
+        if (amountError != null) {
+            return Line.rejected(lineNumber, iban, amountError);
+        }
+
+        String description = fields.size() > 2 && !fields.get(2).isEmpty() ? fields.get(2) : null;
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            return Line.rejected(lineNumber, iban, "Le libellé ne peut pas dépasser 500 caractères");
+        }
+        return new Line(lineNumber, iban, amount, description, null);
+    }
+
+    /**
+     * Mêmes règles que TransferService
+     */
+    private static String validateAmount(BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return "Le montant doit être supérieur à 0";
+        }
+        if (amount.compareTo(MAX_AMOUNT) > 0) {
+            return "Le montant ne peut pas dépasser 100 000 EUR";
+        }
+        if (amount.scale() > 2) {
+            return "Le montant ne peut avoir plus de 2 décimales";
+        }
+        return null;
+    }
+
+    /**
+     * Découpe en 3 champs au plus : le libellé garde ses séparateurs éventuels
+     */
+    private static List<String> split(String line, char separator) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator && fields.size() < 2) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Ligne lue ; {@code error} non nul pour une ligne rejetée
+     */
+    public record Line(int lineNumber, String iban, BigDecimal amount, String description, String error) {
+
+        static Line rejected(int lineNumber, String iban, String error) {
+            // Valeur brute tronquée à la taille de la colonne, pour l'affichage
+            String shown = iban != null && iban.length() > 34 ? iban.substring(0, 34) : iban;
+            return new Line(lineNumber, shown, null, null, error);
+        }
+
+        public boolean valid() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.openvault.payroll;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.config.PayrollProperties;
+import com.openvault.entity.Account;
+import com.openvault.entity.Payroll;
+import com.openvault.entity.PayrollLine;
+import com.openvault.entity.PayrollLineStatus;
+import com.openvault.entity.PayrollStatus;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.limits.VelocityLimiter;
+import com.openvault.outbox.OutboxRecorder;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.PayrollLineRepository;
+import com.openvault.repository.PayrollRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.service.AccountSummaryCache;
+import com.openvault.util.IbanGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Paie d'un compte professionnel : un débit, puis autant de crédits que de salariés.
+ *
+ * Le fichier est lu en flux et ses lignes écrites par lots, sans être gardé en mémoire.
+ * Le total des lignes valides est ensuite débité en une transaction (un seul verrou sur
+ * le compte payeur), puis les crédits sont passés par lots : un lot verrouille ses comptes
+ * destinataires en une requête, et ses mouvements, événements d'outbox et lignes sont
+ * écrits en batch JDBC. Les lignes rejetées au crédit sont remboursées au payeur à la fin.
+ *
+ * Chaque mouvement est de type PAYMENT : débit du payeur sans destinataire, crédits sans
+ * émetteur. Le net des mouvements de chaque compte reste égal à son solde après chaque
+ * commit : le rapprochement ne voit jamais une paie à moitié passée.
+ */
+@Slf4j
+public class PayrollProcessor implements DisposableBean {
+
+    private final PayrollRepository payrollRepository;
+    private final PayrollLineRepository payrollLineRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final OutboxRecorder outboxRecorder;
+    private final VelocityLimiter velocityLimiter;
+    private final AccountSummaryCache accountSummaryCache;
+    private final IbanGenerator ibanGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final PayrollProperties properties;
+
+    private final ExecutorService executor;
+    // Paies en cours de crédit sur cette instance
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final LongAdder postedLines = new LongAdder();
+    private final LongAdder rejectedLines = new LongAdder();
+
+    public PayrollProcessor(PayrollRepository payrollRepository, PayrollLineRepository payrollLineRepository,
+                            AccountRepository accountRepository, TransactionRepository transactionRepository,
+                            OutboxRecorder outboxRecorder, VelocityLimiter velocityLimiter,
+                            AccountSummaryCache accountSummaryCache,
+                            IbanGenerator ibanGenerator, TransactionTemplate transactionTemplate,
+                            PayrollProperties properties) {
+        this.payrollRepository = payrollRepository;
+        this.payrollLineRepository = payrollLineRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.outboxRecorder = outboxRecorder;
+        this.velocityLimiter = velocityLimiter;
+        this.accountSummaryCache = accountSummaryCache;
+        this.ibanGenerator = ibanGenerator;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(properties.getConcurrency(),
+                Thread.ofVirtual().name("payroll-", 0).factory());
+    }
+
+    /**
+     * Lit le fichier, débite le total et lance les crédits en arrière-plan. Le compte
+     * payeur doit avoir été contrôlé (propriétaire, type) par l'appelant.
+     *
+     * @return la paie, POSTING si le total a été débité, REJECTED sinon
+     */
+    public Payroll receive(Long accountId, InputStream csv) {
+        Payroll payroll = transactionTemplate.execute(status -> {
+            Payroll created = new Payroll();
+            created.setAccount(accountRepository.getReferenceById(accountId));
+            return payrollRepository.save(created);
+        });
+        Long payrollId = payroll.getId();
+
+        Counts counts = new Counts();
+        try {
+            PayrollCsvReader reader = new PayrollCsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8), ibanGenerator);
+            List<PayrollLine> chunk = new ArrayList<>(properties.getChunkSize());
+            PayrollCsvReader.Line line;
+            while ((line = reader.next()) != null) {
+                if (++counts.total > properties.getMaxLines()) {
+                    return reject(payrollId, counts, "Fichier de paie limité à " + properties.getMaxLines() + " lignes");
+                }
+                chunk.add(toEntity(payrollId, line, counts));
+                if (chunk.size() == properties.getChunkSize()) {
+                    saveLines(chunk);
+                }
+            }
+            saveLines(chunk);
+        } catch (IOException e) {
+            log.warn("Paie {} : lecture du fichier interrompue : {}", payrollId, e.getMessage());
+            return reject(payrollId, counts, "Fichier de paie incomplet : " + e.getMessage());
+        } catch (RuntimeException e) {
+            reject(payrollId, counts, "Erreur à l'enregistrement des lignes");
+            throw e;
+        }
+
+        Payroll reserved = reserve(payrollId, counts);
+        if (reserved.getStatus() == PayrollStatus.POSTING) {
+            submit(payrollId);
+        }
+        return reserved;
+    }
+
+    private PayrollLine toEntity(Long payrollId, PayrollCsvReader.Line line, Counts counts) {
+        PayrollLine entity = new PayrollLine();
+        entity.setPayrollId(payrollId);
+        entity.setLineNumber(line.lineNumber());
+        entity.setIban(line.iban());
+        entity.setAmount(line.amount());
+        entity.setDescription(line.description());
+        if (line.valid()) {
+            counts.valid++;
+            counts.amount = counts.amount.add(line.amount());
+        } else {
+            counts.rejected++;
+            entity.setStatus(PayrollLineStatus.REJECTED);
+            entity.setError(line.error());
+        }
+        return entity;
+    }
+
+    private void saveLines(List<PayrollLine> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> payrollLineRepository.saveAll(chunk));
+        chunk.clear();
+    }
+
+    /**
+     * Débite le total des lignes valides sous un seul verrou du compte payeur, dans la
+     * limite du plafond des paies du compte (vérifié avant le verrou, comme un virement)
+     */
+    private Payroll reserve(Long payrollId, Counts counts) {
+        String refusal = transactionTemplate.execute(status -> {
+            String error = debitPayer(payrollId, counts);
+            if (error != null) {
+                // Rien n'est écrit ; le débit réservé sur les plafonds est libéré au rollback
+                status.setRollbackOnly();
+            }
+            return error;
+        });
+        if (refusal != null) {
+            return reject(payrollId, counts, refusal);
+        }
+        log.info("Paie {} : {} EUR débités pour {} ligne(s)", payrollId, counts.amount, counts.valid);
+        return payrollRepository.findById(payrollId).orElseThrow();
+    }
+
+    /**
+     * @return null si le total est débité, sinon le motif du refus
+     */
+    private String debitPayer(Long payrollId, Counts counts) {
+        Payroll payroll = payrollRepository.findById(payrollId).orElseThrow();
+        Long payerId = payroll.getAccount().getId();
+        if (counts.valid == 0) {
+            return "Aucune ligne valide dans le fichier";
+        }
+        if (velocityLimiter != null) {
+            try {
+                velocityLimiter.acquirePayroll(payerId, counts.amount);
+            } catch (RuntimeException e) {
+                return e.getMessage();
+            }
+        }
+        Account payer = accountRepository.findByIdWithLock(payerId)
+                .orElseThrow(() -> new RuntimeException("Compte non trouvé"));
+        if (!payer.getActive()) {
+            return "Le compte est désactivé";
+        }
+        if (payer.getBalance().compareTo(counts.amount) < 0) {
+            return "Solde insuffisant. Solde actuel: " + payer.getBalance() + " EUR";
+        }
+
+        payer.debit(counts.amount);
+        Transaction debit = post(payer, null, counts.amount,
+                "Paie n°" + payrollId + " : " + counts.valid + " virement(s)", "PAY-" + payrollId);
+        accountSummaryCache.refreshAfterCommit(payer);
+
+        applyCounts(payroll, counts);
+        payroll.setDebitTransactionId(debit.getId());
+        payroll.setStatus(PayrollStatus.POSTING);
+        payroll.setUpdatedAt(LocalDateTime.now());
+        return null;
+    }
+
+    /**
+     * Paie refusée avant tout débit : ses lignes encore en attente sont rejetées
+     */
+    private Payroll reject(Long payrollId, Counts counts, String error) {
+        log.info("Paie {} refusée : {}", payrollId, error);
+        return transactionTemplate.execute(status -> {
+            Payroll payroll = payrollRepository.findById(payrollId).orElseThrow();
+            applyCounts(payroll, counts);
+            int pending = payrollLineRepository.rejectPending(payrollId, "Paie refusée : " + error);
+            payroll.setRejectedLines(payroll.getRejectedLines() + pending);
+            payroll.setStatus(PayrollStatus.REJECTED);
+            payroll.setError(error);
+            payroll.setCompletedAt(LocalDateTime.now());
+            return payroll;
+        });
+    }
+
+    private static void applyCounts(Payroll payroll, Counts counts) {
+        payroll.setTotalLines(counts.total);
+        payroll.setValidLines(counts.valid);
+        payroll.setRejectedLines(counts.rejected);
+        payroll.setTotalAmount(counts.amount);
+    }
+
+    /**
+     * Lance les crédits d'une paie débitée, sauf s'ils sont déjà en cours sur cette instance
+     */
+    public void submit(Long payrollId) {
+        if (running.add(payrollId)) {
+            executor.execute(() -> {
+                try {
+                    postCredits(payrollId);
+                } finally {
+                    running.remove(payrollId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Passe les crédits lot par lot puis rembourse les lignes rejetées. Un lot en échec
+     * est retenté ; au-delà, la paie reste POSTING et sera reprise par resumeStalled.
+     */
+    public void postCredits(Long payrollId) {
+        int attempts = 0;
+        while (true) {
+            try {
+                if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> postChunk(payrollId)))) {
+                    break;
+                }
+                attempts = 0;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // Paie reprise par une autre instance
+                log.info("Paie {} : crédits poursuivis par une autre instance", payrollId);
+                return;
+            } catch (RuntimeException e) {
+                if (++attempts >= properties.getMaxChunkAttempts()) {
+                    log.error("Paie {} : crédits interrompus après {} tentatives : {}", payrollId, attempts, e.getMessage());
+                    return;
+                }
+                log.warn("Paie {} : lot de crédits en échec, nouvelle tentative : {}", payrollId, e.getMessage());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> complete(payrollId));
+    }
+
+    /**
+     * Crédite le prochain lot de lignes en attente
+     *
+     * @return true s'il peut rester des lignes à créditer
+     */
+    private boolean postChunk(Long payrollId) {
+        Payroll payroll = payrollRepository.findById(payrollId).orElseThrow();
+        if (payroll.getStatus() != PayrollStatus.POSTING) {
+            return false;
+        }
+        List<PayrollLine> lines = payrollLineRepository.findByPayrollIdAndStatusOrderById(
+                payrollId, PayrollLineStatus.PENDING, Limit.of(properties.getChunkSize()));
+        if (lines.isEmpty()) {
+            return false;
+        }
+
+        Set<String> ibans = new LinkedHashSet<>();
+        lines.forEach(line -> ibans.add(line.getIban()));
+        Map<String, Account> accounts = new HashMap<>();
+        accountRepository.findByIbanInWithLock(ibans).forEach(account -> accounts.put(account.getIban(), account));
+
+        Long payerId = payroll.getAccount().getId();
+        Map<Long, Account> credited = new HashMap<>();
+        int posted = 0;
+        int rejected = 0;
+        BigDecimal postedAmount = BigDecimal.ZERO;
+        BigDecimal refunded = BigDecimal.ZERO;
+        for (PayrollLine line : lines) {
+            Account account = accounts.get(line.getIban());
+            String error = account == null ? "Compte destinataire non trouvé"
+                    : !account.getActive() ? "Compte destinataire désactivé"
+                    : account.getId().equals(payerId) ? "Le compte payeur ne peut pas être crédité"
+                    : null;
+            if (error != null) {
+                line.setStatus(PayrollLineStatus.REJECTED);
+                line.setError(error);
+                refunded = refunded.add(line.getAmount());
+                rejected++;
+                continue;
+            }
+            account.credit(line.getAmount());
+            String description = line.getDescription() != null ? line.getDescription() : "Paie n°" + payrollId;
+            Transaction credit = post(null, account, line.getAmount(), description,
+                    "PAY-" + payrollId + "-" + line.getLineNumber());
+            line.setStatus(PayrollLineStatus.POSTED);
+            line.setTransactionId(credit.getId());
+            credited.put(account.getId(), account);
+            postedAmount = postedAmount.add(line.getAmount());
+            posted++;
+        }
+        if (!credited.isEmpty()) {
+            accountSummaryCache.refreshAfterCommit(credited.values().toArray(Account[]::new));
+        }
+
+        payroll.setPostedLines(payroll.getPostedLines() + posted);
+        payroll.setPostedAmount(payroll.getPostedAmount().add(postedAmount));
+        payroll.setRejectedLines(payroll.getRejectedLines() + rejected);
+        payroll.setRefundedAmount(payroll.getRefundedAmount().add(refunded));
+        payroll.setUpdatedAt(LocalDateTime.now());
+        postedLines.add(posted);
+        rejectedLines.add(rejected);
+        return lines.size() == properties.getChunkSize();
+    }
+
+    /**
+     * Rembourse au payeur les lignes rejetées au crédit et clôt la paie
+     */
+    private void complete(Long payrollId) {
+        Payroll payroll = payrollRepository.findById(payrollId).orElseThrow();
+        if (payroll.getStatus() != PayrollStatus.POSTING) {
+            return;
+        }
+        if (payroll.getRefundedAmount().signum() > 0) {
+            Account payer = accountRepository.findByIdWithLock(payroll.getAccount().getId()).orElseThrow();
+            payer.credit(payroll.getRefundedAmount());
+            post(null, payer, payroll.getRefundedAmount(),
+                    "Paie n°" + payrollId + " : remboursement des lignes rejetées", "PAY-" + payrollId + "-R");
+            accountSummaryCache.refreshAfterCommit(payer);
+            if (velocityLimiter != null) {
+                LocalDateTime debitedAt = transactionRepository.findById(payroll.getDebitTransactionId())
+                        .orElseThrow().getTimestamp();
+                velocityLimiter.releasePayroll(payer.getId(), payroll.getRefundedAmount(), debitedAt);
+            }
+        }
+        payroll.setStatus(PayrollStatus.COMPLETED);
+        payroll.setCompletedAt(LocalDateTime.now());
+        payroll.setUpdatedAt(payroll.getCompletedAt());
+        log.info("Paie {} terminée : {} crédit(s), {} ligne(s) rejetée(s)", payrollId,
+                payroll.getPostedLines(), payroll.getRejectedLines());
+    }
+
+    private Transaction post(Account from, Account to, BigDecimal amount, String description, String reference) {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(from);
+        transaction.setToAccount(to);
+        transaction.setAmount(amount);
+        transaction.setType(TransactionType.PAYMENT);
+        transaction.setDescription(description);
+        transaction.setTimestamp(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setReference(reference);
+        Transaction saved = transactionRepository.save(transaction);
+        if (outboxRecorder != null) {
+            outboxRecorder.record(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * Reprend les paies débitées dont les crédits n'avancent plus (instance arrêtée).
+     * La reprise passe par la version de la paie : une seule instance l'obtient.
+     */
+    @Scheduled(fixedDelayString = "${openvault.payroll.resume-interval:1m}")
+    public void resumeStalled() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getStallTimeout());
+        for (Long payrollId : payrollRepository.findIdsByStatusAndUpdatedAtBefore(PayrollStatus.POSTING, before)) {
+            if (running.contains(payrollId)) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        payrollRepository.findById(payrollId).orElseThrow().setUpdatedAt(LocalDateTime.now()));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                continue;
+            }
+            log.info("Paie {} : reprise des crédits", payrollId);
+            submit(payrollId);
+        }
+    }
+
+    public long getPostedLineCount() {
+        return postedLines.sum();
+    }
+
+    public long getRejectedLineCount() {
+        return rejectedLines.sum();
+    }
+
+    public int getRunningCount() {
+        return running.size();
+    }
+
+    @Override
+    public void destroy() {
+        // Les crédits interrompus sont repris par resumeStalled, ici ou sur une autre instance
+        executor.shutdownNow();
+    }
+
+    private static final class Counts {
+        private int total;
+        private int valid;
+        private int rejected;
+        private BigDecimal amount = BigDecimal.ZERO;
+    }
+}
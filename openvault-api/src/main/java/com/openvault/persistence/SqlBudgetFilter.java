@@ -0,0 +1,83 @@
+package com.openvault.persistence;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.openvault.config.SqlMonitoringProperties;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compte les requêtes SQL de chaque requête HTTP et signale celles qui dépassent le
+ * budget de leur endpoint ou répètent la même requête (N+1 probable).
+ *
+ * L'endpoint est le motif de mapping Spring ("GET /transactions/account/{accountId}"),
+ * ce qui borne aussi la cardinalité de la métrique openvault.http.sql.statements.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlMonitoringProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatementRecorder.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statistics.close();
+            report(request, statistics);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        String endpoint = request.getMethod() + " " + pattern;
+
+        meterRegistry.ifAvailable(registry -> DistributionSummary.builder("openvault.http.sql.statements")
+                .description("Requêtes SQL par requête HTTP")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(statistics.getStatementCount()));
+
+        if (properties.getBatchEndpoints().contains(endpoint)) {
+            return;
+        }
+        int budget = properties.budgetFor(endpoint);
+        if (statistics.getStatementCount() > budget) {
+            log.warn("Budget SQL dépassé pour {} : {} requêtes pour {} autorisées ({} ms)\n{}",
+                    endpoint, statistics.getStatementCount(), budget, statistics.getTotalTime().toMillis(),
+                    describe(statistics.getShapes()));
+        }
+        List<SqlStatistics.Shape> repeated = statistics.getRepeatedStatements(properties.getRepeatedStatementThreshold());
+        if (!repeated.isEmpty()) {
+            log.warn("N+1 probable sur {} : même requête répétée\n{}", endpoint, describe(repeated));
+        }
+    }
+
+    private static String describe(List<SqlStatistics.Shape> shapes) {
+        return shapes.stream().map(shape -> "  " + shape).collect(Collectors.joining("\n"));
+    }
+}
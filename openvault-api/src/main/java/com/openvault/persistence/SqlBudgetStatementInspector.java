@@ -0,0 +1,15 @@
+package com.openvault.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Voit passer chaque requête SQL préparée par Hibernate, sans la modifier
+ */
+public class SqlBudgetStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementRecorder.statementPrepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,96 @@
+package com.openvault.persistence;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rattache les requêtes SQL préparées par Hibernate aux portées ouvertes sur le thread
+ * courant. Alimenté par {@link SqlBudgetStatementInspector} (texte de la requête) et
+ * {@link SqlTimingSessionListener} (durée d'exécution).
+ *
+ * Les portées s'emboîtent : un test qui ouvre la sienne autour d'un appel MockMvc voit
+ * aussi les requêtes comptées par le filtre de la requête HTTP. Un thread par requête
+ * (plateforme ou virtuel) suffit à isoler les comptages.
+ */
+@Slf4j
+public final class SqlStatementRecorder {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final ThreadLocal<Deque<SqlStatistics>> SCOPES = new ThreadLocal<>();
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+    private static volatile long slowQueryThresholdNanos = Duration.ofMillis(200).toNanos();
+
+    private SqlStatementRecorder() {
+    }
+
+    /**
+     * Ouvre une portée sur le thread courant ; à fermer (try-with-resources)
+     */
+    public static SqlStatistics open() {
+        Deque<SqlStatistics> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        SqlStatistics statistics = new SqlStatistics();
+        scopes.push(statistics);
+        return statistics;
+    }
+
+    public static void setSlowQueryThreshold(Duration threshold) {
+        slowQueryThresholdNanos = threshold.toNanos();
+    }
+
+    static void close(SqlStatistics statistics) {
+        Deque<SqlStatistics> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        scopes.remove(statistics);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+            LAST_STATEMENT.remove();
+        }
+    }
+
+    static void statementPrepared(String sql) {
+        LAST_STATEMENT.set(sql);
+        Deque<SqlStatistics> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        String shape = shape(sql);
+        for (SqlStatistics statistics : scopes) {
+            statistics.statementPrepared(shape);
+        }
+    }
+
+    static void statementExecuted(long nanos) {
+        Deque<SqlStatistics> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (SqlStatistics statistics : scopes) {
+                statistics.statementExecuted(nanos);
+            }
+        }
+        if (nanos >= slowQueryThresholdNanos) {
+            String sql = LAST_STATEMENT.get();
+            log.warn("Requête SQL lente ({} ms) : {}", Duration.ofNanos(nanos).toMillis(),
+                    sql != null ? shape(sql) : "?");
+        }
+    }
+
+    /**
+     * Espaces et listes IN normalisés : "in (?, ?, ?)" et "in (?)" ont la même forme
+     */
+    static String shape(String sql) {
+        String normalized = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+        return IN_LIST.matcher(normalized).replaceAll("(?...)");
+    }
+}
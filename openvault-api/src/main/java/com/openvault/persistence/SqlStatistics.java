@@ -0,0 +1,137 @@
+package com.openvault.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Requêtes SQL exécutées dans une portée (une requête HTTP, un bloc de test).
+ *
+ * Les requêtes sont regroupées par forme : même texte une fois les espaces et les
+ * listes IN normalisés. Une même forme répétée beaucoup de fois trahit un N+1.
+ *
+ * Utilisation dans un test :
+ * <pre>
+ * try (SqlStatistics sql = SqlStatementRecorder.open()) {
+ *     mockMvc.perform(get("/transactions/account/{id}", id));
+ *     assertThat(sql.getStatementCount()).isLessThanOrEqualTo(3);
+ * }
+ * </pre>
+ */
+public class SqlStatistics implements AutoCloseable {
+
+    private final Map<String, Shape> shapes = new LinkedHashMap<>();
+    private int statementCount;
+    private long totalNanos;
+    private Shape current;
+    private boolean closed;
+
+    SqlStatistics() {
+    }
+
+    void statementPrepared(String shape) {
+        statementCount++;
+        current = shapes.computeIfAbsent(shape, Shape::new);
+        current.count++;
+    }
+
+    void statementExecuted(long nanos) {
+        totalNanos += nanos;
+        if (current != null) {
+            current.nanos += nanos;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Nombre de requêtes commençant par le verbe donné (select, insert, update, delete)
+     */
+    public int getStatementCount(String verb) {
+        String prefix = verb.toLowerCase(Locale.ROOT);
+        return shapes.values().stream()
+                .filter(shape -> shape.sql.toLowerCase(Locale.ROOT).startsWith(prefix))
+                .mapToInt(Shape::getCount)
+                .sum();
+    }
+
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    /**
+     * Formes exécutées, de la plus fréquente à la moins fréquente
+     */
+    public List<Shape> getShapes() {
+        List<Shape> sorted = new ArrayList<>(shapes.values());
+        sorted.sort(Comparator.comparingInt(Shape::getCount).reversed());
+        return sorted;
+    }
+
+    /**
+     * Formes exécutées au moins {@code threshold} fois : N+1 probables
+     */
+    public List<Shape> getRepeatedStatements(int threshold) {
+        return getShapes().stream().filter(shape -> shape.count >= threshold).toList();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            SqlStatementRecorder.close(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder()
+                .append(statementCount).append(" requêtes, ")
+                .append(getTotalTime().toMillis()).append(" ms");
+        for (Shape shape : getShapes()) {
+            summary.append("\n  ").append(shape);
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Une forme de requête et son coût cumulé
+     */
+    public static final class Shape {
+
+        private final String sql;
+        private int count;
+        private long nanos;
+
+        private Shape(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Duration getTotalTime() {
+            return Duration.ofNanos(nanos);
+        }
+
+        @Override
+        public String toString() {
+            return count + " x " + Duration.ofNanos(nanos).toMillis() + " ms : " + sql;
+        }
+    }
+}
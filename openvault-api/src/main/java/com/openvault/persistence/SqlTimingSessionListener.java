@@ -0,0 +1,34 @@
+package com.openvault.persistence;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mesure la durée d'exécution JDBC des requêtes d'une session Hibernate.
+ *
+ * Instancié par Hibernate pour chaque session (hibernate.session.events.auto) :
+ * une session n'étant utilisée que par un thread à la fois, un simple champ suffit.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementRecorder.statementExecuted(System.nanoTime() - start);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementRecorder.statementExecuted(System.nanoTime() - start);
+    }
+}
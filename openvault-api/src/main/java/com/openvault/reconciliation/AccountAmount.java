@@ -0,0 +1,9 @@
+package com.openvault.reconciliation;
+
+import java.math.BigDecimal;
+
+/**
+ * Montant rattaché à un compte : mouvement lu en flux, ou solde de la table accounts
+ */
+public record AccountAmount(Long accountId, BigDecimal amount) {
+}
@@ -0,0 +1,248 @@
+package com.openvault.reconciliation;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.archive.TransactionArchive;
+import com.openvault.config.ReconciliationProperties;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.TransactionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Vérifie que le solde de chaque compte est égal au net de ses mouvements COMPLETED
+ * (crédits moins débits), archive comprise.
+ *
+ * Les comptes sont découpés en plages d'identifiants réparties sur un pool fork-join.
+ * Pour une plage, débits et crédits sont lus en flux et cumulés dans un tableau de long
+ * indexé par compte, en dix-millièmes d'euro (échelle de la colonne amount) : ni BigDecimal
+ * ni entrée de Map par ligne. Les soldes sont lus dans la même transaction REPEATABLE READ,
+ * donc au même instantané que les mouvements : un virement en cours pendant le rapprochement
+ * ne produit pas de faux écart.
+ */
+@Slf4j
+public class LedgerReconciler {
+
+    private static final int AMOUNT_SCALE = 4;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive archive;
+    private final TransactionTemplate snapshot;
+    private final ReconciliationProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ReconciliationReport lastReport;
+
+    public LedgerReconciler(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                            TransactionArchive archive, TransactionTemplate snapshot,
+                            ReconciliationProperties properties) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.archive = archive;
+        this.snapshot = snapshot;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${openvault.reconciliation.cron:0 0 4 * * *}")
+    public void scheduledRun() {
+        ReconciliationReport report = reconcile();
+        if (report.discrepancyCount() > 0) {
+            log.error("Rapprochement : {} compte(s) en écart sur {}, premiers écarts : {}",
+                    report.discrepancyCount(), report.accountsChecked(), report.discrepancies());
+        } else {
+            log.info("Rapprochement : {} comptes et {} mouvements vérifiés en {} ms, aucun écart",
+                    report.accountsChecked(), report.postingsScanned() + report.archivedPostingsScanned(),
+                    report.durationMillis());
+        }
+    }
+
+    /**
+     * Rapproche tous les comptes ; un seul rapprochement à la fois par instance
+     */
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Rapprochement déjà en cours");
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.nanoTime();
+
+            ChunkResult result = accountRepository.findMinId()
+                    .map(minId -> run(minId, accountRepository.findMaxId().orElse(minId)))
+                    .orElseGet(ChunkResult::new);
+
+            result.discrepancies.sort(Comparator.comparing(Discrepancy::accountId));
+            ReconciliationReport report = new ReconciliationReport(
+                    startedAt,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                    result.accounts,
+                    result.postings,
+                    result.archivedPostings,
+                    result.discrepancyCount,
+                    List.copyOf(result.discrepancies)
+            );
+            lastReport = report;
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ChunkResult run(long minId, long maxId) {
+        // Les lignes antérieures au dernier mois archivé sont lues dans les segments, y
+        // compris ceux écrits par une autre instance
+        archive.refresh();
+        LocalDateTime liveFrom = archive.getArchivedUntil().orElse(EPOCH);
+        ForkJoinPool pool = new ForkJoinPool(properties.getParallelism());
+        try {
+            return pool.invoke(new RangeTask(minId, maxId, liveFrom));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private ChunkResult reconcileChunk(long minId, long maxId, LocalDateTime liveFrom) {
+        return snapshot.execute(status -> {
+            ChunkResult result = new ChunkResult();
+            long[] net = new long[(int) (maxId - minId + 1)];
+
+            try (Stream<AccountAmount> debits = transactionRepository.streamCompletedDebits(minId, maxId, liveFrom)) {
+                result.postings += accumulate(debits, net, minId, -1);
+            }
+            try (Stream<AccountAmount> credits = transactionRepository.streamCompletedCredits(minId, maxId, liveFrom)) {
+                result.postings += accumulate(credits, net, minId, 1);
+            }
+            result.archivedPostings = archive.scanCompleted(minId, maxId, (fromId, toId, amount) -> {
+                if (fromId >= minId && fromId <= maxId) {
+                    net[(int) (fromId - minId)] -= amount;
+                }
+                if (toId >= minId && toId <= maxId) {
+                    net[(int) (toId - minId)] += amount;
+                }
+            });
+
+            for (AccountAmount account : accountRepository.findBalancesInRange(minId, maxId)) {
+                long balance = toUnits(account.amount());
+                long ledger = net[(int) (account.accountId() - minId)];
+                result.accounts++;
+                if (balance != ledger) {
+                    result.addDiscrepancy(new Discrepancy(account.accountId(), toAmount(balance), toAmount(ledger),
+                            toAmount(balance - ledger)), properties.getMaxReported());
+                }
+            }
+            return result;
+        });
+    }
+
+    private static long accumulate(Stream<AccountAmount> postings, long[] net, long minId, int sign) {
+        long count = 0;
+        for (Iterator<AccountAmount> iterator = postings.iterator(); iterator.hasNext(); count++) {
+            AccountAmount posting = iterator.next();
+            net[(int) (posting.accountId() - minId)] += sign * toUnits(posting.amount());
+        }
+        return count;
+    }
+
+    private static long toUnits(BigDecimal amount) {
+        return amount.scaleByPowerOfTen(AMOUNT_SCALE).longValueExact();
+    }
+
+    private static BigDecimal toAmount(long units) {
+        return BigDecimal.valueOf(units, AMOUNT_SCALE);
+    }
+
+    public ReconciliationReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Coupe la plage en deux jusqu'à la taille d'un lot ; chaque lot est une transaction
+     */
+    private final class RangeTask extends RecursiveTask<ChunkResult> {
+
+        private final long minId;
+        private final long maxId;
+        private final LocalDateTime liveFrom;
+
+        private RangeTask(long minId, long maxId, LocalDateTime liveFrom) {
+            this.minId = minId;
+            this.maxId = maxId;
+            this.liveFrom = liveFrom;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (maxId - minId < properties.getChunkSize()) {
+                return reconcileChunk(minId, maxId, liveFrom);
+            }
+            long middle = minId + (maxId - minId) / 2;
+            RangeTask left = new RangeTask(minId, middle, liveFrom);
+            RangeTask right = new RangeTask(middle + 1, maxId, liveFrom);
+            left.fork();
+            ChunkResult result = right.compute();
+            result.merge(left.join(), properties.getMaxReported());
+            return result;
+        }
+    }
+
+    private static final class ChunkResult {
+
+        private long accounts;
+        private long postings;
+        private long archivedPostings;
+        private long discrepancyCount;
+        private final List<Discrepancy> discrepancies = new ArrayList<>();
+
+        void addDiscrepancy(Discrepancy discrepancy, int maxReported) {
+            discrepancyCount++;
+            if (discrepancies.size() < maxReported) {
+                discrepancies.add(discrepancy);
+            }
+        }
+
+        void merge(ChunkResult other, int maxReported) {
+            accounts += other.accounts;
+            postings += other.postings;
+            archivedPostings += other.archivedPostings;
+            discrepancyCount += other.discrepancyCount;
+            for (Discrepancy discrepancy : other.discrepancies) {
+                if (discrepancies.size() == maxReported) {
+                    break;
+                }
+                discrepancies.add(discrepancy);
+            }
+        }
+    }
+
+    /**
+     * Compte dont le solde diffère du net de ses mouvements ({@code difference = balance - ledgerNet})
+     */
+    public record Discrepancy(Long accountId, BigDecimal balance, BigDecimal ledgerNet, BigDecimal difference) {
+    }
+
+    public record ReconciliationReport(
+            LocalDateTime startedAt,
+            long durationMillis,
+            long accountsChecked,
+            long postingsScanned,
+            long archivedPostingsScanned,
+            long discrepancyCount,
+            List<Discrepancy> discrepancies
+    ) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.openvault.reconciliation;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /actuator/reconciliation : rapport du dernier rapprochement (aucun contenu avant le premier)
+ */
+@Endpoint(id = "reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationEndpoint {
+
+    private final LedgerReconciler reconciler;
+
+    @ReadOperation
+    public LedgerReconciler.ReconciliationReport lastReport() {
+        return reconciler.getLastReport();
+    }
+}
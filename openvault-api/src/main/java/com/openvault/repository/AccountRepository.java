@@ -1,15 +1,25 @@
 package com.openvault.repository;
 
+import com.openvault.dto.AccountBalance;
+import com.openvault.dto.AccountVersionStamp;
 import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.reconciliation.AccountAmount;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -22,8 +32,73 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     
     boolean existsByIban(String iban);
     
+    // ETag des comptes : agrégats scalaires, aucune entité matérialisée
+    @Query("""
+            SELECT new com.openvault.dto.AccountVersionStamp(COUNT(a), COALESCE(SUM(a.version), 0L), COALESCE(MAX(a.id), 0L))
+            FROM Account a
+            WHERE a.user.email = :email AND a.active = true
+            """)
+    AccountVersionStamp findActiveVersionStampByUserEmail(@Param("email") String email);
+    
+    @Query("SELECT a.version FROM Account a WHERE a.id = :id AND a.user.email = :email")
+    Optional<Long> findVersionByIdAndUserEmail(@Param("id") Long id, @Param("email") String email);
+    
+    // Notifications en direct : soldes et propriétaires des comptes touchés par un lot
+    @Query("""
+            SELECT new com.openvault.dto.AccountBalance(a.id, u.email, a.iban, a.balance, a.version)
+            FROM Account a JOIN a.user u
+            WHERE a.id IN :ids
+            """)
+    List<AccountBalance> findBalancesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Rapprochement : soldes d'une plage de comptes
+    @Query("SELECT new com.openvault.reconciliation.AccountAmount(a.id, a.balance) FROM Account a WHERE a.id BETWEEN :minId AND :maxId")
+    List<AccountAmount> findBalancesInRange(@Param("minId") Long minId, @Param("maxId") Long maxId);
+    
+    @Query("SELECT MIN(a.id) FROM Account a")
+    Optional<Long> findMinId();
+    
+    @Query("SELECT MAX(a.id) FROM Account a")
+    Optional<Long> findMaxId();
+    
+    // Contrôle d'accès avant verrouillage : propriétaire du compte, sans charger l'entité
+    @Query("SELECT a.user.email FROM Account a WHERE a.id = :id")
+    Optional<String> findOwnerEmailById(@Param("id") Long id);
+    
+    // Plafonds de débit : type du compte, sans charger l'entité
+    @Query("SELECT a.type FROM Account a WHERE a.id = :id")
+    Optional<AccountType> findTypeById(@Param("id") Long id);
+    
+    // Intérêts : bornes des identifiants d'un type de compte, découpées en plages
+    @Query("SELECT MIN(a.id) FROM Account a WHERE a.type = :type")
+    Optional<Long> findMinIdByType(@Param("type") AccountType type);
+    
+    @Query("SELECT MAX(a.id) FROM Account a WHERE a.type = :type")
+    Optional<Long> findMaxIdByType(@Param("type") AccountType type);
+    
+    // Intérêts : comptes créditeurs d'une plage (étroite), lus en flux et verrouillés jusqu'au commit du versement
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT a FROM Account a
+            WHERE a.type = :type AND a.id BETWEEN :minId AND :maxId
+              AND a.active = true AND a.balance > 0 AND a.createdAt < :openedBefore
+            ORDER BY a.id
+            """)
+    Stream<Account> streamForInterest(
+        @Param("type") AccountType type,
+        @Param("minId") Long minId,
+        @Param("maxId") Long maxId,
+        @Param("openedBefore") LocalDateTime openedBefore
+    );
+    
     // Verrouillage pessimiste pour les virements
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM Account a WHERE a.id = :id")
     Optional<Account> findByIdWithLock(@Param("id") Long id);
+    
+    // Crédits de paie : comptes d'un lot verrouillés en une requête, toujours dans l'ordre des id
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.iban IN :ibans ORDER BY a.id")
+    List<Account> findByIbanInWithLock(@Param("ibans") Collection<String> ibans);
 }
\ No newline at end of file
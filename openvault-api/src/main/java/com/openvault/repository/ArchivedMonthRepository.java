@@ -0,0 +1,14 @@
+package com.openvault.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.openvault.entity.ArchivedMonth;
+
+@Repository
+public interface ArchivedMonthRepository extends JpaRepository<ArchivedMonth, Long> {
+
+    boolean existsByMonthStart(LocalDate monthStart);
+}
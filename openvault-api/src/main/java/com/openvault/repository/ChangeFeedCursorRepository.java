@@ -0,0 +1,23 @@
+package com.openvault.repository;
+
+import com.openvault.entity.ChangeFeedCursor;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeFeedCursorRepository extends JpaRepository<ChangeFeedCursor, String> {
+    
+    // Un seul relais à la fois, toutes instances confondues
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ChangeFeedCursor c WHERE c.consumer = :consumer")
+    Optional<ChangeFeedCursor> findByConsumerForUpdate(@Param("consumer") String consumer);
+    
+    @Query("SELECT MIN(c.position) FROM ChangeFeedCursor c WHERE c.consumer <> :excluded")
+    Optional<Long> findMinPositionExcluding(@Param("excluded") String excluded);
+}
@@ -0,0 +1,23 @@
+package com.openvault.repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.openvault.entity.InterestAccrualCheckpoint;
+
+@Repository
+public interface InterestAccrualCheckpointRepository extends JpaRepository<InterestAccrualCheckpoint, Long> {
+
+    // Plages déjà versées pour la journée : ignorées à la reprise
+    @Query("SELECT c.chunkStart FROM InterestAccrualCheckpoint c WHERE c.accrualDate = :date")
+    Set<Long> findChunkStartsByAccrualDate(@Param("date") LocalDate date);
+
+    @Query("SELECT MAX(c.accrualDate) FROM InterestAccrualCheckpoint c")
+    Optional<LocalDate> findLastAccrualDate();
+}
@@ -0,0 +1,27 @@
+package com.openvault.repository;
+
+import com.openvault.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // Relais : événements commités pas encore publiés, dans l'ordre d'écriture
+    List<OutboxEvent> findByFeedOffsetIsNullOrderByIdAsc(Limit limit);
+    
+    // Flux de changements : lecture à partir d'une position (rattrapage ou consommation)
+    List<OutboxEvent> findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(Long offset, Limit limit);
+    
+    // Purge des événements publiés, déjà lus par tous les consommateurs
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.feedOffset <= :offset AND e.relayedAt < :before")
+    int deleteRelayed(@Param("offset") Long offset, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,34 @@
+package com.openvault.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.openvault.entity.PayrollLine;
+import com.openvault.entity.PayrollLineStatus;
+
+@Repository
+public interface PayrollLineRepository extends JpaRepository<PayrollLine, Long> {
+
+    // Prochain lot à créditer : les lignes traitées changent de statut, pas besoin de curseur
+    List<PayrollLine> findByPayrollIdAndStatusOrderById(Long payrollId, PayrollLineStatus status, Limit limit);
+
+    Page<PayrollLine> findByPayrollIdOrderByLineNumber(Long payrollId, Pageable pageable);
+
+    Page<PayrollLine> findByPayrollIdAndStatusOrderByLineNumber(Long payrollId, PayrollLineStatus status,
+                                                                Pageable pageable);
+
+    @Modifying
+    @Query("""
+            UPDATE PayrollLine l SET l.status = com.openvault.entity.PayrollLineStatus.REJECTED, l.error = :error
+            WHERE l.payrollId = :payrollId AND l.status = com.openvault.entity.PayrollLineStatus.PENDING
+            """)
+    int rejectPending(@Param("payrollId") Long payrollId, @Param("error") String error);
+}
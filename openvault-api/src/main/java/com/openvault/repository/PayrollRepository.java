@@ -0,0 +1,29 @@
+package com.openvault.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.openvault.entity.Payroll;
+import com.openvault.entity.PayrollStatus;
+
+@Repository
+public interface PayrollRepository extends JpaRepository<Payroll, Long> {
+
+    @EntityGraph(attributePaths = "account")
+    Optional<Payroll> findByIdAndAccountUserEmail(Long id, String email);
+
+    @EntityGraph(attributePaths = "account")
+    List<Payroll> findTop50ByAccountUserEmailOrderByCreatedAtDesc(String email);
+
+    // Paies dont les crédits n'avancent plus : instance arrêtée en cours de traitement
+    @Query("SELECT p.id FROM Payroll p WHERE p.status = :status AND p.updatedAt < :before ORDER BY p.id")
+    List<Long> findIdsByStatusAndUpdatedAtBefore(@Param("status") PayrollStatus status,
+                                                 @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,40 @@
+package com.openvault.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.openvault.entity.StandingOrder;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface StandingOrderRepository extends JpaRepository<StandingOrder, Long> {
+
+    // Ordres échus et non réservés. Délai de verrou -2 = SKIP LOCKED : une ligne verrouillée
+    // par une autre instance est ignorée au lieu d'être attendue.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT o FROM StandingOrder o
+            WHERE o.active = true AND o.nextExecutionAt <= :now
+              AND (o.claimedUntil IS NULL OR o.claimedUntil < :now)
+            ORDER BY o.nextExecutionAt, o.id
+            """)
+    List<StandingOrder> findDueForUpdateSkipLocked(@Param("now") LocalDateTime now, Limit limit);
+
+    @EntityGraph(attributePaths = "fromAccount")
+    List<StandingOrder> findByFromAccountUserEmailAndActiveTrueOrderByNextExecutionAtAsc(String email);
+
+    Optional<StandingOrder> findByIdAndFromAccountUserEmail(Long id, String email);
+}
@@ -1,40 +1,152 @@
 package com.openvault.repository;
 
+import com.openvault.archive.ArchivedTransaction;
 import com.openvault.entity.Transaction;
 import com.openvault.entity.TransactionType;
+import com.openvault.limits.AccountDebit;
+import com.openvault.reconciliation.AccountAmount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
-    // Transactions d'un compte (entrantes et sortantes)
-    @Query("SELECT t FROM Transaction t WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId ORDER BY t.timestamp DESC")
-    Page<Transaction> findByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+    // Transactions d'un compte (entrantes et sortantes) depuis son ouverture : la borne sur
+    // timestamp permet l'élagage des partitions antérieures
+    // Les comptes sont chargés dans la même requête : le mapping en DTO lit leurs IBAN (sinon N+1)
+    @EntityGraph(attributePaths = {"fromAccount", "toAccount"})
+    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) AND t.timestamp >= :since ORDER BY t.timestamp DESC")
+    Page<Transaction> findByAccountIdSince(
+        @Param("accountId") Long accountId,
+        @Param("since") LocalDateTime since,
+        Pageable pageable
+    );
     
-    // Dernières transactions
-    @Query("SELECT t FROM Transaction t WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId ORDER BY t.timestamp DESC")
-    List<Transaction> findTop10ByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+    // Dernières transactions depuis une date : la borne sur timestamp permet l'élagage des partitions
+    @EntityGraph(attributePaths = {"fromAccount", "toAccount"})
+    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) AND t.timestamp >= :since ORDER BY t.timestamp DESC")
+    List<Transaction> findRecentByAccountIdSince(
+        @Param("accountId") Long accountId,
+        @Param("since") LocalDateTime since,
+        Pageable pageable
+    );
     
-    // Filtrer par type
-    List<Transaction> findByTypeAndFromAccountIdOrToAccountId(
-        TransactionType type, 
-        Long fromAccountId, 
-        Long toAccountId
+    // Filtrer par type, depuis une date
+    @EntityGraph(attributePaths = {"fromAccount", "toAccount"})
+    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) AND t.type = :type AND t.timestamp >= :since ORDER BY t.timestamp DESC")
+    List<Transaction> findByAccountIdAndTypeSince(
+        @Param("accountId") Long accountId,
+        @Param("type") TransactionType type,
+        @Param("since") LocalDateTime since
     );
     
     // Filtrer par période
+    @EntityGraph(attributePaths = {"fromAccount", "toAccount"})
     @Query("SELECT t FROM Transaction t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) AND t.timestamp BETWEEN :start AND :end")
     List<Transaction> findByAccountIdAndDateRange(
         @Param("accountId") Long accountId,
         @Param("start") LocalDateTime start,
         @Param("end") LocalDateTime end
     );
-}
\ No newline at end of file
+    
+    // Archivage : lecture en flux d'un mois, sans entités managées
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.openvault.archive.ArchivedTransaction(
+                t.id, t.timestamp, f.id, f.iban, a.id, a.iban, t.amount, t.type, t.status, t.description, t.reference)
+            FROM Transaction t LEFT JOIN t.fromAccount f LEFT JOIN t.toAccount a
+            WHERE t.timestamp >= :start AND t.timestamp < :end
+            ORDER BY t.timestamp, t.id
+            """)
+    Stream<ArchivedTransaction> streamForArchive(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
+    // API binaire : historique d'un compte par lots, après la position (afterTimestamp, afterId),
+    // même projection que l'archive. La borne basse sur timestamp permet l'élagage des partitions.
+    @Query("""
+            SELECT new com.openvault.archive.ArchivedTransaction(
+                t.id, t.timestamp, f.id, f.iban, a.id, a.iban, t.amount, t.type, t.status, t.description, t.reference)
+            FROM Transaction t LEFT JOIN t.fromAccount f LEFT JOIN t.toAccount a
+            WHERE (f.id = :accountId OR a.id = :accountId)
+              AND t.timestamp >= :afterTimestamp
+              AND (t.timestamp > :afterTimestamp OR t.id > :afterId)
+            ORDER BY t.timestamp, t.id
+            """)
+    List<ArchivedTransaction> findByAccountIdAfter(
+        @Param("accountId") Long accountId,
+        @Param("afterTimestamp") LocalDateTime afterTimestamp,
+        @Param("afterId") long afterId,
+        Limit limit
+    );
+    
+    // Rapprochement : débits puis crédits COMPLETED d'une plage de comptes, en flux et
+    // sans jointure (index sur from_account_id / to_account_id, timestamp)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("""
+            SELECT new com.openvault.reconciliation.AccountAmount(t.fromAccount.id, t.amount)
+            FROM Transaction t
+            WHERE t.fromAccount.id BETWEEN :minId AND :maxId AND t.timestamp >= :since
+              AND t.status = com.openvault.entity.TransactionStatus.COMPLETED
+            """)
+    Stream<AccountAmount> streamCompletedDebits(
+        @Param("minId") Long minId,
+        @Param("maxId") Long maxId,
+        @Param("since") LocalDateTime since
+    );
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("""
+            SELECT new com.openvault.reconciliation.AccountAmount(t.toAccount.id, t.amount)
+            FROM Transaction t
+            WHERE t.toAccount.id BETWEEN :minId AND :maxId AND t.timestamp >= :since
+              AND t.status = com.openvault.entity.TransactionStatus.COMPLETED
+            """)
+    Stream<AccountAmount> streamCompletedCredits(
+        @Param("minId") Long minId,
+        @Param("maxId") Long maxId,
+        @Param("since") LocalDateTime since
+    );
+    
+    // Plafonds de débit : virements, retraits et débits de paie récents, reconstruits au
+    // démarrage (borne sur timestamp : seules les partitions récentes sont lues). Un PAYMENT
+    // avec émetteur est le débit d'une paie ; ses crédits n'en ont pas, son remboursement
+    // (référence du débit suivie de -R) est déduit.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("""
+            SELECT new com.openvault.limits.AccountDebit(a.id, a.type, t.type, t.amount - COALESCE(r.amount, 0), t.timestamp)
+            FROM Transaction t JOIN t.fromAccount a
+            LEFT JOIN Transaction r ON t.type = com.openvault.entity.TransactionType.PAYMENT
+              AND r.reference = CONCAT(t.reference, '-R') AND r.timestamp >= :since
+            WHERE t.timestamp >= :since
+              AND t.status = com.openvault.entity.TransactionStatus.COMPLETED
+              AND t.type IN (com.openvault.entity.TransactionType.TRANSFER, com.openvault.entity.TransactionType.WITHDRAWAL,
+                             com.openvault.entity.TransactionType.PAYMENT)
+            """)
+    Stream<AccountDebit> streamRecentDebits(@Param("since") LocalDateTime since);
+    
+    long countByTimestampGreaterThanEqualAndTimestampLessThan(LocalDateTime start, LocalDateTime end);
+    
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.timestamp >= :start AND t.timestamp < :end")
+    int deleteByTimestampRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    
+    @Query("SELECT MIN(t.timestamp) FROM Transaction t")
+    Optional<LocalDateTime> findOldestTimestamp();
+}
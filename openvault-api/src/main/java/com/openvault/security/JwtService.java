@@ -1,5 +1,6 @@
 package com.openvault.security;
 
+import com.openvault.jfr.JwtVerificationEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -96,11 +97,20 @@ public class JwtService {
      * Extrait toutes les claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        boolean valid = false;
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(getSignInKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            valid = true;
+            return claims;
+        } finally {
+            event.complete(valid);
+        }
     }
 
     /**
@@ -1,30 +1,40 @@
 package com.openvault.security;
 
+import com.openvault.config.OperatorProperties;
 import com.openvault.entity.User;
 import com.openvault.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.ArrayList;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    public static final String OPERATOR_ROLE = "OPERATOR";
+
     private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OperatorProperties operatorProperties;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // Un réplica peut ne pas encore connaître un utilisateur tout juste inscrit :
+        // en cas d'absence, on relit dans une transaction en écriture, donc sur la primaire
         User user = userRepository.findByEmail(email)
+                .or(() -> transactionTemplate.execute(status -> userRepository.findByEmail(email)))
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé : " + email));
 
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
-                new ArrayList<>() // Pas de rôles pour l'instant
+                operatorProperties.getEmails().contains(user.getEmail())
+                        ? AuthorityUtils.createAuthorityList("ROLE_" + OPERATOR_ROLE)
+                        : AuthorityUtils.NO_AUTHORITIES
         );
     }
 }
\ No newline at end of file
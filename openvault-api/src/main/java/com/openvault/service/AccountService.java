@@ -5,36 +5,63 @@ import java.util.List;
 
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.openvault.dto.AccountSummary;
 import com.openvault.entity.Account;
 import com.openvault.entity.AccountType;
 import com.openvault.entity.User;
+import com.openvault.jfr.IbanGenerationEvent;
 import com.openvault.repository.AccountRepository;
 import com.openvault.repository.UserRepository;
+import com.openvault.util.AccountETags;
 import com.openvault.util.IbanGenerator;
 
-import lombok.RequiredArgsConstructor;
-
 @Service
-@RequiredArgsConstructor
 public class AccountService {
 
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
     private final IbanGenerator ibanGenerator;
+    private final AccountSummaryCache accountSummaryCache;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    // Transaction en écriture, donc sur la primaire, ouverte seulement sur un défaut de cache
+    private final TransactionTemplate cacheLoadTransaction;
+
+    public AccountService(AccountRepository accountRepository, UserRepository userRepository,
+                          IbanGenerator ibanGenerator, AccountSummaryCache accountSummaryCache,
+                          ReadYourWritesTracker readYourWritesTracker,
+                          PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+        this.ibanGenerator = ibanGenerator;
+        this.accountSummaryCache = accountSummaryCache;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.cacheLoadTransaction = new TransactionTemplate(transactionManager);
+    }
 
     /**
-     * Récupère tous les comptes de l'utilisateur connecté
+     * Récupère tous les comptes de l'utilisateur connecté (servis par le cache)
+     * Un succès ne touche pas la base. Un défaut se recharge depuis la primaire, pas en
+     * lecture seule : un réplica en retard figerait un solde périmé dans le cache
+     * jusqu'à la prochaine écriture.
      */
-    public List<Account> getUserAccounts() {
-        User user = getCurrentUser();
-        return accountRepository.findByUserIdAndActiveTrue(user.getId());
+    public List<AccountSummary> getUserAccounts() {
+        String email = getCurrentEmail();
+        List<AccountSummary> cached = accountSummaryCache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        return cacheLoadTransaction.execute(status ->
+                accountSummaryCache.getOrLoad(getCurrentUser().getId(), email, this::loadActiveAccounts));
     }
 
     /**
      * Récupère un compte par son ID (vérifie qu'il appartient à l'utilisateur)
      */
+    @Transactional(readOnly = true)
     public Account getAccountById(Long accountId) {
         User user = getCurrentUser();
         Account account = accountRepository.findById(accountId)
@@ -47,9 +74,45 @@ public class AccountService {
         return account;
     }
 
+    /**
+     * Vérifie que le compte appartient à l'utilisateur connecté sans charger l'entité :
+     * le compte peut ensuite être lu verrouillé dans la même transaction, état à jour
+     */
+    @Transactional(readOnly = true)
+    public void checkOwnership(Long accountId) {
+        String owner = accountRepository.findOwnerEmailById(accountId)
+                .orElseThrow(() -> new RuntimeException("Compte non trouvé"));
+
+        if (!owner.equals(getCurrentEmail())) {
+            throw new RuntimeException("Accès non autorisé à ce compte");
+        }
+    }
+
+    /**
+     * ETag des comptes actifs de l'utilisateur connecté, calculé en base sans charger
+     * d'entité. Un réplica en retard renvoie au pire l'ancienne empreinte : le client
+     * reçoit un 304 de plus et voit la modification au prochain appel.
+     */
+    @Transactional(readOnly = true)
+    public String getAccountsETag() {
+        return AccountETags.forAccounts(accountRepository.findActiveVersionStampByUserEmail(getCurrentEmail()));
+    }
+
+    /**
+     * ETag d'un compte de l'utilisateur connecté, ou null si le compte n'existe pas ou
+     * ne lui appartient pas (la requête complète produira alors l'erreur habituelle)
+     */
+    @Transactional(readOnly = true)
+    public String getAccountETag(Long accountId) {
+        return accountRepository.findVersionByIdAndUserEmail(accountId, getCurrentEmail())
+                .map(version -> AccountETags.forAccount(accountId, version))
+                .orElse(null);
+    }
+
     /**
      * Récupère un compte par son IBAN
      */
+    @Transactional(readOnly = true)
     public Account getAccountByIban(String iban) {
         return accountRepository.findByIban(iban)
                 .orElseThrow(() -> new RuntimeException("Compte non trouvé avec cet IBAN"));
@@ -75,7 +138,10 @@ public class AccountService {
         account.setUser(user);
         account.setActive(true);
 
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        accountSummaryCache.evictAfterCommit(user.getId());
+        readYourWritesTracker.markWriteAfterCommit();
+        return saved;
     }
 
     /**
@@ -92,28 +158,41 @@ public class AccountService {
 
         account.setActive(false);
         accountRepository.save(account);
+        accountSummaryCache.evictAfterCommit(account.getUser().getId());
+        readYourWritesTracker.markWriteAfterCommit();
     }
 
     /**
      * Récupère le solde total de tous les comptes de l'utilisateur
      */
     public BigDecimal getTotalBalance() {
-        User user = getCurrentUser();
-        List<Account> accounts = accountRepository.findByUserIdAndActiveTrue(user.getId());
-        
+        return totalBalance(getUserAccounts());
+    }
+
+    public static BigDecimal totalBalance(List<AccountSummary> accounts) {
         return accounts.stream()
-                .map(Account::getBalance)
+                .map(AccountSummary::getBalance)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    private List<AccountSummary> loadActiveAccounts(Long userId) {
+        return accountRepository.findByUserIdAndActiveTrue(userId).stream()
+                .map(AccountSummary::from)
+                .toList();
+    }
+
     /**
      * Génère un IBAN unique
      */
     private String generateUniqueIban() {
+        IbanGenerationEvent event = new IbanGenerationEvent();
+        event.begin();
         String iban;
         do {
             iban = ibanGenerator.generateIban();
+            event.attempt();
         } while (accountRepository.existsByIban(iban));
+        event.commit();
         return iban;
     }
 
@@ -121,8 +200,11 @@ public class AccountService {
      * Récupère l'utilisateur connecté
      */
     private User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
+        return userRepository.findByEmail(getCurrentEmail())
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
     }
+
+    private String getCurrentEmail() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
 }
\ No newline at end of file
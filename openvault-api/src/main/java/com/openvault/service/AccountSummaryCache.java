@@ -0,0 +1,318 @@
+package com.openvault.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.openvault.config.AccountCacheProperties;
+import com.openvault.dto.AccountSummary;
+import com.openvault.entity.Account;
+import com.openvault.outbox.ChangeEvent;
+import com.openvault.outbox.ChangeFeed;
+
+/**
+ * Cache write-through des comptes actifs de chaque utilisateur.
+ *
+ * Les écritures (virement, dépôt, retrait, création, désactivation) ne touchent le cache
+ * qu'après le commit de la transaction, via une {@link TransactionSynchronization} :
+ * un rollback ne laisse donc jamais de solde fantôme dans le cache.
+ *
+ * Avec le flux de changements, les mouvements commités par toutes les instances, celle-ci
+ * comprise, arrivent par le flux et invalident les utilisateurs concernés : l'instance
+ * qui écrit invalide alors aussi au commit au lieu de mettre à jour l'entrée, que l'écho
+ * de sa propre écriture supprimerait de toute façon. Une entrée expire après le TTL :
+ * il borne la fraîcheur des écritures hors flux (comptes créés ou désactivés sur une
+ * autre instance) et d'un événement livré pendant le chargement de l'entrée. Le nombre
+ * d'utilisateurs gardés est borné.
+ */
+public class AccountSummaryCache implements DisposableBean {
+
+    public static final String CONSUMER = "account-summary-cache";
+
+    private final Map<Long, Entry> entriesByUser = new ConcurrentHashMap<>();
+    // Propriétaire de chaque compte en cache : les événements du flux ne portent que les comptes
+    private final Map<Long, Long> ownerByAccount = new ConcurrentHashMap<>();
+    // Utilisateur de chaque identifiant de connexion en cache : un succès évite de relire users
+    private final Map<String, Long> userIdByEmail = new ConcurrentHashMap<>();
+    // Écritures reçues pendant un chargement ; une entrée par utilisateur en cours de chargement
+    private final Map<Long, Loading> loadingByUser = new ConcurrentHashMap<>();
+
+    private final ChangeFeed changeFeed;
+    private final long ttlNanos;
+    private final int maxUsers;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextPurge = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public AccountSummaryCache(AccountCacheProperties properties, ChangeFeed changeFeed) {
+        this(properties, changeFeed, System::nanoTime);
+    }
+
+    AccountSummaryCache(AccountCacheProperties properties, ChangeFeed changeFeed, LongSupplier nanoClock) {
+        if (properties.getMaxUsers() < 1 || !properties.getTtl().isPositive()) {
+            throw new IllegalArgumentException("Le cache des comptes doit avoir une taille et un TTL positifs");
+        }
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.maxUsers = properties.getMaxUsers();
+        this.nanoClock = nanoClock;
+        this.changeFeed = changeFeed;
+        if (changeFeed != null) {
+            changeFeed.follow(CONSUMER, this::onChanges);
+        }
+    }
+
+    /**
+     * Retourne les comptes en cache de l'utilisateur connecté sous cet email, ou null
+     * s'ils doivent être chargés (via {@link #getOrLoad})
+     */
+    public List<AccountSummary> getIfPresent(String email) {
+        Long userId = userIdByEmail.get(email);
+        Entry cached = userId != null ? entriesByUser.get(userId) : null;
+        if (cached == null || cached.isExpired(nanoClock.getAsLong())) {
+            return null;
+        }
+        hits.increment();
+        return cached.summaries;
+    }
+
+    /**
+     * Retourne les comptes de l'utilisateur, en les chargeant si nécessaire
+     */
+    public List<AccountSummary> getOrLoad(Long userId, String email, Function<Long, List<AccountSummary>> loader) {
+        Entry cached = entriesByUser.get(userId);
+        if (cached != null && !cached.isExpired(nanoClock.getAsLong())) {
+            hits.increment();
+            return cached.summaries;
+        }
+        misses.increment();
+
+        Loading loading = loadingByUser.compute(userId, (id, current) -> {
+            Loading next = current != null ? current : new Loading();
+            next.loaders++;
+            return next;
+        });
+        // Écritures commitées avant le début du chargement : déjà visibles en base
+        long writesBefore = loading.writes;
+        try {
+            List<AccountSummary> loaded = List.copyOf(loader.apply(userId));
+            store(userId, email, loading, writesBefore, loaded);
+            return loaded;
+        } finally {
+            loadingByUser.computeIfPresent(userId, (id, current) -> --current.loaders == 0 ? null : current);
+        }
+    }
+
+    /**
+     * Met à jour les soldes et versions des comptes après le commit, ou invalide leurs
+     * propriétaires quand le flux de changements relaie aussi les écritures de l'instance
+     */
+    public void refreshAfterCommit(Account... accounts) {
+        List<Long> ownerIds = new ArrayList<>(accounts.length);
+        for (Account account : accounts) {
+            ownerIds.add(account.getUser().getId());
+        }
+        if (changeFeed != null) {
+            afterCommit(() -> ownerIds.forEach(this::evict));
+            return;
+        }
+        afterCommit(() -> {
+            for (int i = 0; i < accounts.length; i++) {
+                refresh(ownerIds.get(i), AccountSummary.from(accounts[i]));
+            }
+        });
+    }
+
+    /**
+     * Invalide les comptes de l'utilisateur après le commit
+     */
+    public void evictAfterCommit(Long userId) {
+        afterCommit(() -> evict(userId));
+    }
+
+    public void refresh(Long userId, AccountSummary summary) {
+        recordWrite(userId);
+        entriesByUser.computeIfPresent(userId, (id, entry) -> {
+            List<AccountSummary> updated = new ArrayList<>(entry.summaries.size());
+            for (AccountSummary current : entry.summaries) {
+                updated.add(current.getId().equals(summary.getId()) && isNewer(summary, current) ? summary : current);
+            }
+            return new Entry(entry.email, List.copyOf(updated), entry.expiresAt);
+        });
+    }
+
+    public void evict(Long userId) {
+        recordWrite(userId);
+        Entry removed = entriesByUser.remove(userId);
+        if (removed != null) {
+            forgetOwners(userId, removed);
+        }
+    }
+
+    public void clear() {
+        loadingByUser.replaceAll((id, loading) -> loading.recordWrite());
+        entriesByUser.clear();
+        ownerByAccount.clear();
+        userIdByEmail.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Utilisateurs invalidés par le flux de changements
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        return entriesByUser.size();
+    }
+
+    @Override
+    public void destroy() {
+        if (changeFeed != null) {
+            changeFeed.unsubscribe(CONSUMER);
+        }
+    }
+
+    /**
+     * Mouvements commités sur n'importe quelle instance : les utilisateurs concernés
+     * rechargent leurs comptes à la lecture suivante
+     */
+    void onChanges(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            invalidateOwner(event.fromAccountId());
+            invalidateOwner(event.toAccountId());
+        }
+    }
+
+    private void invalidateOwner(Long accountId) {
+        if (accountId == null) {
+            return;
+        }
+        Long userId = ownerByAccount.get(accountId);
+        if (userId != null) {
+            evict(userId);
+            invalidations.increment();
+        }
+    }
+
+    private void store(Long userId, String email, Loading loading, long writesBefore, List<AccountSummary> loaded) {
+        long now = nanoClock.getAsLong();
+        if (entriesByUser.size() >= maxUsers) {
+            purgeExpired(now);
+            if (entriesByUser.size() >= maxUsers) {
+                return;
+            }
+        }
+        Entry entry = new Entry(email, loaded, now + ttlNanos);
+        Entry[] replaced = new Entry[1];
+        // Atomique vis-à-vis de refresh() : une écriture reçue pendant le chargement l'écarte,
+        // une écriture postérieure trouve l'entrée et la met à jour
+        Entry stored = entriesByUser.compute(userId, (id, current) -> {
+            if (loading.writes != writesBefore || (current != null && !current.isExpired(now))) {
+                return current;
+            }
+            replaced[0] = current;
+            return entry;
+        });
+        if (stored == entry) {
+            userIdByEmail.put(email, userId);
+            for (AccountSummary summary : loaded) {
+                ownerByAccount.put(summary.getId(), userId);
+            }
+            if (replaced[0] != null) {
+                // Comptes sortis de la liste (désactivés entre-temps)
+                replaced[0].summaries.stream()
+                        .filter(old -> loaded.stream().noneMatch(summary -> summary.getId().equals(old.getId())))
+                        .forEach(old -> ownerByAccount.remove(old.getId(), userId));
+            }
+        }
+    }
+
+    /**
+     * Retire les entrées expirées, au plus une fois par seconde quand le cache est plein
+     */
+    private void purgeExpired(long now) {
+        long next = nextPurge.get();
+        if (now - next < 0 || !nextPurge.compareAndSet(next, now + 1_000_000_000L)) {
+            return;
+        }
+        entriesByUser.forEach((userId, entry) -> {
+            if (entry.isExpired(now) && entriesByUser.remove(userId, entry)) {
+                forgetOwners(userId, entry);
+            }
+        });
+    }
+
+    private void forgetOwners(Long userId, Entry entry) {
+        for (AccountSummary summary : entry.summaries) {
+            ownerByAccount.remove(summary.getId(), userId);
+        }
+        userIdByEmail.remove(entry.email, userId);
+    }
+
+    private void recordWrite(Long userId) {
+        loadingByUser.computeIfPresent(userId, (id, loading) -> loading.recordWrite());
+    }
+
+    private boolean isNewer(AccountSummary candidate, AccountSummary current) {
+        if (candidate.getVersion() == null || current.getVersion() == null) {
+            return true;
+        }
+        return candidate.getVersion() >= current.getVersion();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Entry(String email, List<AccountSummary> summaries, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * Chargements en cours pour un utilisateur ; modifié uniquement dans les compute de la map
+     */
+    private static final class Loading {
+
+        private int loaders;
+        // Lu hors de la map, lors de la mise en cache
+        private volatile long writes;
+
+        Loading recordWrite() {
+            writes++;
+            return this;
+        }
+    }
+}
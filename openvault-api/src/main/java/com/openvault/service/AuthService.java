@@ -32,6 +32,8 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final IbanGenerator ibanGenerator;
+    private final AccountSummaryCache accountSummaryCache;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -58,6 +60,8 @@ public class AuthService {
         account.setUser(user);
 
         accountRepository.save(account);
+        accountSummaryCache.evictAfterCommit(user.getId());
+        readYourWritesTracker.markWriteAfterCommit(user.getEmail());
 
         // Générer le token JWT
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
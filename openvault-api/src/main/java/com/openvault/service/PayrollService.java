@@ -0,0 +1,77 @@
+package com.openvault.service;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.Payroll;
+import com.openvault.entity.PayrollLine;
+import com.openvault.entity.PayrollLineStatus;
+import com.openvault.payroll.PayrollProcessor;
+import com.openvault.repository.PayrollLineRepository;
+import com.openvault.repository.PayrollRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Paies des comptes professionnels de l'utilisateur connecté ; la lecture du fichier,
+ * le débit et les crédits sont assurés par PayrollProcessor
+ */
+@Service
+@RequiredArgsConstructor
+public class PayrollService {
+
+    private final PayrollProcessor payrollProcessor;
+    private final PayrollRepository payrollRepository;
+    private final PayrollLineRepository payrollLineRepository;
+    private final AccountService accountService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    /**
+     * Sans transaction englobante : le fichier est écrit et crédité par lots, chacun
+     * dans sa propre transaction
+     */
+    public Payroll submitPayroll(Long accountId, InputStream csv) {
+        Account account = accountService.getAccountById(accountId);
+        if (account.getType() != AccountType.BUSINESS) {
+            throw new RuntimeException("La paie est réservée aux comptes professionnels");
+        }
+        if (!account.getActive()) {
+            throw new RuntimeException("Le compte est désactivé");
+        }
+        Payroll payroll = payrollProcessor.receive(accountId, csv);
+        readYourWritesTracker.markWrite(getCurrentEmail());
+        return payroll;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Payroll> getUserPayrolls() {
+        return payrollRepository.findTop50ByAccountUserEmailOrderByCreatedAtDesc(getCurrentEmail());
+    }
+
+    @Transactional(readOnly = true)
+    public Payroll getPayroll(Long id) {
+        return payrollRepository.findByIdAndAccountUserEmail(id, getCurrentEmail())
+                .orElseThrow(() -> new RuntimeException("Paie non trouvée"));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PayrollLine> getPayrollLines(Long id, PayrollLineStatus status, int page, int size) {
+        Payroll payroll = getPayroll(id);
+        PageRequest pageable = PageRequest.of(page, size);
+        return status != null
+                ? payrollLineRepository.findByPayrollIdAndStatusOrderByLineNumber(payroll.getId(), status, pageable)
+                : payrollLineRepository.findByPayrollIdOrderByLineNumber(payroll.getId(), pageable);
+    }
+
+    private String getCurrentEmail() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+}
@@ -0,0 +1,94 @@
+package com.openvault.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Mémorise les utilisateurs ayant écrit récemment, pour que leurs lectures
+ * restent sur la base primaire le temps que les réplicas rattrapent leur retard.
+ *
+ * La mémoire est propre à l'instance : une écriture n'est connue que de l'instance qui
+ * l'a traitée. Avec plusieurs instances, le routage vers les réplicas suppose des
+ * sessions collantes (même utilisateur, même instance, pendant au moins sticky-window) ;
+ * sans elles, la lecture qui suit une écriture peut arriver sur une autre instance,
+ * partir vers un réplica en retard et ne pas voir l'écriture.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(@Value("${openvault.datasource.routing.sticky-window:5s}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Marque l'utilisateur connecté comme "collant" une fois la transaction commitée
+     */
+    public void markWriteAfterCommit() {
+        markWriteAfterCommit(currentUsername());
+    }
+
+    /**
+     * Marque l'utilisateur donné (ex : inscription, avant toute authentification)
+     */
+    public void markWriteAfterCommit(String username) {
+        if (username == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markWrite(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markWrite(username);
+            }
+        });
+    }
+
+    public void markWrite(String username) {
+        if (stickyUntil.size() > CLEANUP_THRESHOLD) {
+            long now = System.nanoTime();
+            stickyUntil.values().removeIf(deadline -> deadline - now <= 0);
+        }
+        stickyUntil.put(username, System.nanoTime() + windowNanos);
+    }
+
+    /**
+     * Indique si les lectures de l'utilisateur connecté doivent rester sur la primaire
+     */
+    public boolean isCurrentUserSticky() {
+        String username = currentUsername();
+        return username != null && isSticky(username);
+    }
+
+    public boolean isSticky(String username) {
+        Long deadline = stickyUntil.get(username);
+        if (deadline == null) {
+            return false;
+        }
+        if (deadline - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(username, deadline);
+        return false;
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
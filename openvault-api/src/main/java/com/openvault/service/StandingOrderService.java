@@ -0,0 +1,76 @@
+package com.openvault.service;
+
+import java.util.List;
+
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.openvault.dto.StandingOrderRequest;
+import com.openvault.entity.Account;
+import com.openvault.entity.StandingOrder;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.StandingOrderRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Virements permanents de l'utilisateur connecté ; leur exécution est assurée par
+ * StandingOrderScheduler
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StandingOrderService {
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+
+    @Transactional
+    public StandingOrder createStandingOrder(StandingOrderRequest request) {
+        Account fromAccount = accountService.getAccountById(request.getFromAccountId());
+        if (!fromAccount.getActive()) {
+            throw new RuntimeException("Le compte est désactivé");
+        }
+        Account toAccount = accountRepository.findByIban(request.getToIban())
+                .orElseThrow(() -> new RuntimeException("Compte destinataire non trouvé avec l'IBAN : " + request.getToIban()));
+        if (fromAccount.getId().equals(toAccount.getId())) {
+            throw new RuntimeException("Impossible de faire un virement vers le même compte");
+        }
+
+        StandingOrder order = new StandingOrder();
+        order.setFromAccount(fromAccount);
+        order.setToIban(toAccount.getIban());
+        order.setAmount(request.getAmount());
+        order.setDescription(request.getDescription());
+        order.setFrequency(request.getFrequency());
+        order.setFirstExecutionAt(request.getFirstExecutionAt());
+
+        StandingOrder saved = standingOrderRepository.save(order);
+        log.info("Virement permanent {} créé : {} EUR, {}", saved.getId(), saved.getAmount(), saved.getFrequency());
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<StandingOrder> getUserStandingOrders() {
+        return standingOrderRepository.findByFromAccountUserEmailAndActiveTrueOrderByNextExecutionAtAsc(getCurrentEmail());
+    }
+
+    /**
+     * Un ordre réservé par le planificateur n'est plus exécuté : l'exécution relit
+     * l'ordre dans sa transaction et l'ignore s'il a été annulé
+     */
+    @Transactional
+    public void cancelStandingOrder(Long id) {
+        StandingOrder order = standingOrderRepository.findByIdAndFromAccountUserEmail(id, getCurrentEmail())
+                .orElseThrow(() -> new RuntimeException("Virement permanent non trouvé"));
+        order.setActive(false);
+        standingOrderRepository.save(order);
+    }
+
+    private String getCurrentEmail() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+}
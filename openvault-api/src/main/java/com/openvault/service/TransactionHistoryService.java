@@ -1,14 +1,27 @@
 package com.openvault.service;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.openvault.archive.ArchivedTransaction;
+import com.openvault.archive.TransactionArchive;
 import com.openvault.entity.Account;
 import com.openvault.entity.Transaction;
 import com.openvault.entity.TransactionType;
@@ -18,38 +31,72 @@ import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class TransactionHistoryService {
 
+    private static final int RECENT_WINDOW_MONTHS = 3;
+    private static final int STREAM_BATCH_SIZE = 1000;
+
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
+    private final TransactionArchive transactionArchive;
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * Récupère l'historique paginé des transactions d'un compte
      */
     public Page<Transaction> getAccountTransactions(Long accountId, int page, int size) {
         // Vérifier que l'utilisateur possède le compte
-        accountService.getAccountById(accountId);
+        Account account = accountService.getAccountById(accountId);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("timestamp").descending());
-        return transactionRepository.findByAccountId(accountId, pageable);
+        return transactionRepository.findByAccountIdSince(accountId, liveHistoryStart(account), pageable);
     }
 
     /**
      * Récupère les dernières transactions d'un compte
      */
     public List<Transaction> getRecentTransactions(Long accountId, int limit) {
-        accountService.getAccountById(accountId);
+        Account account = accountService.getAccountById(accountId);
         
         Pageable pageable = PageRequest.of(0, limit);
-        return transactionRepository.findTop10ByAccountId(accountId, pageable);
+
+        // D'abord les partitions récentes ; l'historique complet seulement pour un compte peu actif
+        LocalDateTime since = LocalDateTime.now().minusMonths(RECENT_WINDOW_MONTHS);
+        LocalDateTime opened = liveHistoryStart(account);
+        List<Transaction> recent = transactionRepository.findRecentByAccountIdSince(accountId, since, pageable);
+        if (recent.size() >= limit || !opened.isBefore(since)) {
+            return recent;
+        }
+        return transactionRepository.findRecentByAccountIdSince(accountId, opened, pageable);
+    }
+
+    /**
+     * Début de l'historique servi depuis la base (historique paginé, dernières transactions,
+     * filtre par type) : la fenêtre chaude. Les mois antérieurs, archivés ou en passe de
+     * l'être, ne sont lus que par période ({@link #getTransactionsByDateRange}) ou en flux.
+     */
+    public LocalDateTime getLiveWindowStart() {
+        return transactionArchive.getHotWindowStart();
+    }
+
+    /**
+     * Aucun mouvement avant l'ouverture du compte : l'historique commence au premier jour du
+     * mois d'ouverture (partition entière, horloges des instances légèrement décalées tolérées),
+     * au plus tôt au début de la fenêtre chaude
+     */
+    private LocalDateTime liveHistoryStart(Account account) {
+        LocalDateTime opened = account.getCreatedAt().toLocalDate().withDayOfMonth(1).atStartOfDay();
+        LocalDateTime liveWindowStart = getLiveWindowStart();
+        return opened.isAfter(liveWindowStart) ? opened : liveWindowStart;
     }
 
     /**
-     * Récupère les transactions d'un compte par type
+     * Récupère les transactions d'un compte par type, dans la fenêtre chaude
      */
     public List<Transaction> getTransactionsByType(Long accountId, TransactionType type) {
-        accountService.getAccountById(accountId);
-        return transactionRepository.findByTypeAndFromAccountIdOrToAccountId(type, accountId, accountId);
+        Account account = accountService.getAccountById(accountId);
+        return transactionRepository.findByAccountIdAndTypeSince(accountId, type, liveHistoryStart(account));
     }
 
     /**
@@ -61,15 +108,75 @@ public class TransactionHistoryService {
             LocalDateTime endDate
     ) {
         accountService.getAccountById(accountId);
-        return transactionRepository.findByAccountIdAndDateRange(accountId, startDate, endDate);
+        List<Transaction> transactions = transactionRepository.findByAccountIdAndDateRange(accountId, startDate, endDate);
+        if (!startDate.isBefore(transactionArchive.getHotWindowStart())) {
+            return transactions;
+        }
+
+        // La période remonte avant la fenêtre chaude : compléter avec l'archive
+        List<ArchivedTransaction> archived = transactionArchive.findByAccountIdAndDateRange(accountId, startDate, endDate);
+        if (archived.isEmpty()) {
+            return transactions;
+        }
+
+        // Un mois en cours d'archivage peut être présent des deux côtés
+        Map<Long, Transaction> merged = new LinkedHashMap<>();
+        archived.forEach(a -> merged.put(a.getId(), a.toTransaction()));
+        transactions.forEach(t -> merged.put(t.getId(), t));
+        return merged.values().stream()
+                .sorted(Comparator.comparing(Transaction::getTimestamp))
+                .toList();
+    }
+
+    /**
+     * Parcourt en flux l'historique d'un compte depuis une date, du plus ancien au plus
+     * récent, archive comprise. Les lignes sont des projections : aucune entité n'est
+     * gardée dans le contexte de persistance, quel que soit le volume.
+     *
+     * Hors transaction : l'archive est lue segment par segment, puis la base par lots
+     * (pagination par clé) dans des transactions courtes. Aucune connexion n'est retenue
+     * pendant que l'action écrit la réponse à un client lent.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAccountTransactions(Long accountId, LocalDateTime since, Consumer<ArchivedTransaction> action) {
+        accountService.getAccountById(accountId);
+
+        Set<YearMonth> archivedMonths = Set.of();
+        LocalDateTime hotWindowStart = transactionArchive.getHotWindowStart();
+        if (since.isBefore(hotWindowStart)) {
+            archivedMonths = transactionArchive.forEachByAccountIdAndDateRange(accountId, since, hotWindowStart, action);
+        }
+
+        TransactionTemplate batchTransaction = new TransactionTemplate(transactionManager);
+        batchTransaction.setReadOnly(true);
+        LocalDateTime afterTimestamp = since;
+        long afterId = 0;
+        List<ArchivedTransaction> batch;
+        do {
+            LocalDateTime fromTimestamp = afterTimestamp;
+            long fromId = afterId;
+            batch = batchTransaction.execute(status -> transactionRepository.findByAccountIdAfter(
+                    accountId, fromTimestamp, fromId, Limit.of(STREAM_BATCH_SIZE)));
+            for (ArchivedTransaction row : batch) {
+                // Un mois en cours d'archivage peut être présent des deux côtés : le segment fait foi
+                if (!archivedMonths.contains(YearMonth.from(row.getTimestamp()))) {
+                    action.accept(row);
+                }
+            }
+            if (!batch.isEmpty()) {
+                afterTimestamp = batch.getLast().getTimestamp();
+                afterId = batch.getLast().getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
     }
 
     /**
-     * Récupère une transaction par son ID
+     * Récupère une transaction par son ID ; une transaction archivée n'est plus lue par ID
      */
     public Transaction getTransactionById(Long transactionId) {
         Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new RuntimeException("Transaction non trouvée"));
+                .orElseThrow(() -> new RuntimeException("Transaction non trouvée (les transactions antérieures au "
+                        + getLiveWindowStart().toLocalDate() + " sont consultables par période)"));
 
         // Vérifier que l'utilisateur a accès à cette transaction
         if (transaction.getFromAccount() != null) {
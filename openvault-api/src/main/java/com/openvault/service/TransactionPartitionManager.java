@@ -0,0 +1,125 @@
+package com.openvault.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gestion des partitions mensuelles de la table transactions (PostgreSQL uniquement).
+ *
+ * La table doit avoir été convertie au préalable (db/postgres/transactions-partitioned.sql).
+ * Chaque nuit, les partitions des prochains mois sont créées et, si une rétention est
+ * configurée, les partitions trop anciennes sont détachées (conservées comme tables autonomes).
+ */
+@Component
+@ConditionalOnProperty(prefix = "openvault.partitioning", name = "enabled", havingValue = "true")
+@Slf4j
+public class TransactionPartitionManager {
+
+    static final String PARENT_TABLE = "transactions";
+    private static final Pattern PARTITION_NAME = Pattern.compile("^transactions_p(\\d{4})_(\\d{2})$");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public TransactionPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            @Value("${openvault.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${openvault.partitioning.retention-months:0}") int retentionMonths
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Crée les partitions à venir et détache celles hors rétention
+     */
+    @Scheduled(cron = "${openvault.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            log.warn("La table {} n'est pas partitionnée : exécuter db/postgres/transactions-partitioned.sql", PARENT_TABLE);
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (String partition : listPartitions()) {
+                parseMonth(partition)
+                        .filter(month -> month.isBefore(oldestKept))
+                        .ifPresent(month -> detachPartition(partition));
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM pg_partitioned_table pt
+                JOIN pg_class c ON c.oid = pt.partrelid
+                WHERE c.relname = ? AND pg_table_is_visible(c.oid)
+                """, Integer.class, PARENT_TABLE);
+        return count != null && count > 0;
+    }
+
+    private void createPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                + " PARTITION OF " + PARENT_TABLE
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname FROM pg_inherits i
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                JOIN pg_class child ON child.oid = i.inhrelid
+                WHERE parent.relname = ? AND pg_table_is_visible(parent.oid)
+                ORDER BY child.relname
+                """, String.class, PARENT_TABLE);
+    }
+
+    private void detachPartition(String partition) {
+        // CONCURRENTLY : pas de verrou exclusif sur la table parente (hors bloc transactionnel)
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition + " CONCURRENTLY");
+        log.info("Partition {} détachée de {}", partition, PARENT_TABLE);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_p" + month.format(SUFFIX);
+    }
+
+    static Optional<YearMonth> parseMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+}
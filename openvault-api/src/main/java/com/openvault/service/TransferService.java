@@ -2,15 +2,21 @@ package com.openvault.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.openvault.contention.HotAccountDetector;
 import com.openvault.entity.Account;
 import com.openvault.entity.Transaction;
 import com.openvault.entity.TransactionStatus;
 import com.openvault.entity.TransactionType;
+import com.openvault.jfr.TransferRecording;
+import com.openvault.limits.VelocityLimiter;
+import com.openvault.outbox.OutboxRecorder;
 import com.openvault.repository.AccountRepository;
 import com.openvault.repository.TransactionRepository;
 
@@ -25,6 +31,11 @@ public class TransferService {
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
+    private final AccountSummaryCache accountSummaryCache;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ObjectProvider<HotAccountDetector> hotAccountDetector;
+    private final ObjectProvider<OutboxRecorder> outboxRecorder;
+    private final ObjectProvider<VelocityLimiter> velocityLimiter;
 
     /**
      * Effectue un virement entre deux comptes
@@ -33,19 +44,29 @@ public class TransferService {
     @Transactional(isolation = Isolation.SERIALIZABLE)
     public Transaction transfer(Long fromAccountId, String toIban, BigDecimal amount, String description) {
         log.info("Début du virement de {} EUR du compte {} vers {}", amount, fromAccountId, toIban);
+        TransferRecording recording = TransferRecording.start(fromAccountId, amount);
 
         // Validations
         validateTransferAmount(amount);
+        // Vérifier que l'utilisateur possède le compte source, avant les plafonds : ils ne
+        // renseignent pas sur les débits d'un compte tiers
+        accountService.checkOwnership(fromAccountId);
+        // Plafonds vérifiés en mémoire, avant d'attendre le verrou du compte
+        velocityLimiter.ifAvailable(limiter -> limiter.acquire(fromAccountId, amount));
 
         // Récupération des comptes avec verrouillage pessimiste
+        recording.lockRequested();
         Account fromAccount = accountRepository.findByIdWithLock(fromAccountId)
                 .orElseThrow(() -> new RuntimeException("Compte source non trouvé"));
+        recording.lockAcquired();
 
         Account toAccount = accountRepository.findByIban(toIban)
                 .orElseThrow(() -> new RuntimeException("Compte destinataire non trouvé avec l'IBAN : " + toIban));
 
-        // Vérifier que l'utilisateur possède le compte source
-        accountService.getAccountById(fromAccountId);
+        // Comptes chauds : chaque tentative compte, même refusée ensuite (attente du verrou
+        // enregistrée par OperationMetricsAspect)
+        hotAccountDetector.ifAvailable(detector ->
+                detector.recordTransfer(fromAccount.getId(), toAccount.getId()));
 
         // Vérifier que les comptes sont différents
         if (fromAccount.getId().equals(toAccount.getId())) {
@@ -74,6 +95,7 @@ public class TransferService {
         transaction.setStatus(TransactionStatus.PENDING);
         transaction.setReference(generateTransactionReference());
 
+        recording.mutationStarted();
         try {
             // Débiter le compte source
             fromAccount.debit(amount);
@@ -88,6 +110,9 @@ public class TransferService {
             // Marquer la transaction comme réussie
             transaction.setStatus(TransactionStatus.COMPLETED);
             transaction = transactionRepository.save(transaction);
+            recordPosting(transaction);
+            accountSummaryCache.refreshAfterCommit(fromAccount, toAccount);
+            readYourWritesTracker.markWriteAfterCommit();
 
             log.info("Virement réussi. Référence: {}", transaction.getReference());
             return transaction;
@@ -124,8 +149,12 @@ public class TransferService {
 
         account.credit(amount);
         accountRepository.save(account);
+        accountSummaryCache.refreshAfterCommit(account);
+        readYourWritesTracker.markWriteAfterCommit();
 
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        recordPosting(saved);
+        return saved;
     }
 
     /**
@@ -134,8 +163,8 @@ public class TransferService {
     @Transactional
     public Transaction withdraw(Long accountId, BigDecimal amount, String description) {
         validateTransferAmount(amount);
-
         Account account = accountService.getAccountById(accountId);
+        velocityLimiter.ifAvailable(limiter -> limiter.acquire(accountId, amount));
 
         if (!account.getActive()) {
             throw new RuntimeException("Le compte est désactivé");
@@ -156,8 +185,19 @@ public class TransferService {
 
         account.debit(amount);
         accountRepository.save(account);
+        accountSummaryCache.refreshAfterCommit(account);
+        readYourWritesTracker.markWriteAfterCommit();
+
+        Transaction saved = transactionRepository.save(transaction);
+        recordPosting(saved);
+        return saved;
+    }
 
-        return transactionRepository.save(transaction);
+    /**
+     * Événement d'outbox du mouvement, commité ou annulé avec lui
+     */
+    private void recordPosting(Transaction transaction) {
+        outboxRecorder.ifAvailable(recorder -> recorder.record(transaction));
     }
 
     /**
@@ -183,6 +223,6 @@ public class TransferService {
      * Génère une référence unique pour la transaction
      */
     private String generateTransactionReference() {
-        return "TXN-" + System.currentTimeMillis() + "-" + (int)(Math.random() * 10000);
+        return "TXN-" + System.currentTimeMillis() + "-" + ThreadLocalRandom.current().nextInt(10000);
     }
 }
\ No newline at end of file
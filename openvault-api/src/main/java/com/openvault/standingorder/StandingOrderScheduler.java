@@ -0,0 +1,256 @@
+package com.openvault.standingorder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.config.DatabaseConcurrencyGovernor;
+import com.openvault.config.StandingOrderProperties;
+import com.openvault.dto.AccountBalance;
+import com.openvault.entity.StandingOrder;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.StandingOrderRepository;
+import com.openvault.service.TransferService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exécute les virements permanents échus, sur autant d'instances que l'on veut.
+ *
+ * Chaque instance réserve des lots d'ordres par SELECT ... FOR UPDATE SKIP LOCKED : deux
+ * instances ne lisent jamais les mêmes lignes et n'attendent pas les verrous l'une de
+ * l'autre. La réservation (instance, échéance) est commitée aussitôt ; les ordres sont
+ * ensuite exécutés sur un nombre borné de files, une par groupe de comptes.
+ *
+ * Le virement et le passage à l'échéance suivante sont commités ensemble : une échéance
+ * n'est jamais payée deux fois, même si l'instance s'arrête entre deux ordres. Le pic du
+ * 1er du mois s'écoule au débit des files, sans prendre plus de connexions que leur nombre,
+ * et les réservations s'interrompent dès que des requêtes interactives attendent la base.
+ */
+@Slf4j
+public class StandingOrderScheduler implements DisposableBean {
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final AccountRepository accountRepository;
+    private final TransferService transferService;
+    private final DatabaseConcurrencyGovernor governor;
+    private final StandingOrderProperties properties;
+
+    private final TransactionTemplate claimTransaction;
+    private final TransactionTemplate executionTransaction;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService[] lanes;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public StandingOrderScheduler(StandingOrderRepository standingOrderRepository,
+                                  AccountRepository accountRepository,
+                                  TransferService transferService,
+                                  PlatformTransactionManager transactionManager,
+                                  DatabaseConcurrencyGovernor governor,
+                                  StandingOrderProperties properties) {
+        this.standingOrderRepository = standingOrderRepository;
+        this.accountRepository = accountRepository;
+        this.transferService = transferService;
+        this.governor = governor;
+        this.properties = properties;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        // Même isolation que TransferService.transfer, qui rejoint cette transaction
+        this.executionTransaction = new TransactionTemplate(transactionManager);
+        this.executionTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.lanes = new ExecutorService[properties.getWorkers()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("standing-order-" + i).factory());
+        }
+    }
+
+    /**
+     * Réserve des lots tant que les files ont de la place et que la base n'est pas
+     * sollicitée par des requêtes interactives
+     */
+    @Scheduled(fixedDelayString = "${openvault.standing-orders.poll-interval:1s}")
+    public void poll() {
+        while (inFlight.get() < properties.getBatchSize() && !interactiveTrafficWaiting()) {
+            List<ClaimedOrder> claimed = claimDue(properties.getBatchSize());
+            claimed.forEach(this::dispatch);
+            if (claimed.size() < properties.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Réserve jusqu'à {@code limit} ordres échus pour cette instance, jusqu'à la fin du bail
+     */
+    public List<ClaimedOrder> claimDue(int limit) {
+        return claimTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<StandingOrder> due = standingOrderRepository.findDueForUpdateSkipLocked(now, Limit.of(limit));
+            if (due.isEmpty()) {
+                return List.of();
+            }
+            // Propriétaires lus en une requête : l'exécution se fait en leur nom
+            Map<Long, String> owners = accountRepository.findBalancesByIdIn(
+                            due.stream().map(order -> order.getFromAccount().getId()).collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(AccountBalance::accountId, AccountBalance::ownerEmail));
+
+            LocalDateTime leaseEnd = now.plus(properties.getLease());
+            return due.stream().map(order -> {
+                order.setClaimedBy(instanceId);
+                order.setClaimedUntil(leaseEnd);
+                Long fromAccountId = order.getFromAccount().getId();
+                // Colonne à 4 décimales, montant saisi à 2 : TransferService refuse davantage
+                BigDecimal amount = order.getAmount().setScale(2, RoundingMode.UNNECESSARY);
+                return new ClaimedOrder(order.getId(), fromAccountId, owners.get(fromAccountId), order.getToIban(),
+                        amount, order.getDescription(), order.getNextExecutionAt());
+            }).toList();
+        });
+    }
+
+    private void dispatch(ClaimedOrder order) {
+        inFlight.incrementAndGet();
+        int lane = (int) Math.floorMod(order.fromAccountId(), (long) lanes.length);
+        lanes[lane].execute(() -> {
+            try {
+                execute(order);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    void execute(ClaimedOrder order) {
+        LocalDateTime now = LocalDateTime.now();
+        if (order.dueAt().plus(properties.getMaxDelay()).isBefore(now)) {
+            update(order, current -> {
+                current.setLastError("Échéance du " + order.dueAt().toLocalDate() + " manquée, reportée");
+                current.scheduleNextAfter(now);
+            });
+            skipped.increment();
+            return;
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(order.ownerEmail(), null, List.of()));
+        try {
+            Boolean done = executionTransaction.execute(status -> {
+                StandingOrder current = standingOrderRepository.findById(order.id()).orElse(null);
+                if (!isStillClaimed(current, order)) {
+                    return false;
+                }
+                transferService.transfer(order.fromAccountId(), order.toIban(), order.amount(),
+                        order.description() != null ? order.description() : "Virement permanent n°" + order.id());
+                current.setLastExecutedAt(now);
+                current.setLastError(null);
+                current.scheduleNextAfter(now);
+                current.release();
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) {
+                executed.increment();
+            }
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Virement permanent {} en échec : {}", order.id(), e.getMessage());
+            update(order, current -> {
+                current.setFailedAttempts(current.getFailedAttempts() + 1);
+                current.setLastError(truncate(e.getMessage()));
+                if (current.getFailedAttempts() >= properties.getMaxAttempts()) {
+                    current.scheduleNextAfter(now);
+                } else {
+                    current.setNextExecutionAt(now.plus(properties.getRetryDelay()));
+                }
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Applique un changement d'échéance hors virement et libère la réservation
+     */
+    private void update(ClaimedOrder order, Consumer<StandingOrder> change) {
+        claimTransaction.executeWithoutResult(status -> {
+            StandingOrder current = standingOrderRepository.findById(order.id()).orElse(null);
+            if (isStillClaimed(current, order)) {
+                change.accept(current);
+                current.release();
+            }
+        });
+    }
+
+    /**
+     * Ordre annulé, ou repris par une autre instance après expiration du bail : ne rien faire
+     */
+    private boolean isStillClaimed(StandingOrder current, ClaimedOrder order) {
+        return current != null
+                && current.getActive()
+                && instanceId.equals(current.getClaimedBy())
+                && order.dueAt().equals(current.getNextExecutionAt());
+    }
+
+    private boolean interactiveTrafficWaiting() {
+        return governor != null
+                && (governor.getQueueLength() > 0 || governor.getAvailablePermits() <= properties.getInteractiveReserve());
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    @Override
+    public void destroy() {
+        // Les ordres réservés non exécutés seront repris à l'expiration de leur bail
+        for (ExecutorService lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    /**
+     * Ordre réservé par cette instance, pour l'échéance {@code dueAt}
+     */
+    public record ClaimedOrder(Long id, Long fromAccountId, String ownerEmail, String toIban, BigDecimal amount,
+                               String description, LocalDateTime dueAt) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.openvault.util;
+
+import java.util.List;
+
+import org.springframework.http.ETag;
+
+import com.openvault.dto.AccountSummary;
+import com.openvault.dto.AccountVersionStamp;
+
+/**
+ * ETags forts des ressources de compte, dérivés des versions JPA.
+ *
+ * Le même calcul s'applique à l'empreinte lue en base (réponse 304 sans charger les
+ * comptes) et aux données effectivement renvoyées (réponse 200) : si le cache a un
+ * temps de retard sur la base, les deux diffèrent et le client revalide au prochain appel.
+ */
+public final class AccountETags {
+
+    private AccountETags() {
+    }
+
+    public static String forAccounts(AccountVersionStamp stamp) {
+        return format(stamp.count(), stamp.versionSum(), stamp.maxId());
+    }
+
+    public static String forAccounts(List<AccountSummary> accounts) {
+        long versionSum = 0;
+        long maxId = 0;
+        for (AccountSummary account : accounts) {
+            versionSum += account.getVersion() != null ? account.getVersion() : 0;
+            maxId = Math.max(maxId, account.getId());
+        }
+        return format(accounts.size(), versionSum, maxId);
+    }
+
+    public static String forAccount(Long id, Long version) {
+        return "\"a" + id + "-v" + version + "\"";
+    }
+
+    /**
+     * If-None-Match se compare en mode faible (RFC 9110) : un ETag affaibli par la
+     * compression reste reconnu
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard() || candidate.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String format(long count, long versionSum, long maxId) {
+        return "\"u" + count + "-" + versionSum + "-" + maxId + "\"";
+    }
+}
@@ -3,8 +3,15 @@ package com.openvault.util;
 import org.springframework.stereotype.Component;
 
 import com.openvault.dto.AccountDTO;
+import com.openvault.dto.AccountSummary;
+import com.openvault.dto.PayrollDTO;
+import com.openvault.dto.PayrollLineDTO;
+import com.openvault.dto.StandingOrderDTO;
 import com.openvault.dto.TransactionDTO;
 import com.openvault.entity.Account;
+import com.openvault.entity.Payroll;
+import com.openvault.entity.PayrollLine;
+import com.openvault.entity.StandingOrder;
 import com.openvault.entity.Transaction;
 
 @Component
@@ -21,6 +28,17 @@ public class EntityMapper {
                 .build();
     }
 
+    public AccountDTO toAccountDTO(AccountSummary summary) {
+        return AccountDTO.builder()
+                .id(summary.getId())
+                .iban(summary.getIban())
+                .balance(summary.getBalance())
+                .type(summary.getType())
+                .active(summary.getActive())
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+
     public TransactionDTO toTransactionDTO(Transaction transaction) {
         return TransactionDTO.builder()
                 .id(transaction.getId())
@@ -34,4 +52,52 @@ public class EntityMapper {
                 .reference(transaction.getReference())
                 .build();
     }
-}
\ No newline at end of file
+
+    public StandingOrderDTO toStandingOrderDTO(StandingOrder order) {
+        return StandingOrderDTO.builder()
+                .id(order.getId())
+                .fromAccountId(order.getFromAccount().getId())
+                .fromIban(order.getFromAccount().getIban())
+                .toIban(order.getToIban())
+                .amount(order.getAmount())
+                .description(order.getDescription())
+                .frequency(order.getFrequency())
+                .nextExecutionAt(order.getNextExecutionAt())
+                .lastExecutedAt(order.getLastExecutedAt())
+                .lastError(order.getLastError())
+                .active(order.getActive())
+                .build();
+    }
+
+    public PayrollDTO toPayrollDTO(Payroll payroll) {
+        int processed = payroll.getPostedLines() + payroll.getRejectedLines();
+        return PayrollDTO.builder()
+                .id(payroll.getId())
+                .accountId(payroll.getAccount().getId())
+                .status(payroll.getStatus())
+                .totalLines(payroll.getTotalLines())
+                .validLines(payroll.getValidLines())
+                .postedLines(payroll.getPostedLines())
+                .rejectedLines(payroll.getRejectedLines())
+                .progress(payroll.getTotalLines() == 0 ? 0 : processed * 100 / payroll.getTotalLines())
+                .totalAmount(payroll.getTotalAmount())
+                .postedAmount(payroll.getPostedAmount())
+                .refundedAmount(payroll.getRefundedAmount())
+                .error(payroll.getError())
+                .createdAt(payroll.getCreatedAt())
+                .completedAt(payroll.getCompletedAt())
+                .build();
+    }
+
+    public PayrollLineDTO toPayrollLineDTO(PayrollLine line) {
+        return PayrollLineDTO.builder()
+                .lineNumber(line.getLineNumber())
+                .iban(line.getIban())
+                .amount(line.getAmount())
+                .description(line.getDescription())
+                .status(line.getStatus())
+                .error(line.getError())
+                .transactionId(line.getTransactionId())
+                .build();
+    }
+}
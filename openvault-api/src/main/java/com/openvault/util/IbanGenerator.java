@@ -2,14 +2,13 @@ package com.openvault.util;
 
 import org.springframework.stereotype.Component;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class IbanGenerator {
 
     private static final String COUNTRY_CODE = "FR";
     private static final String BANK_CODE = "10278"; // Code fictif
-    private static final Random random = new Random();
 
     /**
      * Génère un IBAN français valide
@@ -72,7 +71,9 @@ public class IbanGenerator {
      * Génère une chaîne numérique aléatoire
      */
     private String generateNumericString(int length) {
-        StringBuilder sb = new StringBuilder();
+        // ThreadLocalRandom : pas de graine partagée disputée entre threads
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder(length);
         for (int i = 0; i < length; i++) {
             sb.append(random.nextInt(10));
         }
@@ -93,6 +94,13 @@ public class IbanGenerator {
         return formatted.toString();
     }
 
+    /**
+     * Forme enregistrée d'un IBAN saisi : majuscules, espaces tous les 4 caractères
+     */
+    public String normalizeIban(String iban) {
+        return formatIban(iban.replaceAll("\\s", "").toUpperCase());
+    }
+
     /**
      * Valide un IBAN
      */
@@ -0,0 +1,21 @@
+-- Migration unique d'une base existante (colonnes IDENTITY) vers les séquences "pooled".
+-- À exécuter AVANT le premier démarrage de cette version, application arrêtée : sinon
+-- Hibernate (ddl-auto: update) crée les séquences à 1 et attribue des identifiants existants.
+-- Au démarrage, SequenceMigrationCheck refuse une base encore en IDENTITY ou sans ses séquences.
+
+BEGIN;
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE accounts ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS accounts_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transactions_seq INCREMENT BY 50;
+
+-- Au-delà des identifiants déjà attribués
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM users));
+SELECT setval('accounts_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM accounts));
+SELECT setval('transactions_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM transactions));
+
+COMMIT;
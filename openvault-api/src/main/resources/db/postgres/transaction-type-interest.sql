@@ -0,0 +1,11 @@
+-- Type de mouvement INTEREST (intérêts des comptes épargne) sur une base existante.
+-- Hibernate crée la colonne type avec une contrainte CHECK listant les valeurs de l'enum,
+-- que ddl-auto: update ne modifie pas. À exécuter une fois, avant d'activer openvault.interest.
+
+BEGIN;
+
+ALTER TABLE transactions DROP CONSTRAINT IF EXISTS transactions_type_check;
+ALTER TABLE transactions ADD CONSTRAINT transactions_type_check
+    CHECK (type IN ('TRANSFER', 'DEPOSIT', 'WITHDRAWAL', 'PAYMENT', 'INTEREST'));
+
+COMMIT;
@@ -0,0 +1,59 @@
+-- Conversion de la table transactions en table partitionnée par mois sur "timestamp".
+-- À exécuter une fois, application arrêtée, puis démarrer avec openvault.partitioning.enabled=true :
+-- TransactionPartitionManager crée ensuite chaque nuit les partitions des mois à venir.
+-- Le pilote JDBC n'expose ni index ni clés étrangères d'une table partitionnée : passer
+-- spring.jpa.hibernate.ddl-auto à validate pour que Hibernate ne tente pas de les recréer.
+
+BEGIN;
+
+ALTER TABLE transactions RENAME TO transactions_legacy;
+ALTER TABLE transactions_legacy RENAME CONSTRAINT transactions_pkey TO transactions_legacy_pkey;
+DROP INDEX IF EXISTS idx_transactions_from_account_ts;
+DROP INDEX IF EXISTS idx_transactions_to_account_ts;
+
+CREATE TABLE transactions (LIKE transactions_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE ("timestamp");
+
+-- La clé de partition doit faire partie de la clé primaire ; l'unicité de id reste garantie par transactions_seq
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE transactions ADD PRIMARY KEY (id, "timestamp");
+-- Clés étrangères recopiées de l'ancienne table sous leurs noms actuels (générés par
+-- Hibernate à la création de la base), pour que ddl-auto ne les ajoute pas une seconde fois
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conname, pg_get_constraintdef(oid) AS definition FROM pg_constraint
+        WHERE conrelid = 'transactions_legacy'::regclass AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE transactions ADD CONSTRAINT %I %s', fk.conname, fk.definition);
+    END LOOP;
+END $$;
+
+-- Mêmes noms que les @Index de l'entité Transaction : ddl-auto ne les recrée pas
+CREATE INDEX idx_transactions_from_account_ts ON transactions (from_account_id, "timestamp");
+CREATE INDEX idx_transactions_to_account_ts ON transactions (to_account_id, "timestamp");
+
+-- Une partition par mois couvrant l'historique existant et les trois prochains mois
+DO $$
+DECLARE
+    month_start date := date_trunc('month', COALESCE((SELECT MIN("timestamp") FROM transactions_legacy), now()));
+    last_month date := date_trunc('month', now() + interval '3 months');
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+            'transactions_p' || to_char(month_start, 'YYYY_MM'),
+            month_start,
+            month_start + interval '1 month'
+        );
+        month_start := month_start + interval '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO transactions SELECT * FROM transactions_legacy;
+
+DROP TABLE transactions_legacy;
+
+COMMIT;
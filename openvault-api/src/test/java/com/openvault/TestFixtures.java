@@ -0,0 +1,87 @@
+package com.openvault;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Component;
+
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.PayrollLineRepository;
+import com.openvault.repository.PayrollRepository;
+import com.openvault.repository.StandingOrderRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entités de test partagées, et remise à zéro des tables entre deux tests
+ * (composant détecté dans le contexte de chaque @SpringBootTest)
+ */
+@Component
+@RequiredArgsConstructor
+public class TestFixtures {
+
+    public static final String PASSWORD = "password";
+
+    private final PayrollLineRepository payrollLineRepository;
+    private final PayrollRepository payrollRepository;
+    private final StandingOrderRepository standingOrderRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Vide les utilisateurs, leurs comptes et tout ce qui référence un compte
+     */
+    public void deleteAll() {
+        payrollLineRepository.deleteAllInBatch();
+        payrollRepository.deleteAllInBatch();
+        standingOrderRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Enregistre l'utilisateur "Jean Dupont" sous cet email
+     */
+    public User saveUser(String email) {
+        return userRepository.save(newUser(email));
+    }
+
+    public User saveUser(String firstName, String lastName, String email) {
+        return userRepository.save(newUser(firstName, lastName, email));
+    }
+
+    /**
+     * Utilisateur "Jean Dupont", à enregistrer par le test
+     */
+    public static User newUser(String email) {
+        return newUser("Jean", "Dupont", email);
+    }
+
+    public static User newUser(String firstName, String lastName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        user.setPassword(PASSWORD);
+        return user;
+    }
+
+    /**
+     * Compte courant actif, solde nul, à enregistrer par le test
+     */
+    public static Account newAccount(User user, String iban) {
+        Account account = new Account();
+        account.setIban(iban);
+        account.setBalance(BigDecimal.ZERO);
+        account.setType(AccountType.CHECKING);
+        account.setUser(user);
+        account.setActive(true);
+        return account;
+    }
+}
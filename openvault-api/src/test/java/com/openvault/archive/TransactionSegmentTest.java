@@ -0,0 +1,211 @@
+package com.openvault.archive;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+
+@DisplayName("Tests des segments d'archive")
+class TransactionSegmentTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 3, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Doit relire les transactions d'un compte sur plusieurs blocs")
+    void shouldReadBackAccountTransactions() throws Exception {
+        Path file = directory.resolve("transactions-2023-03.ovseg");
+        int rows = SegmentFormat.BLOCK_ROWS * 2 + 10;
+
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                writer.append(row(i));
+            }
+            writer.finish();
+        }
+
+        TransactionSegment segment = TransactionSegment.open(file);
+        assertThat(segment.getRowCount()).isEqualTo(rows);
+
+        // Le compte 7 n'apparaît qu'une ligne sur 100
+        List<ArchivedTransaction> found = segment.findByAccount(7L,
+                SegmentFormat.toMicros(START), SegmentFormat.toMicros(START.plusMonths(1)));
+        assertThat(found).hasSize((rows + 99) / 100);
+        assertThat(found.get(0)).isEqualTo(row(0));
+        assertThat(found).allMatch(t -> t.getFromAccountId() == 7L);
+    }
+
+    @Test
+    @DisplayName("Doit filtrer par période et conserver les valeurs nulles")
+    void shouldFilterByDateRange() throws Exception {
+        Path file = directory.resolve("transactions-2023-03.ovseg");
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file)) {
+            for (int i = 0; i < 300; i++) {
+                writer.append(row(i));
+            }
+            writer.finish();
+        }
+
+        TransactionSegment segment = TransactionSegment.open(file);
+        LocalDateTime from = START.plusMinutes(150);
+        List<ArchivedTransaction> found = segment.findByAccount(1000L,
+                SegmentFormat.toMicros(from), SegmentFormat.toMicros(START.plusMinutes(200)));
+
+        // Le compte 1000 est crédité par les dépôts (lignes impaires)
+        assertThat(found).hasSize(25);
+        assertThat(found).allMatch(t -> t.getFromAccountId() == null && t.getDescription() == null);
+        assertThat(found.get(0).getTimestamp()).isEqualTo(from.plusMinutes(1).plusNanos(123_000));
+    }
+
+    @Test
+    @DisplayName("Doit ignorer un compte absent et ne pas laisser de fichier si l'écriture échoue")
+    void shouldHandleUnknownAccountAndAbortedWrite() throws Exception {
+        Path file = directory.resolve("transactions-2023-03.ovseg");
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file)) {
+            writer.append(row(0));
+            writer.finish();
+        }
+        assertThat(TransactionSegment.open(file).findByAccount(42L, Long.MIN_VALUE, Long.MAX_VALUE)).isEmpty();
+
+        Path aborted = directory.resolve("transactions-2023-04.ovseg");
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(aborted)) {
+            writer.append(row(1));
+        }
+        assertThat(aborted).doesNotExist();
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Doit échouer sans boucler sur un bloc tronqué")
+    void shouldFailOnTruncatedBlock() throws Exception {
+        Path file = directory.resolve("transactions-2023-03.ovseg");
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file)) {
+            for (int i = 0; i < 300; i++) {
+                writer.append(row(i));
+            }
+            writer.finish();
+        }
+        // Taille compressée du premier bloc divisée par deux : le flux Deflate s'arrête avant la fin
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer footer = ByteBuffer.allocate(SegmentFormat.FOOTER_BYTES);
+            channel.read(footer, channel.size() - SegmentFormat.FOOTER_BYTES);
+            long blockDirOffset = footer.getLong(Long.BYTES);
+            ByteBuffer compressed = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(compressed, blockDirOffset + Long.BYTES);
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, compressed.getInt(0) / 2),
+                    blockDirOffset + Long.BYTES);
+        }
+
+        TransactionSegment segment = TransactionSegment.open(file);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThatThrownBy(() -> segment.findByAccount(7L, Long.MIN_VALUE, Long.MAX_VALUE))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("tronqué"));
+    }
+
+    @Test
+    @DisplayName("Doit parcourir les lignes COMPLETED d'une plage de comptes sans décoder le texte")
+    void shouldScanCompletedPostingsByAccountRange() throws Exception {
+        Path file = directory.resolve("transactions-2023-03.ovseg");
+        int rows = SegmentFormat.BLOCK_ROWS + 500;
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                ArchivedTransaction row = row(i);
+                if (i == 2) {
+                    // Un virement échoué n'entre pas dans le net
+                    row = new ArchivedTransaction(row.getId(), row.getTimestamp(), row.getFromAccountId(),
+                            row.getFromIban(), row.getToAccountId(), row.getToIban(), row.getAmount(),
+                            row.getType(), TransactionStatus.FAILED, row.getDescription(), row.getReference());
+                }
+                writer.append(row);
+            }
+            writer.finish();
+        }
+        TransactionSegment segment = TransactionSegment.open(file);
+
+        // Comptes émetteurs 100 à 109 : lignes paires dont i % 50 < 10, hors multiples de 100
+        long[] net = new long[1];
+        long expected = 0;
+        long visited = segment.scanCompleted(100, 109, (from, to, amount) -> net[0] -= amount);
+        long count = 0;
+        for (int i = 0; i < rows; i++) {
+            if (i % 2 == 0 && i % 100 != 0 && i % 50 < 10 && i != 2) {
+                expected -= SegmentFormat.toUnscaled(row(i).getAmount());
+                count++;
+            }
+        }
+        assertThat(visited).isEqualTo(count);
+        assertThat(net[0]).isEqualTo(expected);
+
+        // Les dépôts n'ont pas d'émetteur (0) : seule la plage du destinataire les retient
+        assertThat(segment.scanCompleted(1000, 1000, (from, to, amount) -> assertThat(from).isZero()))
+                .isEqualTo(rows / 2);
+        assertThat(segment.scanCompleted(3000, 4000, (from, to, amount) -> { })).isZero();
+    }
+
+    @Test
+    @DisplayName("Doit indexer un compte distinct par ligne sur plusieurs blocs")
+    void shouldIndexManyDistinctAccounts() throws Exception {
+        Path file = directory.resolve("transactions-2023-03.ovseg");
+        int rows = SegmentFormat.BLOCK_ROWS * 3 + 7;
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                ArchivedTransaction row = row(i);
+                // Émetteur propre à la ligne, destinataire présent dans tous les blocs
+                writer.append(new ArchivedTransaction(row.getId(), row.getTimestamp(), 10_000L + i,
+                        "FR76" + i, 2000L, "FR762000", row.getAmount(), TransactionType.TRANSFER,
+                        TransactionStatus.COMPLETED, null, row.getReference()));
+            }
+            writer.finish();
+        }
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(file);
+        }
+
+        TransactionSegment segment = TransactionSegment.open(file);
+        for (int i : new int[] { 0, SegmentFormat.BLOCK_ROWS - 1, SegmentFormat.BLOCK_ROWS, rows - 1 }) {
+            assertThat(segment.findByAccount(10_000L + i, Long.MIN_VALUE, Long.MAX_VALUE))
+                    .extracting(ArchivedTransaction::getId)
+                    .containsExactly((long) i + 1);
+        }
+        assertThat(segment.findByAccount(2000L, Long.MIN_VALUE, Long.MAX_VALUE)).hasSize(rows);
+        assertThat(segment.scanCompleted(10_000, 10_000 + rows - 1, (from, to, amount) -> { })).isEqualTo(rows);
+    }
+
+    private static ArchivedTransaction row(int i) {
+        boolean deposit = i % 2 == 1;
+        long from = i % 100 == 0 ? 7L : 100L + i % 50;
+        return new ArchivedTransaction(
+                (long) i + 1,
+                START.plusMinutes(i).plusNanos(123_000),
+                deposit ? null : from,
+                deposit ? null : "FR76" + from,
+                deposit ? 1000L : 2000L,
+                deposit ? "FR761000" : "FR762000",
+                new BigDecimal("12.5000").add(BigDecimal.valueOf(i)),
+                deposit ? TransactionType.DEPOSIT : TransactionType.TRANSFER,
+                TransactionStatus.COMPLETED,
+                deposit ? null : "Virement n°" + i,
+                "REF-" + i
+        );
+    }
+}
@@ -0,0 +1,263 @@
+package com.openvault.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static com.openvault.TestFixtures.newAccount;
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.service.TransferService;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("API binaire protobuf")
+class BinaryApiTest {
+
+    private static final String EMAIL = "jean.dupont@test.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Account source;
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        User user = fixtures.saveUser(EMAIL);
+
+        source = accountRepository.save(newAccount(user, "FR76 1111 1111 1111 1111 1111 111"));
+        destination = accountRepository.save(newAccount(user, "FR76 2222 2222 2222 2222 2222 222"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit diffuser l'historique en messages délimités, du plus ancien au plus récent")
+    void shouldStreamHistory() throws Exception {
+        transferService.deposit(source.getId(), new BigDecimal("500.00"), "Dépôt");
+        for (int i = 0; i < 20; i++) {
+            transferService.transfer(source.getId(), destination.getIban(), new BigDecimal("12.34"), "Loyer " + i);
+        }
+
+        byte[] body = mockMvc.perform(get("/binary/transactions/account/{id}", source.getId()).with(user(EMAIL)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TransactionProtoCodec.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<DecodedTransaction> rows = decodeTransactions(body);
+        assertThat(rows).hasSize(21);
+        assertThat(rows.getFirst().type()).isEqualTo(TransactionType.DEPOSIT.ordinal() + 1);
+        assertThat(rows.getFirst().amountCents()).isEqualTo(50_000);
+        assertThat(rows.getFirst().fromIban()).isNull();
+        assertThat(rows).extracting(DecodedTransaction::id).isSorted();
+        assertThat(rows).extracting(DecodedTransaction::timestampMicros).isSorted();
+
+        DecodedTransaction last = rows.getLast();
+        assertThat(last.fromIban()).isEqualTo(source.getIban());
+        assertThat(last.toIban()).isEqualTo(destination.getIban());
+        assertThat(last.amountCents()).isEqualTo(1234);
+        assertThat(last.description()).isEqualTo("Loyer 19");
+        assertThat(last.status()).isEqualTo(TransactionStatus.COMPLETED.ordinal() + 1);
+        assertThat(last.reference()).startsWith("TXN-");
+
+        // Même contenu en JSON : le format binaire doit être nettement plus compact
+        byte[] json = mockMvc.perform(get("/transactions/account/{id}", source.getId())
+                        .param("size", "21").with(user(EMAIL)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(body.length * 2).isLessThan(json.length);
+    }
+
+    @Test
+    @DisplayName("Doit diffuser un historique de plusieurs lots sans perte ni doublon à horodatage égal")
+    void shouldStreamHistoryAcrossBatches() throws Exception {
+        // Même horodatage pour toutes les lignes : la reprise entre lots se fait sur l'id
+        LocalDateTime timestamp = LocalDateTime.of(2025, 6, 1, 12, 0);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setToAccount(source);
+            transaction.setAmount(new BigDecimal("1.00"));
+            transaction.setType(TransactionType.DEPOSIT);
+            transaction.setStatus(TransactionStatus.COMPLETED);
+            transaction.setTimestamp(timestamp);
+            transaction.setReference("BATCH-" + i);
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+
+        byte[] body = mockMvc.perform(get("/binary/transactions/account/{id}", source.getId()).with(user(EMAIL)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<DecodedTransaction> rows = decodeTransactions(body);
+        assertThat(rows).hasSize(2_500);
+        assertThat(rows).extracting(DecodedTransaction::id).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Doit exécuter un lot de virements et rendre un résultat par virement")
+    void shouldExecuteTransferBatch() throws Exception {
+        transferService.deposit(source.getId(), new BigDecimal("100.00"), "Dépôt");
+
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        writeTransfer(batch, source.getId(), destination.getIban(), 4_000, "Accepté");
+        writeTransfer(batch, source.getId(), destination.getIban(), 999_999, "Refusé");
+        writeTransfer(batch, source.getId(), null, 100, "Sans destinataire");
+
+        byte[] body = mockMvc.perform(post("/binary/transfers/batch").with(user(EMAIL))
+                        .contentType(TransactionProtoCodec.MEDIA_TYPE)
+                        .content(batch.toByteArray()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<DecodedResult> results = decodeResults(body);
+        assertThat(results).extracting(DecodedResult::index).containsExactly(0L, 1L, 2L);
+        assertThat(results.get(0).error()).isNull();
+        assertThat(results.get(0).transaction().amountCents()).isEqualTo(4_000);
+        assertThat(results.get(0).transaction().toIban()).isEqualTo(destination.getIban());
+        assertThat(results.get(1).transaction()).isNull();
+        assertThat(results.get(1).error()).contains("Solde insuffisant");
+        assertThat(results.get(2).error()).contains("L'IBAN du destinataire est obligatoire");
+
+        assertThat(accountRepository.findById(destination.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    @DisplayName("Doit refuser un flux malformé sans exécuter aucun virement")
+    void shouldRejectMalformedBatch() throws Exception {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        writeTransfer(batch, source.getId(), destination.getIban(), 100, "Tronqué");
+        byte[] truncated = java.util.Arrays.copyOf(batch.toByteArray(), batch.size() - 3);
+
+        mockMvc.perform(post("/binary/transfers/batch").with(user(EMAIL))
+                        .contentType(TransactionProtoCodec.MEDIA_TYPE)
+                        .content(truncated))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("Flux protobuf invalide")));
+
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    private static void writeTransfer(ByteArrayOutputStream out, Long fromAccountId, String toIban,
+                                      long amountCents, String description) throws IOException {
+        ProtoWriter writer = new ProtoWriter();
+        writer.writeInt64(1, fromAccountId);
+        writer.writeString(2, toIban);
+        writer.writeSInt64(3, amountCents);
+        writer.writeString(4, description);
+        writer.writeDelimitedTo(out);
+    }
+
+    private static List<DecodedTransaction> decodeTransactions(byte[] body) throws IOException {
+        List<DecodedTransaction> rows = new ArrayList<>();
+        InputStream in = new ByteArrayInputStream(body);
+        for (ProtoReader reader = ProtoReader.readDelimited(in, 4096); reader != null;
+             reader = ProtoReader.readDelimited(in, 4096)) {
+            rows.add(decodeTransaction(reader));
+        }
+        return rows;
+    }
+
+    private static List<DecodedResult> decodeResults(byte[] body) throws IOException {
+        List<DecodedResult> results = new ArrayList<>();
+        InputStream in = new ByteArrayInputStream(body);
+        for (ProtoReader reader = ProtoReader.readDelimited(in, 4096); reader != null;
+             reader = ProtoReader.readDelimited(in, 4096)) {
+            long index = 0;
+            DecodedTransaction transaction = null;
+            String error = null;
+            for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+                switch (field) {
+                    case 1 -> index = reader.readInt64();
+                    case 2 -> transaction = decodeTransaction(reader.readMessage());
+                    case 3 -> error = reader.readString();
+                    default -> reader.skip();
+                }
+            }
+            results.add(new DecodedResult(index, transaction, error));
+        }
+        return results;
+    }
+
+    private static DecodedTransaction decodeTransaction(ProtoReader reader) throws IOException {
+        long id = 0, amountCents = 0, timestampMicros = 0, type = 0, status = 0;
+        String fromIban = null, toIban = null, description = null, reference = null;
+        for (int field = reader.nextField(); field != 0; field = reader.nextField()) {
+            switch (field) {
+                case 1 -> id = reader.readInt64();
+                case 2 -> fromIban = reader.readString();
+                case 3 -> toIban = reader.readString();
+                case 4 -> amountCents = reader.readSInt64();
+                case 5 -> type = reader.readInt64();
+                case 6 -> description = reader.readString();
+                case 7 -> timestampMicros = reader.readInt64();
+                case 8 -> status = reader.readInt64();
+                case 9 -> reference = reader.readString();
+                default -> reader.skip();
+            }
+        }
+        return new DecodedTransaction(id, fromIban, toIban, amountCents, type, description, timestampMicros,
+                status, reference);
+    }
+
+    private record DecodedTransaction(long id, String fromIban, String toIban, long amountCents, long type,
+                                      String description, long timestampMicros, long status, String reference) {
+    }
+
+    private record DecodedResult(long index, DecodedTransaction transaction, String error) {
+    }
+}
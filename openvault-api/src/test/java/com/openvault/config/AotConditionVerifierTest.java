@@ -0,0 +1,37 @@
+package com.openvault.config;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+@DisplayName("Conditions du contexte AOT")
+class AotConditionVerifierTest {
+
+    @Test
+    @DisplayName("Doit enregistrer toutes les conditions, y compris celles inactives au build")
+    void shouldRecordActiveAndInactiveConditions() {
+        Properties recorded = AotConditionRecorder.capture(new MockEnvironment());
+
+        assertThat(recorded.getProperty("openvault.archive.enabled")).isEqualTo("true,false,false");
+        assertThat(recorded.getProperty("openvault.outbox.enabled")).isEqualTo("true,true,true");
+        assertThat(recorded).containsKeys("openvault.datasource.routing.enabled", "openvault.partitioning.enabled");
+    }
+
+    @Test
+    @DisplayName("Doit signaler une condition contredite par la configuration d'exécution")
+    void shouldReportContradictedConditions() {
+        Properties recorded = AotConditionRecorder.capture(new MockEnvironment());
+
+        assertThat(AotConditionVerifier.mismatches(recorded, new MockEnvironment())).isEmpty();
+        assertThat(AotConditionVerifier.mismatches(recorded, new MockEnvironment()
+                .withProperty("openvault.archive.enabled", "TRUE")
+                .withProperty("openvault.outbox.enabled", "false")
+                .withProperty("openvault.interest.enabled", "true")))
+                .containsExactly(
+                        "openvault.archive.enabled inactif au build, actif à l'exécution",
+                        "openvault.outbox.enabled actif au build, inactif à l'exécution");
+    }
+}
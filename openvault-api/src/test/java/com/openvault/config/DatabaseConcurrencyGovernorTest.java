@@ -0,0 +1,51 @@
+package com.openvault.config;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+@DisplayName("Tests du gouverneur d'accès à la base")
+class DatabaseConcurrencyGovernorTest {
+
+    private DatabaseConcurrencyGovernor governor;
+    private GovernedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:governor;DB_CLOSE_DELAY=-1");
+        governor = new DatabaseConcurrencyGovernor(2, Duration.ofMillis(50));
+        dataSource = new GovernedDataSource(h2, governor);
+    }
+
+    @Test
+    @DisplayName("Doit prendre un permis par connexion et le rendre à la fermeture")
+    void shouldReleasePermitOnClose() throws Exception {
+        Connection connection = dataSource.getConnection();
+        assertThat(governor.getAvailablePermits()).isEqualTo(1);
+        assertThat(connection).isInstanceOf(ConnectionProxy.class);
+
+        connection.close();
+        connection.close();
+        assertThat(governor.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Doit échouer quand tous les permis sont pris au-delà du délai")
+    void shouldTimeOutWhenSaturated() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThatThrownBy(dataSource::getConnection)
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessageContaining("saturée");
+        }
+        assertThat(governor.getAvailablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,76 @@
+package com.openvault.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.openvault.service.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+
+@DisplayName("Tests du ReplicaRoutingDataSource")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String EMAIL = "jean.dupont@test.com";
+
+    private ReadYourWritesTracker tracker;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+        // Pools jamais démarrés : seule la clé de routage est testée
+        List<HikariDataSource> replicas = List.of(new HikariDataSource(), new HikariDataSource());
+        routingDataSource = new ReplicaRoutingDataSource(new DriverManagerDataSource(), replicas, tracker);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, new ArrayList<>())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit répartir les lectures entre les réplicas")
+    void shouldRoundRobinAcrossReplicas() {
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+    @Test
+    @DisplayName("Doit lire sur la primaire juste après une écriture de l'utilisateur")
+    void shouldStickToPrimaryAfterOwnWrite() {
+        tracker.markWrite(EMAIL);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Ne doit pas rendre collants les autres utilisateurs")
+    void shouldNotStickOtherUsers() {
+        tracker.markWrite("marie.martin@test.com");
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+    @Test
+    @DisplayName("Doit revenir aux réplicas une fois la fenêtre expirée")
+    void shouldReturnToReplicasAfterWindow() {
+        ReadYourWritesTracker expired = new ReadYourWritesTracker(Duration.ZERO);
+        expired.markWrite(EMAIL);
+
+        assertThat(expired.isSticky(EMAIL)).isFalse();
+    }
+}
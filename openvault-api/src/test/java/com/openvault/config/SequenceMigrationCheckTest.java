@@ -0,0 +1,55 @@
+package com.openvault.config;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DisplayName("Vérification de la migration vers les séquences")
+class SequenceMigrationCheckTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sequences;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Doit accepter une base vierge")
+    void shouldAcceptEmptyDatabase() {
+        assertThatCode(() -> SequenceMigrationCheck.verify(jdbcTemplate)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Doit refuser de démarrer tant qu'une table est en IDENTITY")
+    void shouldRejectIdentityColumns() {
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY)");
+
+        assertThatThrownBy(() -> SequenceMigrationCheck.verify(jdbcTemplate))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("[users]")
+                .hasMessageContaining(SequenceMigrationCheck.MIGRATION_SCRIPT);
+    }
+
+    @Test
+    @DisplayName("Doit refuser une table existante sans sa séquence, accepter une base migrée")
+    void shouldRequireSequencesOfExistingTables() {
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE accounts (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE SEQUENCE users_seq INCREMENT BY 50");
+
+        assertThatThrownBy(() -> SequenceMigrationCheck.verify(jdbcTemplate))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("[accounts_seq]");
+
+        jdbcTemplate.execute("CREATE SEQUENCE accounts_seq INCREMENT BY 50");
+        assertThatCode(() -> SequenceMigrationCheck.verify(jdbcTemplate)).doesNotThrowAnyException();
+    }
+}
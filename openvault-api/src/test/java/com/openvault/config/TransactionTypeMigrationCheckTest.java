@@ -0,0 +1,53 @@
+package com.openvault.config;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DisplayName("Vérification de la contrainte des types de mouvement")
+class TransactionTypeMigrationCheckTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:transaction-types;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Doit accepter une base vierge")
+    void shouldAcceptEmptyDatabase() {
+        assertThatCode(() -> TransactionTypeMigrationCheck.verify(jdbcTemplate)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Doit refuser une contrainte sans INTEREST, accepter une base migrée")
+    void shouldRequireInterestInTypeConstraint() {
+        jdbcTemplate.execute("""
+                CREATE TABLE transactions (
+                    id BIGINT PRIMARY KEY,
+                    type VARCHAR(255) NOT NULL CONSTRAINT transactions_type_check
+                        CHECK (type IN ('TRANSFER', 'DEPOSIT', 'WITHDRAWAL', 'PAYMENT'))
+                )
+                """);
+
+        assertThatThrownBy(() -> TransactionTypeMigrationCheck.verify(jdbcTemplate))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("[INTEREST]")
+                .hasMessageContaining(TransactionTypeMigrationCheck.MIGRATION_SCRIPT);
+
+        jdbcTemplate.execute("ALTER TABLE transactions DROP CONSTRAINT transactions_type_check");
+        jdbcTemplate.execute("""
+                ALTER TABLE transactions ADD CONSTRAINT transactions_type_check
+                    CHECK (type IN ('TRANSFER', 'DEPOSIT', 'WITHDRAWAL', 'PAYMENT', 'INTEREST'))
+                """);
+        assertThatCode(() -> TransactionTypeMigrationCheck.verify(jdbcTemplate)).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,133 @@
+package com.openvault.contention;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.service.TransferService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        // 0,05 virement/s sur une fenêtre d'une minute : alerte au 3e virement
+        "openvault.hot-accounts.alert-transfer-rate=0.05",
+        "openvault.operators.emails=ops@openvault.test"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Comptes chauds")
+class HotAccountsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private User user;
+    private User operator;
+    private Account merchant;
+    private final List<Account> customers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        user = fixtures.saveUser("jean.dupont@test.com");
+        operator = fixtures.saveUser("Claire", "Martin", "ops@openvault.test");
+
+        merchant = accountRepository.save(newAccount("FR76 9000 0000 0000 0000 0000 000", BigDecimal.ZERO));
+        for (int i = 1; i <= 3; i++) {
+            customers.add(accountRepository.save(
+                    newAccount("FR76 1000 0000 0000 0000 0000 00" + i, new BigDecimal("100.00"))));
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit placer le compte marchand en tête et lever une alerte")
+    void shouldRankMerchantFirstAndAlert() throws Exception {
+        for (Account customer : customers) {
+            transferService.transfer(customer.getId(), merchant.getIban(), new BigDecimal("10.00"), "Achat");
+            transferService.transfer(customer.getId(), merchant.getIban(), new BigDecimal("5.00"), "Achat");
+        }
+
+        mockMvc.perform(get("/actuator/hotaccounts")
+                        .with(user(userDetailsService.loadUserByUsername(operator.getEmail()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byTransferRate[0].accountId").value(merchant.getId()))
+                .andExpect(jsonPath("$.byTransferRate.length()").value(4))
+                .andExpect(jsonPath("$.byLockWait[0].accountId").isNumber())
+                .andExpect(jsonPath("$.transferRateAlerts").value(1));
+
+        assertThat(meterRegistry.get("openvault.hot.account.alerts").tag("kind", "transfer-rate")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("openvault.hot.account.top").tag("kind", "transfer-rate")
+                .gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Doit réserver le classement aux opérateurs")
+    void shouldRequireOperatorRole() throws Exception {
+        SecurityContextHolder.clearContext();
+        mockMvc.perform(get("/actuator/hotaccounts"))
+                .andExpect(status().isForbidden());
+        // Client authentifié : les comptes des autres clients ne le regardent pas
+        mockMvc.perform(get("/actuator/hotaccounts")
+                        .with(user(userDetailsService.loadUserByUsername(user.getEmail()))))
+                .andExpect(status().isForbidden());
+    }
+
+    private Account newAccount(String iban, BigDecimal balance) {
+        Account account = new Account();
+        account.setIban(iban);
+        account.setBalance(balance);
+        account.setType(AccountType.CHECKING);
+        account.setUser(user);
+        account.setActive(true);
+        return account;
+    }
+}
@@ -0,0 +1,87 @@
+package com.openvault.contention;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Top-K Space-Saving")
+class SpaceSavingSketchTest {
+
+    @Test
+    @DisplayName("Doit compter exactement tant que les clés tiennent dans le sketch")
+    void shouldCountExactlyBelowCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(8);
+        for (long key = 1; key <= 5; key++) {
+            for (int i = 0; i < key * 10; i++) {
+                sketch.offer(key, 1);
+            }
+        }
+
+        List<SpaceSavingSketch.Counter> top = sketch.top(3);
+        assertThat(top).extracting(SpaceSavingSketch.Counter::key).containsExactly(5L, 4L, 3L);
+        assertThat(top).extracting(SpaceSavingSketch.Counter::count).containsExactly(50L, 40L, 30L);
+        assertThat(top).allSatisfy(counter -> assertThat(counter.error()).isZero());
+    }
+
+    @Test
+    @DisplayName("Doit retrouver les comptes dominants d'un flux très dispersé")
+    void shouldFindHeavyHittersInSkewedStream() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(32);
+        Map<Long, Long> exact = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+        int total = 100_000;
+        for (int i = 0; i < total; i++) {
+            // 3 comptes marchands reçoivent 30 % du flux, le reste se disperse sur 50 000 comptes
+            long key = random.nextInt(10) < 3 ? 1 + random.nextInt(3) : 1_000 + random.nextInt(50_000);
+            sketch.offer(key, 1);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        List<SpaceSavingSketch.Counter> top = sketch.top(3);
+        assertThat(top).extracting(SpaceSavingSketch.Counter::key).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(top).allSatisfy(counter -> {
+            long real = exact.get(counter.key());
+            assertThat(counter.count()).isGreaterThanOrEqualTo(real);
+            assertThat(counter.count() - counter.error()).isLessThanOrEqualTo(real);
+            assertThat(counter.error()).isLessThanOrEqualTo(total / sketch.capacity());
+        });
+    }
+
+    @Test
+    @DisplayName("Doit conserver le poids total sous mises à jour concurrentes")
+    void shouldPreserveTotalWeightUnderConcurrency() throws Exception {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(16);
+        int threads = 8;
+        int perThread = 50_000;
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        sketch.offer(random.nextBoolean() ? 42 : 100 + random.nextInt(1_000), 2);
+                    }
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        List<SpaceSavingSketch.Counter> counters = sketch.top(sketch.capacity());
+        assertThat(counters).hasSize(16);
+        assertThat(counters.stream().mapToLong(SpaceSavingSketch.Counter::count).sum())
+                .isEqualTo(2L * threads * perThread);
+        assertThat(counters).extracting(SpaceSavingSketch.Counter::key).doesNotHaveDuplicates();
+        assertThat(counters.getFirst().key()).isEqualTo(42L);
+    }
+}
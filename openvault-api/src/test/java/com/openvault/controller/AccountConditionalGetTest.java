@@ -0,0 +1,150 @@
+package com.openvault.controller;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static com.openvault.TestFixtures.newAccount;
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.service.TransferService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("ETags et GET conditionnels des comptes")
+class AccountConditionalGetTest {
+
+    private static final String EMAIL = "jean.dupont@test.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Account checking;
+    private Account savings;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        User user = fixtures.saveUser(EMAIL);
+
+        checking = accountRepository.save(newAccount(user, "FR76 1111 1111 1111 1111 1111 111"));
+        savings = accountRepository.save(newAccount(user, "FR76 2222 2222 2222 2222 2222 222"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit répondre 304 sans charger d'entité tant que les comptes n'ont pas changé")
+    void shouldAnswerNotModifiedWithoutLoadingEntities() throws Exception {
+        String etag = fetchETag("/accounts");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long entityLoads = statistics.getEntityLoadCount();
+        long queries = statistics.getQueryExecutionCount();
+
+        mockMvc.perform(get("/accounts").with(user(EMAIL)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(entityLoads);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(queries + 1);
+    }
+
+    @Test
+    @DisplayName("Doit changer d'ETag après un mouvement, une création ou une désactivation")
+    void shouldChangeETagOnEveryWrite() throws Exception {
+        String initial = fetchETag("/accounts");
+        String initialTotal = fetchETag("/accounts/total-balance");
+
+        deposit(checking, "25.00");
+        String afterDeposit = fetchETag("/accounts");
+        assertThat(afterDeposit).isNotEqualTo(initial);
+        assertThat(fetchETag("/accounts/total-balance")).isNotEqualTo(initialTotal);
+
+        mockMvc.perform(get("/accounts").with(user(EMAIL)).header(HttpHeaders.IF_NONE_MATCH, initial))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, afterDeposit));
+
+        mockMvc.perform(delete("/accounts/{id}", savings.getId()).with(user(EMAIL)))
+                .andExpect(status().isOk());
+        assertThat(fetchETag("/accounts")).isNotEqualTo(afterDeposit);
+    }
+
+    @Test
+    @DisplayName("Doit revalider un compte par sa version, et jamais celui d'un autre utilisateur")
+    void shouldRevalidateSingleAccount() throws Exception {
+        String path = "/accounts/" + checking.getId();
+        String etag = fetchETag(path);
+
+        mockMvc.perform(get(path).with(user(EMAIL)).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified());
+
+        deposit(checking, "10.00");
+        mockMvc.perform(get(path).with(user(EMAIL)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+
+        mockMvc.perform(get(path).with(user("autre@test.com")).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * MockMvc partage le thread du test et vide le contexte de sécurité après chaque requête
+     */
+    private void deposit(Account account, String amount) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, new ArrayList<>()));
+        transferService.deposit(account.getId(), new BigDecimal(amount), "Dépôt");
+    }
+
+    private String fetchETag(String path) throws Exception {
+        String etag = mockMvc.perform(get(path).with(user(EMAIL)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+        return etag;
+    }
+}
@@ -0,0 +1,109 @@
+package com.openvault.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static com.openvault.TestFixtures.newAccount;
+import com.openvault.TestFixtures;
+import com.openvault.archive.TransactionArchive;
+import com.openvault.entity.Account;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.TransactionRepository;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Historique limité à la fenêtre chaude")
+class TransactionHistoryWindowTest {
+
+    private static final String EMAIL = "jean.dupont@test.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        User user = fixtures.saveUser(EMAIL);
+
+        LocalDateTime hotWindowStart = transactionArchive.getHotWindowStart();
+        Account opened = newAccount(user, "FR76 1111 1111 1111 1111 1111 111");
+        opened.setCreatedAt(hotWindowStart.minusYears(1));
+        account = accountRepository.save(opened);
+        // Un dépôt avant la fenêtre chaude (archivable), un dépôt dedans
+        transactionRepository.saveAll(List.of(
+                deposit("DEP-OLD", hotWindowStart.minusMonths(2)),
+                deposit("DEP-LIVE", LocalDateTime.now().minusDays(1))));
+    }
+
+    @Test
+    @DisplayName("Doit limiter l'historique paginé, récent et par type à la fenêtre chaude, et le signaler")
+    void shouldLimitLiveReadsToHotWindow() throws Exception {
+        String hotWindowStart = transactionArchive.getHotWindowStart().toString();
+
+        mockMvc.perform(get("/transactions/account/{accountId}", account.getId()).with(user(EMAIL)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-History-Start", hotWindowStart))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].reference").value("DEP-LIVE"));
+        mockMvc.perform(get("/transactions/account/{accountId}/recent", account.getId()).with(user(EMAIL)))
+                .andExpect(header().string("X-History-Start", hotWindowStart))
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/transactions/account/{accountId}/type/{type}", account.getId(), TransactionType.DEPOSIT)
+                        .with(user(EMAIL)))
+                .andExpect(header().string("X-History-Start", hotWindowStart))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        // L'historique antérieur reste consultable par période
+        mockMvc.perform(get("/transactions/account/{accountId}/date-range", account.getId())
+                        .param("start", account.getCreatedAt().toString())
+                        .param("end", LocalDateTime.now().toString())
+                        .with(user(EMAIL)))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    private Transaction deposit(String reference, LocalDateTime timestamp) {
+        Transaction transaction = new Transaction();
+        transaction.setToAccount(account);
+        transaction.setAmount(new BigDecimal("10.00"));
+        transaction.setType(TransactionType.DEPOSIT);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setTimestamp(timestamp);
+        transaction.setReference(reference);
+        return transaction;
+    }
+}
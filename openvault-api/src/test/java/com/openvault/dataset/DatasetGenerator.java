@@ -0,0 +1,444 @@
+package com.openvault.dataset;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.openvault.entity.AccountType;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.util.IbanGenerator;
+
+/**
+ * Génère un jeu de données volumineux et réaliste : N utilisateurs, M comptes, K transactions.
+ *
+ * - popularité des comptes en loi de Zipf : quelques comptes concentrent l'essentiel du trafic ;
+ * - horodatages saisonniers (voir {@link SeasonalCalendar}) sur plusieurs années ;
+ * - montants log-normaux, 1 % de transactions en échec ;
+ * - IBAN valides (IbanGenerator), un dépôt d'ouverture par compte.
+ *
+ * La génération est déterministe pour une graine donnée et se fait en deux passes :
+ * la première calcule le solde net de chaque compte, ce qui fixe un dépôt d'ouverture
+ * suffisant pour qu'aucun solde final ne soit négatif ; la seconde écrit les lignes,
+ * en COPY sur PostgreSQL et en batchs JDBC sur les autres bases. Les transactions sont
+ * découpées en tranches de graines indépendantes, écrites en parallèle ; sur PostgreSQL,
+ * leurs index secondaires et clés étrangères sont recréés après le chargement.
+ *
+ * Les identifiants sont réservés sur les séquences Hibernate avant l'écriture ; sur
+ * PostgreSQL, la suspension des index rend toutefois le chargement à réserver à une base
+ * sans trafic applicatif.
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.openvault.dataset.DatasetGenerator
+ *     -Ddataset.url=jdbc:postgresql://localhost:5432/openvault
+ *     -Ddataset.users=1000000 -Ddataset.accounts=2500000 -Ddataset.transactions=50000000
+ */
+public class DatasetGenerator {
+
+    static final String PASSWORD = "Dataset-Password-1";
+
+    private static final int CHUNKS = 64;
+    private static final double FAILURE_RATE = 0.01;
+    private static final String[] FIRST_NAMES = {
+            "Camille", "Louis", "Léa", "Gabriel", "Emma", "Jules", "Chloé", "Hugo", "Inès", "Arthur",
+            "Manon", "Lucas", "Jade", "Nathan", "Sarah", "Paul", "Alice", "Adam", "Lina", "Tom"
+    };
+    private static final String[] LAST_NAMES = {
+            "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand", "Leroy", "Moreau",
+            "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "David", "Bertrand", "Roux", "Vincent", "Fournier"
+    };
+
+    private final DataSource dataSource;
+    private final DatasetSettings settings;
+    private final ZipfSampler zipf;
+    private final SeasonalCalendar calendar;
+    private final LocalDateTime windowStart;
+    private final long stride;
+
+    public DatasetGenerator(DataSource dataSource, DatasetSettings settings) {
+        if (settings.users() < 1 || settings.accounts() < 2 || settings.transactions() < 0) {
+            throw new IllegalArgumentException("Il faut au moins un utilisateur et deux comptes");
+        }
+        this.dataSource = dataSource;
+        this.settings = settings;
+        this.zipf = new ZipfSampler(settings.accounts(), settings.zipfExponent());
+
+        LocalDate lastDay = LocalDate.now().minusDays(1);
+        LocalDate firstDay = lastDay.minusYears(settings.years()).plusDays(1);
+        this.calendar = new SeasonalCalendar(firstDay, lastDay);
+        this.windowStart = firstDay.atStartOfDay();
+        this.stride = coprimeStride(settings.accounts());
+    }
+
+    public static void main(String[] args) throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("dataset.url", "jdbc:postgresql://localhost:5432/openvault"),
+                System.getProperty("dataset.username", "postgres"),
+                System.getProperty("dataset.password", "postgres"));
+        Result result = new DatasetGenerator(dataSource, DatasetSettings.fromSystemProperties()).run();
+        System.out.printf("[dataset] %d utilisateurs, %d comptes, %d transactions en %d ms (%.0f lignes/s)%n",
+                result.users(), result.accounts(), result.transactions(), result.millis(),
+                result.rowsPerSecond());
+    }
+
+    public Result run() throws Exception {
+        long start = System.nanoTime();
+        long userBase = reserveIds("users", settings.users());
+        long accountBase = reserveIds("accounts", settings.accounts());
+        long transactionBase = reserveIds("transactions", settings.accounts() + settings.transactions());
+
+        // Passe 1 : solde net de chaque compte, en centimes
+        long[] net = computeNetBalances();
+
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        long[] openingCents = new long[settings.accounts()];
+        long[] createdAt = new long[settings.accounts()];
+        for (int i = 0; i < settings.accounts(); i++) {
+            openingCents[i] = Math.max(0, -net[i]) + logNormalCents(random, 50_000, 1.0);
+            createdAt[i] = windowStart.minusDays(1 + random.nextInt(365))
+                    .plusSeconds(random.nextInt(86_400)).toEpochSecond(ZoneOffset.UTC);
+        }
+
+        // Passe 2 : écriture, dans l'ordre des clés étrangères
+        writeUsers(userBase, random);
+        writeAccounts(accountBase, userBase, openingCents, net, createdAt);
+        List<String> restore = suspendTransactionIndexes();
+        try {
+            writeOpeningDeposits(transactionBase, accountBase, openingCents, createdAt);
+            writeTransactions(transactionBase + settings.accounts(), accountBase);
+        } finally {
+            restoreTransactionIndexes(restore);
+        }
+
+        analyze();
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        return new Result(settings.users(), settings.accounts(), settings.accounts() + settings.transactions(), millis);
+    }
+
+    private long[] computeNetBalances() throws Exception {
+        List<long[]> partials = new ArrayList<>();
+        AtomicInteger nextChunk = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(settings.threads())) {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < settings.threads(); t++) {
+                futures.add(executor.submit(() -> {
+                    long[] partial = new long[settings.accounts()];
+                    for (int chunk; (chunk = nextChunk.getAndIncrement()) < CHUNKS; ) {
+                        generateChunk(chunk, (index, type, from, to, cents, status, timestamp) -> {
+                            if (status == TransactionStatus.COMPLETED) {
+                                if (from >= 0) {
+                                    partial[from] -= cents;
+                                }
+                                if (to >= 0) {
+                                    partial[to] += cents;
+                                }
+                            }
+                        });
+                    }
+                    return partial;
+                }));
+            }
+            for (Future<long[]> future : futures) {
+                partials.add(future.get());
+            }
+        }
+        long[] net = partials.getFirst();
+        for (int p = 1; p < partials.size(); p++) {
+            long[] partial = partials.get(p);
+            for (int i = 0; i < net.length; i++) {
+                net[i] += partial[i];
+            }
+        }
+        return net;
+    }
+
+    private void writeUsers(long userBase, SplittableRandom random) throws SQLException {
+        // Un seul hachage BCrypt : volontairement coûteux, il dominerait sinon la génération
+        String password = new BCryptPasswordEncoder().encode(PASSWORD);
+        try (Connection connection = dataSource.getConnection();
+             TableWriter writer = TableWriter.open(connection, "users", List.of(
+                     "id", "email", "firstName", "lastName", "password", "phoneNumber",
+                     "createdAt", "updatedAt", "version"))) {
+            for (int i = 0; i < settings.users(); i++) {
+                long id = userBase + 1 + i;
+                LocalDateTime created = windowStart.minusDays(366 + random.nextInt(365));
+                writer.row(id, "user" + id + "@dataset.openvault.test",
+                        FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                        password, null, created, created, 0L);
+            }
+        }
+    }
+
+    private void writeAccounts(long accountBase, long userBase, long[] openingCents, long[] net, long[] createdAt)
+            throws SQLException {
+        IbanGenerator ibanGenerator = new IbanGenerator();
+        SplittableRandom random = new SplittableRandom(settings.seed() + 1);
+        try (Connection connection = dataSource.getConnection();
+             TableWriter writer = TableWriter.open(connection, "accounts", List.of(
+                     "id", "iban", "balance", "type", "userId", "createdAt", "active", "version"))) {
+            for (int i = 0; i < settings.accounts(); i++) {
+                int draw = random.nextInt(100);
+                AccountType type = draw < 70 ? AccountType.CHECKING : draw < 92 ? AccountType.SAVINGS : AccountType.BUSINESS;
+                writer.row(accountBase + 1 + i, ibanGenerator.generateIban(), toAmount(openingCents[i] + net[i]),
+                        type, userBase + 1 + i % settings.users(), toDateTime(createdAt[i]), true, 0L);
+            }
+        }
+    }
+
+    private void writeOpeningDeposits(long transactionBase, long accountBase, long[] openingCents, long[] createdAt)
+            throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             TableWriter writer = openTransactionWriter(connection)) {
+            for (int i = 0; i < settings.accounts(); i++) {
+                long id = transactionBase + 1 + i;
+                writer.row(id, null, accountBase + 1 + i, toAmount(openingCents[i]), TransactionType.DEPOSIT,
+                        "Dépôt d'ouverture", toDateTime(createdAt[i]), TransactionStatus.COMPLETED, "GEN-" + id);
+            }
+        }
+    }
+
+    private void writeTransactions(long transactionBase, long accountBase) throws Exception {
+        AtomicInteger nextChunk = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(settings.threads())) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < settings.threads(); t++) {
+                futures.add(executor.submit(() -> {
+                    for (int chunk; (chunk = nextChunk.getAndIncrement()) < CHUNKS; ) {
+                        // Une connexion et un COPY par tranche : un échec ne perd que la tranche en cours
+                        try (Connection connection = dataSource.getConnection();
+                             TableWriter writer = openTransactionWriter(connection)) {
+                            generateChunk(chunk, (index, type, from, to, cents, status, timestamp) -> {
+                                long id = transactionBase + 1 + index;
+                                writer.row(id, from >= 0 ? accountBase + 1 + from : null,
+                                        to >= 0 ? accountBase + 1 + to : null, toAmount(cents), type,
+                                        description(type), timestamp, status, "GEN-" + id);
+                            });
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private static TableWriter openTransactionWriter(Connection connection) throws SQLException {
+        return TableWriter.open(connection, "transactions", List.of(
+                "id", "fromAccountId", "toAccountId", "amount", "type", "description", "timestamp", "status", "reference"));
+    }
+
+    /**
+     * Rejoue la tranche {@code chunk} : mêmes lignes à chaque appel pour une même graine
+     */
+    private void generateChunk(int chunk, TransactionRow consumer) throws SQLException {
+        long first = settings.transactions() * chunk / CHUNKS;
+        long last = settings.transactions() * (chunk + 1) / CHUNKS;
+        SplittableRandom random = new SplittableRandom(settings.seed() * 31 + chunk);
+        for (long index = first; index < last; index++) {
+            int draw = random.nextInt(100);
+            TransactionType type;
+            int from = -1;
+            int to = -1;
+            long cents;
+            if (draw < 55) {
+                type = TransactionType.TRANSFER;
+                from = pickAccount(random);
+                to = pickAccount(random);
+                if (to == from) {
+                    to = (to + 1) % settings.accounts();
+                }
+                cents = logNormalCents(random, 8_000, 1.1);
+            } else if (draw < 75) {
+                type = TransactionType.PAYMENT;
+                from = pickAccount(random);
+                cents = logNormalCents(random, 3_500, 0.9);
+            } else if (draw < 87) {
+                type = TransactionType.DEPOSIT;
+                to = pickAccount(random);
+                cents = logNormalCents(random, 150_000, 0.8);
+            } else {
+                type = TransactionType.WITHDRAWAL;
+                from = pickAccount(random);
+                cents = logNormalCents(random, 6_000, 0.7);
+            }
+            TransactionStatus status = random.nextDouble() < FAILURE_RATE
+                    ? TransactionStatus.FAILED
+                    : TransactionStatus.COMPLETED;
+            consumer.accept(index, type, from, to, cents, status, calendar.sample(random));
+        }
+    }
+
+    /**
+     * Rang de Zipf permuté : les comptes les plus actifs sont dispersés parmi les identifiants
+     */
+    private int pickAccount(SplittableRandom random) {
+        return (int) ((zipf.sample(random) - 1) * stride % settings.accounts());
+    }
+
+    private static long logNormalCents(SplittableRandom random, long medianCents, double sigma) {
+        return Math.clamp(Math.round(medianCents * Math.exp(sigma * random.nextGaussian())), 1L, 500_000_000L);
+    }
+
+    private static String description(TransactionType type) {
+        return switch (type) {
+            case TRANSFER -> "Virement";
+            case PAYMENT -> "Paiement carte";
+            case DEPOSIT -> "Dépôt";
+            case WITHDRAWAL -> "Retrait DAB";
+            case INTEREST -> "Intérêts";
+        };
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static long coprimeStride(int n) {
+        long candidate = Math.max(1, Math.round(n * 0.6180339887));
+        while (gcd(candidate, n) != 1) {
+            candidate++;
+        }
+        return candidate;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * Sur PostgreSQL, un COPY paie par ligne la mise à jour des index secondaires et le
+     * trigger de chaque clé étrangère : on les retire le temps du chargement, puis on les
+     * recrée en une passe (tri + une seule jointure de validation), bien moins coûteuse.
+     *
+     * @return les ordres DDL de recréation, vides hors PostgreSQL
+     */
+    private List<String> suspendTransactionIndexes() throws SQLException {
+        List<String> restore = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return restore;
+            }
+            List<String> drop = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery("""
+                    SELECT conname, pg_get_constraintdef(oid) FROM pg_constraint
+                    WHERE conrelid = 'transactions'::regclass AND contype = 'f'
+                    """)) {
+                while (rs.next()) {
+                    drop.add("ALTER TABLE transactions DROP CONSTRAINT " + rs.getString(1));
+                    restore.add("ALTER TABLE transactions ADD CONSTRAINT " + rs.getString(1) + " " + rs.getString(2));
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("""
+                    SELECT i.indexrelid::regclass, pg_get_indexdef(i.indexrelid) FROM pg_index i
+                    WHERE i.indrelid = 'transactions'::regclass AND NOT i.indisprimary AND NOT i.indisunique
+                    """)) {
+                while (rs.next()) {
+                    drop.add("DROP INDEX " + rs.getString(1));
+                    restore.addFirst(rs.getString(2));
+                }
+            }
+            for (String ddl : drop) {
+                statement.execute(ddl);
+            }
+        }
+        return restore;
+    }
+
+    private void restoreTransactionIndexes(List<String> restore) throws SQLException {
+        if (restore.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET maintenance_work_mem = '512MB'");
+            for (String ddl : restore) {
+                statement.execute(ddl);
+            }
+        }
+    }
+
+    /**
+     * Réserve {@code count} identifiants au-delà de tout ce qui a déjà été distribué :
+     * le maximum en base, mais aussi les blocs que l'optimiseur pooled (allocationSize 50)
+     * d'une instance en cours garde en mémoire, tous inférieurs à la valeur courante de la
+     * séquence. La séquence est avancée d'emblée, l'application peut continuer à écrire.
+     *
+     * @return la base : les identifiants réservés vont de base + 1 à base + count
+     */
+    private long reserveIds(String table, long count) throws SQLException {
+        String sequence = table + "_seq";
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            boolean postgres = connection.isWrapperFor(PGConnection.class);
+            long base = Math.max(
+                    queryLong(statement, "SELECT COALESCE(MAX(\"id\"), 0) FROM \"" + table + "\""),
+                    queryLong(statement, postgres
+                            ? "SELECT nextval('" + sequence + "')"
+                            : "SELECT NEXT VALUE FOR \"" + sequence + "\""));
+            // Prochaine valeur lue = base + count + 50, soit le bloc base + count + 1 .. base + count + 50
+            if (postgres) {
+                statement.execute("SELECT setval('" + sequence + "', " + (base + count) + ")");
+            } else {
+                statement.execute("ALTER SEQUENCE \"" + sequence + "\" RESTART WITH " + (base + count + 50));
+            }
+            return base;
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private void analyze() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                statement.execute("ANALYZE users, accounts, transactions");
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TransactionRow {
+        void accept(long index, TransactionType type, int from, int to, long cents, TransactionStatus status,
+                    LocalDateTime timestamp) throws SQLException;
+    }
+
+    /**
+     * Lignes écrites (dépôts d'ouverture compris) et durée totale
+     */
+    public record Result(int users, int accounts, long transactions, long millis) {
+
+        public double rowsPerSecond() {
+            return (users + accounts + transactions) * 1000.0 / millis;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.openvault.dataset;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.repository.UserRepository;
+import com.openvault.util.IbanGenerator;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@DisplayName("Générateur de jeu de données")
+class DatasetGeneratorTest {
+
+    private static final DatasetSettings SETTINGS = new DatasetSettings(40, 100, 20_000, 2, 1.1, 2, 7);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private IbanGenerator ibanGenerator;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Doit générer des comptes cohérents avec leurs transactions")
+    void shouldGenerateConsistentDataset() throws Exception {
+        DatasetGenerator.Result result = new DatasetGenerator(dataSource, SETTINGS).run();
+
+        List<Account> accounts = accountRepository.findAll();
+        List<Transaction> transactions = transactionRepository.findAll();
+        assertThat(userRepository.count()).isEqualTo(40);
+        assertThat(accounts).hasSize(100);
+        assertThat(transactions).hasSize(20_100);
+        assertThat(result.transactions()).isEqualTo(20_100);
+
+        assertThat(accounts).allSatisfy(account -> {
+            assertThat(ibanGenerator.isValidIban(account.getIban())).isTrue();
+            assertThat(account.getBalance()).isGreaterThanOrEqualTo(BigDecimal.ZERO);
+        });
+
+        // Solde = somme des transactions validées du compte (dépôt d'ouverture compris)
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getStatus() != TransactionStatus.COMPLETED) {
+                continue;
+            }
+            if (transaction.getFromAccount() != null) {
+                balances.merge(transaction.getFromAccount().getId(), transaction.getAmount().negate(), BigDecimal::add);
+            }
+            if (transaction.getToAccount() != null) {
+                balances.merge(transaction.getToAccount().getId(), transaction.getAmount(), BigDecimal::add);
+            }
+        }
+        assertThat(accounts).allSatisfy(account ->
+                assertThat(account.getBalance()).isEqualByComparingTo(balances.get(account.getId())));
+    }
+
+    @Test
+    @DisplayName("Doit concentrer le trafic sur quelques comptes")
+    void shouldSkewTrafficTowardsHotAccounts() throws Exception {
+        new DatasetGenerator(dataSource, SETTINGS).run();
+
+        Map<Long, Integer> outgoing = new HashMap<>();
+        for (Transaction transaction : transactionRepository.findAll()) {
+            if (transaction.getType() == TransactionType.TRANSFER) {
+                outgoing.merge(transaction.getFromAccount().getId(), 1, Integer::sum);
+            }
+        }
+        List<Integer> counts = outgoing.values().stream().sorted((a, b) -> b - a).toList();
+        int total = counts.stream().mapToInt(Integer::intValue).sum();
+        int topTen = counts.stream().limit(10).mapToInt(Integer::intValue).sum();
+
+        // Zipf s = 1.1 sur 100 comptes : les 10 premiers portent bien plus que 10 % du trafic
+        assertThat(topTen).isGreaterThan(total / 2);
+    }
+
+    @Test
+    @DisplayName("Doit réserver des identifiants distincts de ceux de l'application")
+    void shouldNotCollideWithApplicationIds() throws Exception {
+        // L'optimiseur pooled garde un bloc d'identifiants en mémoire dès la première insertion
+        fixtures.saveUser("avant.generation@test.com");
+        new DatasetGenerator(dataSource, SETTINGS).run();
+
+        fixtures.saveUser("apres.generation@test.com");
+
+        assertThat(userRepository.count()).isEqualTo(42);
+    }
+}
@@ -0,0 +1,35 @@
+package com.openvault.dataset;
+
+/**
+ * Volumétrie et forme du jeu de données, lues depuis les propriétés système (-Ddataset.*)
+ *
+ * @param users          nombre d'utilisateurs
+ * @param accounts       nombre de comptes (répartis entre les utilisateurs)
+ * @param transactions   nombre de transactions, hors dépôt d'ouverture de chaque compte
+ * @param years          profondeur de l'historique, jusqu'à aujourd'hui
+ * @param zipfExponent   asymétrie de la popularité des comptes (0 = uniforme, 1 = Zipf classique)
+ * @param threads        connexions d'écriture parallèles pour les transactions
+ * @param seed           graine : même graine, mêmes lignes (hors IBAN, tirés par IbanGenerator)
+ */
+public record DatasetSettings(
+        int users,
+        int accounts,
+        long transactions,
+        int years,
+        double zipfExponent,
+        int threads,
+        long seed
+) {
+
+    public static DatasetSettings fromSystemProperties() {
+        return new DatasetSettings(
+                Integer.getInteger("dataset.users", 100_000),
+                Integer.getInteger("dataset.accounts", 250_000),
+                Long.getLong("dataset.transactions", 10_000_000L),
+                Integer.getInteger("dataset.years", 3),
+                Double.parseDouble(System.getProperty("dataset.zipf-exponent", "1.1")),
+                Integer.getInteger("dataset.threads", Math.min(8, Runtime.getRuntime().availableProcessors())),
+                Long.getLong("dataset.seed", 42)
+        );
+    }
+}
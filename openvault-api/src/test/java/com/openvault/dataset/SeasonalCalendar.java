@@ -0,0 +1,70 @@
+package com.openvault.dataset;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Horodatages réalistes : plus d'activité en décembre et en semaine, creux en août
+ * et le dimanche, pics à midi et en fin de journée, croissance de l'activité dans le temps.
+ */
+final class SeasonalCalendar {
+
+    private static final double[] MONTH_FACTOR = { 0.9, 0.85, 0.95, 1.0, 1.0, 1.05, 0.95, 0.75, 1.0, 1.0, 1.1, 1.35 };
+    private static final double[] HOUR_FACTOR = {
+            0.1, 0.05, 0.03, 0.03, 0.05, 0.1, 0.3, 0.6, 0.9, 1.0, 1.0, 1.1,
+            1.4, 1.3, 1.0, 1.0, 1.1, 1.3, 1.4, 1.2, 0.9, 0.6, 0.4, 0.2
+    };
+
+    private final LocalDate firstDay;
+    private final double[] dayCdf;
+    private final double[] hourCdf;
+
+    SeasonalCalendar(LocalDate firstDay, LocalDate lastDay) {
+        this.firstDay = firstDay;
+        int days = (int) (lastDay.toEpochDay() - firstDay.toEpochDay()) + 1;
+        double[] weights = new double[days];
+        for (int i = 0; i < days; i++) {
+            LocalDate day = firstDay.plusDays(i);
+            double trend = 0.7 + 0.3 * i / Math.max(1, days - 1);
+            weights[i] = trend * MONTH_FACTOR[day.getMonthValue() - 1] * weekdayFactor(day.getDayOfWeek());
+        }
+        this.dayCdf = cumulative(weights);
+        this.hourCdf = cumulative(HOUR_FACTOR);
+    }
+
+    LocalDateTime sample(SplittableRandom random) {
+        int day = pick(dayCdf, random.nextDouble());
+        int hour = pick(hourCdf, random.nextDouble());
+        return firstDay.plusDays(day).atTime(hour, random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000) * 1_000);
+    }
+
+    private static double weekdayFactor(DayOfWeek day) {
+        return switch (day) {
+            case SATURDAY -> 0.7;
+            case SUNDAY -> 0.4;
+            case FRIDAY -> 1.15;
+            default -> 1.0;
+        };
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int pick(double[] cdf, double u) {
+        int index = Arrays.binarySearch(cdf, u);
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+}
@@ -0,0 +1,193 @@
+package com.openvault.dataset;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Écriture en masse d'une table : COPY FROM STDIN sur PostgreSQL, batchs JDBC ailleurs (H2).
+ *
+ * Les colonnes sont données sous leur nom Java (createdAt) et résolues via les métadonnées
+ * JDBC, que le schéma soit en snake_case (PostgreSQL) ou non.
+ */
+abstract class TableWriter implements AutoCloseable {
+
+    protected final Connection connection;
+    protected long rows;
+
+    private TableWriter(Connection connection) {
+        this.connection = connection;
+    }
+
+    static TableWriter open(Connection connection, String table, List<String> columns) throws SQLException {
+        String columnList = resolveColumns(connection.getMetaData(), table, columns).stream()
+                .map(name -> '"' + name + '"')
+                .collect(Collectors.joining(", "));
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return new CopyWriter(connection, "COPY \"" + table + "\" (" + columnList + ") FROM STDIN");
+        }
+        String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        return new BatchWriter(connection,
+                "INSERT INTO \"" + table + "\" (" + columnList + ") VALUES (" + placeholders + ")");
+    }
+
+    abstract void row(Object... values) throws SQLException;
+
+    @Override
+    public abstract void close() throws SQLException;
+
+    long getRows() {
+        return rows;
+    }
+
+    private static List<String> resolveColumns(DatabaseMetaData metaData, String table, List<String> columns)
+            throws SQLException {
+        Map<String, String> actual = new HashMap<>();
+        try (ResultSet rs = metaData.getColumns(null, null, table, null)) {
+            while (rs.next()) {
+                String name = rs.getString("COLUMN_NAME");
+                actual.put(name.replace("_", "").toLowerCase(), name);
+            }
+        }
+        List<String> resolved = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            String name = actual.get(column.replace("_", "").toLowerCase());
+            if (name == null) {
+                throw new SQLException("Colonne " + column + " introuvable dans la table " + table);
+            }
+            resolved.add(name);
+        }
+        return resolved;
+    }
+
+    /**
+     * COPY au format texte : une ligne par enregistrement, tabulations entre colonnes, \N pour NULL
+     */
+    private static final class CopyWriter extends TableWriter {
+
+        private static final int FLUSH_BYTES = 1 << 16;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 1024);
+
+        private CopyWriter(Connection connection, String sql) throws SQLException {
+            super(connection);
+            this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        }
+
+        @Override
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                appendValue(values[i]);
+            }
+            buffer.append('\n');
+            rows++;
+            if (buffer.length() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        private void appendValue(Object value) {
+            switch (value) {
+                case null -> buffer.append("\\N");
+                case BigDecimal decimal -> buffer.append(decimal.toPlainString());
+                case Enum<?> constant -> buffer.append(constant.name());
+                case String text -> {
+                    for (int i = 0; i < text.length(); i++) {
+                        char c = text.charAt(i);
+                        switch (c) {
+                            case '\\' -> buffer.append("\\\\");
+                            case '\t' -> buffer.append("\\t");
+                            case '\n' -> buffer.append("\\n");
+                            case '\r' -> buffer.append("\\r");
+                            default -> buffer.append(c);
+                        }
+                    }
+                }
+                default -> buffer.append(value);
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!copyIn.isActive()) {
+                return;
+            }
+            flush();
+            copyIn.endCopy();
+        }
+    }
+
+    /**
+     * INSERT préparé, envoyé par batchs et validé régulièrement pour borner le journal
+     */
+    private static final class BatchWriter extends TableWriter {
+
+        private static final int BATCH_SIZE = 1_000;
+        private static final int COMMIT_EVERY = 50_000;
+
+        private final PreparedStatement statement;
+        private final boolean autoCommit;
+
+        private BatchWriter(Connection connection, String sql) throws SQLException {
+            super(connection);
+            this.autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        @Override
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value instanceof Enum<?> constant) {
+                    value = constant.name();
+                } else if (value instanceof LocalDateTime dateTime) {
+                    value = Timestamp.valueOf(dateTime);
+                }
+                statement.setObject(i + 1, value);
+            }
+            statement.addBatch();
+            rows++;
+            if (rows % BATCH_SIZE == 0) {
+                statement.executeBatch();
+            }
+            if (rows % COMMIT_EVERY == 0) {
+                connection.commit();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (statement) {
+                statement.executeBatch();
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+}
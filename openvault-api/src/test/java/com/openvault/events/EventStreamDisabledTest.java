@@ -0,0 +1,32 @@
+package com.openvault.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "openvault.events.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Notifications en direct désactivées")
+class EventStreamDisabledTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Doit répondre 404 sur /events quand les notifications sont désactivées")
+    void shouldNotExposeEventsWhenDisabled() throws Exception {
+        mockMvc.perform(get("/events").with(user("jean.dupont@test.com")))
+                .andExpect(status().isNotFound());
+    }
+}
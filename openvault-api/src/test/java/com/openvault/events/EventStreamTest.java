@@ -0,0 +1,178 @@
+package com.openvault.events;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import static com.openvault.TestFixtures.newAccount;
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.outbox.ChangeFeed;
+import com.openvault.outbox.OutboxRelay;
+import com.openvault.repository.AccountRepository;
+import com.openvault.service.TransferService;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "openvault.events.heartbeat=100ms",
+        "openvault.events.replay-limit=5"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Notifications en direct (SSE)")
+class EventStreamTest {
+
+    private static final String EMAIL = "jean.dupont@test.com";
+    private static final String OTHER_EMAIL = "marie.martin@test.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private EventStreamBroadcaster broadcaster;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account checking;
+    private Account otherAccount;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        checking = accountRepository.save(newAccount(fixtures.saveUser(EMAIL), "FR76 1111 1111 1111 1111 1111 111"));
+        otherAccount = accountRepository.save(newAccount(fixtures.saveUser(OTHER_EMAIL), "FR76 2222 2222 2222 2222 2222 222"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit pousser le mouvement et le nouveau solde après commit, avec des battements de cœur")
+    void shouldPushCommittedChanges() throws Exception {
+        MockHttpServletResponse stream = connect(EMAIL, null);
+        awaitContent(stream, "event:ready");
+        assertThat(broadcaster.getConnectionCount()).isPositive();
+
+        deposit(EMAIL, checking, "42.50", "Salaire");
+        deposit(OTHER_EMAIL, otherAccount, "9.99", "Autre client");
+        assertThat(stream.getContentAsString(StandardCharsets.UTF_8)).doesNotContain("event:transaction");
+
+        publish();
+        String content = awaitContent(stream, "event:transaction");
+        assertThat(content).contains("event:balance", "\"balance\":42.5", "\"description\":\"Salaire\"",
+                "\"toIban\":\"" + checking.getIban() + "\"", "id:" + (changeFeed.getLatestOffset() - 1));
+        assertThat(content.indexOf("event:balance")).isLessThan(content.indexOf("event:transaction"));
+        assertThat(content).doesNotContain("Autre client", otherAccount.getIban());
+
+        awaitContent(stream, ":ping");
+    }
+
+    @Test
+    @DisplayName("Doit rejouer les mouvements manqués depuis Last-Event-ID")
+    void shouldReplayFromLastEventId() throws Exception {
+        deposit(EMAIL, checking, "10.00", "Premier");
+        publish();
+        long lastSeen = changeFeed.getLatestOffset();
+
+        deposit(EMAIL, checking, "20.00", "Manqué");
+        deposit(OTHER_EMAIL, otherAccount, "5.00", "Autre client");
+        publish();
+
+        MockHttpServletResponse stream = connect(EMAIL, lastSeen);
+        String content = awaitContent(stream, "event:ready");
+        assertThat(content).contains("id:" + (lastSeen + 1), "\"description\":\"Manqué\"", "\"balance\":30")
+                .doesNotContain("Premier", "Autre client");
+        assertThat(content).contains("event:ready\nid:" + changeFeed.getLatestOffset());
+    }
+
+    @Test
+    @DisplayName("Doit demander un rechargement quand l'écart dépasse la limite de rejeu")
+    void shouldAskForResyncWhenGapIsTooLarge() throws Exception {
+        long lastSeen = changeFeed.getLatestOffset();
+        for (int i = 0; i < 6; i++) {
+            deposit(EMAIL, checking, "1.00", "Dépôt " + i);
+        }
+        publish();
+
+        String content = awaitContent(connect(EMAIL, lastSeen), "event:ready");
+        assertThat(content).contains("event:resync").doesNotContain("event:transaction");
+    }
+
+    private MockHttpServletResponse connect(String email, Long lastEventId) throws Exception {
+        var events = get("/events").with(user(email)).accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            events.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(events)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private void publish() {
+        outboxRelay.relayPending();
+        changeFeed.dispatchNow();
+    }
+
+    /**
+     * MockMvc partage le thread du test et vide le contexte de sécurité après chaque requête
+     */
+    private void deposit(String email, Account account, String amount, String description) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, new ArrayList<>()));
+        transferService.deposit(account.getId(), new BigDecimal(amount), description);
+    }
+
+    /**
+     * Les envois partent d'un thread virtuel : on attend qu'ils aient atteint la réponse
+     */
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        Supplier<String> content = () -> {
+            try {
+                return response.getContentAsString(StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!content.get().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(content.get()).contains(expected);
+        return content.get();
+    }
+}
@@ -0,0 +1,218 @@
+package com.openvault.interest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.InterestAccrualCheckpoint;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionType;
+import com.openvault.entity.User;
+import com.openvault.interest.InterestAccrualJob.AccrualReport;
+import com.openvault.reconciliation.LedgerReconciler;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.InterestAccrualCheckpointRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.service.TransferService;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "openvault.interest.annual-rate=0.03",
+        // Une plage par compte : chaque compte a son propre point de reprise
+        "openvault.interest.chunk-size=1",
+        "openvault.interest.parallelism=2"
+})
+@ActiveProfiles("test")
+@DisplayName("Intérêts des comptes épargne")
+class InterestAccrualJobTest {
+
+    private static final String EMAIL = "jean.dupont@test.com";
+    // Année de 365 jours : 36 500 EUR à 3 % rapportent 3 EUR par jour
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private InterestAccrualJob interestAccrualJob;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private InterestAccrualCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private LedgerReconciler ledgerReconciler;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Account savings;
+    private Account otherSavings;
+    private Account smallSavings;
+    private Account checking;
+
+    @BeforeEach
+    void setUp() {
+        checkpointRepository.deleteAllInBatch();
+        fixtures.deleteAll();
+
+        User user = fixtures.saveUser(EMAIL);
+
+        savings = accountRepository.save(newAccount(user, AccountType.SAVINGS, "FR76 1111 1111 1111 1111 1111 111"));
+        otherSavings = accountRepository.save(newAccount(user, AccountType.SAVINGS, "FR76 2222 2222 2222 2222 2222 222"));
+        smallSavings = accountRepository.save(newAccount(user, AccountType.SAVINGS, "FR76 3333 3333 3333 3333 3333 333"));
+        checking = accountRepository.save(newAccount(user, AccountType.CHECKING, "FR76 4444 4444 4444 4444 4444 444"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, new ArrayList<>()));
+        transferService.deposit(savings.getId(), new BigDecimal("36500.00"), "Dépôt");
+        transferService.deposit(otherSavings.getId(), new BigDecimal("36500.00"), "Dépôt");
+        transferService.deposit(smallSavings.getId(), new BigDecimal("100.00"), "Dépôt");
+        transferService.deposit(checking.getId(), new BigDecimal("36500.00"), "Dépôt");
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkpointRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Doit verser une seule fois les intérêts du jour aux comptes épargne")
+    void shouldCreditSavingsOnce() {
+        AccrualReport report = interestAccrualJob.accrue(DATE);
+
+        assertThat(report.failedChunks()).isZero();
+        assertThat(report.accountsScanned()).isEqualTo(3);
+        assertThat(report.creditedAccounts()).isEqualTo(2);
+        assertThat(report.interest()).isEqualByComparingTo("6.00");
+        assertThat(reload(savings).getBalance()).isEqualByComparingTo("36503.00");
+        assertThat(reload(otherSavings).getBalance()).isEqualByComparingTo("36503.00");
+        assertThat(reload(checking).getBalance()).isEqualByComparingTo("36500.00");
+        // 0,82 centime : reporté, pas versé
+        assertThat(reload(smallSavings).getBalance()).isEqualByComparingTo("100.00");
+        assertThat(reload(smallSavings).getAccruedInterest()).isEqualByComparingTo("0.0082");
+
+        assertThat(interestReferences())
+                .containsExactlyInAnyOrder("INT-20250310-" + savings.getId(), "INT-20250310-" + otherSavings.getId());
+        assertThat(ledgerReconciler.reconcile().discrepancyCount()).isZero();
+
+        // Second calcul de la même journée : toutes les plages ont leur point de reprise
+        AccrualReport again = interestAccrualJob.accrue(DATE);
+        assertThat(again.chunks()).isZero();
+        assertThat(again.skippedChunks()).isEqualTo(report.chunks());
+        assertThat(reload(savings).getBalance()).isEqualByComparingTo("36503.00");
+        assertThat(interestReferences()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Doit reprendre un calcul interrompu aux plages sans point de reprise")
+    void shouldResumeFromCheckpoints() {
+        // Plage du premier compte versée avant l'arrêt
+        checkpointRepository.save(new InterestAccrualCheckpoint(DATE, savings.getId()));
+
+        AccrualReport report = interestAccrualJob.accrue(DATE);
+
+        assertThat(report.skippedChunks()).isEqualTo(1);
+        assertThat(reload(savings).getBalance()).isEqualByComparingTo("36500.00");
+        assertThat(reload(otherSavings).getBalance()).isEqualByComparingTo("36503.00");
+        assertThat(checkpointRepository.findChunkStartsByAccrualDate(DATE))
+                .contains(savings.getId(), otherSavings.getId(), smallSavings.getId());
+    }
+
+    @Test
+    @DisplayName("Doit reporter les fractions de centime jusqu'à un centime entier")
+    void shouldCarryFractionsOfCents() {
+        // 0,82 centime par jour : 9 centimes versés en 12 jours, 0,84 centime reporté
+        for (int day = 0; day < 12; day++) {
+            interestAccrualJob.accrue(DATE.plusDays(day));
+        }
+        assertThat(reload(smallSavings).getBalance()).isEqualByComparingTo("100.09");
+        assertThat(reload(smallSavings).getAccruedInterest()).isEqualByComparingTo("0.0084");
+        assertThat(interestReferences()).filteredOn(reference -> reference.endsWith("-" + smallSavings.getId()))
+                .hasSize(9);
+
+        interestAccrualJob.accrue(DATE.plusDays(12));
+
+        assertThat(reload(smallSavings).getBalance()).isEqualByComparingTo("100.10");
+        assertThat(reload(smallSavings).getAccruedInterest()).isEqualByComparingTo("0.0066");
+        assertThat(ledgerReconciler.reconcile().discrepancyCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Doit rattraper les journées manquées depuis le dernier calcul")
+    void shouldCatchUpMissedDays() {
+        interestAccrualJob.accrue(DATE);
+
+        List<AccrualReport> reports = interestAccrualJob.accrueUntil(DATE.plusDays(3));
+
+        assertThat(reports).extracting(AccrualReport::accrualDate)
+                .containsExactly(DATE, DATE.plusDays(1), DATE.plusDays(2), DATE.plusDays(3));
+        assertThat(reports.getFirst().chunks()).isZero();
+        // Intérêts composés : 3,0002 puis 3,0005 puis 3,0007 EUR, centimes entiers versés
+        assertThat(reload(savings).getBalance()).isEqualByComparingTo("36512.00");
+        assertThat(reload(savings).getAccruedInterest()).isEqualByComparingTo("0.0013");
+        assertThat(interestReferences()).filteredOn(reference -> reference.endsWith("-" + savings.getId()))
+                .hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Doit verser les intérêts d'un solde dont le produit par le taux dépasse un long")
+    void shouldAccrueBeyondLongRange() {
+        Account whale = newAccount(savings.getUser(), AccountType.SAVINGS, "FR76 5555 5555 5555 5555 5555 555");
+        whale.setBalance(new BigDecimal("1000000000000.00"));
+        whale = accountRepository.save(whale);
+
+        AccrualReport report = interestAccrualJob.accrue(DATE);
+
+        assertThat(report.failedChunks()).isZero();
+        // 10^16 dix-millièmes × 30 000 ppm : hors des long, calculé en BigInteger
+        assertThat(reload(whale).getBalance()).isEqualByComparingTo("1000082191780.82");
+        assertThat(reload(whale).getAccruedInterest()).isEqualByComparingTo("0.0019");
+        assertThat(reload(savings).getBalance()).isEqualByComparingTo("36503.00");
+    }
+
+    private List<String> interestReferences() {
+        return transactionRepository.findAll().stream()
+                .filter(t -> t.getType() == TransactionType.INTEREST)
+                .map(Transaction::getReference)
+                .toList();
+    }
+
+    private Account reload(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow();
+    }
+
+    private static Account newAccount(User user, AccountType type, String iban) {
+        Account account = new Account();
+        account.setIban(iban);
+        account.setBalance(BigDecimal.ZERO);
+        account.setType(type);
+        account.setUser(user);
+        account.setActive(true);
+        // Ouvert avant les journées calculées
+        account.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0));
+        return account;
+    }
+}
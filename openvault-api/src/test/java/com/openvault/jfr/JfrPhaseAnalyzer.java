@@ -0,0 +1,101 @@
+package com.openvault.jfr;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jdk.jfr.EventType;
+import jdk.jfr.Timespan;
+import jdk.jfr.ValueDescriptor;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Lit un enregistrement JFR et affiche, pour chaque événement OpenVault, la répartition
+ * des latences par phase (durée totale et champs @Timespan), ventilée par issue.
+ *
+ * Ne dépend que du JDK : se lance sans classpath applicatif.
+ * java src/test/java/com/openvault/jfr/JfrPhaseAnalyzer.java openvault.jfr
+ */
+public class JfrPhaseAnalyzer {
+
+    private static final String PREFIX = "com.openvault.";
+
+    private final Map<String, Map<String, List<Long>>> phasesByGroup = new TreeMap<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage : JfrPhaseAnalyzer <enregistrement.jfr>");
+            System.exit(2);
+        }
+        JfrPhaseAnalyzer analyzer = new JfrPhaseAnalyzer();
+        analyzer.read(Path.of(args[0]));
+        analyzer.print(System.out);
+    }
+
+    public void read(Path recording) throws IOException {
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                EventType type = event.getEventType();
+                if (type.getName().startsWith(PREFIX)) {
+                    add(event, type);
+                }
+            }
+        }
+    }
+
+    private void add(RecordedEvent event, EventType type) {
+        String group = type.getName().substring(PREFIX.length());
+        if (event.hasField("outcome") && event.getString("outcome") != null) {
+            group += " [" + event.getString("outcome") + "]";
+        }
+        Map<String, List<Long>> phases = phasesByGroup.computeIfAbsent(group, key -> new TreeMap<>());
+        phases.computeIfAbsent("(total)", key -> new ArrayList<>()).add(event.getDuration().toNanos());
+        for (ValueDescriptor field : type.getFields()) {
+            if (field.getAnnotation(Timespan.class) != null && !field.getName().equals("duration")) {
+                phases.computeIfAbsent(field.getName(), key -> new ArrayList<>())
+                        .add(event.getDuration(field.getName()).toNanos());
+            }
+        }
+    }
+
+    public void print(PrintStream out) {
+        if (phasesByGroup.isEmpty()) {
+            out.println("Aucun événement " + PREFIX + "* dans l'enregistrement");
+            return;
+        }
+        phasesByGroup.forEach((group, phases) -> {
+            out.printf("%n%s : %d événements%n", group, phases.get("(total)").size());
+            out.printf("  %-18s %10s %10s %10s %10s %10s%n", "phase (ms)", "moyenne", "p50", "p90", "p99", "max");
+            phases.forEach((phase, values) -> {
+                long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+                out.printf("  %-18s %10.3f %10.3f %10.3f %10.3f %10.3f%n", phase,
+                        millis((long) Arrays.stream(sorted).average().orElse(0)),
+                        millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                        millis(percentile(sorted, 0.99)), millis(sorted[sorted.length - 1]));
+            });
+        });
+    }
+
+    /**
+     * Durées en nanosecondes par phase, pour un groupe ("TransferCommitted [committed]")
+     */
+    public Map<String, List<Long>> getPhases(String group) {
+        return phasesByGroup.getOrDefault(group, Map.of());
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) Duration.ofMillis(1).toNanos();
+    }
+}
@@ -0,0 +1,165 @@
+package com.openvault.jfr;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.security.JwtService;
+import com.openvault.service.AccountService;
+import com.openvault.service.TransferService;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@DisplayName("Événements JFR")
+class TransferEventsTest {
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+
+
+    @TempDir
+    private Path directory;
+
+    private User user;
+    private Account source;
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        user = fixtures.saveUser("jean.dupont@test.com");
+
+        source = accountRepository.save(newAccount("FR76 1111 1111 1111 1111 1111 111", new BigDecimal("500.00")));
+        destination = accountRepository.save(newAccount("FR76 2222 2222 2222 2222 2222 222", BigDecimal.ZERO));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit émettre les phases du virement, la génération d'IBAN et la vérification JWT")
+    void shouldRecordTransferPipeline() throws Exception {
+        Path file = directory.resolve("openvault.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TransferStartedEvent.class);
+            recording.enable(TransferCommittedEvent.class);
+            recording.enable(IbanGenerationEvent.class);
+            recording.enable(JwtVerificationEvent.class);
+            recording.start();
+
+            transferService.transfer(source.getId(), destination.getIban(), new BigDecimal("40.00"), "Loyer");
+            try {
+                transferService.transfer(source.getId(), destination.getIban(), new BigDecimal("9000.00"), "Trop");
+            } catch (RuntimeException expected) {
+                // Solde insuffisant : transaction annulée
+            }
+            accountService.createAccount(AccountType.SAVINGS);
+            UserDetails details = userDetailsService.loadUserByUsername(user.getEmail());
+            jwtService.isTokenValid(jwtService.generateToken(details), details);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("com.openvault.TransferStarted")).hasSize(2);
+
+        RecordedEvent committed = single(events, "com.openvault.TransferCommitted", "committed");
+        assertThat(committed.getLong("fromAccountId")).isEqualTo(source.getId());
+        assertThat(committed.getDuration("lockAcquisition")).isPositive();
+        assertThat(committed.getDuration("balanceMutation")).isPositive();
+        assertThat(committed.getDuration("commit")).isPositive();
+        assertThat(committed.getDuration("validation").plus(committed.getDuration("lockAcquisition"))
+                .plus(committed.getDuration("balanceMutation")).plus(committed.getDuration("commit")))
+                .isLessThanOrEqualTo(committed.getDuration());
+
+        RecordedEvent rolledBack = single(events, "com.openvault.TransferCommitted", "rolled-back");
+        assertThat(rolledBack.getDuration("commit")).isZero();
+
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("com.openvault.IbanGeneration"))
+                .singleElement()
+                .satisfies(e -> assertThat(e.getInt("attempts")).isEqualTo(1));
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("com.openvault.JwtVerification"))
+                .isNotEmpty()
+                .allSatisfy(e -> assertThat(e.getString("outcome")).isEqualTo("valid"));
+
+        JfrPhaseAnalyzer analyzer = new JfrPhaseAnalyzer();
+        analyzer.read(file);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        analyzer.print(new PrintStream(output, true, StandardCharsets.UTF_8));
+
+        assertThat(analyzer.getPhases("TransferCommitted [committed]"))
+                .containsOnlyKeys("(total)", "validation", "lockAcquisition", "balanceMutation", "commit");
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .contains("TransferCommitted [committed] : 1 événements", "lockAcquisition", "IbanGeneration");
+        assertThat(Files.size(file)).isPositive();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name, String outcome) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(e -> e.getEventType().getName().equals(name) && outcome.equals(e.getString("outcome")))
+                .toList();
+        assertThat(matching).hasSize(1);
+        return matching.getFirst();
+    }
+
+    private Account newAccount(String iban, BigDecimal balance) {
+        Account account = new Account();
+        account.setIban(iban);
+        account.setBalance(balance);
+        account.setType(AccountType.CHECKING);
+        account.setUser(user);
+        account.setActive(true);
+        return account;
+    }
+}
@@ -0,0 +1,86 @@
+package com.openvault.limits;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Fenêtre glissante en seaux")
+class SlidingWindowCounterTest {
+
+    private static final long MINUTE = 60_000;
+    // Début d'un seau de 5 minutes
+    private static final long T0 = 1_700_000_400_000L;
+
+    @Test
+    @DisplayName("Doit sortir les opérations de la fenêtre seau par seau")
+    void shouldExpireBucketByBucket() {
+        SlidingWindowCounter hour = new SlidingWindowCounter(Duration.ofHours(1), 12);
+        hour.add(T0, 1_000, 1);
+        hour.add(T0 + 7 * MINUTE, 2_000, 1);
+        hour.add(T0 + 59 * MINUTE, 4_000, 1);
+
+        assertThat(hour.usage(T0 + 59 * MINUTE)).isEqualTo(new SlidingWindowCounter.Usage(7_000, 3));
+        // Le premier seau sort une heure après son début
+        assertThat(hour.usage(T0 + 60 * MINUTE)).isEqualTo(new SlidingWindowCounter.Usage(6_000, 2));
+        assertThat(hour.usage(T0 + 70 * MINUTE)).isEqualTo(new SlidingWindowCounter.Usage(4_000, 1));
+        assertThat(hour.usage(T0 + 120 * MINUTE)).isEqualTo(new SlidingWindowCounter.Usage(0, 0));
+
+        // Un seau réutilisé repart de zéro
+        hour.add(T0 + 61 * MINUTE, 500, 1);
+        assertThat(hour.usage(T0 + 61 * MINUTE)).isEqualTo(new SlidingWindowCounter.Usage(6_500, 3));
+        // Une opération trop ancienne pour la fenêtre est ignorée
+        hour.add(T0 + 2 * MINUTE, 9_000, 1);
+        assertThat(hour.usage(T0 + 61 * MINUTE)).isEqualTo(new SlidingWindowCounter.Usage(6_500, 3));
+    }
+
+    @Test
+    @DisplayName("Doit compter sans perte des ajouts simultanés")
+    void shouldCountConcurrentAdds() throws Exception {
+        SlidingWindowCounter day = new SlidingWindowCounter(Duration.ofDays(1), 24);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        day.add(T0 + i * 5_000L, 100, 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(day.usage(T0 + 50_000 * 1_000L)).isEqualTo(new SlidingWindowCounter.Usage(8_000_000, 80_000));
+    }
+
+    @Test
+    @DisplayName("Doit ne compter dans un seau réutilisé que les opérations de sa période")
+    void shouldNotLeakOlderPeriodIntoReusedBucket() throws Exception {
+        SlidingWindowCounter hour = new SlidingWindowCounter(Duration.ofHours(1), 12);
+        // Même seau, deux périodes : les ajouts anciens doivent être ignorés ou sortir avec leur seau
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                boolean old = t % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        hour.add(old ? T0 : T0 + 60 * MINUTE, old ? 1 : 100, 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(hour.usage(T0 + 60 * MINUTE)).isEqualTo(new SlidingWindowCounter.Usage(4_000_000, 40_000));
+    }
+}
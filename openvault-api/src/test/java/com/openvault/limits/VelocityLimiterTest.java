@@ -0,0 +1,222 @@
+package com.openvault.limits;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.openvault.TestFixtures.newAccount;
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.Payroll;
+import com.openvault.entity.PayrollStatus;
+import com.openvault.entity.User;
+import com.openvault.payroll.PayrollProcessor;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.PayrollRepository;
+import com.openvault.service.TransferService;
+import com.openvault.util.IbanGenerator;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "openvault.velocity-limits.enabled=true",
+        "openvault.velocity-limits.limits.CHECKING.hourly-count=3",
+        "openvault.velocity-limits.limits.CHECKING.daily-amount=100",
+        "openvault.velocity-limits.limits.CHECKING.payroll-daily-amount=100"
+})
+@ActiveProfiles("test")
+@DisplayName("Plafonds de débit")
+class VelocityLimiterTest {
+
+    private static final String EMAIL = "jean.dupont@test.com";
+
+    @Autowired
+    private VelocityLimiter velocityLimiter;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private PayrollProcessor payrollProcessor;
+
+    @Autowired
+    private IbanGenerator ibanGenerator;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account source;
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        User user = fixtures.saveUser(EMAIL);
+
+        source = accountRepository.save(newAccount(user, "FR76 1111 1111 1111 1111 1111 111"));
+        destination = accountRepository.save(newAccount(user, "FR76 2222 2222 2222 2222 2222 222"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, new ArrayList<>()));
+        transferService.deposit(source.getId(), new BigDecimal("1000.00"), "Dépôt");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Les autres classes de test vident les comptes, référencés par les paies
+        fixtures.deleteAll();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit refuser le débit qui dépasse le nombre autorisé par heure")
+    void shouldRejectAboveHourlyCount() {
+        for (int i = 0; i < 3; i++) {
+            transfer("1.00");
+        }
+
+        assertThatThrownBy(() -> transfer("1.00"))
+                .hasMessage("Nombre de débits par heure dépassé : 3 maximum");
+        assertThat(balance(source)).isEqualByComparingTo("997.00");
+        assertThat(balance(destination)).isEqualByComparingTo("3.00");
+    }
+
+    @Test
+    @DisplayName("Doit refuser le débit qui dépasse le montant journalier sans le compter")
+    void shouldRejectAboveDailyAmount() {
+        transfer("60.00");
+
+        long rejectedBefore = velocityLimiter.getRejectedCount();
+        assertThatThrownBy(() -> transferService.withdraw(source.getId(), new BigDecimal("50.00"), "Retrait"))
+                .hasMessage("Plafond journalier dépassé : 100 EUR maximum");
+        assertThat(velocityLimiter.getRejectedCount()).isEqualTo(rejectedBefore + 1);
+
+        // Le débit refusé n'occupe pas le plafond
+        transfer("40.00");
+        assertThat(balance(source)).isEqualByComparingTo("900.00");
+    }
+
+    @Test
+    @DisplayName("Doit libérer la réservation d'un débit annulé")
+    void shouldReleaseRolledBackDebit() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> transferService.transfer(source.getId(), "FR76 3333 3333 3333 3333 3333 333",
+                    new BigDecimal("90.00"), "Virement")).hasMessageContaining("Compte destinataire non trouvé");
+        }
+
+        for (int i = 0; i < 3; i++) {
+            transfer("30.00");
+        }
+        assertThat(balance(destination)).isEqualByComparingTo("90.00");
+    }
+
+    @Test
+    @DisplayName("Doit reconstruire les fenêtres à partir des débits récents")
+    void shouldRebuildFromHistory() {
+        transfer("30.00");
+        transfer("30.00");
+
+        velocityLimiter.rebuild();
+
+        assertThat(velocityLimiter.getTrackedAccounts()).isEqualTo(1);
+        assertThatThrownBy(() -> transfer("50.00"))
+                .hasMessage("Plafond journalier dépassé : 100 EUR maximum");
+        transfer("30.00");
+        assertThatThrownBy(() -> transfer("1.00"))
+                .hasMessage("Nombre de débits par heure dépassé : 3 maximum");
+    }
+
+    @Test
+    @DisplayName("Doit refuser le compte d'un autre client avant de consulter ses plafonds")
+    void shouldCheckOwnershipBeforeLimits() {
+        for (int i = 0; i < 3; i++) {
+            transfer("1.00");
+        }
+        User stranger = fixtures.saveUser("Paul", "Martin", "paul.martin@test.com");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(stranger.getEmail(), null, new ArrayList<>()));
+
+        long rejectedBefore = velocityLimiter.getRejectedCount();
+        // Compte au plafond horaire : le message ne doit pas le révéler
+        assertThatThrownBy(() -> transfer("1.00"))
+                .hasMessage("Accès non autorisé à ce compte");
+        assertThatThrownBy(() -> transferService.withdraw(source.getId(), new BigDecimal("1.00"), "Retrait"))
+                .hasMessage("Accès non autorisé à ce compte");
+        assertThat(velocityLimiter.getRejectedCount()).isEqualTo(rejectedBefore);
+    }
+
+    @Test
+    @DisplayName("Doit plafonner les paies à part des virements, net des lignes remboursées")
+    void shouldLimitPayrollDebit() throws InterruptedException {
+        // IBAN valide : les lignes de paie sont contrôlées comme des virements
+        Account employee = accountRepository.save(newAccount(source.getUser(), ibanGenerator.generateIban()));
+        // Les virements ne consomment pas le plafond des paies
+        transfer("60.00");
+
+        Payroll refused = payrollProcessor.receive(source.getId(), csv(employee, "150.00"));
+        assertThat(refused.getStatus()).isEqualTo(PayrollStatus.REJECTED);
+        assertThat(refused.getError()).isEqualTo("Plafond journalier des paies dépassé : 100 EUR maximum");
+
+        // 70 EUR réservés ; la ligne vers un compte inexistant est rejetée au crédit et remboursée
+        Payroll partial = payrollProcessor.receive(source.getId(), new ByteArrayInputStream(
+                (employee.getIban() + ";40.00\n" + ibanGenerator.generateIban() + ";30.00\n")
+                        .getBytes(StandardCharsets.UTF_8)));
+        assertThat(partial.getStatus()).isEqualTo(PayrollStatus.POSTING);
+        awaitCompletion(partial.getId());
+        assertThat(payrollRepository.findById(partial.getId()).orElseThrow().getRefundedAmount())
+                .isEqualByComparingTo("30.00");
+
+        // Remboursement libéré : 40 + 60 EUR tiennent dans le plafond
+        Payroll accepted = payrollProcessor.receive(source.getId(), csv(employee, "60.00"));
+        assertThat(accepted.getStatus()).isEqualTo(PayrollStatus.POSTING);
+        awaitCompletion(accepted.getId());
+        assertThat(payrollProcessor.receive(source.getId(), csv(employee, "1.00")).getError())
+                .isEqualTo("Plafond journalier des paies dépassé : 100 EUR maximum");
+
+        // Débits de paie relus au redémarrage, nets de leurs remboursements
+        velocityLimiter.rebuild();
+        assertThat(payrollProcessor.receive(source.getId(), csv(employee, "1.00")).getError())
+                .isEqualTo("Plafond journalier des paies dépassé : 100 EUR maximum");
+        transfer("30.00");
+        assertThat(balance(employee)).isEqualByComparingTo("100.00");
+    }
+
+    private static ByteArrayInputStream csv(Account employee, String amount) {
+        return new ByteArrayInputStream((employee.getIban() + ";" + amount + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void awaitCompletion(Long payrollId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (payrollRepository.findById(payrollId).orElseThrow().getStatus() == PayrollStatus.POSTING
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void transfer(String amount) {
+        transferService.transfer(source.getId(), destination.getIban(), new BigDecimal(amount), "Virement");
+    }
+
+    private BigDecimal balance(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
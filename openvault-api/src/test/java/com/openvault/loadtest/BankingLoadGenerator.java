@@ -0,0 +1,249 @@
+package com.openvault.loadtest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.openvault.loadtest.LoadTestSettings.Operation;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Générateur de charge HTTP : inscrit des utilisateurs, alimente leurs comptes,
+ * puis rejoue un mélange pondéré d'opérations bancaires depuis des threads virtuels.
+ *
+ * En boucle fermée (rate = 0), chaque client enchaîne ses requêtes. Avec un débit visé,
+ * les requêtes partent à heure fixe et la latence est comptée depuis l'heure prévue :
+ * un serveur qui ralentit ne fait pas baisser artificiellement les percentiles
+ * (omission coordonnée).
+ *
+ * Contre une instance déjà démarrée (H2 ou PostgreSQL) :
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.openvault.loadtest.BankingLoadGenerator
+ *     -Dloadtest.base-url=http://localhost:8080/api -Dloadtest.concurrency=200
+ */
+public class BankingLoadGenerator {
+
+    private static final String PASSWORD = "LoadTest-Password-1";
+    private static final BigDecimal INITIAL_DEPOSIT = new BigDecimal("10000.00");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final LoadTestSettings settings;
+    private final HttpClient httpClient;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final List<Operation> operations = new ArrayList<>();
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    public BankingLoadGenerator(LoadTestSettings settings) {
+        if (settings.users() < 2) {
+            throw new IllegalArgumentException("Il faut au moins deux utilisateurs pour les virements");
+        }
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        // Table de tirage : chaque opération y figure autant de fois que son poids
+        settings.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            rejected.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties("http://localhost:8080/api");
+        new BankingLoadGenerator(settings).run().print(System.out);
+    }
+
+    public LoadTestReport run() throws Exception {
+        List<Client> clients = setUp();
+        long measuredNanos = drive(clients);
+        return new LoadTestReport(settings, histograms, rejected, errors, measuredNanos);
+    }
+
+    /**
+     * Inscription et dépôt initial de chaque utilisateur
+     */
+    private List<Client> setUp() throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<Future<Client>> futures = new ArrayList<>(settings.users());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.users(); i++) {
+                String email = "loadtest-" + runId + "-" + i + "@openvault.test";
+                futures.add(executor.submit(() -> register(email)));
+            }
+        }
+        List<Client> clients = new ArrayList<>(settings.users());
+        for (Future<Client> future : futures) {
+            clients.add(future.get());
+        }
+        return clients;
+    }
+
+    private Client register(String email) throws IOException, InterruptedException {
+        JsonNode auth = expectOk(send(post("/auth/register", null, Map.of(
+                "firstName", "Charge",
+                "lastName", "Test",
+                "email", email,
+                "password", PASSWORD
+        ))));
+        String token = auth.get("token").asString();
+
+        JsonNode account = expectOk(send(get("/accounts", token))).get(0);
+        Client client = new Client(token, account.get("id").asLong(), account.get("iban").asString());
+        expectOk(send(post("/transfers/deposit/" + client.accountId(), token,
+                Map.of("amount", INITIAL_DEPOSIT, "description", "Dépôt initial"))));
+        return client;
+    }
+
+    /**
+     * Lance les clients virtuels ; renvoie la durée effectivement mesurée
+     */
+    private long drive(List<Client> clients) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long deadline = measureFrom + settings.duration().toNanos();
+        long intervalNanos = settings.rate() > 0
+                ? TimeUnit.SECONDS.toNanos(settings.concurrency()) / settings.rate()
+                : 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < settings.concurrency(); worker++) {
+                SplittableRandom random = new SplittableRandom(settings.seed() + worker);
+                // Départs décalés pour ne pas synchroniser les clients en boucle ouverte
+                long firstStart = start + (intervalNanos > 0 ? random.nextLong(intervalNanos) : 0);
+                executor.submit(() -> {
+                    long intended = firstStart;
+                    while (true) {
+                        long now = System.nanoTime();
+                        if (now >= deadline) {
+                            return null;
+                        }
+                        if (intervalNanos > 0) {
+                            if (intended > now) {
+                                TimeUnit.NANOSECONDS.sleep(intended - now);
+                            }
+                        } else {
+                            intended = now;
+                        }
+                        execute(clients, random, intended, measureFrom);
+                        intended += intervalNanos;
+                    }
+                });
+            }
+        }
+        return deadline - measureFrom;
+    }
+
+    private void execute(List<Client> clients, SplittableRandom random, long intended, long measureFrom) {
+        Operation operation = operations.get(random.nextInt(operations.size()));
+        int index = random.nextInt(clients.size());
+        boolean measured = intended >= measureFrom;
+        try {
+            int status = send(request(operation, index, clients, random)).statusCode();
+            if (!measured) {
+                return;
+            }
+            histograms.get(operation).recordValue(
+                    Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended), HIGHEST_TRACKABLE_MICROS));
+            if (status >= 500) {
+                errors.get(operation).increment();
+            } else if (status >= 400) {
+                // Refus métier attendu (ex : solde insuffisant)
+                rejected.get(operation).increment();
+            }
+        } catch (IOException e) {
+            if (measured) {
+                errors.get(operation).increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest request(Operation operation, int index, List<Client> clients, SplittableRandom random) {
+        Client client = clients.get(index);
+        long accountId = client.accountId();
+        return switch (operation) {
+            case TRANSFER -> {
+                // Destinataire toujours différent de l'émetteur
+                Client recipient = clients.get((index + 1 + random.nextInt(clients.size() - 1)) % clients.size());
+                yield post("/transfers", client.token(), Map.of(
+                        "fromAccountId", accountId,
+                        "toIban", recipient.iban(),
+                        "amount", BigDecimal.valueOf(1 + random.nextInt(50_000), 2),
+                        "description", "Charge"
+                ));
+            }
+            case HISTORY -> get("/transactions/account/" + accountId + "?page=" + random.nextInt(3) + "&size=20",
+                    client.token());
+            case RECENT -> get("/transactions/account/" + accountId + "/recent?limit=10", client.token());
+            case STATS -> get("/transactions/account/" + accountId + "/stats", client.token());
+            case TOTAL_BALANCE -> get("/accounts/total-balance", client.token());
+        };
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Map<String, ?> body) {
+        return builder(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(settings.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private JsonNode expectOk(HttpResponse<byte[]> response) {
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Préparation du jeu de charge en échec : HTTP " + response.statusCode()
+                    + " sur " + response.request().uri() + " : " + new String(response.body()));
+        }
+        return jsonMapper.readTree(response.body());
+    }
+
+    private record Client(String token, long accountId, String iban) {
+    }
+}
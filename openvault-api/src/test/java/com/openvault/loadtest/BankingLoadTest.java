@@ -0,0 +1,42 @@
+package com.openvault.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Campagne de charge contre l'application démarrée sur un port aléatoire (H2).
+ *
+ * Lancement : mvn test -Pbenchmark -Dtest=BankingLoadTest
+ *   [-Dloadtest.concurrency=200] [-Dloadtest.duration-seconds=60] [-Dloadtest.rate=2000]
+ *   [-Dloadtest.mix=transfer=50,history=50]
+ * Sur PostgreSQL : -Dspring.datasource.url=jdbc:postgresql://localhost:5432/openvault ...
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false"
+)
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Campagne de charge HTTP")
+class BankingLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Doit tenir le mélange d'opérations bancaires sans erreur serveur")
+    void shouldSustainBankingWorkload() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties("http://localhost:" + port + "/api");
+
+        LoadTestReport report = new BankingLoadGenerator(settings).run();
+        report.print(System.out);
+
+        assertThat(report.getTotalRequests()).isPositive();
+        assertThat(report.getTotalErrors()).isZero();
+    }
+}
@@ -0,0 +1,85 @@
+package com.openvault.loadtest;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+
+import com.openvault.loadtest.LoadTestSettings.Operation;
+
+/**
+ * Résultat d'une campagne : débit et percentiles de latence par opération et au global
+ */
+public class LoadTestReport {
+
+    private final LoadTestSettings settings;
+    private final Map<Operation, Histogram> histograms;
+    private final Map<Operation, Long> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+    private final Histogram total;
+    private final double seconds;
+
+    LoadTestReport(
+            LoadTestSettings settings,
+            Map<Operation, Histogram> histograms,
+            Map<Operation, LongAdder> rejected,
+            Map<Operation, LongAdder> errors,
+            long measuredNanos
+    ) {
+        this.settings = settings;
+        this.histograms = histograms;
+        rejected.forEach((operation, count) -> this.rejected.put(operation, count.sum()));
+        errors.forEach((operation, count) -> this.errors.put(operation, count.sum()));
+        this.total = new Histogram(3);
+        histograms.values().forEach(total::add);
+        this.seconds = measuredNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public long getTotalRequests() {
+        return total.getTotalCount();
+    }
+
+    public long getTotalErrors() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public double getThroughput() {
+        return total.getTotalCount() / seconds;
+    }
+
+    public Histogram getHistogram(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%n[charge] %s : %d clients, %s, %d utilisateurs, %.0f s mesurées%n",
+                settings.baseUrl(), settings.concurrency(),
+                settings.rate() > 0 ? settings.rate() + " req/s visées" : "boucle fermée",
+                settings.users(), seconds);
+        out.printf("[charge] %-14s %9s %9s %8s %7s %9s %9s %9s %9s%n",
+                "opération", "requêtes", "req/s", "refus", "erreurs", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() > 0) {
+                line(out, operation.getKey(), histogram, rejected.get(operation), errors.get(operation));
+            }
+        }
+        line(out, "total", total,
+                rejected.values().stream().mapToLong(Long::longValue).sum(), getTotalErrors());
+        out.println();
+    }
+
+    private void line(PrintStream out, String label, Histogram histogram, long rejectedCount, long errorCount) {
+        out.printf("[charge] %-14s %9d %9.0f %8d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                label, histogram.getTotalCount(), histogram.getTotalCount() / seconds, rejectedCount, errorCount,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,95 @@
+package com.openvault.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Paramètres d'une campagne de charge, lus depuis les propriétés système (-Dloadtest.*)
+ *
+ * @param baseUrl     URL de l'API, context-path compris
+ * @param users       nombre d'utilisateurs inscrits (un compte courant chacun)
+ * @param concurrency nombre de clients virtuels simultanés
+ * @param rate        débit visé en requêtes/s (0 = boucle fermée, chaque client enchaîne sans pause)
+ * @param warmup      durée de chauffe, exclue des mesures
+ * @param duration    durée mesurée
+ * @param seed        graine du tirage des opérations (campagnes reproductibles)
+ * @param mix         poids relatif de chaque opération
+ */
+public record LoadTestSettings(
+        String baseUrl,
+        int users,
+        int concurrency,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        Map<Operation, Integer> mix
+) {
+
+    static final String DEFAULT_MIX = "transfer=30,history=25,recent=20,stats=10,total-balance=15";
+
+    public static LoadTestSettings fromSystemProperties(String defaultBaseUrl) {
+        return new LoadTestSettings(
+                System.getProperty("loadtest.base-url", defaultBaseUrl),
+                Integer.getInteger("loadtest.users", 50),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Integer.getInteger("loadtest.rate", 0),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+                Long.getLong("loadtest.seed", 42),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX))
+        );
+    }
+
+    /**
+     * Format : "transfer=30,history=25,..." ; une opération absente a un poids nul
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrée de mix invalide : " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Le mix ne contient aucune opération");
+        }
+        return weights;
+    }
+
+    /**
+     * Opérations du scénario bancaire
+     */
+    public enum Operation {
+        TRANSFER("transfer"),
+        HISTORY("history"),
+        RECENT("recent"),
+        STATS("stats"),
+        TOTAL_BALANCE("total-balance");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Opération inconnue : " + key);
+        }
+    }
+}
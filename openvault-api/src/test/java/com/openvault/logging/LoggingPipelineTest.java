@@ -0,0 +1,133 @@
+package com.openvault.logging;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Pipeline de logs")
+class LoggingPipelineTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Doit générer ou reprendre l'identifiant de corrélation")
+    void shouldPropagateCorrelationId() throws Exception {
+        mockMvc.perform(get("/health").header(CorrelationIdFilter.HEADER, "front-42"))
+                .andExpect(header().string(CorrelationIdFilter.HEADER, "front-42"));
+        mockMvc.perform(get("/health").header(CorrelationIdFilter.HEADER, "<script>"))
+                .andExpect(header().string(CorrelationIdFilter.HEADER, org.hamcrest.Matchers.matchesPattern("[0-9a-f]{16}")));
+    }
+
+    @Test
+    @DisplayName("Doit garder une requête sur N et toujours les avertissements")
+    void shouldSampleInfoLinesPerRequest() {
+        Logger logger = context.getLogger("com.openvault.test.sampled");
+        ListAppender<ILoggingEvent> appender = attach(logger, new ListAppender<>());
+        try (SamplingTurboFilter filter = new SamplingTurboFilter(Map.of(logger.getName(), 4))) {
+            filter.install(context);
+
+            for (int i = 0; i < 100; i++) {
+                logger.info("Virement {}", i);
+            }
+            assertThat(appender.list).hasSize(25);
+
+            // Une requête retenue garde toutes ses lignes, une requête écartée n'en garde aucune
+            int kept = 0;
+            for (int request = 0; request < 40; request++) {
+                MDC.put(CorrelationIdFilter.MDC_KEY, CorrelationIdFilter.newCorrelationId());
+                appender.list.clear();
+                logger.info("Début");
+                logger.info("Fin");
+                logger.warn("Solde insuffisant");
+                assertThat(appender.list.size()).isIn(1, 3);
+                kept += appender.list.size() == 3 ? 1 : 0;
+            }
+            assertThat(kept).isBetween(1, 39);
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+
+    @Test
+    @DisplayName("Doit écarter les lignes plutôt que bloquer quand la file est pleine")
+    void shouldDropInsteadOfBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slow.setContext(context);
+        slow.start();
+
+        MeteredAsyncAppender async = new MeteredAsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(16);
+        async.setNeverBlock(true);
+        async.addAppender(slow);
+        async.start();
+
+        Logger logger = context.getLogger("com.openvault.test.async");
+        logger.setAdditive(false);
+        logger.addAppender(async);
+        long droppedBefore = MeteredAsyncAppender.getDroppedCount();
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < 1_000; i++) {
+                logger.info("Ligne {}", i);
+                logger.error("Erreur {}", i);
+            }
+            // Le destinataire est bloqué : sans neverBlock, la boucle attendrait 5 s
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+            assertThat(MeteredAsyncAppender.getDroppedCount() - droppedBefore).isGreaterThan(1_900);
+        } finally {
+            release.countDown();
+            logger.detachAppender(async);
+            async.stop();
+        }
+    }
+
+    private static <A extends AppenderBase<ILoggingEvent>> A attach(Logger logger, A appender) {
+        appender.setContext(logger.getLoggerContext());
+        appender.start();
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return appender;
+    }
+}
@@ -0,0 +1,133 @@
+package com.openvault.metrics;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static com.openvault.security.UserDetailsServiceImpl.OPERATOR_ROLE;
+import static com.openvault.TestFixtures.newAccount;
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.service.TransferService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Métriques et santé")
+class OperationMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account source;
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        User user = fixtures.saveUser("jean.dupont@test.com");
+
+        source = accountRepository.save(newAccount(user, "FR76 1111 1111 1111 1111 1111 111"));
+        destination = accountRepository.save(newAccount(user, "FR76 2222 2222 2222 2222 2222 222"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit chronométrer les mouvements d'argent par issue")
+    void shouldTimeMoneyMovementsByOutcome() {
+        long deposits = count(OperationMetricsAspect.MONEY_MOVEMENT, "deposit", "success");
+        long rejectedWithdrawals = count(OperationMetricsAspect.MONEY_MOVEMENT, "withdraw", "rejected");
+        long locks = count(OperationMetricsAspect.ACCOUNT_LOCK_WAIT, "findByIdWithLock", "success");
+
+        transferService.deposit(source.getId(), new BigDecimal("100.00"), "Dépôt");
+        transferService.transfer(source.getId(), destination.getIban(), new BigDecimal("40.00"), "Virement");
+        assertThatThrownBy(() -> transferService.withdraw(destination.getId(), new BigDecimal("1000.00"), "Retrait"))
+                .hasMessageContaining("Solde insuffisant");
+
+        assertThat(count(OperationMetricsAspect.MONEY_MOVEMENT, "deposit", "success")).isEqualTo(deposits + 1);
+        assertThat(count(OperationMetricsAspect.MONEY_MOVEMENT, "transfer", "success")).isPositive();
+        assertThat(count(OperationMetricsAspect.MONEY_MOVEMENT, "withdraw", "rejected")).isEqualTo(rejectedWithdrawals + 1);
+        assertThat(count(OperationMetricsAspect.ACCOUNT_LOCK_WAIT, "findByIdWithLock", "success")).isEqualTo(locks + 1);
+    }
+
+    @Test
+    @DisplayName("Doit publier pool, gouverneur, cache et statistiques Hibernate")
+    void shouldBindInfrastructureMeters() {
+        accountRepository.findAll();
+
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+        assertThat(meterRegistry.find("openvault.db.governor.queue").gauge()).isNotNull();
+        assertThat(meterRegistry.find("openvault.account.cache.requests").tag("result", "hit").functionCounter())
+                .isNotNull();
+        assertThat(meterRegistry.find("hibernate.query.executions").functionCounter()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Doit vérifier la connexion à la base dans le contrôle de santé")
+    void shouldReportDatabaseHealth() throws Exception {
+        mockMvc.perform(get("/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.database").value("UP"));
+    }
+
+    @Test
+    @DisplayName("Doit réserver les métriques Prometheus aux opérateurs hors du port de management")
+    void shouldExposePrometheusScrape() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").with(user("ops@openvault.test").roles(OPERATOR_ROLE)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("openvault_db_governor_queue")));
+    }
+
+    private long count(String name, String operation, String outcome) {
+        Timer timer = meterRegistry.find(name).tag("operation", operation).tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,171 @@
+package com.openvault.outbox;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.openvault.TestFixtures.newAccount;
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.OutboxEvent;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionType;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.ChangeFeedCursorRepository;
+import com.openvault.repository.OutboxEventRepository;
+import com.openvault.service.TransferService;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        // Petits lots : le relais et la livraison doivent enchaîner plusieurs passes
+        "openvault.outbox.batch-size=2"
+})
+@ActiveProfiles("test")
+@DisplayName("Outbox et flux de changements")
+class ChangeFeedTest {
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ChangeFeedCursorRepository cursorRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account source;
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAllInBatch();
+        cursorRepository.deleteAllInBatch();
+        fixtures.deleteAll();
+
+        User user = fixtures.saveUser("jean.dupont@test.com");
+
+        source = accountRepository.save(newAccount(user, "FR76 1111 1111 1111 1111 1111 111"));
+        destination = accountRepository.save(newAccount(user, "FR76 2222 2222 2222 2222 2222 222"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.unsubscribe("projection");
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit écrire un événement par mouvement commité, et aucun pour un mouvement annulé")
+    void shouldWriteOutboxInPostingTransaction() {
+        Transaction deposit = transferService.deposit(source.getId(), new BigDecimal("100.00"), "Dépôt");
+        Transaction transfer = transferService.transfer(source.getId(), destination.getIban(),
+                new BigDecimal("30.00"), "Virement");
+        assertThatThrownBy(() -> transferService.withdraw(destination.getId(), new BigDecimal("500.00"), "Retrait"))
+                .hasMessageContaining("Solde insuffisant");
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertThat(events).extracting(OutboxEvent::getTransactionId)
+                .containsExactlyInAnyOrder(deposit.getId(), transfer.getId());
+        assertThat(events).allMatch(event -> event.getFeedOffset() == null);
+
+        OutboxEvent transferEvent = events.stream()
+                .filter(event -> event.getType() == TransactionType.TRANSFER)
+                .findFirst().orElseThrow();
+        assertThat(transferEvent.getFromAccountId()).isEqualTo(source.getId());
+        assertThat(transferEvent.getToAccountId()).isEqualTo(destination.getId());
+        assertThat(transferEvent.getAmount()).isEqualByComparingTo("30.00");
+        assertThat(transferEvent.getReference()).isEqualTo(transfer.getReference());
+    }
+
+    @Test
+    @DisplayName("Doit publier dans l'ordre des écritures et permettre le rattrapage depuis un offset")
+    void shouldRelayInOrderAndReadFromOffset() {
+        List<Long> transactionIds = new ArrayList<>();
+        transactionIds.add(transferService.deposit(source.getId(), new BigDecimal("100.00"), "Dépôt").getId());
+        for (int i = 0; i < 4; i++) {
+            transactionIds.add(transferService.transfer(source.getId(), destination.getIban(),
+                    new BigDecimal("10.00"), "Virement " + i).getId());
+        }
+
+        assertThat(outboxRelay.relayPending()).isEqualTo(5);
+        assertThat(outboxRelay.relayPending()).isZero();
+
+        List<ChangeEvent> all = changeFeed.read(0, 100);
+        assertThat(all).extracting(ChangeEvent::offset).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(all).extracting(ChangeEvent::transactionId).containsExactlyElementsOf(transactionIds);
+
+        assertThat(changeFeed.read(3, 100)).extracting(ChangeEvent::offset).containsExactly(4L, 5L);
+        assertThat(changeFeed.read(5, 100)).isEmpty();
+
+        // Les positions continuent après un nouveau lot
+        transferService.deposit(destination.getId(), new BigDecimal("1.00"), "Dépôt");
+        outboxRelay.relayPending();
+        assertThat(changeFeed.read(5, 100)).extracting(ChangeEvent::offset).containsExactly(6L);
+    }
+
+    @Test
+    @DisplayName("Doit relivrer un lot refusé et reprendre à la position enregistrée")
+    void shouldDeliverAtLeastOnceWithStoredOffsets() {
+        for (int i = 0; i < 3; i++) {
+            transferService.deposit(source.getId(), new BigDecimal("10.00"), "Dépôt " + i);
+        }
+        outboxRelay.relayPending();
+
+        List<Long> received = new ArrayList<>();
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        changeFeed.subscribe("projection", batch -> {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("Projection indisponible");
+            }
+            batch.forEach(event -> received.add(event.offset()));
+        });
+
+        changeFeed.dispatchNow();
+        assertThat(received).isEmpty();
+        assertThat(changeFeed.getPosition("projection")).isZero();
+
+        changeFeed.dispatchNow();
+        assertThat(received).containsExactly(1L, 2L, 3L);
+        assertThat(changeFeed.getPosition("projection")).isEqualTo(3);
+
+        // Redémarrage du consommateur : il reprend après l'offset 3
+        changeFeed.unsubscribe("projection");
+        transferService.deposit(source.getId(), new BigDecimal("10.00"), "Dépôt 3");
+        outboxRelay.relayPending();
+
+        List<Long> resumed = new ArrayList<>();
+        changeFeed.subscribe("projection", batch -> batch.forEach(event -> resumed.add(event.offset())));
+        changeFeed.dispatchNow();
+        assertThat(resumed).containsExactly(4L);
+        assertThat(cursorRepository.findById("projection").orElseThrow().getPosition()).isEqualTo(4);
+    }
+}
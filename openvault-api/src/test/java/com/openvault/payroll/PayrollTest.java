@@ -0,0 +1,263 @@
+package com.openvault.payroll;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.Payroll;
+import com.openvault.entity.PayrollLine;
+import com.openvault.entity.PayrollLineStatus;
+import com.openvault.entity.PayrollStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.entity.User;
+import com.openvault.reconciliation.LedgerReconciler;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.PayrollLineRepository;
+import com.openvault.repository.PayrollRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.service.TransferService;
+import com.openvault.util.IbanGenerator;
+
+import tools.jackson.databind.json.JsonMapper;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        // Petits lots : un fichier de test est crédité en plusieurs transactions
+        "openvault.payroll.chunk-size=200"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Paie par fichier")
+class PayrollTest {
+
+    private static final String EMAIL = "employeur@test.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private LedgerReconciler ledgerReconciler;
+
+    @Autowired
+    private IbanGenerator ibanGenerator;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private PayrollLineRepository payrollLineRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private User employer;
+    private Account payer;
+    private List<Account> employees;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        employer = fixtures.saveUser(EMAIL);
+        User staff = fixtures.saveUser("salaries@test.com");
+        payer = accountRepository.save(newAccount(employer, AccountType.BUSINESS));
+        employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            employees.add(accountRepository.save(newAccount(staff, AccountType.CHECKING)));
+        }
+
+        authenticate();
+        transferService.deposit(payer.getId(), new BigDecimal("90000.00"), "Trésorerie");
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Les autres classes de test vident les comptes, référencés par les paies
+        fixtures.deleteAll();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit débiter le total une fois, créditer chaque salarié et rembourser les lignes rejetées")
+    void shouldDebitOnceAndCreditEachLine() throws Exception {
+        String unknownIban = ibanGenerator.generateIban();
+        String csv = """
+                iban;montant;libellé
+                %s;1500,00;Salaire octobre
+                %s;2100.50;Salaire octobre
+                "%s";250;"Prime ""exceptionnelle""\"
+
+                FR76 0000;100;IBAN tronqué
+                %s;300.00;Ancien salarié
+                %s;12.345;Trop de décimales
+                """.formatted(employees.get(0).getIban(), employees.get(1).getIban(),
+                employees.get(0).getIban().replace(" ", "").toLowerCase(), unknownIban, employees.get(2).getIban());
+
+        Payroll submitted = submit(csv);
+        assertThat(submitted.getTotalLines()).isEqualTo(6);
+        assertThat(submitted.getValidLines()).isEqualTo(4);
+        assertThat(submitted.getTotalAmount()).isEqualByComparingTo("4150.50");
+
+        Payroll done = awaitCompletion(submitted.getId());
+        assertThat(done.getStatus()).isEqualTo(PayrollStatus.COMPLETED);
+        assertThat(done.getPostedLines()).isEqualTo(3);
+        assertThat(done.getRejectedLines()).isEqualTo(3);
+        assertThat(done.getPostedAmount()).isEqualByComparingTo("3850.50");
+        assertThat(done.getRefundedAmount()).isEqualByComparingTo("300.00");
+
+        assertThat(balance(payer)).isEqualByComparingTo("86149.50");
+        assertThat(balance(employees.get(0))).isEqualByComparingTo("1750.00");
+        assertThat(balance(employees.get(1))).isEqualByComparingTo("2100.50");
+        assertThat(balance(employees.get(2))).isEqualByComparingTo("0");
+
+        // Un débit, trois crédits, un remboursement, en plus du dépôt initial
+        assertThat(transactionRepository.findAll()).filteredOn(t -> t.getType() == TransactionType.PAYMENT)
+                .hasSize(5);
+        assertThat(ledgerReconciler.reconcile().discrepancyCount()).isZero();
+
+        mockMvc.perform(get("/payrolls/{id}/lines", done.getId()).with(user(EMAIL)).param("status", "REJECTED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].lineNumber").value(6))
+                .andExpect(jsonPath("$.content[0].error").value("IBAN invalide"))
+                .andExpect(jsonPath("$.content[1].error").value("Compte destinataire non trouvé"))
+                .andExpect(jsonPath("$.content[2].error").value("Le montant ne peut avoir plus de 2 décimales"));
+
+        PayrollLine bonus = payrollLineRepository.findByPayrollIdOrderByLineNumber(done.getId(), Pageable.unpaged())
+                .getContent().get(2);
+        assertThat(bonus.getIban()).isEqualTo(employees.get(0).getIban());
+        assertThat(bonus.getDescription()).isEqualTo("Prime \"exceptionnelle\"");
+        assertThat(bonus.getTransactionId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Doit créditer un gros fichier en plusieurs lots")
+    void shouldPostLargeFileInChunks() throws Exception {
+        StringBuilder csv = new StringBuilder("IBAN,Montant,Libellé\n");
+        for (int i = 0; i < 2000; i++) {
+            csv.append(employees.get(i % employees.size()).getIban()).append(",10.00,Salaire ").append(i).append('\n');
+        }
+
+        Payroll done = awaitCompletion(submit(csv.toString()).getId());
+
+        assertThat(done.getStatus()).isEqualTo(PayrollStatus.COMPLETED);
+        assertThat(done.getPostedLines()).isEqualTo(2000);
+        assertThat(balance(payer)).isEqualByComparingTo("70000.00");
+        assertThat(employees).allSatisfy(employee -> assertThat(balance(employee)).isEqualByComparingTo("1000.00"));
+        assertThat(payrollLineRepository.findByPayrollIdAndStatusOrderByLineNumber(done.getId(),
+                PayrollLineStatus.POSTED, Pageable.unpaged()).getTotalElements()).isEqualTo(2000);
+        assertThat(ledgerReconciler.reconcile().discrepancyCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Doit refuser sans rien débiter une paie supérieure au solde")
+    void shouldRejectWhenBalanceIsInsufficient() throws Exception {
+        String csv = employees.get(0).getIban() + ";60000\n" + employees.get(1).getIban() + ";40000\n";
+
+        Payroll rejected = submit(csv);
+
+        assertThat(rejected.getStatus()).isEqualTo(PayrollStatus.REJECTED);
+        assertThat(rejected.getError()).startsWith("Solde insuffisant");
+        assertThat(rejected.getRejectedLines()).isEqualTo(2);
+        assertThat(balance(payer)).isEqualByComparingTo("90000.00");
+        assertThat(payrollLineRepository.findByPayrollIdAndStatusOrderByLineNumber(rejected.getId(),
+                PayrollLineStatus.PENDING, Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit réserver la paie aux comptes professionnels de l'utilisateur")
+    void shouldRequireOwnBusinessAccount() throws Exception {
+        Account checking = accountRepository.save(newAccount(employer, AccountType.CHECKING));
+        mockMvc.perform(csvPost(checking.getId(), "x;1\n").with(user(EMAIL)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("La paie est réservée aux comptes professionnels"));
+        mockMvc.perform(csvPost(payer.getId(), "x;1\n").with(user("salaries@test.com")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Accès non autorisé à ce compte"));
+        assertThat(payrollRepository.count()).isZero();
+    }
+
+    private Payroll submit(String csv) throws Exception {
+        String body = mockMvc.perform(csvPost(payer.getId(), csv).with(user(EMAIL)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Long id = jsonMapper.readTree(body).get("id").asLong();
+        return payrollRepository.findById(id).orElseThrow();
+    }
+
+    private MockHttpServletRequestBuilder csvPost(Long accountId, String csv) {
+        return post("/payrolls")
+                .param("accountId", accountId.toString())
+                .contentType("text/csv")
+                .content(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Les crédits sont passés en arrière-plan
+     */
+    private Payroll awaitCompletion(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        Payroll payroll = payrollRepository.findById(id).orElseThrow();
+        while (payroll.getStatus() == PayrollStatus.POSTING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            payroll = payrollRepository.findById(id).orElseThrow();
+        }
+        return payroll;
+    }
+
+    private BigDecimal balance(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, new ArrayList<>()));
+    }
+
+    private Account newAccount(User user, AccountType type) {
+        Account account = new Account();
+        account.setIban(ibanGenerator.generateIban());
+        account.setBalance(BigDecimal.ZERO);
+        account.setType(type);
+        account.setUser(user);
+        account.setActive(true);
+        return account;
+    }
+}
@@ -0,0 +1,134 @@
+package com.openvault.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static com.openvault.TestFixtures.newAccount;
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.TransactionRepository;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Budget SQL par requête")
+class SqlBudgetTest {
+
+    private static final int COUNTERPARTS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private User owner;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        owner = fixtures.saveUser("jean.dupont@test.com");
+        User other = fixtures.saveUser("marie.martin@test.com");
+        account = accountRepository.save(newAccount(owner, "FR76 1111 1111 1111 1111 1111 000"));
+
+        // Chaque virement vient d'un compte différent : un chargement paresseux par ligne ferait un N+1
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < COUNTERPARTS; i++) {
+            Account counterpart = accountRepository.save(newAccount(other, String.format("FR76 2222 2222 2222 2222 2222 %03d", i)));
+            Transaction transaction = new Transaction();
+            transaction.setFromAccount(counterpart);
+            transaction.setToAccount(account);
+            transaction.setAmount(new BigDecimal("10.00"));
+            transaction.setType(TransactionType.TRANSFER);
+            transaction.setStatus(TransactionStatus.COMPLETED);
+            transaction.setTimestamp(LocalDateTime.now().minusMinutes(i));
+            transaction.setReference("TXN-" + i);
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+    }
+
+    @Test
+    @DisplayName("Doit tenir le budget SQL de l'historique paginé sans N+1")
+    void shouldKeepHistoryWithinBudget() throws Exception {
+        try (SqlStatistics sql = SqlStatementRecorder.open()) {
+            mockMvc.perform(get("/transactions/account/{accountId}", account.getId()).with(user(owner.getEmail())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(COUNTERPARTS));
+
+            // Utilisateur connecté, contrôle du compte, page (pas de count : moins d'une page)
+            assertThat(sql.getRepeatedStatements(3)).as(sql::toString).isEmpty();
+            assertThat(sql.getStatementCount()).as(sql::toString).isLessThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Doit tenir le budget SQL des dernières transactions sans N+1")
+    void shouldKeepRecentTransactionsWithinBudget() throws Exception {
+        try (SqlStatistics sql = SqlStatementRecorder.open()) {
+            mockMvc.perform(get("/transactions/account/{accountId}/recent", account.getId())
+                            .param("limit", "10")
+                            .with(user(owner.getEmail())))
+                    .andExpect(status().isOk());
+
+            assertThat(sql.getRepeatedStatements(3)).as(sql::toString).isEmpty();
+            assertThat(sql.getStatementCount()).as(sql::toString).isLessThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Doit repérer une même requête répétée et compter les portées imbriquées")
+    void shouldDetectRepeatedStatements() {
+        try (SqlStatistics outer = SqlStatementRecorder.open()) {
+            try (SqlStatistics inner = SqlStatementRecorder.open()) {
+                // Hors transaction : une session, donc une requête, par appel
+                for (int i = 0; i < 6; i++) {
+                    accountRepository.findById(account.getId());
+                }
+                assertThat(inner.getStatementCount()).isEqualTo(6);
+                assertThat(inner.getStatementCount("select")).isEqualTo(6);
+                assertThat(inner.getRepeatedStatements(5)).hasSize(1);
+            }
+            accountRepository.count();
+
+            assertThat(outer.getStatementCount()).isEqualTo(7);
+            assertThat(outer.getShapes()).hasSize(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Doit normaliser les listes IN dans la forme des requêtes")
+    void shouldNormalizeInLists() {
+        assertThat(SqlStatementRecorder.shape("select a from t where id in (?, ?,?)\n  and x = ?"))
+                .isEqualTo(SqlStatementRecorder.shape("select a from t where id in (?,?) and x = ?"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.openvault.reconciliation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.openvault.TestFixtures.newAccount;
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.service.TransferService;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        // Plages de deux comptes : le découpage fork-join est exercé dès cinq comptes
+        "openvault.reconciliation.chunk-size=2",
+        "openvault.reconciliation.parallelism=3"
+})
+@ActiveProfiles("test")
+@DisplayName("Rapprochement du grand livre")
+class LedgerReconcilerTest {
+
+    @Autowired
+    private LedgerReconciler reconciler;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        User user = fixtures.saveUser("jean.dupont@test.com");
+
+        accounts.clear();
+        for (int i = 0; i < 5; i++) {
+            accounts.add(accountRepository.save(newAccount(user, "FR76 0000 0000 0000 0000 0000 00" + i)));
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit retrouver chaque solde dans le net de ses mouvements COMPLETED")
+    void shouldFindNoDiscrepancyOnConsistentLedger() {
+        transferService.deposit(accounts.get(0).getId(), new BigDecimal("1000.00"), "Dépôt");
+        transferService.deposit(accounts.get(3).getId(), new BigDecimal("0.01"), "Dépôt");
+        for (int i = 1; i < accounts.size(); i++) {
+            transferService.transfer(accounts.get(0).getId(), accounts.get(i).getIban(),
+                    new BigDecimal("12.34"), "Virement");
+        }
+        transferService.withdraw(accounts.get(4).getId(), new BigDecimal("2.34"), "Retrait");
+
+        // Un mouvement FAILED n'a jamais modifié de solde et doit être ignoré
+        Transaction failed = new Transaction(accounts.get(1), accounts.get(2), new BigDecimal("999.00"),
+                TransactionType.TRANSFER, "Échec");
+        failed.setStatus(TransactionStatus.FAILED);
+        failed.setTimestamp(LocalDateTime.now());
+        transactionRepository.save(failed);
+
+        LedgerReconciler.ReconciliationReport report = reconciler.reconcile();
+
+        assertThat(report.accountsChecked()).isEqualTo(5);
+        // Chaque virement compte une fois au débit et une fois au crédit
+        assertThat(report.postingsScanned()).isEqualTo(2 + 4 * 2 + 1);
+        assertThat(report.discrepancyCount()).isZero();
+        assertThat(report.discrepancies()).isEmpty();
+        assertThat(reconciler.getLastReport()).isSameAs(report);
+    }
+
+    @Test
+    @DisplayName("Doit signaler les comptes dont le solde a été modifié hors mouvement")
+    void shouldReportDiscrepancies() {
+        transferService.deposit(accounts.get(1).getId(), new BigDecimal("50.00"), "Dépôt");
+        transferService.transfer(accounts.get(1).getId(), accounts.get(4).getIban(), new BigDecimal("20.00"), "Virement");
+
+        tamper(accounts.get(4), "20.01");
+        tamper(accounts.get(2), "-5.00");
+
+        LedgerReconciler.ReconciliationReport report = reconciler.reconcile();
+
+        assertThat(report.discrepancyCount()).isEqualTo(2);
+        assertThat(report.discrepancies()).extracting(LedgerReconciler.Discrepancy::accountId)
+                .containsExactly(accounts.get(2).getId(), accounts.get(4).getId());
+
+        LedgerReconciler.Discrepancy drift = report.discrepancies().get(1);
+        assertThat(drift.balance()).isEqualByComparingTo("20.01");
+        assertThat(drift.ledgerNet()).isEqualByComparingTo("20.00");
+        assertThat(drift.difference()).isEqualByComparingTo("0.01");
+        assertThat(report.discrepancies().getFirst().difference()).isEqualByComparingTo("-5.00");
+    }
+
+    private void tamper(Account account, String balance) {
+        Account current = accountRepository.findById(account.getId()).orElseThrow();
+        current.setBalance(new BigDecimal(balance));
+        accountRepository.save(current);
+    }
+}
@@ -0,0 +1,151 @@
+package com.openvault.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.TransactionType;
+import com.openvault.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compare l'insertion en masse de transactions avec et sans batching JDBC.
+ *
+ * Lancement : mvn test -Pbenchmark -Dtest=TransactionBatchInsertBenchmark [-Dbenchmark.rows=100000]
+ * Sur PostgreSQL (où chaque aller-retour réseau compte) :
+ *   -Dspring.datasource.url=jdbc:postgresql://localhost:5432/openvault?reWriteBatchedInserts=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Benchmark des inserts de transactions")
+class TransactionBatchInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int FLUSH_EVERY = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account fromAccount;
+    private Account toAccount;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        User user = fixtures.saveUser("jean.dupont@test.com");
+
+        fromAccount = accountRepository.save(account(user, "FR76 1111 1111 1111 1111 1111 111"));
+        toAccount = accountRepository.save(account(user, "FR76 2222 2222 2222 2222 2222 222"));
+    }
+
+    @Test
+    @DisplayName("Le batching JDBC doit réduire les requêtes préparées")
+    void compareBatchedAndUnbatchedInserts() {
+        // Préchauffage JIT / pool
+        insert(1, ROWS / 10);
+        insert(FLUSH_EVERY, ROWS / 10);
+
+        Result unbatched = insert(1, ROWS);
+        Result batched = insert(FLUSH_EVERY, ROWS);
+
+        System.out.printf("%n[benchmark] %d inserts sans batch : %d ms (%.0f lignes/s, %d statements)%n",
+                ROWS, unbatched.millis(), unbatched.rowsPerSecond(), unbatched.statements());
+        System.out.printf("[benchmark] %d inserts batch=%d   : %d ms (%.0f lignes/s, %d statements)%n",
+                ROWS, FLUSH_EVERY, batched.millis(), batched.rowsPerSecond(), batched.statements());
+        System.out.printf("[benchmark] gain : x%.2f%n%n", unbatched.millis() / (double) Math.max(1, batched.millis()));
+
+        assertThat(batched.statements()).isLessThan(unbatched.statements());
+    }
+
+    private Result insert(int jdbcBatchSize, int rows) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(jdbcBatchSize);
+            Account from = entityManager.getReference(Account.class, fromAccount.getId());
+            Account to = entityManager.getReference(Account.class, toAccount.getId());
+
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(transaction(from, to, i));
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    from = entityManager.getReference(Account.class, fromAccount.getId());
+                    to = entityManager.getReference(Account.class, toAccount.getId());
+                }
+            }
+        });
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        transactionRepository.deleteAllInBatch();
+        return new Result(millis, rows * 1000.0 / Math.max(1, millis), statements);
+    }
+
+    private Transaction transaction(Account from, Account to, int index) {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccount(from);
+        transaction.setToAccount(to);
+        transaction.setAmount(new BigDecimal("10.00"));
+        transaction.setType(TransactionType.TRANSFER);
+        transaction.setDescription("Benchmark " + index);
+        transaction.setTimestamp(LocalDateTime.now());
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setReference("BENCH-" + index);
+        return transaction;
+    }
+
+    private Account account(User user, String iban) {
+        Account account = new Account();
+        account.setIban(iban);
+        account.setBalance(BigDecimal.ZERO);
+        account.setType(AccountType.CHECKING);
+        account.setUser(user);
+        account.setActive(true);
+        return account;
+    }
+
+    private record Result(long millis, double rowsPerSecond, long statements) {
+    }
+}
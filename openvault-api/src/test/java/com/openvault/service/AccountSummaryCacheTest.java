@@ -0,0 +1,192 @@
+package com.openvault.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.openvault.config.AccountCacheProperties;
+import com.openvault.dto.AccountSummary;
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.TransactionType;
+import com.openvault.entity.User;
+import com.openvault.outbox.ChangeEvent;
+import com.openvault.outbox.ChangeFeed;
+
+@DisplayName("Tests du AccountSummaryCache")
+class AccountSummaryCacheTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String EMAIL = "jean.dupont@test.com";
+
+    private AccountSummaryCache cache;
+    private AtomicInteger loads;
+    private AtomicLong now;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        cache = new AccountSummaryCache(properties(), null, now::get);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Doit servir le second appel depuis le cache")
+    void shouldServeSecondCallFromCache() {
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+        List<AccountSummary> accounts = cache.getOrLoad(USER_ID, EMAIL, this::load);
+
+        assertThat(accounts).hasSize(1);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Doit servir un utilisateur connu par son email, sans le résoudre")
+    void shouldServeByEmailOnceLoaded() {
+        assertThat(cache.getIfPresent(EMAIL)).isNull();
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+
+        assertThat(cache.getIfPresent(EMAIL)).hasSize(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+
+        cache.evict(USER_ID);
+        assertThat(cache.getIfPresent(EMAIL)).isNull();
+    }
+
+    @Test
+    @DisplayName("Doit appliquer une version plus récente et ignorer une plus ancienne")
+    void shouldApplyOnlyNewerVersions() {
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+
+        cache.refresh(USER_ID, summary(new BigDecimal("150.00"), 2L));
+        cache.refresh(USER_ID, summary(new BigDecimal("120.00"), 1L));
+
+        AccountSummary cached = cache.getOrLoad(USER_ID, EMAIL, this::load).get(0);
+        assertThat(cached.getBalance()).isEqualByComparingTo("150.00");
+        assertThat(cached.getVersion()).isEqualTo(2L);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Doit recharger après invalidation")
+    void shouldReloadAfterEviction() {
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+        cache.evict(USER_ID);
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Ne doit pas conserver un chargement concurrent d'une écriture")
+    void shouldNotKeepLoadRacingWithWrite() {
+        cache.getOrLoad(USER_ID, EMAIL, userId -> {
+            cache.refresh(USER_ID, summary(new BigDecimal("999.00"), 5L));
+            return load(userId);
+        });
+
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Ne doit pas exposer un chargement concurrent d'une écriture aux autres lecteurs")
+    void shouldNotExposeLoadRacingWithWrite() {
+        cache.getOrLoad(USER_ID, EMAIL, userId -> {
+            cache.evict(USER_ID);
+            return load(userId);
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Doit recharger une entrée expirée")
+    void shouldReloadAfterTtl() {
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Ne doit pas dépasser le nombre d'utilisateurs gardés")
+    void shouldBoundCachedUsers() {
+        cache.getOrLoad(1L, "user1@test.com", this::load);
+        cache.getOrLoad(2L, "user2@test.com", this::load);
+        cache.getOrLoad(3L, "user3@test.com", this::load);
+        assertThat(cache.size()).isEqualTo(2);
+
+        // Entrées expirées retirées pour faire de la place
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+        cache.getOrLoad(3L, "user3@test.com", this::load);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Doit invalider le propriétaire d'un compte touché par le flux de changements")
+    void shouldEvictOwnerOnChangeEvent() {
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+
+        cache.onChanges(List.of(new ChangeEvent(1, 1, TransactionType.DEPOSIT, null, 10L,
+                new BigDecimal("5.00"), null, "REF", LocalDateTime.now())));
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getInvalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Doit invalider au commit au lieu de mettre à jour quand le flux relaie les écritures")
+    void shouldEvictOnLocalWriteWhenFeedIsActive() {
+        ChangeFeed changeFeed = mock(ChangeFeed.class);
+        cache = new AccountSummaryCache(properties(), changeFeed, now::get);
+        cache.getOrLoad(USER_ID, EMAIL, this::load);
+
+        User owner = new User();
+        owner.setId(USER_ID);
+        Account account = new Account();
+        account.setId(10L);
+        account.setUser(owner);
+        cache.refreshAfterCommit(account);
+
+        assertThat(cache.getIfPresent(EMAIL)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private List<AccountSummary> load(Long userId) {
+        loads.incrementAndGet();
+        return List.of(summary(new BigDecimal("100.00"), 0L));
+    }
+
+    private AccountCacheProperties properties() {
+        AccountCacheProperties properties = new AccountCacheProperties();
+        properties.setTtl(Duration.ofMinutes(5));
+        properties.setMaxUsers(2);
+        return properties;
+    }
+
+    private AccountSummary summary(BigDecimal balance, Long version) {
+        return AccountSummary.builder()
+                .id(10L)
+                .iban("FR76 1111 1111 1111 1111 1111 111")
+                .balance(balance)
+                .type(AccountType.CHECKING)
+                .active(true)
+                .version(version)
+                .build();
+    }
+}
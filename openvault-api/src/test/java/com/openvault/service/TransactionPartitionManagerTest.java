@@ -0,0 +1,32 @@
+package com.openvault.service;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Tests du TransactionPartitionManager")
+class TransactionPartitionManagerTest {
+
+    @Test
+    @DisplayName("Doit nommer une partition par année et mois")
+    void shouldNamePartitionByMonth() {
+        assertThat(TransactionPartitionManager.partitionName(YearMonth.of(2026, 3)))
+                .isEqualTo("transactions_p2026_03");
+    }
+
+    @Test
+    @DisplayName("Doit retrouver le mois d'une partition")
+    void shouldParsePartitionMonth() {
+        assertThat(TransactionPartitionManager.parseMonth("transactions_p2025_11"))
+                .contains(YearMonth.of(2025, 11));
+    }
+
+    @Test
+    @DisplayName("Doit ignorer les tables qui ne sont pas des partitions mensuelles")
+    void shouldIgnoreForeignTables() {
+        assertThat(TransactionPartitionManager.parseMonth("transactions_legacy")).isEmpty();
+        assertThat(TransactionPartitionManager.parseMonth("transactions_p2025_1")).isEmpty();
+    }
+}
@@ -0,0 +1,269 @@
+package com.openvault.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.Transaction;
+import com.openvault.entity.TransactionStatus;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.TransactionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opérations concurrentes aléatoires sur quelques comptes très sollicités et beaucoup
+ * de comptes peu actifs, puis vérification des invariants comptables.
+ *
+ * Une opération en conflit (verrou, version, deadlock) est rejouée ; un refus métier
+ * attendu (solde insuffisant, plafond de débit) ne l'est pas, toute autre erreur fait
+ * échouer le test. Les compteurs sont ventilés par stratégie de
+ * verrouillage : virement = verrou pessimiste + SERIALIZABLE, dépôt/retrait = version.
+ *
+ * Volume : -Dstress.operations=20000 -Dstress.threads=32 -Dstress.seed=7
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@DisplayName("Stress concurrent du TransferService")
+@Slf4j
+class TransferServiceStressTest {
+
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 500);
+    private static final int THREADS = Integer.getInteger("stress.threads", 8);
+    private static final long SEED = Long.getLong("stress.seed", 42);
+    private static final int HOT_ACCOUNTS = 3;
+    private static final int COLD_ACCOUNTS = 40;
+    private static final int OWNERS = 5;
+    private static final int MAX_ATTEMPTS = 50;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("500.00");
+    // Refus métier attendus : solde insuffisant (virement, retrait), plafonds du VelocityLimiter
+    private static final Pattern EXPECTED_REJECTION =
+            Pattern.compile("Solde insuffisant|(Plafond|Nombre de débits) .* dépassé");
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final List<Account> accounts = new ArrayList<>();
+    private final Map<Long, String> ownerEmails = new HashMap<>();
+    private final Map<Kind, Stats> stats = new EnumMap<>(Kind.class);
+    private final AtomicReference<BigDecimal> deposited = new AtomicReference<>(BigDecimal.ZERO);
+    private final AtomicReference<BigDecimal> withdrawn = new AtomicReference<>(BigDecimal.ZERO);
+    private final LongAdder committed = new LongAdder();
+    private final ConcurrentLinkedQueue<String> unexpectedErrors = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        List<User> owners = new ArrayList<>();
+        for (int i = 0; i < OWNERS; i++) {
+            owners.add(fixtures.saveUser("Stress", "Owner" + i, "stress" + i + "@test.com"));
+        }
+        for (int i = 0; i < HOT_ACCOUNTS + COLD_ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setIban(String.format("FR76 9999 0000 0000 0000 0000 %03d", i));
+            account.setBalance(INITIAL_BALANCE);
+            account.setType(AccountType.CHECKING);
+            account.setUser(owners.get(i % OWNERS));
+            account.setActive(true);
+            account = accountRepository.save(account);
+            accounts.add(account);
+            ownerEmails.put(account.getId(), owners.get(i % OWNERS).getEmail());
+        }
+        for (Kind kind : Kind.values()) {
+            stats.put(kind, new Stats());
+        }
+    }
+
+    @Test
+    @DisplayName("Doit conserver la monnaie sous opérations concurrentes")
+    void shouldPreserveInvariantsUnderConcurrency() throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(OPERATIONS);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < OPERATIONS; i++) {
+                SplittableRandom random = new SplittableRandom(SEED + i);
+                futures.add(executor.submit(() -> runOperation(random)));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        report(millis);
+
+        assertThat(unexpectedErrors).isEmpty();
+        assertThat(committed.sum()).isPositive();
+        // Aucune opération n'épuise ses tentatives
+        assertThat(stats.values()).allSatisfy(s -> assertThat(s.abandoned.sum()).isZero());
+
+        List<Account> finalAccounts = accountRepository.findAll();
+        List<Transaction> transactions = transactionRepository.findAll();
+
+        // Conservation : solde total = soldes initiaux + dépôts - retraits
+        BigDecimal expectedTotal = INITIAL_BALANCE.multiply(BigDecimal.valueOf(accounts.size()))
+                .add(deposited.get())
+                .subtract(withdrawn.get());
+        assertThat(finalAccounts.stream().map(Account::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo(expectedTotal);
+
+        // Aucun solde négatif
+        assertThat(finalAccounts).allSatisfy(account ->
+                assertThat(account.getBalance()).isGreaterThanOrEqualTo(BigDecimal.ZERO));
+
+        // Une ligne COMPLETED par opération validée, et rien d'autre
+        assertThat(transactions).hasSize(committed.intValue());
+        assertThat(transactions).allMatch(t -> t.getStatus() == TransactionStatus.COMPLETED);
+
+        // Chaque variation de solde correspond exactement aux transactions du compte
+        Map<Long, BigDecimal> deltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getFromAccount() != null) {
+                deltas.merge(transaction.getFromAccount().getId(), transaction.getAmount().negate(), BigDecimal::add);
+            }
+            if (transaction.getToAccount() != null) {
+                deltas.merge(transaction.getToAccount().getId(), transaction.getAmount(), BigDecimal::add);
+            }
+        }
+        assertThat(finalAccounts).allSatisfy(account ->
+                assertThat(account.getBalance().subtract(INITIAL_BALANCE))
+                        .isEqualByComparingTo(deltas.getOrDefault(account.getId(), BigDecimal.ZERO)));
+    }
+
+    private void runOperation(SplittableRandom random) {
+        Account account = pickAccount(random);
+        Kind kind = Kind.values()[random.nextInt(10) < 6 ? 0 : 1 + random.nextInt(2)];
+        BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(20_000), 2);
+        Account recipient = pickAccount(random);
+        if (kind == Kind.TRANSFER && recipient.getId().equals(account.getId())) {
+            recipient = accounts.get((accounts.indexOf(account) + 1) % accounts.size());
+        }
+        String recipientIban = recipient.getIban();
+
+        Stats counters = stats.get(kind);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(ownerEmails.get(account.getId()), null, new ArrayList<>()));
+        try {
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                counters.attempts.increment();
+                try {
+                    switch (kind) {
+                        case TRANSFER -> transferService.transfer(account.getId(), recipientIban, amount, "Stress");
+                        case DEPOSIT -> {
+                            transferService.deposit(account.getId(), amount, "Stress");
+                            deposited.accumulateAndGet(amount, BigDecimal::add);
+                        }
+                        case WITHDRAWAL -> {
+                            transferService.withdraw(account.getId(), amount, "Stress");
+                            withdrawn.accumulateAndGet(amount, BigDecimal::add);
+                        }
+                    }
+                    counters.committed.increment();
+                    committed.increment();
+                    return;
+                } catch (RuntimeException e) {
+                    if (isConcurrencyFailure(e)) {
+                        counters.retries.increment();
+                        continue;
+                    }
+                    if (e.getMessage() == null || !EXPECTED_REJECTION.matcher(e.getMessage()).find()) {
+                        unexpectedErrors.add(kind + " : " + e);
+                        return;
+                    }
+                    // Refus métier : pas de nouvelle tentative
+                    counters.rejected.increment();
+                    return;
+                }
+            }
+            counters.abandoned.increment();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private Account pickAccount(SplittableRandom random) {
+        // Un tirage sur deux vise un compte chaud
+        return random.nextBoolean()
+                ? accounts.get(random.nextInt(HOT_ACCOUNTS))
+                : accounts.get(HOT_ACCOUNTS + random.nextInt(COLD_ACCOUNTS));
+    }
+
+    /**
+     * Le virement enveloppe certaines erreurs : on cherche un conflit dans les causes
+     */
+    private static boolean isConcurrencyFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrencyFailureException
+                    || cause instanceof jakarta.persistence.OptimisticLockException
+                    || cause instanceof jakarta.persistence.PessimisticLockException
+                    || cause instanceof jakarta.persistence.LockTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void report(long millis) {
+        log.info("{} opérations, {} threads, graine {} : {} ms ({} op/s)",
+                OPERATIONS, THREADS, SEED, millis, committed.sum() * 1000 / millis);
+        stats.forEach((kind, s) -> log.info(
+                "{} ({}) : validées {}, tentatives {}, rejouées {}, refusées {}, abandonnées {}",
+                kind, kind.strategy, s.committed.sum(), s.attempts.sum(), s.retries.sum(),
+                s.rejected.sum(), s.abandoned.sum()));
+    }
+
+    private enum Kind {
+        TRANSFER("pessimiste + SERIALIZABLE"),
+        DEPOSIT("optimiste (@Version)"),
+        WITHDRAWAL("optimiste (@Version)");
+
+        private final String strategy;
+
+        Kind(String strategy) {
+            this.strategy = strategy;
+        }
+    }
+
+    private static class Stats {
+        final LongAdder attempts = new LongAdder();
+        final LongAdder committed = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder abandoned = new LongAdder();
+    }
+}
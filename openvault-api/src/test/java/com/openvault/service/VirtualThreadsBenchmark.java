@@ -0,0 +1,161 @@
+package com.openvault.service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.openvault.TestFixtures;
+import com.openvault.config.DatabaseConcurrencyGovernor;
+import com.openvault.entity.Account;
+import com.openvault.entity.AccountType;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+
+/**
+ * Compare, sur la même machine, des requêtes servies par un pool de threads plateforme
+ * (taille par défaut de Tomcat) et par des threads virtuels bornés par le gouverneur.
+ *
+ * Chaque "requête" attend d'abord une E/S simulée hors base (réseau, service tiers),
+ * puis lit l'historique récent d'un compte via TransactionHistoryService.
+ *
+ * Lancement : mvn test -Pbenchmark -Dtest=VirtualThreadsBenchmark
+ *   [-Dbenchmark.requests=20000] [-Dbenchmark.io-millis=20] [-Dbenchmark.platform-threads=200]
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Benchmark threads plateforme / threads virtuels")
+class VirtualThreadsBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 10_000);
+    private static final int IO_MILLIS = Integer.getInteger("benchmark.io-millis", 20);
+    private static final int PLATFORM_THREADS = Integer.getInteger("benchmark.platform-threads", 200);
+
+    @Autowired
+    private TransactionHistoryService transactionHistoryService;
+
+    @Autowired
+    private DatabaseConcurrencyGovernor governor;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private User user;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        user = fixtures.saveUser("jean.dupont@test.com");
+
+        account = new Account();
+        account.setIban("FR76 1111 1111 1111 1111 1111 111");
+        account.setBalance(BigDecimal.ZERO);
+        account.setType(AccountType.CHECKING);
+        account.setUser(user);
+        account.setActive(true);
+        account = accountRepository.save(account);
+    }
+
+    @Test
+    @DisplayName("Doit comparer threads plateforme et virtuels sur la même charge")
+    void comparePlatformAndVirtualThreads() throws Exception {
+        // Préchauffage JIT / pool
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            run(executor, REQUESTS / 10);
+        }
+
+        Result platform;
+        try (ExecutorService executor = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+            platform = run(executor, REQUESTS);
+        }
+        Result virtual;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            virtual = run(executor, REQUESTS);
+        }
+
+        System.out.printf("%n[benchmark] %d requêtes, E/S simulée %d ms, %d permis base%n",
+                REQUESTS, IO_MILLIS, governor.getMaxConcurrency());
+        print("plateforme (" + PLATFORM_THREADS + ")", platform);
+        print("virtuels", virtual);
+        System.out.printf("[benchmark] gain : x%.2f%n%n", platform.millis() / (double) Math.max(1, virtual.millis()));
+
+        assertThat(virtual.errors()).isZero();
+        assertThat(governor.getAvailablePermits()).isEqualTo(governor.getMaxConcurrency());
+    }
+
+    private Result run(ExecutorService executor, int requests) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        long start = System.nanoTime();
+        List<Future<Long>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            long submitted = System.nanoTime();
+            futures.add(executor.submit(() -> request(submitted)));
+        }
+
+        long[] latencies = new long[requests];
+        int errors = 0;
+        for (int i = 0; i < requests; i++) {
+            try {
+                latencies[i] = futures.get(i).get();
+            } catch (Exception e) {
+                latencies[i] = Long.MAX_VALUE;
+                errors++;
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        Arrays.sort(latencies);
+        return new Result(millis, requests * 1000.0 / Math.max(1, millis),
+                latencies[requests / 2] / 1_000_000, latencies[(int) (requests * 0.99)] / 1_000_000,
+                threads.getPeakThreadCount(), errors);
+    }
+
+    /**
+     * Une requête : latence mesurée depuis la soumission (file d'attente comprise)
+     */
+    private long request(long submitted) throws InterruptedException {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, new ArrayList<>()));
+        try {
+            Thread.sleep(IO_MILLIS);
+            transactionHistoryService.getRecentTransactions(account.getId(), 10);
+            return System.nanoTime() - submitted;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static void print(String label, Result result) {
+        System.out.printf("[benchmark] %-18s : %d ms (%.0f req/s, p50 %d ms, p99 %d ms, %d threads OS max, %d erreurs)%n",
+                label, result.millis(), result.requestsPerSecond(), result.p50Millis(), result.p99Millis(),
+                result.peakThreads(), result.errors());
+    }
+
+    private record Result(long millis, double requestsPerSecond, long p50Millis, long p99Millis,
+                          int peakThreads, int errors) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.openvault.standingorder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.openvault.TestFixtures.newAccount;
+import com.openvault.TestFixtures;
+import com.openvault.entity.Account;
+import com.openvault.entity.StandingOrder;
+import com.openvault.entity.StandingOrderFrequency;
+import com.openvault.entity.User;
+import com.openvault.repository.AccountRepository;
+import com.openvault.repository.StandingOrderRepository;
+import com.openvault.repository.TransactionRepository;
+import com.openvault.service.TransferService;
+import com.openvault.standingorder.StandingOrderScheduler.ClaimedOrder;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "openvault.standing-orders.max-attempts=2",
+        "openvault.standing-orders.max-delay=2d"
+})
+@ActiveProfiles("test")
+@DisplayName("Exécution des virements permanents")
+class StandingOrderSchedulerTest {
+
+    private static final String EMAIL = "jean.dupont@test.com";
+
+    @Autowired
+    private StandingOrderScheduler scheduler;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private StandingOrderRepository standingOrderRepository;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Account source;
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        User user = fixtures.saveUser(EMAIL);
+
+        source = accountRepository.save(newAccount(user, "FR76 1111 1111 1111 1111 1111 111"));
+        destination = accountRepository.save(newAccount(user, "FR76 2222 2222 2222 2222 2222 222"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, new ArrayList<>()));
+        transferService.deposit(source.getId(), new BigDecimal("100.00"), "Dépôt");
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Les autres classes de test vident les comptes, référencés par les ordres
+        fixtures.deleteAll();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit exécuter une échéance une seule fois puis passer au mois suivant")
+    void shouldExecuteOnceAndAdvance() {
+        LocalDateTime first = now().minusHours(1);
+        StandingOrder order = standingOrderRepository.save(newOrder("30.00", first));
+
+        List<ClaimedOrder> claimed = scheduler.claimDue(10);
+        assertThat(claimed).extracting(ClaimedOrder::id).containsExactly(order.getId());
+        assertThat(claimed.getFirst().ownerEmail()).isEqualTo(EMAIL);
+        // Réservé : invisible pour une autre recherche jusqu'à la fin du bail
+        assertThat(scheduler.claimDue(10)).isEmpty();
+
+        scheduler.execute(claimed.getFirst());
+        // Une seconde exécution de la même réservation ne paie rien
+        scheduler.execute(claimed.getFirst());
+
+        assertThat(accountRepository.findById(source.getId()).orElseThrow().getBalance()).isEqualByComparingTo("70.00");
+        assertThat(accountRepository.findById(destination.getId()).orElseThrow().getBalance()).isEqualByComparingTo("30.00");
+
+        StandingOrder updated = standingOrderRepository.findById(order.getId()).orElseThrow();
+        assertThat(updated.getNextExecutionAt()).isEqualTo(first.plusMonths(1));
+        assertThat(updated.getOccurrence()).isEqualTo(1);
+        assertThat(updated.getClaimedBy()).isNull();
+        assertThat(updated.getLastExecutedAt()).isNotNull();
+        assertThat(scheduler.claimDue(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit reporter sans virement une échéance manquée depuis trop longtemps")
+    void shouldRescheduleMissedWindow() {
+        LocalDateTime first = now().minusDays(5);
+        StandingOrder order = standingOrderRepository.save(newOrder("30.00", first));
+
+        scheduler.claimDue(10).forEach(scheduler::execute);
+
+        assertThat(accountRepository.findById(source.getId()).orElseThrow().getBalance()).isEqualByComparingTo("100.00");
+        StandingOrder updated = standingOrderRepository.findById(order.getId()).orElseThrow();
+        assertThat(updated.getNextExecutionAt()).isEqualTo(first.plusMonths(1));
+        assertThat(updated.getLastError()).contains("manquée");
+        assertThat(updated.getClaimedBy()).isNull();
+    }
+
+    @Test
+    @DisplayName("Doit retenter un virement refusé puis passer à l'échéance suivante")
+    void shouldRetryThenAdvance() {
+        LocalDateTime first = now().minusHours(1);
+        StandingOrder order = standingOrderRepository.save(newOrder("500.00", first));
+
+        scheduler.claimDue(10).forEach(scheduler::execute);
+
+        StandingOrder retried = standingOrderRepository.findById(order.getId()).orElseThrow();
+        assertThat(retried.getFailedAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).contains("Solde insuffisant");
+        assertThat(retried.getNextExecutionAt()).isAfter(LocalDateTime.now().plusMinutes(59));
+        assertThat(retried.getOccurrence()).isZero();
+
+        // Nouvelle tentative échue : la dernière autorisée
+        retried.setNextExecutionAt(LocalDateTime.now().minusMinutes(1));
+        standingOrderRepository.save(retried);
+        scheduler.claimDue(10).forEach(scheduler::execute);
+
+        StandingOrder advanced = standingOrderRepository.findById(order.getId()).orElseThrow();
+        assertThat(advanced.getOccurrence()).isEqualTo(1);
+        assertThat(advanced.getNextExecutionAt()).isEqualTo(first.plusMonths(1));
+        assertThat(advanced.getFailedAttempts()).isZero();
+        assertThat(transactionRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Doit ignorer les lignes verrouillées par une autre instance au lieu de les attendre")
+    void shouldSkipRowsLockedByAnotherClaim() throws Exception {
+        LocalDateTime due = now().minusMinutes(5);
+        for (int i = 0; i < 6; i++) {
+            standingOrderRepository.save(newOrder("1.00", due.plusSeconds(i)));
+        }
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate other = new TransactionTemplate(transactionManager);
+        CompletableFuture<List<Long>> otherInstance = CompletableFuture.supplyAsync(() -> other.execute(status -> {
+            // Échéance bornée plutôt que LIMIT : H2 verrouille toutes les lignes filtrées avant la limite
+            List<Long> ids = standingOrderRepository.findDueForUpdateSkipLocked(due.plusSeconds(2), Limit.of(3))
+                    .stream().map(StandingOrder::getId).toList();
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ids;
+        }));
+
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+        List<Long> mine = CompletableFuture.supplyAsync(() -> scheduler.claimDue(10))
+                .get(5, TimeUnit.SECONDS)
+                .stream().map(ClaimedOrder::id).toList();
+        release.countDown();
+        List<Long> theirs = otherInstance.get(10, TimeUnit.SECONDS);
+
+        assertThat(theirs).hasSize(3);
+        assertThat(mine).hasSize(3).doesNotContainAnyElementsOf(theirs);
+    }
+
+    // Précision des colonnes TIMESTAMP : la microseconde
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private StandingOrder newOrder(String amount, LocalDateTime firstExecutionAt) {
+        StandingOrder order = new StandingOrder();
+        order.setFromAccount(source);
+        order.setToIban(destination.getIban());
+        order.setAmount(new BigDecimal(amount));
+        order.setDescription("Loyer");
+        order.setFrequency(StandingOrderFrequency.MONTHLY);
+        order.setFirstExecutionAt(firstExecutionAt);
+        return order;
+    }
+}
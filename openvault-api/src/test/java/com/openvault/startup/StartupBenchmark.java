@@ -0,0 +1,232 @@
+package com.openvault.startup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+/**
+ * Compare le temps de mise en service de l'API selon le mode de lancement : jar
+ * exécutable, jar extrait, cache de classes entraîné (AppCDS, ou cache AOT à partir du
+ * JDK 25), contexte Spring pré-calculé (AOT) et combinaison des deux.
+ *
+ * Le chronomètre court du lancement du processus jusqu'au premier 200 sur
+ * /actuator/health/readiness : c'est ce qu'attend Kubernetes avant d'envoyer du trafic.
+ * Les modes AOT ne sont mesurés que si le jar a été construit avec -Pfast-startup.
+ *
+ * Base PostgreSQL locale démarrée, après mvn -Pfast-startup package -DskipTests :
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.openvault.startup.StartupBenchmark -Dstartup.runs=5
+ */
+public class StartupBenchmark {
+
+    /**
+     * Entraînement sans base : contexte rafraîchi puis arrêt, aucune connexion ouverte
+     */
+    static final List<String> TRAINING_ARGUMENTS = List.of(
+            "-Dspring.context.exit=onRefresh",
+            "-Dspring.jpa.hibernate.ddl-auto=none",
+            "-Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false"
+    );
+
+    private static final String AOT_INITIALIZER =
+            "BOOT-INF/classes/com/openvault/OpenVaultApiApplication__ApplicationContextInitializer.class";
+
+    private final Path jar;
+    private final Path workDirectory;
+    private final int runs;
+    private final Duration timeout;
+    private final List<String> applicationArguments;
+    private final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    private final boolean aotCache = Runtime.version().feature() >= 25;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    public StartupBenchmark(Path jar, Path workDirectory, int runs, Duration timeout, List<String> applicationArguments) {
+        this.jar = jar;
+        this.workDirectory = workDirectory;
+        this.runs = runs;
+        this.timeout = timeout;
+        this.applicationArguments = applicationArguments;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String extra = System.getProperty("startup.args", "").trim();
+        StartupBenchmark benchmark = new StartupBenchmark(
+                System.getProperty("startup.jar") != null ? Path.of(System.getProperty("startup.jar")) : findJar(),
+                Path.of(System.getProperty("startup.work-directory", "target/startup")),
+                Integer.getInteger("startup.runs", 5),
+                Duration.ofSeconds(Long.getLong("startup.timeout-seconds", 120)),
+                extra.isEmpty() ? List.of() : Arrays.asList(extra.split("\\s+"))
+        );
+        benchmark.run(System.out);
+    }
+
+    public void run(PrintStream out) throws Exception {
+        Path extracted = extract();
+        boolean aot = hasAotClasses();
+        if (!aot) {
+            out.println("[startup] jar construit sans -Pfast-startup : modes AOT ignorés");
+        }
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("jar", List.of("-jar", jar.toAbsolutePath().toString())));
+        modes.add(new Mode("extrait", List.of("-jar", extracted.toString())));
+        modes.add(new Mode(classCacheLabel(), withClassCache(train(extracted, "app", List.of()), extracted, List.of())));
+        if (aot) {
+            List<String> aotFlags = List.of("-Dspring.aot.enabled=true");
+            modes.add(new Mode("aot", concat(aotFlags, List.of("-jar", extracted.toString()))));
+            modes.add(new Mode("aot + " + classCacheLabel(),
+                    withClassCache(train(extracted, "app-aot", aotFlags), extracted, aotFlags)));
+        }
+
+        out.printf("%n[startup] %s, %d lancements par mode, Java %s%n", jar.getFileName(), runs, Runtime.version());
+        out.printf("[startup] %-18s %10s %10s %10s%n", "mode", "médiane ms", "min ms", "max ms");
+        for (Mode mode : modes) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = measure(mode);
+            }
+            Arrays.sort(millis);
+            out.printf("[startup] %-18s %10d %10d %10d%n", mode.label(), millis[runs / 2], millis[0], millis[runs - 1]);
+        }
+        out.println();
+    }
+
+    /**
+     * Démarre l'application et attend qu'elle accepte du trafic
+     */
+    private long measure(Mode mode) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArguments());
+        command.add("--server.port=" + port);
+        command.add("--management.server.port=" + port);
+        command.addAll(applicationArguments);
+
+        URI readiness = URI.create("http://localhost:" + port + "/api/actuator/health/readiness");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(workDirectory.resolve("last-run.log").toFile())
+                .start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Arrêt prématuré (" + mode.label() + "), voir "
+                            + workDirectory.resolve("last-run.log"));
+                }
+                if (isReady(readiness)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Pas prêt après " + timeout.toSeconds() + " s (" + mode.label() + ")");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private boolean isReady(URI readiness) throws InterruptedException {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(readiness).timeout(Duration.ofMillis(500)).GET().build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Disposition recommandée pour CDS : jar applicatif + dépendances dans lib/
+     */
+    private Path extract() throws IOException, InterruptedException {
+        Path destination = workDirectory.resolve("extracted");
+        Files.createDirectories(workDirectory);
+        exec(List.of(java, "-Djarmode=tools", "-jar", jar.toAbsolutePath().toString(),
+                "extract", "--force", "--destination", destination.toAbsolutePath().toString()), "extraction", "extract");
+        return destination.resolve(jar.getFileName()).toAbsolutePath();
+    }
+
+    /**
+     * Lancement d'entraînement : les classes chargées jusqu'au rafraîchissement du contexte
+     * sont archivées
+     */
+    private Path train(Path extracted, String name, List<String> flags) throws IOException, InterruptedException {
+        Path archive = workDirectory.resolve(name + (aotCache ? ".aot" : ".jsa")).toAbsolutePath();
+        Files.deleteIfExists(archive);
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add(aotCache ? "-XX:AOTCacheOutput=" + archive : "-XX:ArchiveClassesAtExit=" + archive);
+        command.addAll(flags);
+        command.addAll(TRAINING_ARGUMENTS);
+        command.addAll(List.of("-jar", extracted.toString()));
+        exec(command, "entraînement " + name, "training-" + name);
+        return archive;
+    }
+
+    private List<String> withClassCache(Path archive, Path extracted, List<String> flags) {
+        String option = aotCache ? "-XX:AOTCache=" + archive : "-XX:SharedArchiveFile=" + archive;
+        return concat(concat(List.of(option), flags), List.of("-jar", extracted.toString()));
+    }
+
+    private String classCacheLabel() {
+        return aotCache ? "cache AOT" : "AppCDS";
+    }
+
+    private boolean hasAotClasses() throws IOException {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            return zip.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    private void exec(List<String> command, String step, String logName) throws IOException, InterruptedException {
+        Path log = workDirectory.resolve(logName + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Échec de l'étape " + step + ", voir " + log);
+        }
+    }
+
+    private static Path findJar() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of("target"))) {
+            return files.filter(path -> path.getFileName().toString().matches("openvault-api-.*\\.jar"))
+                    .filter(path -> !path.getFileName().toString().endsWith("-plain.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Aucun jar dans target/ : lancer mvn package"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+
+    private record Mode(String label, List<String> jvmArguments) {
+    }
+}
@@ -4,6 +4,7 @@ export interface Account {
   balance: number;
   type: AccountType;
   active: boolean;
+  version?: number;
   createdAt: Date;
 }
 
@@ -14,7 +14,8 @@ export enum TransactionType {
   TRANSFER = 'TRANSFER',
   DEPOSIT = 'DEPOSIT',
   WITHDRAWAL = 'WITHDRAWAL',
-  PAYMENT = 'PAYMENT'
+  PAYMENT = 'PAYMENT',
+  INTEREST = 'INTEREST'
 }
 
 export enum TransactionStatus {
@@ -0,0 +1,141 @@
+import { Injectable, NgZone } from '@angular/core';
+import { Observable } from 'rxjs';
+import { AuthService } from './auth.service';
+import { Transaction } from '../models/transaction.model';
+
+export interface BalanceChange {
+  accountId: number;
+  iban: string;
+  balance: number;
+  version: number;
+}
+
+export type LiveEvent =
+  | { type: 'balance'; data: BalanceChange }
+  | { type: 'transaction'; data: Transaction }
+  | { type: 'resync' };
+
+/**
+ * Flux SSE de GET /events. EventSource ne permet pas d'envoyer l'en-tête
+ * Authorization : le flux est lu avec fetch, et Last-Event-ID est renvoyé à chaque
+ * reconnexion pour recevoir les mouvements manqués.
+ */
+@Injectable({
+  providedIn: 'root'
+})
+export class EventStreamService {
+  private readonly API_URL = 'http://localhost:8080/api/events';
+
+  constructor(
+    private authService: AuthService,
+    private zone: NgZone
+  ) {}
+
+  connect(): Observable<LiveEvent> {
+    return new Observable<LiveEvent>(subscriber => {
+      const controller = new AbortController();
+      let lastEventId: string | null = null;
+      let retryMs = 3000;
+
+      const run = async () => {
+        while (!controller.signal.aborted) {
+          const token = this.authService.getToken();
+          if (!token) {
+            return;
+          }
+          try {
+            const headers: Record<string, string> = {
+              Authorization: `Bearer ${token}`,
+              Accept: 'text/event-stream'
+            };
+            if (lastEventId) {
+              headers['Last-Event-ID'] = lastEventId;
+            }
+            const response = await fetch(this.API_URL, { headers, signal: controller.signal });
+            if (response.status === 401 || response.status === 403) {
+              return;
+            }
+            if (response.ok && response.body) {
+              await this.read(response.body, frame => {
+                if (frame.id !== undefined) {
+                  lastEventId = frame.id;
+                }
+                if (frame.retry !== undefined) {
+                  retryMs = frame.retry;
+                }
+                const event = this.toLiveEvent(frame.event, frame.data);
+                if (event) {
+                  this.zone.run(() => subscriber.next(event));
+                }
+              });
+            }
+          } catch {
+            // Coupure réseau : nouvelle tentative après le délai annoncé par le serveur
+          }
+          if (!controller.signal.aborted) {
+            await new Promise(resolve => setTimeout(resolve, retryMs));
+          }
+        }
+      };
+
+      this.zone.runOutsideAngular(() => run());
+      return () => controller.abort();
+    });
+  }
+
+  private toLiveEvent(event: string, data: string): LiveEvent | null {
+    switch (event) {
+      case 'balance':
+        return { type: 'balance', data: JSON.parse(data) };
+      case 'transaction':
+        return { type: 'transaction', data: JSON.parse(data) };
+      case 'resync':
+        return { type: 'resync' };
+      default:
+        return null;
+    }
+  }
+
+  private async read(
+    body: ReadableStream<Uint8Array>,
+    onFrame: (frame: { event: string; data: string; id?: string; retry?: number }) => void
+  ): Promise<void> {
+    const reader = body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    let event = 'message';
+    let data: string[] = [];
+    let id: string | undefined;
+    let retry: number | undefined;
+
+    while (true) {
+      const { value, done } = await reader.read();
+      if (done) {
+        return;
+      }
+      buffer += value;
+      let newline: number;
+      while ((newline = buffer.indexOf('\n')) >= 0) {
+        const line = buffer.substring(0, newline).replace(/\r$/, '');
+        buffer = buffer.substring(newline + 1);
+
+        if (line === '') {
+          if (data.length > 0 || id !== undefined) {
+            onFrame({ event, data: data.join('\n'), id, retry });
+          }
+          event = 'message';
+          data = [];
+          id = undefined;
+          retry = undefined;
+        } else if (!line.startsWith(':')) {
+          const colon = line.indexOf(':');
+          const field = colon >= 0 ? line.substring(0, colon) : line;
+          const content = colon >= 0 ? line.substring(colon + 1).replace(/^ /, '') : '';
+          if (field === 'event') event = content;
+          else if (field === 'data') data.push(content);
+          else if (field === 'id') id = content;
+          else if (field === 'retry') retry = Number(content);
+        }
+      }
+    }
+  }
+}
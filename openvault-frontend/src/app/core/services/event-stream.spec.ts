@@ -0,0 +1,20 @@
+import { TestBed } from '@angular/core/testing';
+import { provideHttpClient } from '@angular/common/http';
+import { provideRouter } from '@angular/router';
+
+import { EventStreamService } from './event-stream.service';
+
+describe('EventStreamService', () => {
+  let service: EventStreamService;
+
+  beforeEach(() => {
+    TestBed.configureTestingModule({
+      providers: [provideHttpClient(), provideRouter([])]
+    });
+    service = TestBed.inject(EventStreamService);
+  });
+
+  it('should be created', () => {
+    expect(service).toBeTruthy();
+  });
+});
@@ -1,11 +1,12 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule, CurrencyPipe } from '@angular/common';
 import { Router } from '@angular/router';
-import { forkJoin } from 'rxjs';
+import { Subscription, forkJoin } from 'rxjs';
 
 import { AuthService } from '../../core/services/auth.service';
 import { AccountService } from '../../core/services/account.service';
 import { TransactionService } from '../../core/services/transaction.service';
+import { EventStreamService, LiveEvent } from '../../core/services/event-stream.service';
 import { AuthResponse } from '../../core/models/user.model';
 import { Account, getAccountTypeLabel } from '../../core/models/account.model';
 import { Transaction } from '../../core/models/transaction.model';
@@ -17,18 +18,20 @@ import { Transaction } from '../../core/models/transaction.model';
   templateUrl: './dashboard.html',
   styleUrl: './dashboard.css',
 })
-export class Dashboard implements OnInit {
+export class Dashboard implements OnInit, OnDestroy {
   user: AuthResponse | null = null;
   accounts: Account[] = [];
   recentTransactions: Transaction[] = [];
   totalBalance: number = 0;
   isLoading = true;
   error: string | null = null;
+  private liveEvents?: Subscription;
 
   constructor(
     private authService: AuthService,
     private accountService: AccountService,
     private transactionService: TransactionService,
+    private eventStreamService: EventStreamService,
     private router: Router
   ) { }
 
@@ -36,9 +39,42 @@ export class Dashboard implements OnInit {
     this.authService.currentUser$.subscribe(user => {
       this.user = user;
     });
+    // Flux ouvert avant le chargement : aucun mouvement ne tombe entre les deux
+    this.liveEvents = this.eventStreamService.connect().subscribe(event => this.onLiveEvent(event));
     this.loadData();
   }
 
+  ngOnDestroy(): void {
+    this.liveEvents?.unsubscribe();
+  }
+
+  private onLiveEvent(event: LiveEvent): void {
+    switch (event.type) {
+      case 'balance': {
+        const account = this.accounts.find(a => a.id === event.data.accountId);
+        // Un solde plus ancien que celui affiché (chargement concurrent) est ignoré
+        if (account && (account.version === undefined || event.data.version > account.version)) {
+          account.balance = event.data.balance;
+          account.version = event.data.version;
+          this.totalBalance = this.accounts.reduce((total, a) => total + Number(a.balance), 0);
+        }
+        break;
+      }
+      case 'transaction': {
+        const iban = this.accounts[0]?.iban;
+        const transaction = event.data;
+        if (iban && (transaction.fromIban === iban || transaction.toIban === iban)
+            && !this.recentTransactions.some(t => t.id === transaction.id)) {
+          this.recentTransactions = [transaction, ...this.recentTransactions].slice(0, 5);
+        }
+        break;
+      }
+      case 'resync':
+        this.loadData();
+        break;
+    }
+  }
+
   private loadData(): void {
     this.isLoading = true;
     this.error = null;
@@ -81,7 +117,8 @@ export class Dashboard implements OnInit {
   }
 
   isCredit(transaction: Transaction): boolean {
-    return transaction.type === 'DEPOSIT' || transaction.type === 'TRANSFER' && transaction.fromIban === null;
+    return transaction.type === 'DEPOSIT' || transaction.type === 'INTEREST'
+      || transaction.type === 'TRANSFER' && transaction.fromIban === null;
   }
 
   getTransactionSign(transaction: Transaction): string {
@@ -119,7 +119,7 @@ export class TransactionHistory implements OnInit {
   }
 
   isCredit(transaction: Transaction): boolean {
-    return transaction.type === 'DEPOSIT' ||
+    return transaction.type === 'DEPOSIT' || transaction.type === 'INTEREST' ||
       (transaction.type === 'TRANSFER' && transaction.fromIban === null);
   }
 
@@ -133,6 +133,7 @@ export class TransactionHistory implements OnInit {
       case 'WITHDRAWAL': return 'Retrait';
       case 'TRANSFER': return 'Virement';
       case 'PAYMENT': return 'Paiement';
+      case 'INTEREST': return 'Intérêts';
       default: return type;
     }
   }